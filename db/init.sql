@@ -31,6 +31,8 @@ INSERT INTO `users` VALUES
 
 -- ------------------------------------------------------
 -- Table structure for `account`
+-- 기존 DB: ALTER TABLE account ADD COLUMN opening_balance bigint unsigned DEFAULT NULL 후
+--          BalanceReconciler --init-opening으로 기존 계좌를 채움(그 전에는 --repair 거부)
 -- ------------------------------------------------------
 DROP TABLE IF EXISTS `account`;
 CREATE TABLE `account` (
@@ -41,7 +43,9 @@ CREATE TABLE `account` (
   `balance` bigint unsigned NOT NULL DEFAULT '0' COMMENT '현재 잔액(원)',
   `created_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '생성 시각',
   `account_number` varchar(50) NOT NULL,
+  `opening_balance` bigint unsigned DEFAULT NULL COMMENT '개설 입금액(원장에 없음) - 잔액 대사 기준: balance = opening_balance + 원장 합계, NULL이면 백필 전',
   PRIMARY KEY (`id`),
+  UNIQUE KEY `uq_account_number` (`account_number`),
   UNIQUE KEY `uq_personal_owner_name` (`owner_user_id`,`name`),
   KEY `idx_account_owner` (`owner_user_id`),
   CONSTRAINT `fk_account_owner` FOREIGN KEY (`owner_user_id`) REFERENCES `users` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT,
@@ -53,8 +57,23 @@ CREATE TABLE `account` (
 ) ENGINE=InnoDB AUTO_INCREMENT=18 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 INSERT INTO `account` VALUES
-(14,'PERSONAL','개인 계좌 1',3,990,'2025-09-11 10:44:53.112','110-050-398144'),
-(15,'GROUP','모임 통장 1',NULL,1000,'2025-09-11 10:45:03.147','110-896-998221');
+(14,'PERSONAL','개인 계좌 1',3,990,'2025-09-11 10:44:53.112','110-050-398144',1000),
+(15,'GROUP','모임 통장 1',NULL,1000,'2025-09-11 10:45:03.147','110-896-998221',1000);
+
+-- ------------------------------------------------------
+-- Table structure for `number_sequence`
+-- 번호 발급용 시퀀스 (앱이 next_value를 블록 단위로 예약해 메모리에서 발급)
+-- ------------------------------------------------------
+DROP TABLE IF EXISTS `number_sequence`;
+CREATE TABLE `number_sequence` (
+  `name` varchar(50) NOT NULL COMMENT '시퀀스 이름',
+  `next_value` bigint unsigned NOT NULL COMMENT '다음에 예약할 값',
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `number_sequence` VALUES
+('account_number',1),
+('card_number',1);
 
 -- ------------------------------------------------------
 -- Table structure for `card`
@@ -68,7 +87,7 @@ CREATE TABLE `card` (
   `status` enum('ACTIVE','BLOCKED') NOT NULL DEFAULT 'ACTIVE' COMMENT '상태',
   `created_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '생성 시각',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `uq_card_per_account` (`account_id`,`masked_no`),
+  UNIQUE KEY `uq_card_masked_no` (`masked_no`),
   KEY `idx_card_account` (`account_id`),
   KEY `idx_card_status` (`status`),
   CONSTRAINT `fk_card_account` FOREIGN KEY (`account_id`) REFERENCES `account` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
@@ -117,6 +136,7 @@ CREATE TABLE `transaction` (
   `created_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '생성 시각',
   PRIMARY KEY (`id`),
   KEY `idx_transaction_account_time` (`account_id`,`occurred_at`),
+  KEY `idx_transaction_account_kind_amount` (`account_id`,`kind`,`amount`) COMMENT '잔액 대사용 커버링 인덱스 - 계좌별 SUM을 테이블을 읽지 않고 계산',
   KEY `idx_transaction_transfer` (`transfer_key`),
   KEY `idx_transaction_card` (`card_id`),
   KEY `idx_transaction_creator` (`created_by_user_id`),
@@ -133,3 +153,72 @@ INSERT INTO `transaction` VALUES
 (22,14,'OUT','TRANSFER',10,'10','2025-09-11 10:47:40.406','531eca90-ed41-4b09-a351-13b3ab347c97',NULL,3,'2025-09-11 10:47:40.000'),
 (23,15,'IN','TRANSFER',10,'10','2025-09-11 10:47:40.406','531eca90-ed41-4b09-a351-13b3ab347c97',NULL,3,'2025-09-11 10:47:40.000');
 
+
+-- ------------------------------------------------------
+-- Table structure for `idempotency_key`
+-- 클라이언트 멱등키 - 거래와 같은 트랜잭션으로 저장, 같은 (사용자, 키) 재요청은 저장된 결과로 응답
+-- 보관 기간(IDEMPOTENCY_RETENTION_HOURS)이 지난 키는 IdempotencyKeyPurge가 idx_idempotency_created 순으로 삭제
+-- 기존 DB: ALTER TABLE idempotency_key MODIFY idem_key varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL
+-- ------------------------------------------------------
+DROP TABLE IF EXISTS `idempotency_key`;
+CREATE TABLE `idempotency_key` (
+  `user_id` bigint unsigned NOT NULL COMMENT '요청 사용자 id',
+  `idem_key` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '클라이언트가 보낸 멱등키 - 대소문자/악센트까지 구분(IdempotencyStore 캐시와 같은 비교)',
+  `request` varchar(255) NOT NULL COMMENT '요청 요약(종류/계좌/금액 + 메모·발생 시각 해시) - 같은 키로 다른 요청이 오면 거절',
+  `outcome` enum('APPLIED') NOT NULL COMMENT '처리 결과 - 반영된 요청만 저장(거절된 요청은 롤백되어 같은 키로 재시도 가능)',
+  `created_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '생성 시각 - 보관 기간이 지나면 IdempotencyKeyPurge가 삭제',
+  PRIMARY KEY (`user_id`,`idem_key`),
+  KEY `idx_idempotency_created` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- ------------------------------------------------------
+-- Table structure for `daily_balance`
+-- 일별 잔액 스냅샷 - 그날 끝(다음 날 0시 직전)의 잔액, 거래가 있었던 날만 저장
+-- 거래 커밋 시 같은 트랜잭션에서 갱신(TransactionService), 기존 원장은 LedgerSummaryBackfill로 채움
+-- ------------------------------------------------------
+DROP TABLE IF EXISTS `daily_balance`;
+CREATE TABLE `daily_balance` (
+  `account_id` bigint unsigned NOT NULL COMMENT '계좌 ID(account.id)',
+  `balance_date` date NOT NULL COMMENT '기준일(occurred_at 날짜)',
+  `closing_balance` bigint NOT NULL COMMENT '기준일 마감 잔액(소급 지출이 있으면 음수일 수 있음)',
+  PRIMARY KEY (`account_id`,`balance_date`),
+  CONSTRAINT `fk_daily_balance_account` FOREIGN KEY (`account_id`) REFERENCES `account` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- ------------------------------------------------------
+-- Table structure for `monthly_rollup`
+-- 월별 거래 집계 - (계좌, 월, 방향, 수단, 카드, 입력자)별 합계/건수, 리포트는 원장 대신 이 표를 GROUP BY
+-- 거래 커밋 시 같은 트랜잭션에서 누적(TransactionService), 기존 원장은 LedgerSummaryBackfill로 채움
+-- ------------------------------------------------------
+DROP TABLE IF EXISTS `monthly_rollup`;
+CREATE TABLE `monthly_rollup` (
+  `account_id` bigint unsigned NOT NULL COMMENT '계좌 ID(account.id)',
+  `month` date NOT NULL COMMENT '집계 월(그달 1일, occurred_at 기준)',
+  `kind` enum('IN','OUT') NOT NULL COMMENT '방향',
+  `method` enum('TRANSFER','CARD','OTHER') NOT NULL COMMENT '수단',
+  `card_id` bigint unsigned NOT NULL DEFAULT 0 COMMENT '카드 결제면 card.id, 아니면 0',
+  `user_id` bigint unsigned NOT NULL DEFAULT 0 COMMENT '입력자(created_by_user_id), 없으면 0',
+  `total_amount` bigint unsigned NOT NULL COMMENT '금액 합계',
+  `tx_count` int unsigned NOT NULL COMMENT '거래 건수',
+  PRIMARY KEY (`account_id`,`month`,`kind`,`method`,`card_id`,`user_id`),
+  CONSTRAINT `fk_monthly_rollup_account` FOREIGN KEY (`account_id`) REFERENCES `account` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- ------------------------------------------------------
+-- Table structure for `import_job`
+-- 거래 일괄 가져오기(TransactionImporter) 진행 기록 - 청크를 커밋하는 트랜잭션에서 함께 갱신
+-- 같은 job_id로 다시 실행하면 chunks_committed 다음 청크부터 이어서 가져옴
+-- ------------------------------------------------------
+DROP TABLE IF EXISTS `import_job`;
+CREATE TABLE `import_job` (
+  `job_id` varchar(100) NOT NULL COMMENT '가져오기 작업 id(기본: 파일 이름)',
+  `source` varchar(500) NOT NULL COMMENT '원본 파일 경로',
+  `source_size` bigint unsigned NOT NULL COMMENT '원본 파일 크기(바이트) - 다른 파일로 이어 받기 방지',
+  `chunk_size` int unsigned NOT NULL COMMENT '청크당 행 수 - 이어 받을 때 같은 값이어야 청크 경계가 같음',
+  `chunks_committed` bigint unsigned NOT NULL DEFAULT 0 COMMENT '커밋한 청크 수',
+  `rows_imported` bigint unsigned NOT NULL DEFAULT 0 COMMENT '저장한 거래 행 수',
+  `rows_rejected` bigint unsigned NOT NULL DEFAULT 0 COMMENT '검증 실패로 건너뛴 행 수',
+  `completed` tinyint(1) NOT NULL DEFAULT 0 COMMENT '파일 끝까지 가져왔으면 1',
+  `updated_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '마지막 청크 커밋 시각',
+  PRIMARY KEY (`job_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
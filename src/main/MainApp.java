@@ -7,11 +7,20 @@ import main.controller.CardController;
 import main.controller.GroupController;
 import main.controller.TransactionController;
 import main.controller.UserController;
+import main.db.SqlMetrics;
+import main.db.TxTemplate;
 import main.domain.User;
+import main.server.ApiServer;
 
 public class MainApp {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws Exception {
+		// 서버 모드: java main.MainApp server
+		if (args.length > 0 && args[0].equalsIgnoreCase("server")) {
+			ApiServer.main(new String[0]);
+			return;
+		}
+
 		Scanner scanner = new Scanner(System.in);
 		UserController userController = new UserController(scanner);
 
@@ -19,6 +28,7 @@ public class MainApp {
 			System.out.println("\n================= 📊 모임통장 시스템 =================");
 			System.out.println("1. 👤 사용자 생성");
 			System.out.println("2. 🔐 로그인");
+			System.out.println("3. 📈 SQL 실행 통계");
 			System.out.println("0. ❌ 종료");
 			System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 			System.out.print("👉 선택(번호 입력): ");
@@ -31,6 +41,10 @@ public class MainApp {
 					showLoggedInMenu(scanner, userController);
 				}
 			}
+			case "3" -> {
+				SqlMetrics.print(20);
+				TxTemplate.printRetryStats(20);
+			}
 			case "0" -> {
 				System.out.println("\n✅ 시스템을 종료합니다.");
 				return;
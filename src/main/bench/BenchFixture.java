@@ -0,0 +1,188 @@
+package main.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import main.db.DbUtil;
+import main.db.TxTemplate;
+import main.domain.Account;
+import main.domain.GroupMember;
+import main.domain.Transaction;
+import main.domain.User;
+import main.enums.MemberRole;
+import main.repository.AccountRepository;
+import main.repository.GroupRepository;
+import main.repository.Repositories;
+import main.repository.TransactionRepository;
+import main.repository.UserRepository;
+import main.service.AccountAccessCache;
+import main.service.AccountNumberAllocator;
+import main.service.AccountService;
+import main.service.CardService;
+import main.service.LedgerSummaryBackfill;
+
+/**
+ * 벤치마크/부하 테스트용 데이터 (사용자 1명 = 개인 계좌 1개 = 카드 1장, 선택적으로 모임 통장)
+ * - 이메일 "bench-{runId}-{n}@bench.local"로 구분 → cleanup()이 이 실행분만 삭제
+ * - 운영 DB가 아닌 전용 스키마에서 실행할 것
+ */
+public class BenchFixture {
+
+	private static final int LEDGER_CHUNK = 5_000;
+
+	public final String runId;
+	public final List<Long> userIds;
+	public final List<Long> accountIds;
+	public final List<Long> cardIds;
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final TransactionRepository txRepository = Repositories.transactions();
+	private final List<Long> groupAccountIds = new ArrayList<>();
+	private final List<Long> groupCardIds = new ArrayList<>();
+	private final List<List<Long>> groupMemberIds = new ArrayList<>();
+	private long ledgerRows;
+
+	private BenchFixture(String runId, List<Long> userIds, List<Long> accountIds, List<Long> cardIds) {
+		this.runId = runId;
+		this.userIds = Collections.unmodifiableList(userIds);
+		this.accountIds = Collections.unmodifiableList(accountIds);
+		this.cardIds = Collections.unmodifiableList(cardIds);
+	}
+
+	/** 계좌 accounts개 생성(초기 잔액 initialBalance) */
+	public static BenchFixture create(int accounts, long initialBalance) {
+		String runId = Long.toString(System.currentTimeMillis(), 36);
+		UserRepository userRepository = Repositories.users();
+		AccountService accountService = new AccountService();
+		CardService cardService = new CardService();
+
+		List<Long> userIds = new ArrayList<>(accounts);
+		List<Long> accountIds = new ArrayList<>(accounts);
+		List<Long> cardIds = new ArrayList<>(accounts);
+		for (int i = 0; i < accounts; i++) {
+			User user = userRepository.save(User.register(0, "벤치사용자", email(runId, i), null));
+			Account account = accountService.createPersonalAccount("벤치계좌", user.getId(), initialBalance);
+			userIds.add(user.getId());
+			accountIds.add(account.getId());
+			cardIds.add(cardService.issue(account.getId(), "BC").getId());
+		}
+		return new BenchFixture(runId, userIds, accountIds, cardIds);
+	}
+
+	public int size() {
+		return accountIds.size();
+	}
+
+	/** i번째 계좌의 소유자 */
+	public long ownerOf(int accountIndex) {
+		return userIds.get(accountIndex);
+	}
+
+	public List<Long> groupAccountIds() {
+		return Collections.unmodifiableList(groupAccountIds);
+	}
+
+	/** g번째 모임 통장의 카드 */
+	public long groupCardId(int g) {
+		return groupCardIds.get(g);
+	}
+
+	/** g번째 모임 통장의 멤버(첫 번째가 OWNER) */
+	public List<Long> groupMemberIds(int g) {
+		return Collections.unmodifiableList(groupMemberIds.get(g));
+	}
+
+	/** 모임 통장 count개 추가 - 각 통장에 벤치 사용자 membersPerGroup명(첫 번째가 OWNER), 카드 1장 */
+	public void addGroups(int count, int membersPerGroup, long initialBalance) {
+		GroupRepository groupRepository = Repositories.groups();
+		AccountAccessCache accessCache = AccountAccessCache.getInstance();
+		CardService cardService = new CardService();
+		int members = Math.min(membersPerGroup, size());
+		for (int g = 0; g < count; g++) {
+			Account group = accountRepository.save(
+					Account.createGroup(0, AccountNumberAllocator.getInstance().next(), "벤치모임", initialBalance));
+			List<Long> memberIds = new ArrayList<>(members);
+			for (int m = 0; m < members; m++) {
+				long userId = userIds.get((g * members + m) % size());
+				MemberRole role = (m == 0) ? MemberRole.OWNER : MemberRole.MEMBER;
+				groupRepository.save(GroupMember.join(0, group.getId(), userId, role));
+				accessCache.invalidateUser(userId);
+				memberIds.add(userId);
+			}
+			groupAccountIds.add(group.getId());
+			groupCardIds.add(cardService.issue(group.getId(), "BC").getId());
+			groupMemberIds.add(memberIds);
+		}
+	}
+
+	public long ledgerRows() {
+		return ledgerRows;
+	}
+
+	/** 원장이 targetRows건이 될 때까지 최근 1년에 흩어진 입금 행을 채움(잔액·일별 잔액 스냅샷도 같이 반영) */
+	public void growLedger(long targetRows) {
+		ThreadLocalRandom rnd = ThreadLocalRandom.current();
+		LocalDateTime now = LocalDateTime.now();
+		boolean grown = ledgerRows < targetRows;
+		while (ledgerRows < targetRows) {
+			int chunk = (int) Math.min(LEDGER_CHUNK, targetRows - ledgerRows);
+			List<Transaction> rows = new ArrayList<>(chunk);
+			long[] added = new long[size()];
+			for (int i = 0; i < chunk; i++) {
+				int idx = rnd.nextInt(size());
+				long amount = 1 + rnd.nextInt(10_000);
+				rows.add(Transaction.income(0, accountIds.get(idx), amount, "bench",
+						now.minusSeconds(rnd.nextLong(365L * 24 * 3600)), ownerOf(idx)));
+				added[idx] += amount;
+			}
+
+			TxTemplate.run(null, conn -> {
+				txRepository.insertBatch(rows, conn);
+				for (int i = 0; i < added.length; i++) {
+					if (added[i] > 0) accountRepository.increaseBalance(accountIds.get(i), added[i], conn);
+				}
+			});
+			ledgerRows += chunk;
+		}
+		// 1년에 흩어진 소급 행을 건별로 요약 테이블에 반영하면 느리므로 끝나고 계좌별로 한 번에 재계산
+		if (grown) {
+			LedgerSummaryBackfill backfill = new LedgerSummaryBackfill();
+			for (long accountId : accountIds) backfill.rebuild(accountId);
+		}
+	}
+
+	/** 이 실행에서 만든 사용자/계좌(거래·카드·멤버는 FK CASCADE)를 삭제 - 메모리 저장소면 프로세스와 함께 사라지므로 생략 */
+	public void cleanup() {
+		if (Repositories.isInMemory()) return;
+		String pattern = "bench-" + runId + "-%@bench.local";
+		try (Connection conn = DbUtil.getConnection()) {
+			try (PreparedStatement ps = conn.prepareStatement("DELETE a FROM account a "
+					+ "JOIN group_member gm ON gm.account_id = a.id JOIN users u ON gm.user_id = u.id "
+					+ "WHERE a.type = 'GROUP' AND u.email LIKE ?")) {
+				ps.setString(1, pattern);
+				ps.executeUpdate();
+			}
+			try (PreparedStatement ps = conn.prepareStatement(
+					"DELETE a FROM account a JOIN users u ON a.owner_user_id = u.id WHERE u.email LIKE ?")) {
+				ps.setString(1, pattern);
+				ps.executeUpdate();
+			}
+			try (PreparedStatement ps = conn.prepareStatement("DELETE FROM users WHERE email LIKE ?")) {
+				ps.setString(1, pattern);
+				ps.executeUpdate();
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("벤치 데이터 정리 중 오류", e);
+		}
+	}
+
+	private static String email(String runId, int n) {
+		return "bench-" + runId + "-" + n + "@bench.local";
+	}
+}
@@ -0,0 +1,355 @@
+package main.bench;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import main.db.DbUtil;
+import main.db.SqlMetrics;
+import main.db.TxTemplate;
+import main.dto.TransactionSearchCondition;
+import main.exception.InsufficientBalanceException;
+import main.repository.Repositories;
+import main.service.AccountService;
+import main.service.GroupService;
+import main.service.TransactionService;
+import main.util.ConsoleTable;
+import main.util.LatencyHistogram;
+
+/**
+ * 폐쇄 루프 부하 생성기 - 가상 사용자 N명이 각자 "요청 → 응답 → (think) → 다음 요청"을 반복
+ * - 실행: java -cp "out:lib/*" main.bench.LoadGenerator --users=50 --duration-sec=60
+ *         --mix=cardExpense:70,transfer:20,search:10
+ * - 옵션: --accounts=200 --groups=10 --group-size=20 --balance=100000 --skew=1.1 --think-ms=0
+ *         --report-sec=5 --keep --memory(DB 없이 메모리 저장소 사용)
+ * - 계좌 선택은 Zipf(skew) 분포 → 소수 계좌에 요청이 몰리는 실제 트래픽 모사 (skew=0이면 균등)
+ *   / 대상은 개인 계좌 + 모임 통장(순위는 고정 시드로 섞음), 모임 통장 요청은 멤버 중 한 명이 보냄(여러 사용자가 한 계좌를 다툼)
+ * - 오류는 잔액 부족 / 데드락 / 잠금 대기 초과 / 커넥션 풀 타임아웃 / 기타로 분류해 집계
+ */
+public class LoadGenerator {
+
+	private static final String[] OP_NAMES = { "cardExpense", "expense", "income", "transfer", "search",
+			"listAccounts", "groupMembers" };
+
+	// 저장소 모드(--memory)를 정한 뒤 main에서 생성
+	private static TransactionService txService;
+	private static AccountService accountService;
+	private static GroupService groupService;
+
+	public static void main(String[] args) throws InterruptedException {
+		Map<String, String> opts = ServiceBenchmark.parseArgs(args);
+		if (opts.containsKey("memory")) Repositories.useInMemory();
+		txService = new TransactionService();
+		accountService = new AccountService();
+		groupService = new GroupService();
+		int users = Integer.parseInt(opts.getOrDefault("users", "50"));
+		int accounts = Integer.parseInt(opts.getOrDefault("accounts", "200"));
+		int groups = Integer.parseInt(opts.getOrDefault("groups", "10"));
+		int groupSize = Integer.parseInt(opts.getOrDefault("group-size", "20"));
+		long balance = Long.parseLong(opts.getOrDefault("balance", "100000"));
+		double skew = Double.parseDouble(opts.getOrDefault("skew", "1.1"));
+		long thinkMs = Long.parseLong(opts.getOrDefault("think-ms", "0"));
+		long durationMs = Long.parseLong(opts.getOrDefault("duration-sec", "60")) * 1000;
+		long reportMs = Long.parseLong(opts.getOrDefault("report-sec", "5")) * 1000;
+		int[] weights = parseMix(opts.getOrDefault("mix", "cardExpense:70,transfer:20,search:10"));
+		if (accounts < 2) throw new IllegalArgumentException("accounts는 2 이상이어야 합니다.");
+		if (weights[indexOf("groupMembers")] > 0 && groups == 0) {
+			throw new IllegalArgumentException("groupMembers를 쓰려면 groups가 1 이상이어야 합니다.");
+		}
+
+		System.out.println("⏳ 데이터 준비: 계좌 " + accounts + "개, 모임 " + groups + "개");
+		BenchFixture fx = BenchFixture.create(accounts, balance);
+		try {
+			fx.addGroups(groups, groupSize, balance);
+			Targets targets = new Targets(fx);
+			run(fx, targets, users, weights, new ZipfSampler(targets.size(), skew), thinkMs, durationMs, reportMs);
+		} finally {
+			if (!opts.containsKey("keep")) fx.cleanup();
+			DbUtil.shutdown();
+		}
+	}
+
+	static void run(BenchFixture fx, Targets targets, int users, int[] weights, ZipfSampler accounts, long thinkMs,
+			long durationMs, long reportMs) throws InterruptedException {
+		VirtualUser[] vus = new VirtualUser[users];
+		AtomicLong completed = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(users);
+		long end = System.nanoTime() + durationMs * 1_000_000;
+
+		for (int i = 0; i < users; i++) {
+			VirtualUser vu = vus[i] = new VirtualUser(fx, targets, weights, accounts, thinkMs, end, completed);
+			Thread t = new Thread(() -> {
+				try {
+					vu.loop();
+				} finally {
+					done.countDown();
+				}
+			}, "vu-" + i);
+			t.setDaemon(true);
+			t.start();
+		}
+
+		// 구간 처리량 출력
+		long last = 0;
+		long startedAt = System.currentTimeMillis();
+		while (!done.await(reportMs, java.util.concurrent.TimeUnit.MILLISECONDS)) {
+			long now = completed.get();
+			System.out.printf("  [%3ds] %.1f req/s%n", (System.currentTimeMillis() - startedAt) / 1000,
+					(now - last) * 1000.0 / reportMs);
+			last = now;
+		}
+
+		report(vus, durationMs);
+	}
+
+	private static void report(VirtualUser[] vus, long durationMs) {
+		LatencyHistogram[] byOp = new LatencyHistogram[OP_NAMES.length];
+		for (int i = 0; i < byOp.length; i++) byOp[i] = new LatencyHistogram();
+		LatencyHistogram all = new LatencyHistogram();
+		Map<String, Long> errors = new TreeMap<>();
+		for (VirtualUser vu : vus) {
+			for (int i = 0; i < byOp.length; i++) {
+				byOp[i].merge(vu.histograms[i]);
+				all.merge(vu.histograms[i]);
+			}
+			vu.errors.forEach((k, v) -> errors.merge(k, v, Long::sum));
+		}
+
+		List<String[]> rows = new ArrayList<>();
+		for (int i = 0; i < byOp.length; i++) {
+			if (byOp[i].count() > 0) rows.add(latencyRow(OP_NAMES[i], byOp[i], durationMs));
+		}
+		rows.add(latencyRow("(전체)", all, durationMs));
+		ConsoleTable.printTable("📊 처리량/지연 (성공 요청 기준, 지연 단위 ms)",
+				new String[] { "op", "ok", "req/s", "p50", "p90", "p99", "p99.9", "max" }, rows);
+
+		List<String[]> errorRows = new ArrayList<>();
+		errors.forEach((k, v) -> errorRows.add(new String[] { k, Long.toString(v) }));
+		if (errorRows.isEmpty()) errorRows.add(new String[] { "-", "0" });
+		ConsoleTable.printTable("❗ 오류 분류", new String[] { "op/오류", "건수" }, errorRows);
+
+		printHistogram(all);
+		if (SqlMetrics.isEnabled() && !Repositories.isInMemory()) SqlMetrics.print(15);
+		TxTemplate.printRetryStats(15);
+	}
+
+	private static String[] latencyRow(String name, LatencyHistogram h, long durationMs) {
+		return new String[] { name, Long.toString(h.count()), String.format("%.1f", h.count() * 1000.0 / durationMs),
+				ServiceBenchmark.millis(h.percentile(50)), ServiceBenchmark.millis(h.percentile(90)),
+				ServiceBenchmark.millis(h.percentile(99)), ServiceBenchmark.millis(h.percentile(99.9)),
+				ServiceBenchmark.millis(h.max()) };
+	}
+
+	/** 1-2-5 구간으로 묶은 지연 분포 막대 */
+	private static void printHistogram(LatencyHistogram h) {
+		long[] edgesMs = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+		long[] counts = new long[edgesMs.length + 1];
+		h.forEachBucket((lower, count) -> {
+			int b = 0;
+			while (b < edgesMs.length && lower >= edgesMs[b] * 1_000_000) b++;
+			counts[b] += count;
+		});
+		long total = Math.max(1, h.count());
+		List<String[]> rows = new ArrayList<>();
+		for (int b = 0; b < counts.length; b++) {
+			String range = (b == 0) ? "< " + edgesMs[0] : (b == edgesMs.length) ? ">= " + edgesMs[b - 1]
+					: edgesMs[b - 1] + " ~ " + edgesMs[b];
+			int bar = (int) Math.round(counts[b] * 40.0 / total);
+			rows.add(new String[] { range, Long.toString(counts[b]),
+					String.format("%.1f%%", counts[b] * 100.0 / total), "#".repeat(bar) });
+		}
+		ConsoleTable.printTable("📈 지연 분포 (ms)", new String[] { "구간", "건수", "비율", "" }, rows);
+	}
+
+	static int[] parseMix(String mix) {
+		int[] weights = new int[OP_NAMES.length];
+		for (String part : mix.split(",")) {
+			String[] kv = part.trim().split(":");
+			if (kv.length != 2) throw new IllegalArgumentException("mix 형식은 op:비중 입니다: " + part);
+			int idx = indexOf(kv[0].trim());
+			if (idx < 0) throw new IllegalArgumentException("알 수 없는 op: " + kv[0] + " (가능: " + String.join(", ", OP_NAMES) + ")");
+			weights[idx] = Integer.parseInt(kv[1].trim());
+		}
+		int sum = 0;
+		for (int w : weights) sum += w;
+		if (sum <= 0) throw new IllegalArgumentException("mix 비중 합이 0입니다.");
+		return weights;
+	}
+
+	private static int indexOf(String op) {
+		for (int i = 0; i < OP_NAMES.length; i++) {
+			if (OP_NAMES[i].equals(op)) return i;
+		}
+		return -1;
+	}
+
+	/** 예외 → 오류 분류 (원인 체인의 SQLException 코드 기준) */
+	static String classify(Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof InsufficientBalanceException) return "insufficient_balance";
+			if (t instanceof SQLTransientConnectionException) return "pool_timeout";
+			if (t instanceof SQLException) {
+				int code = ((SQLException) t).getErrorCode();
+				if (code == 1213) return "deadlock";
+				if (code == 1205) return "lock_wait_timeout";
+			}
+		}
+		return "other:" + e.getClass().getSimpleName();
+	}
+
+	/** 가상 사용자 1명 (스레드 1개) - 통계는 스레드 전용, 종료 후 합산 */
+	static class VirtualUser {
+		final BenchFixture fx;
+		final Targets targets;
+		final int[] cumulative;
+		final ZipfSampler accounts;
+		final long thinkMs;
+		final long end;
+		final AtomicLong completed;
+		final LatencyHistogram[] histograms = new LatencyHistogram[OP_NAMES.length];
+		final Map<String, Long> errors = new LinkedHashMap<>();
+
+		VirtualUser(BenchFixture fx, Targets targets, int[] weights, ZipfSampler accounts, long thinkMs, long end,
+				AtomicLong completed) {
+			this.fx = fx;
+			this.targets = targets;
+			this.accounts = accounts;
+			this.thinkMs = thinkMs;
+			this.end = end;
+			this.completed = completed;
+			this.cumulative = new int[weights.length];
+			int acc = 0;
+			for (int i = 0; i < weights.length; i++) cumulative[i] = acc += weights[i];
+			for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+		}
+
+		void loop() {
+			ThreadLocalRandom rnd = ThreadLocalRandom.current();
+			long start;
+			while ((start = System.nanoTime()) < end) {
+				int op = pickOp(rnd);
+				try {
+					execute(op, rnd);
+					histograms[op].record(System.nanoTime() - start);
+				} catch (RuntimeException e) {
+					errors.merge(OP_NAMES[op] + "/" + classify(e), 1L, Long::sum);
+				}
+				completed.incrementAndGet();
+				if (thinkMs > 0) {
+					try {
+						Thread.sleep(thinkMs);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			}
+		}
+
+		private int pickOp(ThreadLocalRandom rnd) {
+			int r = rnd.nextInt(cumulative[cumulative.length - 1]);
+			for (int i = 0; i < cumulative.length; i++) {
+				if (r < cumulative[i]) return i;
+			}
+			return cumulative.length - 1;
+		}
+
+		private void execute(int op, ThreadLocalRandom rnd) {
+			int i = accounts.next(rnd);
+			long accountId = targets.accountIds[i];
+			long userId = targets.actor(i, rnd);
+			switch (OP_NAMES[op]) {
+				case "cardExpense" -> txService.addExpenseCard(targets.cardIds[i], 1 + rnd.nextInt(5_000), "load", null, userId);
+				case "expense" -> txService.addExpenseOther(accountId, 1 + rnd.nextInt(5_000), "load", null, userId);
+				case "income" -> txService.addIncomeOther(accountId, 1 + rnd.nextInt(10_000), "load", null, userId);
+				case "transfer" -> {
+					int to = accounts.next(rnd);
+					if (to == i) to = (i + 1) % targets.size();
+					txService.transfer(accountId, targets.accountIds[to], 1 + rnd.nextInt(5_000), "load", userId);
+				}
+				case "search" -> txService.searchPage(new TransactionSearchCondition(userId, null, null, null, null, null), null, 20);
+				case "listAccounts" -> accountService.findMyAccounts(userId);
+				case "groupMembers" -> {
+					List<Long> groupIds = fx.groupAccountIds();
+					groupService.findMemberInfoByAccountId(groupIds.get(rnd.nextInt(groupIds.size())));
+				}
+				default -> throw new IllegalStateException("unknown op " + op);
+			}
+		}
+	}
+
+	/** Zipf 순위 → 계좌 / 카드 / 요청 사용자 후보 (개인 계좌는 소유자, 모임 통장은 멤버 전원) */
+	static class Targets {
+		final long[] accountIds;
+		final long[] cardIds;
+		final long[][] actors;
+
+		Targets(BenchFixture fx) {
+			int personal = fx.size();
+			int groups = fx.groupAccountIds().size();
+			List<Integer> order = new ArrayList<>(personal + groups);
+			for (int k = 0; k < personal + groups; k++) order.add(k);
+			Collections.shuffle(order, new Random(42)); // 실행마다 같은 순위
+			accountIds = new long[order.size()];
+			cardIds = new long[order.size()];
+			actors = new long[order.size()][];
+			for (int rank = 0; rank < order.size(); rank++) {
+				int k = order.get(rank);
+				if (k < personal) {
+					accountIds[rank] = fx.accountIds.get(k);
+					cardIds[rank] = fx.cardIds.get(k);
+					actors[rank] = new long[] { fx.ownerOf(k) };
+				} else {
+					int g = k - personal;
+					accountIds[rank] = fx.groupAccountIds().get(g);
+					cardIds[rank] = fx.groupCardId(g);
+					actors[rank] = fx.groupMemberIds(g).stream().mapToLong(Long::longValue).toArray();
+				}
+			}
+		}
+
+		int size() {
+			return accountIds.length;
+		}
+
+		long actor(int rank, ThreadLocalRandom rnd) {
+			long[] candidates = actors[rank];
+			return candidates.length == 1 ? candidates[0] : candidates[rnd.nextInt(candidates.length)];
+		}
+	}
+
+	/** 0..n-1 순위에 대한 Zipf 분포 표본 (누적분포 + 이진 탐색) */
+	static class ZipfSampler {
+		private final double[] cdf;
+
+		ZipfSampler(int n, double skew) {
+			cdf = new double[n];
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				sum += 1.0 / Math.pow(k + 1, skew);
+				cdf[k] = sum;
+			}
+			for (int k = 0; k < n; k++) cdf[k] /= sum;
+		}
+
+		int next(ThreadLocalRandom rnd) {
+			double u = rnd.nextDouble();
+			int lo = 0, hi = cdf.length - 1;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (cdf[mid] < u) lo = mid + 1;
+				else hi = mid;
+			}
+			return lo;
+		}
+	}
+}
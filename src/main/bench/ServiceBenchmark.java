@@ -0,0 +1,195 @@
+package main.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import main.db.DbUtil;
+import main.dto.TransactionSearchCondition;
+import main.repository.AccountRepository;
+import main.repository.Repositories;
+import main.service.TransactionService;
+import main.util.ConsoleTable;
+import main.util.LatencyHistogram;
+
+/**
+ * 서비스/리포지토리 핫패스 벤치마크 (처리량 + p50/p99)
+ * - 실행: java -cp "out:lib/*" main.bench.ServiceBenchmark --threads=1,4,16 --accounts=10,100 --ledger=0,100000
+ * - 옵션: --ops=addIncomeOther,addExpenseCard,transfer,search,findAllByUserId --warmup-sec=3 --measure-sec=10 --keep
+ *         --memory (DB 없이 메모리 저장소로 측정 - 서비스 계층 자체 비용 확인용, REPOSITORY_MODE=memory와 같음)
+ * - accounts × ledger 조합마다 데이터를 만들고(ledger는 오름차순으로 누적) threads × ops 를 측정
+ * - DB 접속은 DbUtil과 동일한 환경변수(DB_HOST 등)를 사용하므로 전용 스키마를 가리키게 할 것
+ */
+public class ServiceBenchmark {
+
+	private static final long INITIAL_BALANCE = 1_000_000_000_000L;
+
+	@FunctionalInterface
+	interface Op {
+		void run(BenchFixture fx, ThreadLocalRandom rnd);
+	}
+
+	// 저장소 모드(--memory)를 정한 뒤 main에서 생성
+	private static TransactionService txService;
+	private static AccountRepository accountRepository;
+
+	private static final Map<String, Op> OPS = new LinkedHashMap<>();
+	static {
+		OPS.put("addIncomeOther", (fx, rnd) -> {
+			int i = rnd.nextInt(fx.size());
+			txService.addIncomeOther(fx.accountIds.get(i), 1_000, "bench", null, fx.ownerOf(i));
+		});
+		OPS.put("addExpenseCard", (fx, rnd) -> {
+			int i = rnd.nextInt(fx.size());
+			txService.addExpenseCard(fx.cardIds.get(i), 1, "bench", null, fx.ownerOf(i));
+		});
+		OPS.put("transfer", (fx, rnd) -> {
+			int from = rnd.nextInt(fx.size());
+			int to = (from + 1 + rnd.nextInt(fx.size() - 1)) % fx.size();
+			txService.transfer(fx.accountIds.get(from), fx.accountIds.get(to), 1, "bench", fx.ownerOf(from));
+		});
+		OPS.put("search", (fx, rnd) -> {
+			int i = rnd.nextInt(fx.size());
+			txService.searchPage(new TransactionSearchCondition(fx.ownerOf(i), null, null, null, null, null), null, 20);
+		});
+		// AccountAccessCache를 거치지 않는 원본 쿼리
+		OPS.put("findAllByUserId", (fx, rnd) -> accountRepository.findAllByUserId(fx.ownerOf(rnd.nextInt(fx.size()))));
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		Map<String, String> opts = parseArgs(args);
+		if (opts.containsKey("memory")) Repositories.useInMemory();
+		txService = new TransactionService();
+		accountRepository = Repositories.accounts();
+		int[] threads = ints(opts.getOrDefault("threads", "1,4,16"));
+		int[] accounts = ints(opts.getOrDefault("accounts", "10,100"));
+		long[] ledgers = Arrays.stream(ints(opts.getOrDefault("ledger", "0,100000"))).asLongStream().sorted().toArray();
+		List<String> ops = Arrays.asList(opts.getOrDefault("ops", String.join(",", OPS.keySet())).split(","));
+		long warmupMs = Long.parseLong(opts.getOrDefault("warmup-sec", "3")) * 1000;
+		long measureMs = Long.parseLong(opts.getOrDefault("measure-sec", "10")) * 1000;
+		boolean keep = opts.containsKey("keep");
+
+		for (String op : ops) {
+			if (!OPS.containsKey(op)) throw new IllegalArgumentException("알 수 없는 op: " + op + " (가능: " + OPS.keySet() + ")");
+		}
+
+		List<String[]> rows = new ArrayList<>();
+		try {
+			for (int accountCount : accounts) {
+				if (accountCount < 2) throw new IllegalArgumentException("accounts는 2 이상이어야 합니다.");
+				System.out.println("⏳ 데이터 준비: 계좌 " + accountCount + "개");
+				BenchFixture fx = BenchFixture.create(accountCount, INITIAL_BALANCE);
+				try {
+					for (long ledger : ledgers) {
+						fx.growLedger(ledger);
+						for (int t : threads) {
+							for (String op : ops) {
+								Result r = measure(fx, OPS.get(op), t, warmupMs, measureMs);
+								rows.add(r.toRow(op, t, accountCount, fx.ledgerRows()));
+								System.out.println("  " + op + " threads=" + t + " ledger=" + fx.ledgerRows() + " → "
+										+ String.format("%.1f ops/s", r.throughput()));
+							}
+						}
+					}
+				} finally {
+					if (!keep) fx.cleanup();
+				}
+			}
+		} finally {
+			DbUtil.shutdown();
+		}
+
+		ConsoleTable.printTable("📊 벤치마크 결과 (" + measureMs / 1000 + "초 측정, 지연 단위 ms)",
+				new String[] { "op", "threads", "accounts", "ledger", "ops", "errors", "ops/s", "p50", "p99", "max" },
+				rows);
+	}
+
+	/** warmup 후 measure 동안 스레드별로 반복 실행, 히스토그램 합산 */
+	static Result measure(BenchFixture fx, Op op, int threads, long warmupMs, long measureMs)
+			throws InterruptedException {
+		LatencyHistogram[] histograms = new LatencyHistogram[threads];
+		AtomicLong errors = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(threads);
+		long start = System.nanoTime();
+		long measureFrom = start + warmupMs * 1_000_000;
+		long end = measureFrom + measureMs * 1_000_000;
+
+		for (int t = 0; t < threads; t++) {
+			LatencyHistogram h = histograms[t] = new LatencyHistogram();
+			Thread worker = new Thread(() -> {
+				ThreadLocalRandom rnd = ThreadLocalRandom.current();
+				try {
+					long now;
+					while ((now = System.nanoTime()) < end) {
+						boolean measuring = now >= measureFrom;
+						try {
+							op.run(fx, rnd);
+						} catch (RuntimeException e) {
+							if (measuring) errors.incrementAndGet();
+							continue;
+						}
+						if (measuring) h.record(System.nanoTime() - now);
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "bench-" + t);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		done.await();
+
+		LatencyHistogram total = new LatencyHistogram();
+		for (LatencyHistogram h : histograms) total.merge(h);
+		return new Result(total, errors.get(), measureMs);
+	}
+
+	static class Result {
+		final LatencyHistogram histogram;
+		final long errors;
+		final long measureMs;
+
+		Result(LatencyHistogram histogram, long errors, long measureMs) {
+			this.histogram = histogram;
+			this.errors = errors;
+			this.measureMs = measureMs;
+		}
+
+		double throughput() {
+			return histogram.count() * 1000.0 / measureMs;
+		}
+
+		String[] toRow(String op, int threads, int accounts, long ledger) {
+			return new String[] { op, Integer.toString(threads), Integer.toString(accounts), Long.toString(ledger),
+					Long.toString(histogram.count()), Long.toString(errors), String.format("%.1f", throughput()),
+					millis(histogram.percentile(50)), millis(histogram.percentile(99)), millis(histogram.max()) };
+		}
+	}
+
+	static String millis(long nanos) {
+		return String.format("%.3f", nanos / 1_000_000.0);
+	}
+
+	/** --key=value / --flag 형식 */
+	static Map<String, String> parseArgs(String[] args) {
+		Map<String, String> opts = new HashMap<>();
+		for (String a : args) {
+			if (!a.startsWith("--")) throw new IllegalArgumentException("옵션은 --key=value 형식이어야 합니다: " + a);
+			int eq = a.indexOf('=');
+			if (eq < 0) opts.put(a.substring(2), "true");
+			else opts.put(a.substring(2, eq), a.substring(eq + 1));
+		}
+		return opts;
+	}
+
+	static int[] ints(String csv) {
+		return Arrays.stream(csv.split(",")).map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt)
+				.toArray();
+	}
+}
@@ -16,7 +16,6 @@ public class CardController {
     private final Scanner scanner;
     private final CardService cardService;
     private final AccountService accountService;
-    private final Random random = new Random();
 
     public CardController(Scanner scanner) {
         this.scanner = scanner;
@@ -31,6 +30,7 @@ public class CardController {
             System.out.println("2. 카드 목록 조회");
             System.out.println("3. 카드 상태 변경(ACTIVE/BLOCKED)");
             System.out.println("4. 카드 삭제");
+            System.out.println("5. 카드 일괄 발급");
             System.out.println("0. 이전 메뉴");
             System.out.print("👉 선택(번호 입력): ");
             String choice = scanner.nextLine().trim();
@@ -41,6 +41,7 @@ public class CardController {
                     case "2" -> listCards(currentUser);
                     case "3" -> changeStatus(currentUser);
                     case "4" -> deleteCard(currentUser);
+                    case "5" -> issueCardsInBulk(currentUser);
                     case "0" -> { return; }
                     default -> System.out.println("\n❗ 잘못된 번호입니다. 다시 입력해주세요.");
                 }
@@ -59,20 +60,7 @@ public class CardController {
         CardBrand brand = pickBrand();
         if (brand == null) return;
 
-        Card created = null;
-        String last = null;
-        for (int i = 0; i < 7 && created == null; i++) {
-            String masked = generateDigitCardNo();
-            last = masked;
-            try {
-                created = cardService.register(accountId, masked, brand.name());
-            } catch (IllegalArgumentException ignoreDup) {
-                // 중복 시 재시도
-            }
-        }
-        if (created == null) {
-            throw new IllegalStateException("카드 번호 충돌로 등록에 실패했습니다. 다시 시도해주세요. (마지막: " + last + ")");
-        }
+        Card created = cardService.issue(accountId, brand.name());
 
         Account acc = accountService.findMyAccounts(currentUser.getId())
                 .stream().filter(a -> a.getId() == accountId).findFirst().orElse(null);
@@ -166,6 +154,29 @@ public class CardController {
         }
     }
 
+    // 5) 일괄 발급
+    private void issueCardsInBulk(User currentUser) {
+        System.out.println("\n----- [💳 카드 일괄 발급] -----");
+        Long accountId = pickAccountId(currentUser, /*showAll*/ false, /*showBalance*/ false);
+        if (accountId == null) return;
+
+        CardBrand brand = pickBrand();
+        if (brand == null) return;
+
+        System.out.print("발급 수량(1~" + CardService.MAX_BULK_ISSUE + "): ");
+        int count;
+        try {
+            count = Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            System.err.println("❌ 처리 실패: 숫자를 입력하세요.");
+            return;
+        }
+
+        List<Card> issued = cardService.issueBulk(accountId, brand.name(), count);
+        System.out.println("✅ 카드 " + issued.size() + "장이 발급되었습니다. ("
+                + issued.get(0).getMaskedNo() + " ~ " + issued.get(issued.size() - 1).getMaskedNo() + ")");
+    }
+
     // ────────────── 내부 유틸 ──────────────
 
     private Map<Long, Account> getMyAccountMap(User currentUser) {
@@ -290,17 +301,6 @@ public class CardController {
         }
     }
 
-    // "1234-5678-9012-3456"
-    private String generateDigitCardNo() {
-        StringBuilder sb = new StringBuilder(19);
-        for (int i = 0; i < 16; i++) {
-            int d = random.nextInt(10);
-            sb.append(d);
-            if (i == 3 || i == 7 || i == 11) sb.append('-');
-        }
-        return sb.toString();
-    }
-
     private String brandDisplay(String stored) {
         if ("SAMSUNG".equalsIgnoreCase(stored)) return "SAMSUNG";
         if ("HYUNDAI".equalsIgnoreCase(stored)) return "HYUNDAI";
@@ -3,7 +3,10 @@ package main.controller;
 import main.domain.Account;
 import main.domain.Card;
 import main.domain.User;
+import main.dto.TransactionCursor;
 import main.dto.TransactionListDto;
+import main.dto.TransactionPage;
+import main.dto.TransactionSearchCondition;
 import main.service.AccountService;
 import main.service.TransactionService;
 import main.service.CardService;
@@ -25,6 +28,8 @@ import java.time.format.DateTimeFormatter;
  * - 표는 ConsoleTable 사용 (전각 폭 대응)
  */
 public class TransactionController {
+    private static final int PAGE_SIZE = 20;
+
     private final Scanner scanner;
     private final User currentUser;
     private final TransactionService transactionService;
@@ -330,29 +335,43 @@ public class TransactionController {
         s = scanner.nextLine().trim();
         if (!s.isEmpty()) try { max = Long.parseLong(s); } catch (NumberFormatException ignore) {}
 
-        List<TransactionListDto> rows = transactionService.search(currentUser.getId(), accountFilter, from, to, min, max);
-        if (rows.isEmpty()) {
-            System.out.println("✅ 조건에 맞는 기록이 없습니다.");
-            return;
-        }
+        TransactionSearchCondition condition =
+                new TransactionSearchCondition(currentUser.getId(), accountFilter, from, to, min, max);
 
-        // 거래 목록 표 (ID 미노출, 계좌/카드/방향/수단/금액/메모)
-        List<String[]> out = new ArrayList<>();
-        for (TransactionListDto r : rows) {
-            out.add(new String[]{
-                    r.accountName,
-                    r.accountNumber,
-                    (r.cardMaskedNo == null ? "-" : r.cardMaskedNo),
-                    r.kind.name(),
-                    r.method.name(),
-                    String.format("%,d원", r.amount),
-                    (r.memo == null ? "-" : r.memo)
-            });
+        // 페이지 단위로 필요한 만큼만 조회
+        TransactionCursor cursor = null;
+        int pageNo = 1;
+        while (true) {
+            TransactionPage page = transactionService.searchPage(condition, cursor, PAGE_SIZE);
+            if (page.rows.isEmpty()) {
+                if (pageNo == 1) System.out.println("✅ 조건에 맞는 기록이 없습니다.");
+                return;
+            }
+
+            // 거래 목록 표 (ID 미노출, 계좌/카드/방향/수단/금액/메모)
+            List<String[]> out = new ArrayList<>();
+            for (TransactionListDto r : page.rows) {
+                out.add(new String[]{
+                        r.accountName,
+                        r.accountNumber,
+                        (r.cardMaskedNo == null ? "-" : r.cardMaskedNo),
+                        r.kind.name(),
+                        r.method.name(),
+                        String.format("%,d원", r.amount),
+                        (r.memo == null ? "-" : r.memo)
+                });
+            }
+            ConsoleTable.printTable("\n----- [📜 거래 목록 (" + pageNo + "페이지)] -----",
+                    new String[]{"계좌 이름", "계좌번호", "카드번호", "방향", "수단", "금액", "메모"},
+                    out
+            );
+
+            if (!page.hasNext()) return;
+            System.out.print("👉 다음 페이지(엔터), 0=종료: ");
+            if ("0".equals(scanner.nextLine().trim())) return;
+            cursor = page.next;
+            pageNo++;
         }
-        ConsoleTable.printTable("\n----- [📜 거래 목록] -----",
-                new String[]{"계좌 이름", "계좌번호", "카드번호", "방향", "수단", "금액", "메모"},
-                out
-        );
     }
 
     private Long pickAccount(String label, List<Account> list) {
@@ -0,0 +1,28 @@
+package main.db;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 이벤트 - DbUtil.getConnection() 1회 (이벤트 길이 = 풀 대여 대기 시간)
+ * - WalletOperationEvent와 같은 스레드·시간대로 겹쳐 보면 느린 거래가 풀 대기였는지 바로 보임
+ */
+@Name("main.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category("Wallet")
+@Description("DbUtil 커넥션 대여 - 풀 대기 시간과 결과")
+@StackTrace(false)
+public final class ConnectionAcquireEvent extends Event {
+
+	@Label("Source")
+	@Description("pool / memory")
+	String source;
+
+	@Label("Outcome")
+	@Description("OK / TIMEOUT / ERROR")
+	String outcome;
+}
@@ -0,0 +1,230 @@
+package main.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 내장 커넥션 풀
+ * - 최대 개수는 Semaphore로 제한, 유휴 커넥션은 LIFO(최근 사용 우선)로 재사용
+ * - 대여 시 검증(isValid), 주기적 유휴 정리/최소 개수 보충, 장기 미반환(누수) 감지
+ * - 물리 커넥션마다 PreparedStatement LRU 캐시를 둔다(크기 0 = 비활성)
+ * - 대여 대기 시간/타임아웃 횟수, 문장 캐시 적중률 등은 stats()로 조회
+ */
+public class ConnectionPool {
+	private final String url;
+	private final String user;
+	private final String password;
+	private final PoolConfig config;
+
+	private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+	private final Semaphore permits;
+	private final AtomicInteger total = new AtomicInteger();
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	// 지표
+	private final LongAdder acquired = new LongAdder();
+	private final LongAdder acquireTimeouts = new LongAdder();
+	private final LongAdder created = new LongAdder();
+	private final LongAdder destroyed = new LongAdder();
+	private final LongAdder validationFailures = new LongAdder();
+	private final LongAdder leaksDetected = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+	private final ScheduledExecutorService housekeeper;
+	private volatile boolean shutdown;
+
+	public ConnectionPool(String url, String user, String password, PoolConfig config) {
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.config = config;
+		this.permits = new Semaphore(config.getMaxSize(), true);
+
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "db-pool-housekeeper");
+			t.setDaemon(true);
+			return t;
+		});
+		long interval = config.getHousekeepingIntervalMs();
+		housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/** 커넥션 대여 - 반환은 대여받은 Connection.close() */
+	public Connection getConnection() throws SQLException {
+		if (shutdown) throw new SQLException("커넥션 풀이 종료되었습니다.");
+
+		long start = System.nanoTime();
+		waiting.incrementAndGet();
+		boolean permitted;
+		try {
+			permitted = permits.tryAcquire(config.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("커넥션 대기 중 인터럽트되었습니다.", e);
+		} finally {
+			waiting.decrementAndGet();
+		}
+		if (!permitted) {
+			acquireTimeouts.increment();
+			throw new SQLTransientConnectionException("커넥션 풀 대기 시간 초과(" + config.getAcquireTimeoutMs()
+					+ "ms). active=" + borrowed.size() + ", max=" + config.getMaxSize());
+		}
+
+		try {
+			PooledConnection pc = takeValidIdle();
+			if (pc == null) pc = create();
+
+			Connection leased = pc.borrow(config.getLeakThresholdMs() > 0);
+			borrowed.add(pc);
+			recordWait(System.nanoTime() - start);
+			return leased;
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/** 프록시 close() 시 호출 */
+	void release(PooledConnection pc) {
+		borrowed.remove(pc);
+		try {
+			if (shutdown || pc.isBroken() || pc.physical().isClosed()) {
+				destroy(pc);
+				return;
+			}
+			pc.resetForReuse();
+			idle.offerFirst(pc);
+		} catch (SQLException e) {
+			destroy(pc);
+		} finally {
+			permits.release();
+		}
+	}
+
+	public PoolStats stats() {
+		long count = acquired.sum();
+		long avgMicros = count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / count);
+		return new PoolStats(total.get(), idle.size(), borrowed.size(), waiting.get(), count, acquireTimeouts.sum(),
+				created.sum(), destroyed.sum(), validationFailures.sum(), leaksDetected.sum(), avgMicros,
+				TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()), statementCounters.hits.sum(),
+				statementCounters.misses.sum(), statementCounters.evictions.sum());
+	}
+
+	public void shutdown() {
+		shutdown = true;
+		housekeeper.shutdownNow();
+		PooledConnection pc;
+		while ((pc = idle.pollFirst()) != null) destroy(pc);
+	}
+
+	// ────────────── 내부 ──────────────
+
+	private PooledConnection takeValidIdle() {
+		PooledConnection pc;
+		while ((pc = idle.pollFirst()) != null) {
+			if (isUsable(pc)) return pc;
+			validationFailures.increment();
+			destroy(pc);
+		}
+		return null;
+	}
+
+	/** 최근 사용된 커넥션은 검증 생략(왕복 1회 절약) */
+	private boolean isUsable(PooledConnection pc) {
+		if (System.currentTimeMillis() - pc.getLastUsedAt() < config.getValidationBypassMs()) return true;
+		try {
+			return pc.physical().isValid(config.getValidationTimeoutSec());
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private PooledConnection create() throws SQLException {
+		Connection physical = DriverManager.getConnection(url, user, password);
+		total.incrementAndGet();
+		created.increment();
+		int cacheSize = config.getStatementCacheSize();
+		StatementCache cache = cacheSize > 0 ? new StatementCache(cacheSize, statementCounters) : null;
+		return new PooledConnection(this, physical, cache);
+	}
+
+	private void destroy(PooledConnection pc) {
+		pc.closePhysical();
+		total.decrementAndGet();
+		destroyed.increment();
+	}
+
+	private void recordWait(long nanos) {
+		acquired.increment();
+		totalWaitNanos.add(nanos);
+		maxWaitNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/** 유휴 정리 → 최소 개수 보충 → 누수 감시 */
+	private void housekeep() {
+		try {
+			evictIdle();
+			fillToMin();
+			detectLeaks();
+		} catch (RuntimeException e) {
+			System.err.println("커넥션 풀 정리 작업 중 오류: " + e.getMessage());
+		}
+	}
+
+	private void evictIdle() {
+		long now = System.currentTimeMillis();
+		// 오래 쉰 커넥션은 덱 뒤쪽에 모인다
+		Iterator<PooledConnection> it = idle.descendingIterator();
+		while (it.hasNext() && total.get() > config.getMinSize()) {
+			PooledConnection pc = it.next();
+			if (now - pc.getLastUsedAt() > config.getIdleTimeoutMs() && idle.remove(pc)) {
+				destroy(pc);
+			}
+		}
+	}
+
+	private void fillToMin() {
+		while (!shutdown && total.get() < config.getMinSize()) {
+			if (!permits.tryAcquire()) return; // 사용 중이면 다음 주기에
+			try {
+				idle.offerLast(create());
+			} catch (SQLException e) {
+				System.err.println("커넥션 풀 최소 개수 보충 실패: " + e.getMessage());
+				return;
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	private void detectLeaks() {
+		long threshold = config.getLeakThresholdMs();
+		if (threshold <= 0) return;
+		long now = System.currentTimeMillis();
+		for (PooledConnection pc : borrowed) {
+			if (!pc.isLeakReported() && now - pc.getBorrowedAt() > threshold) {
+				pc.markLeakReported();
+				leaksDetected.increment();
+				System.err.println("❗ 커넥션 누수 의심: " + (now - pc.getBorrowedAt()) + "ms 동안 반환되지 않음");
+				Throwable site = pc.getBorrowSite();
+				if (site != null) site.printStackTrace();
+			}
+		}
+	}
+}
@@ -1,8 +1,9 @@
 package main.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.function.Supplier;
 
 public class DbUtil {
 
@@ -13,21 +14,84 @@ public class DbUtil {
 	private static final String USER = System.getenv().getOrDefault("DB_USER", "wallet");
 	private static final String PASSWORD = System.getenv().getOrDefault("DB_PASSWORD", "wallet");
 
+	// useServerPrepStmts: 서버 측 prepare → 커넥션별 문장 캐시(StatementCache)와 함께 파싱 1회로 재사용
+	// rewriteBatchedStatements: JDBC 배치 INSERT를 다중행 INSERT 한 번으로 전송
 	private static final String URL = "jdbc:mysql://" + HOST + ":" + PORT + "/" + NAME +
-			"?useLegacyDatetimeCode=false&serverTimezone=Asia/Seoul&useUnicode=true&characterEncoding=UTF-8";
+			"?useLegacyDatetimeCode=false&serverTimezone=Asia/Seoul&useUnicode=true&characterEncoding=UTF-8" +
+			"&useServerPrepStmts=true&rewriteBatchedStatements=true";
 
+	private static volatile ConnectionPool pool;
+	private static volatile Supplier<Connection> connectionSource;
+
+	/**
+	 * 풀에서 커넥션 대여 - close() 호출 시 물리 종료 대신 풀로 반환됨
+	 * SQL_METRICS=true면 문장 실행 시간을 SqlMetrics에 기록하는 커넥션으로 감싸서 줌
+	 */
 	public static Connection getConnection() {
+		ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+		event.begin();
+		event.outcome = "ERROR";
+		try {
+			Supplier<Connection> source = connectionSource;
+			if (source != null) {
+				event.source = "memory";
+				Connection conn = source.get();
+				event.outcome = "OK";
+				return conn;
+			}
+			event.source = "pool";
+			try {
+				Connection conn = pool().getConnection();
+				event.outcome = "OK";
+				return SqlMetrics.ENABLED ? InstrumentedConnection.wrap(conn) : conn;
+			} catch (ClassNotFoundException e) {
+				System.out.println("❗ JDBC 드라이버를 찾을 수 없습니다.");
+				e.printStackTrace();
+			} catch (SQLException e) {
+				if (e instanceof SQLTransientConnectionException) event.outcome = "TIMEOUT";
+				System.out.println("❗ 데이터베이스 연결에 실패했습니다. URL=" + URL);
+				e.printStackTrace();
+			}
+			return null;
+		} finally {
+			event.commit();
+		}
+	}
+
+	/** 풀 대신 커넥션을 공급할 곳 지정(메모리 저장소 모드) - null이면 다시 MySQL 풀 사용 */
+	public static void useConnectionSource(Supplier<Connection> source) {
+		connectionSource = source;
+	}
+
+	/** 커넥션 풀 현재 상태 (다른 커넥션 공급원을 쓰는 중이면 null) */
+	public static PoolStats poolStats() {
+		if (connectionSource != null) return null;
 		try {
-			Class.forName("com.mysql.cj.jdbc.Driver"); // JDBC 드라이버
-			return DriverManager.getConnection(URL, USER, PASSWORD);
+			return pool().stats();
 		} catch (ClassNotFoundException e) {
-			System.out.println("❗ JDBC 드라이버를 찾을 수 없습니다.");
-			e.printStackTrace();
-		} catch (SQLException e) {
-			System.out.println("❗ 데이터베이스 연결에 실패했습니다. URL=" + URL);
-			e.printStackTrace();
+			throw new IllegalStateException("MySQL JDBC 드라이버를 찾을 수 없습니다.", e);
+		}
+	}
+
+	/** 종료 시 유휴 커넥션 정리 */
+	public static void shutdown() {
+		ConnectionPool p = pool;
+		if (p != null) p.shutdown();
+	}
+
+	private static ConnectionPool pool() throws ClassNotFoundException {
+		ConnectionPool p = pool;
+		if (p == null) {
+			synchronized (DbUtil.class) {
+				p = pool;
+				if (p == null) {
+					Class.forName("com.mysql.cj.jdbc.Driver"); // JDBC 드라이버 (최초 1회)
+					p = new ConnectionPool(URL, USER, PASSWORD, PoolConfig.fromEnv());
+					pool = p;
+				}
+			}
 		}
-		return null;
+		return p;
 	}
 
 	public static void close(AutoCloseable... resources) {
@@ -0,0 +1,174 @@
+package main.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * SqlMetrics 기록용 Connection 감싸기
+ * - prepareStatement / prepareCall / createStatement가 돌려준 문장을 감싸 execute* 시간을 잼
+ * - 호출 위치(태그)는 문장을 만들 때 한 번만 계산(StackWalker) → 같은 문장의 반복 실행에는 비용 없음
+ * - 조회 행 수는 ResultSet을 끝까지 읽거나 닫을 때 next() 횟수로 더함
+ */
+final class InstrumentedConnection {
+
+	private InstrumentedConnection() {
+	}
+
+	static Connection wrap(Connection conn) {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConnectionHandler(conn));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static final class ConnectionHandler implements InvocationHandler {
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "prepareStatement", "prepareCall", "createStatement" -> {
+				Object statement = InstrumentedConnection.invoke(target, method, args);
+				String sql = (args != null && args.length > 0 && args[0] instanceof String s) ? s : null;
+				return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+						new Class<?>[] { method.getReturnType() },
+						new StatementHandler(statement, (Connection) proxy, SqlMetrics.callerTag(), sql));
+			}
+			case "equals" -> {
+				return proxy == args[0];
+			}
+			case "hashCode" -> {
+				return System.identityHashCode(proxy);
+			}
+			case "toString" -> {
+				return "Instrumented[" + target + "]";
+			}
+			default -> {
+				return InstrumentedConnection.invoke(target, method, args);
+			}
+			}
+		}
+	}
+
+	private static final class StatementHandler implements InvocationHandler {
+		private final Object target;
+		private final Connection owner;
+		private final String tag;
+		private final String sql; // PreparedStatement만 - Statement는 execute 인자
+
+		StatementHandler(Object target, Connection owner, String tag, String sql) {
+			this.target = target;
+			this.owner = owner;
+			this.tag = tag;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "getConnection":
+				return owner;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				break;
+			}
+			if (!name.startsWith("execute")) {
+				Object result = InstrumentedConnection.invoke(target, method, args);
+				return (result instanceof ResultSet rs && name.equals("getResultSet")) ? countRows(rs) : result;
+			}
+
+			String text = (args != null && args.length > 0 && args[0] instanceof String s) ? s : sql;
+			long started = System.nanoTime();
+			Object result;
+			try {
+				result = InstrumentedConnection.invoke(target, method, args);
+			} catch (SQLException e) {
+				SqlMetrics.record(tag, text, System.nanoTime() - started, 0, e);
+				throw e;
+			}
+			long elapsed = System.nanoTime() - started;
+			SqlMetrics.record(tag, text, elapsed, changedRows(result), null);
+			return (result instanceof ResultSet rs) ? countRows(rs) : result;
+		}
+
+		private ResultSet countRows(ResultSet rs) {
+			return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+					new Class<?>[] { ResultSet.class }, new ResultSetHandler(rs, tag));
+		}
+
+		private static long changedRows(Object result) {
+			if (result instanceof Integer n) return Math.max(0, n);
+			if (result instanceof Long n) return Math.max(0, n);
+			long sum = 0;
+			if (result instanceof int[] counts) {
+				for (int n : counts) sum += Math.max(0, n);
+			} else if (result instanceof long[] counts) {
+				for (long n : counts) sum += Math.max(0, n);
+			}
+			return sum;
+		}
+	}
+
+	private static final class ResultSetHandler implements InvocationHandler {
+		private final ResultSet target;
+		private final String tag;
+		private long rows;
+		private boolean reported;
+
+		ResultSetHandler(ResultSet target, String tag) {
+			this.target = target;
+			this.tag = tag;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "next" -> {
+				boolean more = target.next();
+				if (more) rows++;
+				else report();
+				return more;
+			}
+			case "close" -> {
+				report();
+				target.close();
+				return null;
+			}
+			case "equals" -> {
+				return proxy == args[0];
+			}
+			case "hashCode" -> {
+				return System.identityHashCode(proxy);
+			}
+			default -> {
+				return InstrumentedConnection.invoke(target, method, args);
+			}
+			}
+		}
+
+		private void report() {
+			if (reported) return;
+			reported = true;
+			SqlMetrics.addRows(tag, rows);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package main.db;
+
+/**
+ * 커넥션 풀 설정
+ * - 환경변수 우선 → 없으면 기본값 (DbUtil과 동일한 규칙)
+ */
+public class PoolConfig {
+
+	/** 항상 유지할 최소 커넥션 수 */
+	private final int minSize;
+
+	/** 동시에 열 수 있는 최대 커넥션 수 */
+	private final int maxSize;
+
+	/** 커넥션 대여 대기 한도(ms) - 초과 시 SQLException */
+	private final long acquireTimeoutMs;
+
+	/** 유휴 상태로 이 시간(ms)을 넘기면 최소 개수 초과분은 정리 */
+	private final long idleTimeoutMs;
+
+	/** 대여 시 검증(isValid) 타임아웃(초) */
+	private final int validationTimeoutSec;
+
+	/** 마지막 사용 후 이 시간(ms) 이내면 대여 시 검증 생략 */
+	private final long validationBypassMs;
+
+	/** 이 시간(ms) 이상 반환되지 않으면 누수 의심 로그 출력 (0 = 비활성, 기본) - 켜면 대여마다 스택을 캡처하므로 진단할 때만 */
+	private final long leakThresholdMs;
+
+	/** 유휴 정리/누수 감시 주기(ms) */
+	private final long housekeepingIntervalMs;
+
+	/** 커넥션별 PreparedStatement 캐시 크기 (0 = 비활성) */
+	private final int statementCacheSize;
+
+	public PoolConfig(int minSize, int maxSize, long acquireTimeoutMs, long idleTimeoutMs, int validationTimeoutSec,
+			long validationBypassMs, long leakThresholdMs, long housekeepingIntervalMs, int statementCacheSize) {
+		if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+			throw new IllegalArgumentException("커넥션 풀 크기 설정이 올바르지 않습니다. min=" + minSize + ", max=" + maxSize);
+		}
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.acquireTimeoutMs = acquireTimeoutMs;
+		this.idleTimeoutMs = idleTimeoutMs;
+		this.validationTimeoutSec = validationTimeoutSec;
+		this.validationBypassMs = validationBypassMs;
+		this.leakThresholdMs = leakThresholdMs;
+		this.housekeepingIntervalMs = housekeepingIntervalMs;
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	public static PoolConfig fromEnv() {
+		return new PoolConfig(
+				intEnv("DB_POOL_MIN_SIZE", 2),
+				intEnv("DB_POOL_MAX_SIZE", 10),
+				longEnv("DB_POOL_ACQUIRE_TIMEOUT_MS", 5_000),
+				longEnv("DB_POOL_IDLE_TIMEOUT_MS", 300_000),
+				intEnv("DB_POOL_VALIDATION_TIMEOUT_SEC", 2),
+				longEnv("DB_POOL_VALIDATION_BYPASS_MS", 500),
+				longEnv("DB_POOL_LEAK_THRESHOLD_MS", 0),
+				longEnv("DB_POOL_HOUSEKEEPING_MS", 10_000),
+				intEnv("DB_STMT_CACHE_SIZE", 64));
+	}
+
+	static int intEnv(String key, int def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Integer.parseInt(v.trim());
+		} catch (NumberFormatException e) {
+			System.err.println("❗ 환경변수 " + key + " 값이 숫자가 아닙니다. 기본값 " + def + " 사용");
+			return def;
+		}
+	}
+
+	static long longEnv(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			System.err.println("❗ 환경변수 " + key + " 값이 숫자가 아닙니다. 기본값 " + def + " 사용");
+			return def;
+		}
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getAcquireTimeoutMs() {
+		return acquireTimeoutMs;
+	}
+
+	public long getIdleTimeoutMs() {
+		return idleTimeoutMs;
+	}
+
+	public int getValidationTimeoutSec() {
+		return validationTimeoutSec;
+	}
+
+	public long getValidationBypassMs() {
+		return validationBypassMs;
+	}
+
+	public long getLeakThresholdMs() {
+		return leakThresholdMs;
+	}
+
+	public long getHousekeepingIntervalMs() {
+		return housekeepingIntervalMs;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+}
@@ -0,0 +1,113 @@
+package main.db;
+
+/**
+ * 커넥션 풀 상태 스냅샷(조회 시점 기준, 불변)
+ */
+public class PoolStats {
+	private final int total;
+	private final int idle;
+	private final int active;
+	private final int waiting;
+	private final long acquired;
+	private final long acquireTimeouts;
+	private final long created;
+	private final long destroyed;
+	private final long validationFailures;
+	private final long leaksDetected;
+	private final long avgAcquireWaitMicros;
+	private final long maxAcquireWaitMicros;
+	private final long statementCacheHits;
+	private final long statementCacheMisses;
+	private final long statementCacheEvictions;
+
+	public PoolStats(int total, int idle, int active, int waiting, long acquired, long acquireTimeouts, long created,
+			long destroyed, long validationFailures, long leaksDetected, long avgAcquireWaitMicros,
+			long maxAcquireWaitMicros, long statementCacheHits, long statementCacheMisses,
+			long statementCacheEvictions) {
+		this.total = total;
+		this.idle = idle;
+		this.active = active;
+		this.waiting = waiting;
+		this.acquired = acquired;
+		this.acquireTimeouts = acquireTimeouts;
+		this.created = created;
+		this.destroyed = destroyed;
+		this.validationFailures = validationFailures;
+		this.leaksDetected = leaksDetected;
+		this.avgAcquireWaitMicros = avgAcquireWaitMicros;
+		this.maxAcquireWaitMicros = maxAcquireWaitMicros;
+		this.statementCacheHits = statementCacheHits;
+		this.statementCacheMisses = statementCacheMisses;
+		this.statementCacheEvictions = statementCacheEvictions;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public int getWaiting() {
+		return waiting;
+	}
+
+	public long getAcquired() {
+		return acquired;
+	}
+
+	public long getAcquireTimeouts() {
+		return acquireTimeouts;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	public long getValidationFailures() {
+		return validationFailures;
+	}
+
+	public long getLeaksDetected() {
+		return leaksDetected;
+	}
+
+	public long getAvgAcquireWaitMicros() {
+		return avgAcquireWaitMicros;
+	}
+
+	public long getMaxAcquireWaitMicros() {
+		return maxAcquireWaitMicros;
+	}
+
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	public long getStatementCacheMisses() {
+		return statementCacheMisses;
+	}
+
+	public long getStatementCacheEvictions() {
+		return statementCacheEvictions;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStats{total=" + total + ", idle=" + idle + ", active=" + active + ", waiting=" + waiting
+				+ ", acquired=" + acquired + ", timeouts=" + acquireTimeouts + ", created=" + created
+				+ ", destroyed=" + destroyed + ", validationFailures=" + validationFailures + ", leaks="
+				+ leaksDetected + ", avgWait=" + avgAcquireWaitMicros + "us, maxWait=" + maxAcquireWaitMicros
+				+ "us, stmtCache(hit=" + statementCacheHits + ", miss=" + statementCacheMisses + ", evict="
+				+ statementCacheEvictions + ")}";
+	}
+}
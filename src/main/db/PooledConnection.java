@@ -0,0 +1,226 @@
+package main.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 풀이 관리하는 물리 커넥션 1개
+ * - 호출자에게는 프록시 Connection을 대여하고, close()는 물리 종료 대신 풀 반환으로 바꾼다
+ * - 대여마다 새 프록시를 만들어 반환 후 재사용(이중 close, 반환 후 사용)을 막는다
+ * - prepareStatement(sql)는 커넥션별 StatementCache를 거친다(서버 측 prepare 1회 재사용)
+ */
+class PooledConnection {
+	private final ConnectionPool pool;
+	private final Connection physical;
+	private final StatementCache statementCache; // null = 캐시 비활성
+
+	private volatile long lastUsedAt = System.currentTimeMillis();
+	private volatile long borrowedAt;
+	private volatile Throwable borrowSite; // 누수 감지용 대여 위치
+	private volatile boolean leakReported;
+	private volatile boolean broken;
+
+	PooledConnection(ConnectionPool pool, Connection physical, StatementCache statementCache) {
+		this.pool = pool;
+		this.physical = physical;
+		this.statementCache = statementCache;
+	}
+
+	/** 대여 처리 후 이번 대여 전용 프록시 반환 */
+	Connection borrow(boolean captureSite) {
+		borrowedAt = System.currentTimeMillis();
+		borrowSite = captureSite ? new Throwable("커넥션 대여 위치") : null;
+		leakReported = false;
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new Lease());
+	}
+
+	/** 반환 직전 상태 초기화(트랜잭션 정리) */
+	void resetForReuse() throws SQLException {
+		if (!physical.getAutoCommit()) {
+			physical.rollback();
+			physical.setAutoCommit(true);
+		}
+		physical.clearWarnings();
+		lastUsedAt = System.currentTimeMillis();
+		borrowSite = null;
+	}
+
+	void closePhysical() {
+		if (statementCache != null) statementCache.closeAll();
+		try {
+			physical.close();
+		} catch (SQLException ignore) {
+		}
+	}
+
+	Connection physical() {
+		return physical;
+	}
+
+	long getLastUsedAt() {
+		return lastUsedAt;
+	}
+
+	long getBorrowedAt() {
+		return borrowedAt;
+	}
+
+	Throwable getBorrowSite() {
+		return borrowSite;
+	}
+
+	boolean isLeakReported() {
+		return leakReported;
+	}
+
+	void markLeakReported() {
+		leakReported = true;
+	}
+
+	boolean isBroken() {
+		return broken;
+	}
+
+	/** 한 번의 대여에 해당하는 프록시 핸들러 */
+	private class Lease implements InvocationHandler {
+		private boolean returned;
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "close":
+				if (!returned) {
+					returned = true;
+					pool.release(PooledConnection.this);
+				}
+				return null;
+			case "isClosed":
+				return returned || physical.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "PooledConnection[" + physical + (returned ? ", returned" : "") + "]";
+			default:
+				break;
+			}
+			if (returned) {
+				throw new SQLException("이미 풀에 반환된 커넥션입니다.");
+			}
+			if (statementCache != null && name.equals("prepareStatement") && isCacheable(args)) {
+				return prepareCached((Connection) proxy, (String) args[0],
+						args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS);
+			}
+			try {
+				return method.invoke(physical, args);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException se && isFatal(se)) {
+					broken = true;
+				}
+				throw cause;
+			}
+		}
+	}
+
+	/** prepareStatement(String) / prepareStatement(String, int autoGeneratedKeys)만 캐시 대상 */
+	private static boolean isCacheable(Object[] args) {
+		return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+	}
+
+	private PreparedStatement prepareCached(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+		String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+		PreparedStatement ps = statementCache.take(key);
+		if (ps == null) {
+			try {
+				ps = physical.prepareStatement(sql, autoGeneratedKeys);
+			} catch (SQLException e) {
+				if (isFatal(e)) broken = true;
+				throw e;
+			}
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new CachedStatement(owner, key, ps));
+	}
+
+	/** close() 시 물리 종료 대신 캐시로 되돌리는 문장 프록시 */
+	private class CachedStatement implements InvocationHandler {
+		private final Connection owner;
+		private final String key;
+		private final PreparedStatement physicalStatement;
+		private boolean returned;
+
+		CachedStatement(Connection owner, String key, PreparedStatement physicalStatement) {
+			this.owner = owner;
+			this.key = key;
+			this.physicalStatement = physicalStatement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!returned) {
+					returned = true;
+					recycle();
+				}
+				return null;
+			case "isClosed":
+				return returned || physicalStatement.isClosed();
+			case "getConnection":
+				return owner;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "CachedStatement[" + key + "]";
+			default:
+				break;
+			}
+			if (returned) {
+				throw new SQLException("이미 닫힌 PreparedStatement입니다.");
+			}
+			try {
+				return method.invoke(physicalStatement, args);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException se && isFatal(se)) {
+					broken = true;
+				}
+				throw cause;
+			}
+		}
+
+		/** 파라미터/배치를 비우고 캐시에 반납 - 실패하면 물리적으로 닫는다 */
+		private void recycle() {
+			try {
+				if (broken || physicalStatement.isClosed()) return;
+				physicalStatement.clearParameters();
+				physicalStatement.clearBatch();
+				physicalStatement.clearWarnings();
+				statementCache.offer(key, physicalStatement);
+			} catch (SQLException e) {
+				try {
+					physicalStatement.close();
+				} catch (SQLException ignore) {
+				}
+			}
+		}
+	}
+
+	/** SQLState 08xxx(연결 오류)는 재사용 불가로 간주 */
+	private static boolean isFatal(SQLException e) {
+		String state = e.getSQLState();
+		return state != null && state.startsWith("08");
+	}
+}
@@ -0,0 +1,159 @@
+package main.db;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import main.util.ConsoleTable;
+import main.util.LatencyHistogram;
+
+/**
+ * SQL 실행 지표 - DbUtil이 빌려준 커넥션의 문장 실행을 호출 위치(저장소 클래스.메서드)별로 집계
+ * - 위치별 지연 히스토그램(LatencyHistogram), 실행 수, 행 수, 오류 수, 잠금 대기 오류(1205 대기 초과 / 1213 교착) 수
+ * - SQL_SLOW_MS(기본 200) 이상 걸린 실행과 잠금 대기 오류는 System.err에 한 줄씩 기록
+ * - 기본은 꺼짐, 켜기: SQL_METRICS=true - 문장을 만들 때마다 스택을 훑어 호출 위치를 구하므로 진단할 때만 켬
+ *   (꺼져 있으면 커넥션을 감싸지 않음), 메모리 저장소 모드는 SQL을 실행하지 않으므로 대상 아님
+ */
+public final class SqlMetrics {
+
+	static final boolean ENABLED = "true".equalsIgnoreCase(System.getenv("SQL_METRICS"));
+	static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(envLong("SQL_SLOW_MS", 200));
+
+	private static final int SQL_LOG_MAX = 300;
+	private static final StackWalker WALKER = StackWalker.getInstance();
+	private static final Map<String, Site> SITES = new ConcurrentHashMap<>();
+
+	private SqlMetrics() {
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/** 위치별 지표 - 누적 실행 시간이 긴 순 */
+	public static List<SqlStats> snapshot() {
+		List<SqlStats> list = new ArrayList<>();
+		for (Map.Entry<String, Site> e : SITES.entrySet()) list.add(e.getValue().stats(e.getKey()));
+		list.sort(Comparator.comparingLong(SqlStats::getTotalMicros).reversed());
+		return list;
+	}
+
+	public static void reset() {
+		SITES.clear();
+	}
+
+	/** 콘솔 표 출력 - 누적 시간 상위 limit개 */
+	public static void print(int limit) {
+		if (!ENABLED) {
+			System.out.println("SQL 실행 통계가 꺼져 있습니다. (켜기: SQL_METRICS=true)");
+			return;
+		}
+		List<String[]> rows = new ArrayList<>();
+		for (SqlStats s : snapshot()) {
+			if (rows.size() == limit) break;
+			rows.add(new String[] { s.getTag(), String.valueOf(s.getExecutions()), String.valueOf(s.getRows()),
+					String.valueOf(s.getErrors()), String.valueOf(s.getLockWaitErrors()),
+					String.valueOf(s.getSlowCount()), millis(s.getTotalMicros()), millis(s.getP50Micros()),
+					millis(s.getP95Micros()), millis(s.getP99Micros()), millis(s.getMaxMicros()) });
+		}
+		ConsoleTable.printTable("------ [📈 SQL 실행 통계 (시간 ms, 느린 기준 " + TimeUnit.NANOSECONDS.toMillis(SLOW_NANOS)
+				+ "ms)] ------", new String[] { "위치", "실행", "행", "오류", "잠금", "느림", "누적", "p50", "p95", "p99", "최대" },
+				rows);
+	}
+
+	// ────────────── 기록 (InstrumentedConnection에서 호출) ──────────────
+
+	/** 문장을 만든 호출 위치 - main.repository의 첫 프레임, 없으면 main.db 밖의 첫 프레임 */
+	static String callerTag() {
+		Optional<StackWalker.StackFrame> frame = WALKER.walk(s -> s
+				.filter(f -> f.getClassName().startsWith("main.repository.")).findFirst());
+		if (frame.isEmpty()) {
+			frame = WALKER.walk(s -> s.filter(f -> f.getClassName().startsWith("main.")
+					&& !f.getClassName().startsWith("main.db.")).findFirst());
+		}
+		if (frame.isEmpty()) return "(unknown)";
+		String cls = frame.get().getClassName();
+		return cls.substring(cls.lastIndexOf('.') + 1) + "." + frame.get().getMethodName();
+	}
+
+	/** 실행 1회 - rows는 변경 행 수(조회는 결과를 읽으며 addRows), error는 실패 시 */
+	static void record(String tag, String sql, long nanos, long rows, SQLException error) {
+		boolean slow = nanos >= SLOW_NANOS;
+		boolean lockWait = error != null && isLockWait(error);
+		site(tag).record(nanos, rows, error != null, lockWait, slow);
+		if (lockWait) {
+			System.err.printf("🔒 잠금 대기 오류 %dms [%s] %d %s | %s%n", TimeUnit.NANOSECONDS.toMillis(nanos), tag,
+					error.getErrorCode(), error.getMessage(), abbreviate(sql));
+		} else if (slow) {
+			System.err.printf("🐢 느린 SQL %dms [%s]%s | %s%n", TimeUnit.NANOSECONDS.toMillis(nanos), tag,
+					error == null ? "" : " 실패 " + error.getErrorCode(), abbreviate(sql));
+		}
+	}
+
+	static void addRows(String tag, long rows) {
+		if (rows > 0) site(tag).addRows(rows);
+	}
+
+	private static Site site(String tag) {
+		return SITES.computeIfAbsent(tag, k -> new Site());
+	}
+
+	private static boolean isLockWait(SQLException e) {
+		return e.getErrorCode() == 1205 || e.getErrorCode() == 1213 || e instanceof SQLTransactionRollbackException;
+	}
+
+	private static String abbreviate(String sql) {
+		if (sql == null) return "";
+		String s = sql.replaceAll("\\s+", " ").trim();
+		return s.length() <= SQL_LOG_MAX ? s : s.substring(0, SQL_LOG_MAX) + "...";
+	}
+
+	private static String millis(long micros) {
+		return String.format("%.1f", micros / 1000.0);
+	}
+
+	private static long envLong(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+
+	/** 위치 하나의 누적 값 - LatencyHistogram은 스레드 안전하지 않으므로 this로 동기화 */
+	private static final class Site {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private long rows;
+		private long errors;
+		private long lockWaits;
+		private long slow;
+		private long totalNanos;
+
+		synchronized void record(long nanos, long rowCount, boolean error, boolean lockWait, boolean isSlow) {
+			latency.record(nanos);
+			totalNanos += nanos;
+			rows += rowCount;
+			if (error) errors++;
+			if (lockWait) lockWaits++;
+			if (isSlow) slow++;
+		}
+
+		synchronized void addRows(long rowCount) {
+			rows += rowCount;
+		}
+
+		synchronized SqlStats stats(String tag) {
+			return new SqlStats(tag, latency.count(), rows, errors, lockWaits, slow, totalNanos / 1000,
+					(long) latency.mean() / 1000, latency.percentile(50) / 1000, latency.percentile(95) / 1000,
+					latency.percentile(99) / 1000, latency.max() / 1000);
+		}
+	}
+}
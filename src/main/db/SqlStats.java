@@ -0,0 +1,94 @@
+package main.db;
+
+/**
+ * 호출 위치(저장소 클래스.메서드) 하나의 SQL 실행 지표 스냅샷(조회 시점 기준, 불변) - 시간은 마이크로초
+ */
+public class SqlStats {
+	private final String tag;
+	private final long executions;
+	private final long rows;
+	private final long errors;
+	private final long lockWaitErrors;
+	private final long slowCount;
+	private final long totalMicros;
+	private final long meanMicros;
+	private final long p50Micros;
+	private final long p95Micros;
+	private final long p99Micros;
+	private final long maxMicros;
+
+	public SqlStats(String tag, long executions, long rows, long errors, long lockWaitErrors, long slowCount,
+			long totalMicros, long meanMicros, long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+		this.tag = tag;
+		this.executions = executions;
+		this.rows = rows;
+		this.errors = errors;
+		this.lockWaitErrors = lockWaitErrors;
+		this.slowCount = slowCount;
+		this.totalMicros = totalMicros;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p95Micros = p95Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+	}
+
+	/** 호출 위치 - 예) JdbcAccountRepository.findByIdForUpdate */
+	public String getTag() {
+		return tag;
+	}
+
+	public long getExecutions() {
+		return executions;
+	}
+
+	/** 조회 행(읽은 만큼) + 변경 행 */
+	public long getRows() {
+		return rows;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	/** 잠금 대기 초과(1205) / 교착(1213) */
+	public long getLockWaitErrors() {
+		return lockWaitErrors;
+	}
+
+	/** SQL_SLOW_MS 이상 걸린 실행 수 */
+	public long getSlowCount() {
+		return slowCount;
+	}
+
+	public long getTotalMicros() {
+		return totalMicros;
+	}
+
+	public long getMeanMicros() {
+		return meanMicros;
+	}
+
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	public long getP95Micros() {
+		return p95Micros;
+	}
+
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s n=%d rows=%d err=%d lock=%d slow=%d mean=%dus p50=%dus p95=%dus p99=%dus max=%dus",
+				tag, executions, rows, errors, lockWaitErrors, slowCount, meanMicros, p50Micros, p95Micros, p99Micros,
+				maxMicros);
+	}
+}
@@ -0,0 +1,71 @@
+package main.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 물리 커넥션 1개에 딸린 PreparedStatement 캐시 (SQL 문자열 키, LRU)
+ * - 대여 중인 문장은 캐시에서 빠져 있다가 close() 시 되돌아온다
+ *   → 같은 커넥션에서 같은 SQL을 중첩 사용해도 서로 간섭하지 않음
+ * - 커넥션 1개는 한 번에 한 스레드만 쓰므로 별도 동기화는 하지 않는다
+ */
+class StatementCache {
+
+	/** 풀 전체 합산 지표 */
+	static class Counters {
+		final LongAdder hits = new LongAdder();
+		final LongAdder misses = new LongAdder();
+		final LongAdder evictions = new LongAdder();
+	}
+
+	private final int capacity;
+	private final Counters counters;
+	private final LinkedHashMap<String, PreparedStatement> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	StatementCache(int capacity, Counters counters) {
+		this.capacity = capacity;
+		this.counters = counters;
+	}
+
+	/** 캐시된 문장을 꺼낸다(없으면 null) */
+	PreparedStatement take(String key) {
+		PreparedStatement ps = entries.remove(key);
+		if (ps != null) {
+			counters.hits.increment();
+		} else {
+			counters.misses.increment();
+		}
+		return ps;
+	}
+
+	/** 사용이 끝난 문장을 되돌린다 - 같은 키가 이미 있거나 용량 초과 시 오래된 것부터 닫음 */
+	void offer(String key, PreparedStatement ps) {
+		PreparedStatement previous = entries.put(key, ps);
+		if (previous != null && previous != ps) {
+			closeQuietly(previous);
+			counters.evictions.increment();
+		}
+		Iterator<Map.Entry<String, PreparedStatement>> it = entries.entrySet().iterator();
+		while (entries.size() > capacity && it.hasNext()) {
+			closeQuietly(it.next().getValue());
+			it.remove();
+			counters.evictions.increment();
+		}
+	}
+
+	void closeAll() {
+		for (PreparedStatement ps : entries.values()) closeQuietly(ps);
+		entries.clear();
+	}
+
+	private static void closeQuietly(PreparedStatement ps) {
+		try {
+			ps.close();
+		} catch (SQLException ignore) {
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package main.db;
+
+/**
+ * 호출 위치(서비스 클래스.메서드) 하나의 트랜잭션 재시도 지표 스냅샷(조회 시점 기준, 불변)
+ */
+public class TxRetryStats {
+	private final String tag;
+	private final long retriedTransactions;
+	private final long retries;
+	private final long deadlocks;
+	private final long lockTimeouts;
+	private final long recovered;
+	private final long exhausted;
+	private final long backoffMillis;
+
+	public TxRetryStats(String tag, long retriedTransactions, long retries, long deadlocks, long lockTimeouts,
+			long recovered, long exhausted, long backoffMillis) {
+		this.tag = tag;
+		this.retriedTransactions = retriedTransactions;
+		this.retries = retries;
+		this.deadlocks = deadlocks;
+		this.lockTimeouts = lockTimeouts;
+		this.recovered = recovered;
+		this.exhausted = exhausted;
+		this.backoffMillis = backoffMillis;
+	}
+
+	/** 호출 위치 - 예) TransactionService.transfer */
+	public String getTag() {
+		return tag;
+	}
+
+	/** 한 번 이상 재시도한 트랜잭션 수 */
+	public long getRetriedTransactions() {
+		return retriedTransactions;
+	}
+
+	public long getRetries() {
+		return retries;
+	}
+
+	/** 교착(1213 / SQLState 40001)으로 실패한 시도 */
+	public long getDeadlocks() {
+		return deadlocks;
+	}
+
+	/** 잠금 대기 초과(1205)로 실패한 시도 */
+	public long getLockTimeouts() {
+		return lockTimeouts;
+	}
+
+	/** 재시도 끝에 커밋된 트랜잭션 */
+	public long getRecovered() {
+		return recovered;
+	}
+
+	/** 재시도 한도를 넘겨 포기한 트랜잭션 */
+	public long getExhausted() {
+		return exhausted;
+	}
+
+	public long getBackoffMillis() {
+		return backoffMillis;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s tx=%d retries=%d deadlock=%d lockTimeout=%d recovered=%d exhausted=%d backoff=%dms",
+				tag, retriedTransactions, retries, deadlocks, lockTimeouts, recovered, exhausted, backoffMillis);
+	}
+}
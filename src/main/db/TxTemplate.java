@@ -0,0 +1,226 @@
+package main.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import main.exception.TransactionConflictException;
+import main.util.ConsoleTable;
+
+/**
+ * 트랜잭션 템플릿 - 커넥션 대여 → setAutoCommit(false) → 작업 → 커밋 / 실패 시 롤백 → autoCommit 복구 + 반납
+ * - 교착(1213 / SQLState 40001)·잠금 대기 초과(1205)로 실패하면 롤백하고 지수 백오프(전체 지터) 뒤 작업을 처음부터 다시 실행
+ *   (실패한 시도는 롤백되었으므로 다시 실행해도 중복 반영 없음 - 작업은 커밋 전 DB 작업만 담고, 캐시 무효화 등은 반환 뒤 호출부에서)
+ * - 한도: TX_RETRY_MAX(재시도 횟수, 기본 3), TX_RETRY_BASE_MS(기본 10), TX_RETRY_CAP_MS(한 번 대기 상한, 기본 200)
+ * - 한도를 넘기면 TransactionConflictException / 그 밖의 RuntimeException은 그대로, 검사 예외는 RuntimeException(errorMessage)으로
+ * - 재시도가 난 호출 위치별로 횟수·원인·복구/포기 수를 집계(retryStats)
+ */
+public final class TxTemplate {
+
+	static final int MAX_RETRIES = (int) envLong("TX_RETRY_MAX", 3);
+	static final long BASE_BACKOFF_MS = envLong("TX_RETRY_BASE_MS", 10);
+	static final long MAX_BACKOFF_MS = envLong("TX_RETRY_CAP_MS", 200);
+
+	private static final StackWalker WALKER = StackWalker.getInstance();
+	private static final Map<String, Site> SITES = new ConcurrentHashMap<>();
+
+	private TxTemplate() {
+	}
+
+	/** 트랜잭션 안에서 할 일 - 같은 커넥션으로 저장소를 호출 */
+	@FunctionalInterface
+	public interface Work<T> {
+		T execute(Connection conn) throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface VoidWork {
+		void execute(Connection conn) throws Exception;
+	}
+
+	/** 재시도 대상 실패 원인 */
+	enum Conflict {
+		DEADLOCK, LOCK_TIMEOUT
+	}
+
+	/** 작업 결과를 돌려줌 - errorMessage는 검사 예외를 감쌀 때 쓸 메시지(null이면 원인 메시지) */
+	public static <T> T execute(String errorMessage, Work<T> work) {
+		Site site = null;
+		for (int attempt = 0;; attempt++) {
+			Connection conn = null;
+			try {
+				conn = DbUtil.getConnection();
+				if (conn == null) throw new SQLException("커넥션을 얻지 못했습니다.");
+				conn.setAutoCommit(false);
+				T result = work.execute(conn);
+				conn.commit();
+				if (site != null) site.recovered();
+				return result;
+			} catch (Exception e) {
+				rollbackQuietly(conn);
+				Conflict conflict = classify(e);
+				if (conflict == null) {
+					throw (e instanceof RuntimeException) ? (RuntimeException) e
+							: (errorMessage == null ? new RuntimeException(e) : new RuntimeException(errorMessage, e));
+				}
+				if (site == null) site = SITES.computeIfAbsent(callerTag(), Site::new);
+				site.failed(conflict, attempt == 0);
+				if (attempt >= MAX_RETRIES) {
+					site.exhausted();
+					System.err.printf("🔁 재시도 포기 [%s] %s %d회 - %s%n", site.tag(), conflict, attempt + 1,
+							e.getMessage());
+					throw new TransactionConflictException("다른 거래와 충돌이 계속되어 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", e);
+				}
+			} finally {
+				restoreAndClose(conn);
+			}
+			// 커넥션을 반납한 뒤 대기 - 기다리는 동안 풀을 붙잡지 않음
+			backoff(attempt, site);
+		}
+	}
+
+	public static void run(String errorMessage, VoidWork work) {
+		execute(errorMessage, conn -> {
+			work.execute(conn);
+			return null;
+		});
+	}
+
+	/** 원인 사슬에서 교착·잠금 대기 초과를 찾음 (저장소가 RuntimeException으로 감싼 경우 포함), 아니면 null */
+	static Conflict classify(Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (!(t instanceof SQLException s)) continue;
+			if (s.getErrorCode() == 1205) return Conflict.LOCK_TIMEOUT;
+			if (s.getErrorCode() == 1213 || "40001".equals(s.getSQLState())
+					|| s instanceof SQLTransactionRollbackException) {
+				return Conflict.DEADLOCK;
+			}
+		}
+		return null;
+	}
+
+	/** 전체 지터: 0 ~ min(상한, 기본 × 2^시도) 사이 무작위 - 같이 충돌한 트랜잭션들이 같은 순간 다시 부딪히지 않게 */
+	private static void backoff(int attempt, Site site) {
+		long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(attempt, 20));
+		long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+		site.backoff(sleepMs);
+		if (sleepMs == 0) return;
+		try {
+			Thread.sleep(sleepMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransactionConflictException("재시도 대기 중 중단되었습니다.", e);
+		}
+	}
+
+	private static void rollbackQuietly(Connection conn) {
+		if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
+	}
+
+	private static void restoreAndClose(Connection conn) {
+		if (conn != null) {
+			try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
+			try { conn.close(); } catch (SQLException ignore) {}
+		}
+	}
+
+	/** execute/run을 부른 위치 - 재시도가 처음 날 때만 계산 */
+	private static String callerTag() {
+		return WALKER.walk(s -> s.dropWhile(f -> f.getClassName().startsWith(TxTemplate.class.getName()))
+				.findFirst()
+				.map(f -> {
+					String cls = f.getClassName();
+					return cls.substring(cls.lastIndexOf('.') + 1) + "." + f.getMethodName();
+				})
+				.orElse("(unknown)"));
+	}
+
+	// ────────────── 재시도 지표 ──────────────
+
+	/** 위치별 재시도 지표 - 재시도 횟수가 많은 순 */
+	public static List<TxRetryStats> retryStats() {
+		List<TxRetryStats> list = new ArrayList<>();
+		for (Site site : SITES.values()) list.add(site.stats());
+		list.sort(Comparator.comparingLong(TxRetryStats::getRetries).reversed());
+		return list;
+	}
+
+	public static void resetRetryStats() {
+		SITES.clear();
+	}
+
+	/** 콘솔 표 출력 - 재시도 많은 순 상위 limit개 (재시도가 없었으면 출력 없음) */
+	public static void printRetryStats(int limit) {
+		List<String[]> rows = new ArrayList<>();
+		for (TxRetryStats s : retryStats()) {
+			if (rows.size() == limit) break;
+			rows.add(new String[] { s.getTag(), String.valueOf(s.getRetriedTransactions()),
+					String.valueOf(s.getRetries()), String.valueOf(s.getDeadlocks()),
+					String.valueOf(s.getLockTimeouts()), String.valueOf(s.getRecovered()),
+					String.valueOf(s.getExhausted()), String.valueOf(s.getBackoffMillis()) });
+		}
+		if (rows.isEmpty()) return;
+		ConsoleTable.printTable("------ [🔁 트랜잭션 재시도 (최대 " + MAX_RETRIES + "회)] ------",
+				new String[] { "위치", "거래", "재시도", "교착", "잠금초과", "복구", "포기", "대기ms" }, rows);
+	}
+
+	private static long envLong(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+
+	/** 위치 하나의 누적 값 */
+	private static final class Site {
+		private final String tag;
+		private long transactions;
+		private long retries;
+		private long deadlocks;
+		private long lockTimeouts;
+		private long recovered;
+		private long exhausted;
+		private long backoffMillis;
+
+		Site(String tag) {
+			this.tag = tag;
+		}
+
+		String tag() {
+			return tag;
+		}
+
+		synchronized void failed(Conflict conflict, boolean first) {
+			if (first) transactions++;
+			if (conflict == Conflict.DEADLOCK) deadlocks++;
+			else lockTimeouts++;
+		}
+
+		synchronized void backoff(long millis) {
+			retries++;
+			backoffMillis += millis;
+		}
+
+		synchronized void recovered() {
+			recovered++;
+		}
+
+		synchronized void exhausted() {
+			exhausted++;
+		}
+
+		synchronized TxRetryStats stats() {
+			return new TxRetryStats(tag, transactions, retries, deadlocks, lockTimeouts, recovered, exhausted,
+					backoffMillis);
+		}
+	}
+}
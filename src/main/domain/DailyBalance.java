@@ -0,0 +1,41 @@
+package main.domain;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 잔액 스냅샷(daily_balance) - balanceDate 끝의 잔액
+ * - occurred_at이 balanceDate 다음 날 0시 이전인 거래가 모두 반영된 값
+ */
+public class DailyBalance {
+
+	/** 계좌 ID(Account.id) */
+	private final long accountId;
+
+	/** 기준일 */
+	private final LocalDate balanceDate;
+
+	/** 기준일 마감 잔액 */
+	private final long closingBalance;
+
+	private DailyBalance(long accountId, LocalDate balanceDate, long closingBalance) {
+		this.accountId = accountId;
+		this.balanceDate = balanceDate;
+		this.closingBalance = closingBalance;
+	}
+
+	public static DailyBalance fromDB(long accountId, LocalDate balanceDate, long closingBalance) {
+		return new DailyBalance(accountId, balanceDate, closingBalance);
+	}
+
+	public long getAccountId() {
+		return accountId;
+	}
+
+	public LocalDate getBalanceDate() {
+		return balanceDate;
+	}
+
+	public long getClosingBalance() {
+		return closingBalance;
+	}
+}
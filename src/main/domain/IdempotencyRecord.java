@@ -0,0 +1,45 @@
+package main.domain;
+
+import java.time.LocalDateTime;
+
+import main.enums.ExpenseOutcome;
+
+/**
+ * 멱등키 기록(idempotency_key) - (사용자, 키)당 한 건
+ * - request: 요청 요약(종류/계좌/금액 + 메모·발생 시각 해시) - 같은 키로 내용이 다른 요청이 오면 거절하는 데 사용
+ * - 반영된 요청(APPLIED)만 저장 - 거절/실패한 요청은 롤백되므로 같은 키로 다시 시도 가능
+ */
+public class IdempotencyRecord {
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final long userId;
+    private final String key;
+    private final String request;
+    private final ExpenseOutcome outcome;
+    private final LocalDateTime createdAt;
+
+    private IdempotencyRecord(long userId, String key, String request, ExpenseOutcome outcome,
+                              LocalDateTime createdAt) {
+        this.userId = userId;
+        this.key = key;
+        this.request = request;
+        this.outcome = outcome;
+        this.createdAt = createdAt;
+    }
+
+    /** 반영 성공으로 기록할 새 요청 */
+    public static IdempotencyRecord applied(long userId, String key, String request) {
+        return new IdempotencyRecord(userId, key, request, ExpenseOutcome.APPLIED, LocalDateTime.now());
+    }
+
+    public static IdempotencyRecord fromDB(long userId, String key, String request, ExpenseOutcome outcome,
+                                           LocalDateTime createdAt) {
+        return new IdempotencyRecord(userId, key, request, outcome, createdAt);
+    }
+
+    public long getUserId() { return userId; }
+    public String getKey() { return key; }
+    public String getRequest() { return request; }
+    public ExpenseOutcome getOutcome() { return outcome; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,106 @@
+package main.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 일괄 가져오기 진행 기록(import_job) - 청크 커밋과 같은 트랜잭션에서 저장되므로 "커밋된 청크 수"가 정확함
+ * - 불변: 청크를 마칠 때마다 afterChunk로 새 값을 만들어 저장
+ */
+public class ImportJob {
+
+	/** 작업 id(기본: 파일 이름) */
+	private final String jobId;
+
+	/** 원본 파일 경로 */
+	private final String source;
+
+	/** 원본 파일 크기(바이트) */
+	private final long sourceSize;
+
+	/** 청크당 행 수 */
+	private final int chunkSize;
+
+	/** 커밋한 청크 수 - 이어 받을 때 이만큼 건너뜀 */
+	private final long chunksCommitted;
+
+	private final long rowsImported;
+
+	private final long rowsRejected;
+
+	/** 파일 끝까지 가져왔는지 */
+	private final boolean completed;
+
+	private final LocalDateTime updatedAt;
+
+	private ImportJob(String jobId, String source, long sourceSize, int chunkSize, long chunksCommitted,
+			long rowsImported, long rowsRejected, boolean completed, LocalDateTime updatedAt) {
+		this.jobId = jobId;
+		this.source = source;
+		this.sourceSize = sourceSize;
+		this.chunkSize = chunkSize;
+		this.chunksCommitted = chunksCommitted;
+		this.rowsImported = rowsImported;
+		this.rowsRejected = rowsRejected;
+		this.completed = completed;
+		this.updatedAt = updatedAt;
+	}
+
+	/** 새 작업 - 아직 저장 전(첫 청크 커밋 때 함께 저장) */
+	public static ImportJob start(String jobId, String source, long sourceSize, int chunkSize) {
+		return new ImportJob(jobId, source, sourceSize, chunkSize, 0, 0, 0, false, LocalDateTime.now());
+	}
+
+	public static ImportJob fromDB(String jobId, String source, long sourceSize, int chunkSize, long chunksCommitted,
+			long rowsImported, long rowsRejected, boolean completed, LocalDateTime updatedAt) {
+		return new ImportJob(jobId, source, sourceSize, chunkSize, chunksCommitted, rowsImported, rowsRejected,
+				completed, updatedAt);
+	}
+
+	/** 청크 하나를 커밋한 뒤의 기록 */
+	public ImportJob afterChunk(int imported, int rejected) {
+		return new ImportJob(jobId, source, sourceSize, chunkSize, chunksCommitted + 1, rowsImported + imported,
+				rowsRejected + rejected, false, LocalDateTime.now());
+	}
+
+	/** 파일 끝까지 가져온 기록 */
+	public ImportJob complete() {
+		return new ImportJob(jobId, source, sourceSize, chunkSize, chunksCommitted, rowsImported, rowsRejected, true,
+				LocalDateTime.now());
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public long getSourceSize() {
+		return sourceSize;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public long getChunksCommitted() {
+		return chunksCommitted;
+	}
+
+	public long getRowsImported() {
+		return rowsImported;
+	}
+
+	public long getRowsRejected() {
+		return rowsRejected;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+}
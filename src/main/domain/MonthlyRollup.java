@@ -0,0 +1,107 @@
+package main.domain;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+
+import main.enums.TransactionKind;
+import main.enums.TransactionMethod;
+
+/**
+ * 월별 거래 집계(monthly_rollup) 한 행 - (계좌, 월, 방향, 수단, 카드, 입력자)별 합계와 건수
+ * - 카드/입력자가 없는 거래는 0으로 저장(PK 컬럼이라 NULL 불가)
+ */
+public class MonthlyRollup {
+
+	/** PK 순서 - 여러 행을 갱신할 때 이 순서로 잠가 교착을 피함 */
+	public static final Comparator<MonthlyRollup> KEY_ORDER = Comparator
+			.comparingLong(MonthlyRollup::getAccountId)
+			.thenComparing(MonthlyRollup::getMonth)
+			.thenComparing(MonthlyRollup::getKind)
+			.thenComparing(MonthlyRollup::getMethod)
+			.thenComparingLong(MonthlyRollup::getCardId)
+			.thenComparingLong(MonthlyRollup::getUserId);
+
+	/** 계좌 ID(Account.id) */
+	private final long accountId;
+
+	/** 집계 월(occurred_at 기준) */
+	private final YearMonth month;
+
+	private final TransactionKind kind;
+
+	private final TransactionMethod method;
+
+	/** 카드 ID(Card.id) - 카드 결제가 아니면 0 */
+	private final long cardId;
+
+	/** 입력자 ID(User.id) - 없으면 0 */
+	private final long userId;
+
+	/** 금액 합계 */
+	private final long totalAmount;
+
+	/** 거래 건수 */
+	private final long txCount;
+
+	private MonthlyRollup(long accountId, YearMonth month, TransactionKind kind, TransactionMethod method,
+			long cardId, long userId, long totalAmount, long txCount) {
+		this.accountId = accountId;
+		this.month = month;
+		this.kind = kind;
+		this.method = method;
+		this.cardId = cardId;
+		this.userId = userId;
+		this.totalAmount = totalAmount;
+		this.txCount = txCount;
+	}
+
+	/** 거래 1건이 더할 증분 */
+	public static MonthlyRollup of(Transaction t) {
+		return new MonthlyRollup(t.getAccountId(), YearMonth.from(t.getOccurredAt()), t.getKind(), t.getMethod(),
+				t.getCardId() == null ? 0 : t.getCardId(),
+				t.getCreatedByUserId() == null ? 0 : t.getCreatedByUserId(), t.getAmount(), 1);
+	}
+
+	public static MonthlyRollup fromDB(long accountId, YearMonth month, TransactionKind kind,
+			TransactionMethod method, long cardId, long userId, long totalAmount, long txCount) {
+		return new MonthlyRollup(accountId, month, kind, method, cardId, userId, totalAmount, txCount);
+	}
+
+	/** 같은 키의 두 증분을 합친 값 */
+	public MonthlyRollup plus(MonthlyRollup other) {
+		return new MonthlyRollup(accountId, month, kind, method, cardId, userId, totalAmount + other.totalAmount,
+				txCount + other.txCount);
+	}
+
+	public long getAccountId() {
+		return accountId;
+	}
+
+	public YearMonth getMonth() {
+		return month;
+	}
+
+	public TransactionKind getKind() {
+		return kind;
+	}
+
+	public TransactionMethod getMethod() {
+		return method;
+	}
+
+	public long getCardId() {
+		return cardId;
+	}
+
+	public long getUserId() {
+		return userId;
+	}
+
+	public long getTotalAmount() {
+		return totalAmount;
+	}
+
+	public long getTxCount() {
+		return txCount;
+	}
+}
@@ -0,0 +1,34 @@
+package main.dto;
+
+/**
+ * 계좌 하나의 잔액 대사 결과 - 같은 읽기 시점의 account.balance와 원장 합계
+ * - 기대 잔액 = 개설 입금액(opening_balance, 원장에 없음) + 원장 합계(IN - OUT)
+ * - opening_balance가 NULL(열 추가 전에 만든 계좌, 백필 전)이면 기대 잔액을 알 수 없음 → hasOpeningBalance()로 먼저 확인
+ */
+public class BalanceCheck {
+    public final long accountId;
+    public final long balance;
+    public final Long openingBalance; // null이면 백필 전
+    public final long ledgerNet;
+
+    public BalanceCheck(long accountId, long balance, Long openingBalance, long ledgerNet) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.openingBalance = openingBalance;
+        this.ledgerNet = ledgerNet;
+    }
+
+    public boolean hasOpeningBalance() {
+        return openingBalance != null;
+    }
+
+    public long expectedBalance() {
+        if (openingBalance == null) throw new IllegalStateException("개설 입금액 백필 전 계좌입니다. (account id: " + accountId + ")");
+        return openingBalance + ledgerNet;
+    }
+
+    /** 저장된 잔액 - 기대 잔액 (0이면 일치) */
+    public long drift() {
+        return balance - expectedBalance();
+    }
+}
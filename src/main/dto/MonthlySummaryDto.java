@@ -0,0 +1,27 @@
+package main.dto;
+
+import java.time.YearMonth;
+
+/** 월별 리포트 한 행 - 묶음 기준(ReportDimension) 값 하나의 그달 입금/출금 합계 */
+public class MonthlySummaryDto {
+    public final YearMonth month;
+    public final String key;   // METHOD: 수단명, CARD: card.id, MEMBER: user.id (입력자 없음은 "0")
+    public final String label; // 표시명 - 수단명 / 카드 마스킹 번호 / 사용자 이름 (삭제된 카드·사용자면 null)
+    public final long inAmount;
+    public final long outAmount;
+    public final long count;
+
+    public MonthlySummaryDto(YearMonth month,
+                             String key,
+                             String label,
+                             long inAmount,
+                             long outAmount,
+                             long count) {
+        this.month = month;
+        this.key = key;
+        this.label = label;
+        this.inAmount = inAmount;
+        this.outAmount = outAmount;
+        this.count = count;
+    }
+}
@@ -0,0 +1,32 @@
+package main.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 목록 이어보기 위치 (occurred_at DESC, id DESC 정렬 기준 마지막 행)
+ * - 토큰 문자열로 주고받을 수 있음: "2025-09-11T10:47:40.406_23"
+ */
+public class TransactionCursor {
+    public final LocalDateTime occurredAt;
+    public final long id;
+
+    public TransactionCursor(LocalDateTime occurredAt, long id) {
+        this.occurredAt = occurredAt;
+        this.id = id;
+    }
+
+    public String toToken() {
+        return occurredAt + "_" + id;
+    }
+
+    public static TransactionCursor fromToken(String token) {
+        int sep = token == null ? -1 : token.lastIndexOf('_');
+        if (sep <= 0) throw new IllegalArgumentException("잘못된 커서 토큰입니다: " + token);
+        try {
+            return new TransactionCursor(LocalDateTime.parse(token.substring(0, sep)),
+                    Long.parseLong(token.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰입니다: " + token, e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import main.enums.TransactionMethod;
 import java.time.LocalDateTime;
 
 public class TransactionListDto {
+    public final long id;
     public final String accountName;
     public final String accountNumber;
     public final String cardMaskedNo; // null 허용
@@ -15,7 +16,8 @@ public class TransactionListDto {
     public final String memo; // null 허용
     public final LocalDateTime occurredAt;
 
-    public TransactionListDto(String accountName,
+    public TransactionListDto(long id,
+                              String accountName,
                               String accountNumber,
                               String cardMaskedNo,
                               TransactionKind kind,
@@ -23,6 +25,7 @@ public class TransactionListDto {
                               long amount,
                               String memo,
                               LocalDateTime occurredAt) {
+        this.id = id;
         this.accountName = accountName;
         this.accountNumber = accountNumber;
         this.cardMaskedNo = cardMaskedNo;
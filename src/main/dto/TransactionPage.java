@@ -0,0 +1,18 @@
+package main.dto;
+
+import java.util.List;
+
+/** 거래 목록 한 페이지 + 다음 페이지 커서(마지막 페이지면 null) */
+public class TransactionPage {
+    public final List<TransactionListDto> rows;
+    public final TransactionCursor next;
+
+    public TransactionPage(List<TransactionListDto> rows, TransactionCursor next) {
+        this.rows = rows;
+        this.next = next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
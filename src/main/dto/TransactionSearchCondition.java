@@ -0,0 +1,27 @@
+package main.dto;
+
+import java.time.LocalDate;
+
+/** 거래 검색 조건 (null = 조건 없음, userId는 필수: 소유/멤버십 계좌 범위 제한) */
+public class TransactionSearchCondition {
+    public final long userId;
+    public final Long accountId;
+    public final LocalDate from;
+    public final LocalDate to;
+    public final Long minAmount;
+    public final Long maxAmount;
+
+    public TransactionSearchCondition(long userId,
+                                      Long accountId,
+                                      LocalDate from,
+                                      LocalDate to,
+                                      Long minAmount,
+                                      Long maxAmount) {
+        this.userId = userId;
+        this.accountId = accountId;
+        this.from = from;
+        this.to = to;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+}
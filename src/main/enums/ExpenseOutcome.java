@@ -0,0 +1,7 @@
+package main.enums;
+
+/** 그룹 커밋(LedgerWriter) / 잔액 엔진(BalanceEngine) 요청의 건별 처리 결과 */
+public enum ExpenseOutcome {
+    APPLIED,            // 반영 완료
+    INSUFFICIENT_FUNDS  // 잔액 부족으로 거절(원장/잔액 변경 없음)
+}
@@ -0,0 +1,13 @@
+package main.enums;
+
+/** 거래내역 내보내기 형식 (둘 다 gzip 압축) */
+public enum ExportFormat {
+    CSV("csv"),       // 헤더 1줄 + 행, Excel용 UTF-8 BOM 포함
+    NDJSON("ndjson"); // 한 줄에 JSON 객체 하나
+
+    private final String extension;
+
+    ExportFormat(String extension) { this.extension = extension; }
+
+    public String extension() { return extension; }
+}
@@ -0,0 +1,11 @@
+package main.enums;
+
+/**
+ * 월별 리포트 묶음 기준
+ * METHOD : 거래 수단(CARD / TRANSFER / OTHER)
+ * CARD   : 결제 카드(카드 결제만)
+ * MEMBER : 입력자(created_by_user_id)
+ */
+public enum ReportDimension {
+    METHOD, CARD, MEMBER
+}
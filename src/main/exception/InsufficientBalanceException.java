@@ -0,0 +1,9 @@
+package main.exception;
+
+/** 잔액 부족 - 기존 호출부 호환을 위해 IllegalStateException을 상속 */
+public class InsufficientBalanceException extends IllegalStateException {
+
+	public InsufficientBalanceException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,9 @@
+package main.exception;
+
+/** 교착·잠금 대기 초과가 재시도 한도까지 반복됨 - 요청 자체는 정상이므로 잠시 후 다시 시도하면 됨 */
+public class TransactionConflictException extends RuntimeException {
+
+	public TransactionConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
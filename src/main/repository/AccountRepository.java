@@ -1,275 +1,62 @@
 package main.repository;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Timestamp;
-import java.sql.Types;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import main.db.DbUtil;
 import main.domain.Account;
-import main.enums.AccountType;
 
-public class AccountRepository {
+/**
+ * 계좌 저장소 - Connection을 받는 메서드는 호출부 트랜잭션 안에서 실행
+ * 구현: JdbcAccountRepository(MySQL), InMemoryAccountRepository(메모리)
+ */
+public interface AccountRepository {
 
-	public Account save(Account account) {
-		try (Connection conn = DbUtil.getConnection()) {
-			return save(account, conn);
-		} catch (SQLException e) {
-			System.err.println("계좌 저장(단일) 중 DB 커넥션 오류 발생: " + e.getMessage());
-			e.printStackTrace();
-			throw new RuntimeException(e);
-		}
-	}
+	Account save(Account account);
 
-	public Account save(Account account, Connection conn) {
-		String sql = "INSERT INTO account (account_number, type, name, owner_user_id, balance, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+	Account save(Account account, Connection conn);
 
-		try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+	Optional<Account> findByAccountNumber(String accountNumber);
 
-			pstmt.setString(1, account.getAccountNumber());
-			pstmt.setString(2, account.getType().name());
-			pstmt.setString(3, account.getName());
-			if (account.getOwnerUserId() != null) {
-				pstmt.setLong(4, account.getOwnerUserId());
-			} else {
-				pstmt.setNull(4, Types.BIGINT);
-			}
+	/** 본인 소유 개인 계좌 + 멤버로 속한 모임 계좌 (모임 먼저, 이름순) */
+	List<Account> findAllByUserId(long userId);
 
-			pstmt.setLong(5, account.getBalance());
-			pstmt.setTimestamp(6, Timestamp.valueOf(account.getCreatedAt()));
+	boolean hasAnyAccount(long userId);
 
-			int affectedRows = pstmt.executeUpdate();
+	Optional<Account> findById(long accountId);
 
-			if (affectedRows == 0) {
-				throw new SQLException("계좌 생성 실패: 영향 받은 행이 없습니다.");
-			}
+	void updateBalance(long accountId, long newBalance);
 
-			try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-				if (generatedKeys.next()) {
-					long newId = generatedKeys.getLong(1);
-					return Account.fromDB(newId, account.getAccountNumber(), account.getType(), account.getName(),
-							account.getOwnerUserId(), account.getBalance(), account.getCreatedAt());
-				} else {
-					throw new SQLException("계좌 생성 실패: ID를 가져올 수 없습니다.");
-				}
-			}
-		} catch (SQLException e) {
-			throw new RuntimeException("계좌 저장(트랜잭션) 중 오류 발생", e);
-		}
-	}
+	void deleteById(long accountId);
 
-	public Optional<Account> findByAccountNumber(String accountNumber) {
-		String sql = "SELECT * FROM account WHERE account_number = ?";
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setString(1, accountNumber);
-			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) {
-					return Optional.of(mapRowToAccount(rs));
-				}
-			}
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-		return Optional.empty();
-	}
+	Optional<Account> findByNameAndOwnerUserId(String name, long ownerUserId);
 
-	public List<Account> findAllByUserId(long userId) {
-		// 사용자가 직접 소유한 개인 계좌(a.owner_user_id) 또는
-		// 사용자가 멤버로 속한 모임 계좌(gm.user_id)를 모두 조회
-		String sql = "SELECT DISTINCT a.* " + "FROM account a " + "LEFT JOIN group_member gm ON a.id = gm.account_id "
-				+ "WHERE a.owner_user_id = ? OR gm.user_id = ? "
-				+ "ORDER BY FIELD(a.type, 'GROUP', 'PERSONAL'), a.name ASC";
+	void updateName(long accountId, String newName);
 
-		List<Account> accounts = new ArrayList<>();
+	Optional<Account> findByIdForUpdate(long accountId, Connection conn);
 
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+	/** 두 계좌를 PK 오름차순으로 잠금 */
+	List<Account> findByIdsForUpdate(long firstId, long secondId, Connection conn);
 
-			pstmt.setLong(1, userId);
-			pstmt.setLong(2, userId);
+	void updateBalance(long accountId, long newBalance, Connection conn);
 
-			try (ResultSet rs = pstmt.executeQuery()) {
-				while (rs.next()) {
-					accounts.add(mapRowToAccount(rs));
-				}
-			}
-		} catch (SQLException e) {
-			System.err.println("사용자의 모든 계좌 조회 중 오류 발생: " + e.getMessage());
-			e.printStackTrace();
-		}
-		return accounts;
-	}
+	void increaseBalance(long accountId, long amount, Connection conn) throws SQLException;
 
-	public boolean hasAnyAccount(long userId) {
-		String sql = "SELECT 1 FROM account a " + "LEFT JOIN group_member gm ON a.id = gm.account_id "
-				+ "WHERE a.owner_user_id = ? OR gm.user_id = ? LIMIT 1";
+	void decreaseBalance(long accountId, long amount, Connection conn) throws SQLException;
 
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+	/** 잔액이 충분할 때만 감소 - 반영되면 true (잔액 부족 또는 계좌 없음이면 false) */
+	boolean decreaseBalanceIfSufficient(long accountId, long amount, Connection conn) throws SQLException;
 
-			pstmt.setLong(1, userId);
-			pstmt.setLong(2, userId);
+	boolean existsById(long accountId, Connection conn);
 
-			try (ResultSet rs = pstmt.executeQuery()) {
-				return rs.next();
-			}
-		} catch (SQLException e) {
-			System.err.println("사용자의 계좌 존재 여부 확인 중 오류: " + e.getMessage());
-			e.printStackTrace();
-			throw new RuntimeException("사용자의 계좌 존재 여부 확인 중 오류", e);
-		}
-	}
+	/** 출금 계좌 감소 + 입금 계좌 증가 (두 계좌 모두 있어야 함) */
+	void transferBalance(long fromAccountId, long toAccountId, long amount, Connection conn) throws SQLException;
 
-	public Optional<Account> findById(long accountId) {
-		String sql = "SELECT * FROM account WHERE id = ?";
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, accountId);
-			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) {
-					return Optional.of(mapRowToAccount(rs));
-				}
-			}
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-		return Optional.empty();
-	}
-
-	public void updateBalance(long accountId, long newBalance) {
-		String sql = "UPDATE account SET balance = ? WHERE id = ?";
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, newBalance);
-			pstmt.setLong(2, accountId);
-			pstmt.executeUpdate();
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-	}
-
-	public void deleteById(long accountId) {
-		String sql = "DELETE FROM account WHERE id = ?";
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, accountId);
-			pstmt.executeUpdate();
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-	}
-
-	public Optional<Account> findByNameAndOwnerUserId(String name, long ownerUserId) {
-		String sql = "SELECT * FROM account WHERE owner_user_id = ? AND name = ? AND type = 'PERSONAL'";
-
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-			pstmt.setLong(1, ownerUserId);
-			pstmt.setString(2, name);
-
-			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) {
-					return Optional.of(mapRowToAccount(rs));
-				}
-			}
-		} catch (SQLException e) {
-			System.err.println("이름과 소유자로 계좌 조회 중 오류 발생: " + e.getMessage());
-			e.printStackTrace();
-			throw new RuntimeException(e);
-		}
-		return Optional.empty();
-	}
-
-	public void updateName(long accountId, String newName) {
-		String sql = "UPDATE account SET name = ? WHERE id = ?";
-		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setString(1, newName);
-			pstmt.setLong(2, accountId);
-			pstmt.executeUpdate();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			throw new RuntimeException("계좌 이름 변경 중 오류 발생", e);
-		}
-	}
-
-	private Account mapRowToAccount(ResultSet rs) throws SQLException {
-		long ownerUserIdLong = rs.getLong("owner_user_id");
-		Long ownerUserId = rs.wasNull() ? null : ownerUserIdLong;
-
-		return Account.fromDB(rs.getLong("id"), rs.getString("account_number"),
-				AccountType.valueOf(rs.getString("type")), rs.getString("name"), ownerUserId, rs.getLong("balance"),
-				rs.getTimestamp("created_at").toLocalDateTime());
-	}
-
-	public Optional<Account> findByIdForUpdate(long accountId, Connection conn) {
-		String sql = "SELECT * FROM account WHERE id = ? FOR UPDATE";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, accountId);
-			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) {
-					return Optional.of(mapRowToAccount(rs));
-				}
-			}
-		} catch (SQLException e) {
-			throw new RuntimeException("계좌 조회(LOCK) 중 오류", e);
-		}
-		return Optional.empty();
-	}
-
-	public void updateBalance(long accountId, long newBalance, Connection conn) {
-		String sql = "UPDATE account SET balance = ? WHERE id = ?";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, newBalance);
-			pstmt.setLong(2, accountId);
-			pstmt.executeUpdate();
-		} catch (SQLException e) {
-			throw new RuntimeException("계좌 잔액 업데이트(트랜잭션) 중 오류", e);
-		}
-	}
-
-	public void increaseBalance(long accountId, long amount, Connection conn) throws SQLException {
-		String sql = "UPDATE account SET balance = balance + ? WHERE id = ?";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, amount);
-			pstmt.setLong(2, accountId);
-			pstmt.executeUpdate();
-		}
-	}
-
-	/** 같은 Connection을 공유하는 트랜잭션 안에서 잔액 감소 */
-	public void decreaseBalance(long accountId, long amount, Connection conn) throws SQLException {
-		String sql = "UPDATE account SET balance = balance - ? WHERE id = ?";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, amount);
-			pstmt.setLong(2, accountId);
-			pstmt.executeUpdate();
-		}
-	}
-
-
-	public Optional<Account> findByAccountNumberForUpdate(String accountNumber, Connection conn) {
-		String sql = "SELECT * FROM account WHERE account_number = ? FOR UPDATE";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setString(1, accountNumber);
-			try (ResultSet rs = pstmt.executeQuery()) {
-				if (rs.next()) return Optional.of(mapRowToAccount(rs));
-			}
-		} catch (SQLException e) {
-			throw new RuntimeException("계좌 조회(LOCK) 중 오류", e);
-		}
-		return Optional.empty();
-	}
-
-	public void deleteById(long accountId, Connection conn) {
-		String sql = "DELETE FROM account WHERE id = ?";
-		try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-			pstmt.setLong(1, accountId);
-			pstmt.executeUpdate();
-		} catch (SQLException e) {
-			throw new RuntimeException("계좌 삭제(트랜잭션) 중 오류", e);
-		}
-	}
+	Optional<Account> findByAccountNumberForUpdate(String accountNumber, Connection conn);
 
+	void deleteById(long accountId, Connection conn);
 
+	/** afterId보다 큰 계좌 id를 오름차순으로 최대 limit개 (전체 순회용) */
+	List<Long> findIdsAfter(long afterId, int limit);
 }
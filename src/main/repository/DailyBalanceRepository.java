@@ -0,0 +1,28 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import main.domain.DailyBalance;
+
+/**
+ * 일별 잔액 스냅샷 저장소(daily_balance)
+ * - 갱신은 계좌 행 잠금을 잡은 호출부 트랜잭션 안에서, 계좌 잔액 UPDATE와 원장 INSERT 뒤에 실행
+ * 구현: JdbcDailyBalanceRepository(MySQL), InMemoryDailyBalanceRepository(메모리)
+ */
+public interface DailyBalanceRepository {
+
+	/**
+	 * day에 발생한 거래 합계(delta) 반영 - day 이후 스냅샷에 delta를 더하고,
+	 * day 행이 없으면 현재 잔액에서 day 다음 날 이후 거래를 뺀 값으로 새로 만듦
+	 */
+	void applyDelta(long accountId, LocalDate day, long delta, Connection conn) throws SQLException;
+
+	/** 계좌 하나의 스냅샷을 원장으로 다시 계산(백필) - 저장한 행 수 */
+	int rebuild(long accountId, Connection conn) throws SQLException;
+
+	/** day 전날까지(day 미포함) 가장 가까운 스냅샷 */
+	Optional<DailyBalance> findLatestBefore(long accountId, LocalDate day, Connection conn) throws SQLException;
+}
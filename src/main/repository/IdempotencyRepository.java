@@ -0,0 +1,26 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import main.domain.IdempotencyRecord;
+
+/**
+ * 멱등키 저장소(idempotency_key) - INSERT는 거래와 같은 호출부 트랜잭션(Connection) 안에서 실행
+ * - (user_id, idem_key) 중복 시 SQLIntegrityConstraintViolationException(1062) 그대로 던짐 → 호출부가 재요청으로 처리
+ * 구현: JdbcIdempotencyRepository(MySQL), InMemoryIdempotencyRepository(메모리)
+ */
+public interface IdempotencyRepository {
+
+	Optional<IdempotencyRecord> find(long userId, String key);
+
+	void insert(IdempotencyRecord record, Connection conn) throws SQLException;
+
+	void insertBatch(List<IdempotencyRecord> records, Connection conn) throws SQLException;
+
+	/** created_at < cutoff인 키를 오래된 순으로 최대 limit건 삭제 - 삭제한 건수 */
+	int deleteCreatedBefore(LocalDateTime cutoff, int limit);
+}
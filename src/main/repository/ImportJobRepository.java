@@ -0,0 +1,20 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import main.domain.ImportJob;
+
+/**
+ * 거래 일괄 가져오기 진행 기록 저장소(import_job)
+ * - save는 청크를 저장하는 호출부 트랜잭션 안에서 - 청크와 진행 기록이 함께 커밋/롤백됨
+ * 구현: JdbcImportJobRepository(MySQL), InMemoryImportJobRepository(메모리)
+ */
+public interface ImportJobRepository {
+
+	Optional<ImportJob> findById(String jobId);
+
+	/** 없으면 INSERT, 있으면 진행 값 갱신 */
+	void save(ImportJob job, Connection conn) throws SQLException;
+}
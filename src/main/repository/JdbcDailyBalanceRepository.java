@@ -0,0 +1,100 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import main.domain.DailyBalance;
+
+/**
+ * daily_balance 테이블 - PK(account_id, balance_date)
+ * - 보통 거래는 오늘 날짜 → applyDelta는 오늘 행 1건 UPDATE + (첫 거래면) INSERT 1건
+ * - 소급 거래(과거 occurred_at)는 그날 이후 스냅샷을 모두 갱신
+ */
+public class JdbcDailyBalanceRepository implements DailyBalanceRepository {
+
+	/** 거래 1건의 부호 있는 금액 (amount는 unsigned라 그대로 빼면 범위 오류) */
+	static final String SIGNED_AMOUNT = "IF(kind = 'IN', CAST(amount AS SIGNED), -CAST(amount AS SIGNED))";
+
+	public void applyDelta(long accountId, LocalDate day, long delta, Connection conn) throws SQLException {
+		String shift = "UPDATE daily_balance SET closing_balance = closing_balance + ? "
+				+ "WHERE account_id = ? AND balance_date >= ?";
+		try (PreparedStatement ps = conn.prepareStatement(shift)) {
+			ps.setLong(1, delta);
+			ps.setLong(2, accountId);
+			ps.setDate(3, Date.valueOf(day));
+			ps.executeUpdate();
+		}
+
+		// 그날 행이 없을 때만 - 현재 잔액(이번 거래 반영 후) - 다음 날 이후 거래
+		String create = "INSERT INTO daily_balance (account_id, balance_date, closing_balance) "
+				+ "SELECT a.id, ?, CAST(a.balance AS SIGNED) - COALESCE((SELECT SUM(" + SIGNED_AMOUNT + ") "
+				+ "FROM `transaction` WHERE account_id = a.id AND occurred_at >= ?), 0) "
+				+ "FROM account a WHERE a.id = ? "
+				+ "ON DUPLICATE KEY UPDATE closing_balance = closing_balance";
+		try (PreparedStatement ps = conn.prepareStatement(create)) {
+			ps.setDate(1, Date.valueOf(day));
+			ps.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+			ps.setLong(3, accountId);
+			ps.executeUpdate();
+		}
+	}
+
+	/** 최근 날짜부터 거꾸로: 그날 마감 = 다음 거래일 마감 - 다음 거래일 합계 (시작값은 현재 잔액) */
+	public int rebuild(long accountId, Connection conn) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement("DELETE FROM daily_balance WHERE account_id = ?")) {
+			ps.setLong(1, accountId);
+			ps.executeUpdate();
+		}
+
+		long running;
+		try (PreparedStatement ps = conn.prepareStatement("SELECT balance FROM account WHERE id = ?")) {
+			ps.setLong(1, accountId);
+			try (ResultSet rs = ps.executeQuery()) {
+				if (!rs.next()) return 0;
+				running = rs.getLong(1);
+			}
+		}
+
+		String days = "SELECT DATE(occurred_at) AS d, SUM(" + SIGNED_AMOUNT + ") AS net FROM `transaction` "
+				+ "WHERE account_id = ? GROUP BY DATE(occurred_at) ORDER BY d DESC";
+		String insert = "INSERT INTO daily_balance (account_id, balance_date, closing_balance) VALUES (?, ?, ?)";
+		int count = 0;
+		try (PreparedStatement select = conn.prepareStatement(days);
+				PreparedStatement ins = conn.prepareStatement(insert)) {
+			select.setLong(1, accountId);
+			try (ResultSet rs = select.executeQuery()) {
+				while (rs.next()) {
+					ins.setLong(1, accountId);
+					ins.setDate(2, rs.getDate("d"));
+					ins.setLong(3, running);
+					ins.addBatch();
+					running -= rs.getLong("net");
+					count++;
+				}
+			}
+			if (count > 0) ins.executeBatch();
+		}
+		return count;
+	}
+
+	public Optional<DailyBalance> findLatestBefore(long accountId, LocalDate day, Connection conn)
+			throws SQLException {
+		String sql = "SELECT balance_date, closing_balance FROM daily_balance "
+				+ "WHERE account_id = ? AND balance_date < ? ORDER BY balance_date DESC LIMIT 1";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			ps.setDate(2, Date.valueOf(day));
+			try (ResultSet rs = ps.executeQuery()) {
+				if (!rs.next()) return Optional.empty();
+				return Optional.of(DailyBalance.fromDB(accountId, rs.getDate("balance_date").toLocalDate(),
+						rs.getLong("closing_balance")));
+			}
+		}
+	}
+}
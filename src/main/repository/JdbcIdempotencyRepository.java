@@ -0,0 +1,82 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import main.db.DbUtil;
+import main.domain.IdempotencyRecord;
+import main.enums.ExpenseOutcome;
+
+/**
+ * idempotency_key 테이블 - PK(user_id, idem_key)
+ * - 같은 키의 동시 요청은 먼저 INSERT한 트랜잭션이 끝날 때까지 PK 잠금에서 대기 → 커밋되면 1062, 롤백되면 진행
+ */
+public class JdbcIdempotencyRepository implements IdempotencyRepository {
+
+	private static final String INSERT_SQL = "INSERT INTO idempotency_key (user_id, idem_key, request, outcome, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?)";
+
+	public Optional<IdempotencyRecord> find(long userId, String key) {
+		String sql = "SELECT user_id, idem_key, request, outcome, created_at FROM idempotency_key "
+				+ "WHERE user_id = ? AND idem_key = ?";
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, userId);
+			ps.setString(2, key);
+			try (ResultSet rs = ps.executeQuery()) {
+				if (rs.next()) {
+					return Optional.of(IdempotencyRecord.fromDB(rs.getLong("user_id"), rs.getString("idem_key"),
+							rs.getString("request"), ExpenseOutcome.valueOf(rs.getString("outcome")),
+							rs.getTimestamp("created_at").toLocalDateTime()));
+				}
+			}
+			return Optional.empty();
+		} catch (SQLException e) {
+			throw new RuntimeException("멱등키 조회 오류", e);
+		}
+	}
+
+	public void insert(IdempotencyRecord record, Connection conn) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+			bind(ps, record);
+			ps.executeUpdate();
+		}
+	}
+
+	/** JDBC 배치 1회(rewriteBatchedStatements로 다중행 INSERT) */
+	public void insertBatch(List<IdempotencyRecord> records, Connection conn) throws SQLException {
+		if (records.isEmpty()) return;
+		try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+			for (IdempotencyRecord r : records) {
+				bind(ps, r);
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
+	/** idx_idempotency_created 범위 삭제 - 한 번에 limit건씩 짧게(거래의 키 INSERT를 오래 막지 않게) */
+	public int deleteCreatedBefore(LocalDateTime cutoff, int limit) {
+		String sql = "DELETE FROM idempotency_key WHERE created_at < ? ORDER BY created_at LIMIT ?";
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setTimestamp(1, Timestamp.valueOf(cutoff));
+			ps.setInt(2, limit);
+			return ps.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("만료된 멱등키 삭제 오류", e);
+		}
+	}
+
+	private static void bind(PreparedStatement ps, IdempotencyRecord r) throws SQLException {
+		ps.setLong(1, r.getUserId());
+		ps.setString(2, r.getKey());
+		ps.setString(3, r.getRequest());
+		ps.setString(4, r.getOutcome().name());
+		ps.setTimestamp(5, Timestamp.valueOf(r.getCreatedAt()));
+	}
+}
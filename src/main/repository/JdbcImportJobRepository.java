@@ -0,0 +1,49 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import main.db.DbUtil;
+import main.domain.ImportJob;
+
+/** import_job 테이블 - PK(job_id), 작업당 1행을 청크마다 덮어씀 */
+public class JdbcImportJobRepository implements ImportJobRepository {
+
+	public Optional<ImportJob> findById(String jobId) {
+		String sql = "SELECT job_id, source, source_size, chunk_size, chunks_committed, rows_imported, rows_rejected, "
+				+ "completed, updated_at FROM import_job WHERE job_id = ?";
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setString(1, jobId);
+			try (ResultSet rs = ps.executeQuery()) {
+				if (!rs.next()) return Optional.empty();
+				return Optional.of(ImportJob.fromDB(rs.getString("job_id"), rs.getString("source"),
+						rs.getLong("source_size"), rs.getInt("chunk_size"), rs.getLong("chunks_committed"),
+						rs.getLong("rows_imported"), rs.getLong("rows_rejected"), rs.getBoolean("completed"),
+						rs.getTimestamp("updated_at").toLocalDateTime()));
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("가져오기 작업 조회 오류: " + jobId, e);
+		}
+	}
+
+	public void save(ImportJob job, Connection conn) throws SQLException {
+		String sql = "INSERT INTO import_job (job_id, source, source_size, chunk_size, chunks_committed, "
+				+ "rows_imported, rows_rejected, completed) VALUES (?, ?, ?, ?, ?, ?, ?, ?) AS new "
+				+ "ON DUPLICATE KEY UPDATE chunks_committed = new.chunks_committed, rows_imported = new.rows_imported, "
+				+ "rows_rejected = new.rows_rejected, completed = new.completed";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setString(1, job.getJobId());
+			ps.setString(2, job.getSource());
+			ps.setLong(3, job.getSourceSize());
+			ps.setInt(4, job.getChunkSize());
+			ps.setLong(5, job.getChunksCommitted());
+			ps.setLong(6, job.getRowsImported());
+			ps.setLong(7, job.getRowsRejected());
+			ps.setBoolean(8, job.isCompleted());
+			ps.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.db.DbUtil;
+import main.domain.MonthlyRollup;
+import main.dto.MonthlySummaryDto;
+import main.enums.ReportDimension;
+
+/**
+ * monthly_rollup 테이블 - PK(account_id, month, kind, method, card_id, user_id)
+ * - 누적: 다중행 INSERT ... ON DUPLICATE KEY UPDATE 1회 (보통 거래 1건 = 행 1개)
+ * - 재계산: 원장을 idx_transaction_account_time 범위(account_id = ?)로 읽어 GROUP BY
+ * - 리포트: 계좌·월 범위의 PK 범위만 읽어 GROUP BY (계좌 월당 수십 행 이하)
+ */
+public class JdbcMonthlyRollupRepository implements MonthlyRollupRepository {
+
+	/** 다중행 INSERT 한 번에 넣는 최대 행 수 */
+	private static final int MAX_ROWS_PER_INSERT = 500;
+
+	private static final String SUM_BY_KIND = "SUM(IF(r.kind = 'IN', r.total_amount, 0)) AS in_amount, "
+			+ "SUM(IF(r.kind = 'OUT', r.total_amount, 0)) AS out_amount, SUM(r.tx_count) AS cnt "
+			+ "FROM monthly_rollup r WHERE r.account_id = ? AND r.`month` BETWEEN ? AND ? ";
+
+	public void add(List<MonthlyRollup> deltas, Connection conn) throws SQLException {
+		for (int from = 0; from < deltas.size(); from += MAX_ROWS_PER_INSERT) {
+			List<MonthlyRollup> chunk = deltas.subList(from, Math.min(deltas.size(), from + MAX_ROWS_PER_INSERT));
+			StringBuilder sql = new StringBuilder("INSERT INTO monthly_rollup "
+					+ "(account_id, `month`, kind, method, card_id, user_id, total_amount, tx_count) VALUES ");
+			for (int i = 0; i < chunk.size(); i++) {
+				sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+			}
+			sql.append(" AS new ON DUPLICATE KEY UPDATE total_amount = monthly_rollup.total_amount + new.total_amount, "
+					+ "tx_count = monthly_rollup.tx_count + new.tx_count");
+			try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+				int i = 1;
+				for (MonthlyRollup r : chunk) {
+					ps.setLong(i++, r.getAccountId());
+					ps.setDate(i++, Date.valueOf(r.getMonth().atDay(1)));
+					ps.setString(i++, r.getKind().name());
+					ps.setString(i++, r.getMethod().name());
+					ps.setLong(i++, r.getCardId());
+					ps.setLong(i++, r.getUserId());
+					ps.setLong(i++, r.getTotalAmount());
+					ps.setLong(i++, r.getTxCount());
+				}
+				ps.executeUpdate();
+			}
+		}
+	}
+
+	public int rebuild(long accountId, Connection conn) throws SQLException {
+		try (PreparedStatement ps = conn.prepareStatement("DELETE FROM monthly_rollup WHERE account_id = ?")) {
+			ps.setLong(1, accountId);
+			ps.executeUpdate();
+		}
+		String sql = "INSERT INTO monthly_rollup "
+				+ "(account_id, `month`, kind, method, card_id, user_id, total_amount, tx_count) "
+				+ "SELECT account_id, CAST(DATE_FORMAT(occurred_at, '%Y-%m-01') AS DATE) AS m, kind, method, "
+				+ "COALESCE(card_id, 0) AS c, COALESCE(created_by_user_id, 0) AS u, SUM(amount), COUNT(*) "
+				+ "FROM `transaction` WHERE account_id = ? GROUP BY account_id, m, kind, method, c, u";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			return ps.executeUpdate();
+		}
+	}
+
+	public List<MonthlySummaryDto> summarize(long accountId, ReportDimension by, YearMonth from, YearMonth to) {
+		String sql = switch (by) {
+		case METHOD -> "SELECT r.`month` AS m, r.method AS k, r.method AS label, " + SUM_BY_KIND
+				+ "GROUP BY r.`month`, r.method ORDER BY m, r.method";
+		case CARD -> "SELECT g.*, c.masked_no AS label FROM (SELECT r.`month` AS m, r.card_id AS k, " + SUM_BY_KIND
+				+ "AND r.card_id <> 0 GROUP BY r.`month`, r.card_id) g LEFT JOIN card c ON c.id = g.k ORDER BY g.m, g.k";
+		case MEMBER -> "SELECT g.*, u.name AS label FROM (SELECT r.`month` AS m, r.user_id AS k, " + SUM_BY_KIND
+				+ "GROUP BY r.`month`, r.user_id) g LEFT JOIN users u ON u.id = g.k ORDER BY g.m, g.k";
+		};
+		List<MonthlySummaryDto> list = new ArrayList<>();
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			ps.setDate(2, Date.valueOf(from.atDay(1)));
+			ps.setDate(3, Date.valueOf(to.atDay(1)));
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					list.add(new MonthlySummaryDto(YearMonth.from(rs.getDate("m").toLocalDate()), rs.getString("k"),
+							rs.getString("label"), rs.getLong("in_amount"), rs.getLong("out_amount"),
+							rs.getLong("cnt")));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("월별 집계 조회 중 오류", e);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,98 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.db.DbUtil;
+import main.dto.BalanceCheck;
+
+/**
+ * 잔액 대사 조회
+ * - 원장 합계는 idx_transaction_account_kind_amount(account_id, kind, amount)만 읽음 (계좌마다 인덱스 범위 1개, 테이블 접근 없음)
+ * - 증분 대상은 PK(id) 범위 스캔
+ */
+public class JdbcReconciliationRepository implements ReconciliationRepository {
+
+	public List<BalanceCheck> findBalanceChecks(List<Long> accountIds, Connection conn) throws SQLException {
+		if (accountIds.isEmpty()) return List.of();
+		String in = String.join(",", Collections.nCopies(accountIds.size(), "?"));
+
+		Map<Long, Long> nets = new HashMap<>();
+		String sums = "SELECT account_id, SUM(" + JdbcDailyBalanceRepository.SIGNED_AMOUNT + ") FROM `transaction` "
+				+ "WHERE account_id IN (" + in + ") GROUP BY account_id";
+		try (PreparedStatement ps = conn.prepareStatement(sums)) {
+			for (int i = 0; i < accountIds.size(); i++) ps.setLong(i + 1, accountIds.get(i));
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) nets.put(rs.getLong(1), rs.getLong(2));
+			}
+		}
+
+		List<BalanceCheck> checks = new ArrayList<>(accountIds.size());
+		String accounts = "SELECT id, balance, opening_balance FROM account WHERE id IN (" + in + ") ORDER BY id";
+		try (PreparedStatement ps = conn.prepareStatement(accounts)) {
+			for (int i = 0; i < accountIds.size(); i++) ps.setLong(i + 1, accountIds.get(i));
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					long id = rs.getLong(1);
+					long opening = rs.getLong(3);
+					checks.add(new BalanceCheck(id, rs.getLong(2), rs.wasNull() ? null : opening,
+							nets.getOrDefault(id, 0L)));
+				}
+			}
+		}
+		return checks;
+	}
+
+	public long countMissingOpeningBalance() {
+		try (Connection conn = DbUtil.getConnection();
+				PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM account WHERE opening_balance IS NULL");
+				ResultSet rs = ps.executeQuery()) {
+			rs.next();
+			return rs.getLong(1);
+		} catch (SQLException e) {
+			throw new RuntimeException("개설 입금액 백필 여부 조회 중 오류", e);
+		}
+	}
+
+	public boolean initOpeningBalance(long accountId, long openingBalance, Connection conn) throws SQLException {
+		String sql = "UPDATE account SET opening_balance = ? WHERE id = ? AND opening_balance IS NULL";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, openingBalance);
+			ps.setLong(2, accountId);
+			return ps.executeUpdate() == 1;
+		}
+	}
+
+	public long findMaxTransactionId() {
+		try (Connection conn = DbUtil.getConnection();
+				PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM `transaction`");
+				ResultSet rs = ps.executeQuery()) {
+			rs.next();
+			return rs.getLong(1);
+		} catch (SQLException e) {
+			throw new RuntimeException("최대 거래 id 조회 중 오류", e);
+		}
+	}
+
+	public List<Long> findAccountIdsTouched(long afterId, long upToId) {
+		String sql = "SELECT DISTINCT account_id FROM `transaction` WHERE id > ? AND id <= ? ORDER BY account_id";
+		List<Long> ids = new ArrayList<>();
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, afterId);
+			ps.setLong(2, upToId);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) ids.add(rs.getLong(1));
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("변경된 계좌 조회 중 오류", e);
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,38 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import main.db.DbUtil;
+
+/**
+ * number_sequence 테이블 - 번호 블록 예약
+ * - UPDATE ... LAST_INSERT_ID(next_value + n) 한 문장으로 원자적으로 증가시키고 같은 커넥션에서 결과를 읽음
+ * - 호출부 트랜잭션과 분리(자체 커넥션, 자동 커밋)해서 시퀀스 행 잠금을 바로 풀어줌
+ */
+public class JdbcSequenceRepository implements SequenceRepository {
+
+	/** blockSize개를 예약하고 [반환값, 반환값 + blockSize) 범위를 돌려줌 */
+	public long reserveBlock(String name, int blockSize) {
+		String update = "UPDATE number_sequence SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?";
+
+		try (Connection conn = DbUtil.getConnection()) {
+			try (PreparedStatement pstmt = conn.prepareStatement(update)) {
+				pstmt.setInt(1, blockSize);
+				pstmt.setString(2, name);
+				if (pstmt.executeUpdate() != 1) {
+					throw new IllegalStateException("시퀀스가 존재하지 않습니다: " + name);
+				}
+			}
+			try (PreparedStatement pstmt = conn.prepareStatement("SELECT LAST_INSERT_ID()");
+					ResultSet rs = pstmt.executeQuery()) {
+				rs.next();
+				return rs.getLong(1) - blockSize;
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("시퀀스 예약 중 오류 발생: " + name, e);
+		}
+	}
+}
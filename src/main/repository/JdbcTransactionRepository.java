@@ -0,0 +1,384 @@
+package main.repository;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.db.DbUtil;
+import main.domain.Transaction;
+import main.dto.TransactionCursor;
+import main.dto.TransactionListDto;
+import main.dto.TransactionPage;
+import main.dto.TransactionSearchCondition;
+import main.enums.TransactionKind;
+import main.enums.TransactionMethod;
+
+public class JdbcTransactionRepository implements TransactionRepository {
+
+	// 클래스 내부에 아래 2개 메서드 추가
+
+	/** OTHER-IN */
+	public void insertIncomeOther(long accountId, long amount, String memo, Timestamp occurredAt,
+								  long createdByUserId, Connection conn) {
+		final String sql =
+				"INSERT INTO `transaction` " +
+						"(account_id, kind, method, amount, memo, occurred_at, transfer_key, card_id, created_by_user_id, created_at) " +
+						"VALUES (?, 'IN', 'OTHER', ?, ?, ?, NULL, NULL, ?, CURRENT_TIMESTAMP)";
+
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			ps.setLong(2, amount);
+			if (memo == null) ps.setNull(3, java.sql.Types.VARCHAR); else ps.setString(3, memo);
+			ps.setTimestamp(4, occurredAt);
+			ps.setLong(5, createdByUserId);
+			ps.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("수입(OTHER) 저장 오류", e);
+		}
+	}
+
+	/** OTHER-OUT */
+	public void insertExpenseOther(long accountId, long amount, String memo, Timestamp occurredAt,
+								   long createdByUserId, Connection conn) {
+		final String sql =
+				"INSERT INTO `transaction` " +
+						"(account_id, kind, method, amount, memo, occurred_at, transfer_key, card_id, created_by_user_id, created_at) " +
+						"VALUES (?, 'OUT', 'OTHER', ?, ?, ?, NULL, NULL, ?, CURRENT_TIMESTAMP)";
+
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			ps.setLong(2, amount);
+			if (memo == null) ps.setNull(3, java.sql.Types.VARCHAR); else ps.setString(3, memo);
+			ps.setTimestamp(4, occurredAt);
+			ps.setLong(5, createdByUserId);
+			ps.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("지출(OTHER) 저장 오류", e);
+		}
+	}
+
+
+	// CARD 지출(단일행 OUT)
+	public void insertExpenseCard(long accountId, long amount, String memo, Timestamp occurredAt, long cardId,
+			Long createdByUserId, Connection conn) {
+		final String sql = "INSERT INTO `transaction` "
+				+ "(account_id, kind, method, amount, memo, occurred_at, transfer_key, card_id, created_by_user_id, created_at) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, NULL, ?, ?, CURRENT_TIMESTAMP)";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			ps.setString(2, TransactionKind.OUT.name());
+			ps.setString(3, TransactionMethod.CARD.name());
+			ps.setLong(4, amount);
+			if (memo != null) {
+				ps.setString(5, memo);
+			} else {
+				ps.setNull(5, Types.VARCHAR);
+			}
+			ps.setTimestamp(6, occurredAt);
+			ps.setLong(7, cardId);
+			if (createdByUserId != null) {
+				ps.setLong(8, createdByUserId);
+			} else {
+				ps.setNull(8, Types.BIGINT);
+			}
+			ps.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 저장 오류", e);
+		}
+	}
+
+	// TRANSFER - OUT/IN 두 행을 다중행 INSERT 한 번으로 저장
+	public void insertTransferPair(long fromAccountId, long toAccountId, long amount, String memo,
+			Timestamp occurredAt, String transferKey, Long createdByUserId, Connection conn) {
+		final String sql = "INSERT INTO `transaction` "
+				+ "(account_id, kind, method, amount, memo, occurred_at, transfer_key, card_id, created_by_user_id, created_at) "
+				+ "VALUES (?, 'OUT', 'TRANSFER', ?, ?, ?, ?, NULL, ?, CURRENT_TIMESTAMP), "
+				+ "(?, 'IN', 'TRANSFER', ?, ?, ?, ?, NULL, ?, CURRENT_TIMESTAMP)";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			int i = 1;
+			for (long accountId : new long[] { fromAccountId, toAccountId }) {
+				ps.setLong(i++, accountId);
+				ps.setLong(i++, amount);
+				if (memo != null) {
+					ps.setString(i++, memo);
+				} else {
+					ps.setNull(i++, Types.VARCHAR);
+				}
+				ps.setTimestamp(i++, occurredAt);
+				ps.setString(i++, transferKey);
+				if (createdByUserId != null) {
+					ps.setLong(i++, createdByUserId);
+				} else {
+					ps.setNull(i++, Types.BIGINT);
+				}
+			}
+			ps.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 저장 오류", e);
+		}
+	}
+
+	/** 여러 거래를 JDBC 배치로 저장 (rewriteBatchedStatements → 다중행 INSERT) */
+	public void insertBatch(List<Transaction> rows, Connection conn) {
+		if (rows.isEmpty()) return;
+		final String sql = "INSERT INTO `transaction` "
+				+ "(account_id, kind, method, amount, memo, occurred_at, transfer_key, card_id, created_by_user_id, created_at) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			for (Transaction t : rows) {
+				ps.setLong(1, t.getAccountId());
+				ps.setString(2, t.getKind().name());
+				ps.setString(3, t.getMethod().name());
+				ps.setLong(4, t.getAmount());
+				if (t.getMemo() != null) {
+					ps.setString(5, t.getMemo());
+				} else {
+					ps.setNull(5, Types.VARCHAR);
+				}
+				ps.setTimestamp(6, Timestamp.valueOf(t.getOccurredAt()));
+				if (t.getTransferKey() != null) {
+					ps.setString(7, t.getTransferKey());
+				} else {
+					ps.setNull(7, Types.VARCHAR);
+				}
+				if (t.getCardId() != null) {
+					ps.setLong(8, t.getCardId());
+				} else {
+					ps.setNull(8, Types.BIGINT);
+				}
+				if (t.getCreatedByUserId() != null) {
+					ps.setLong(9, t.getCreatedByUserId());
+				} else {
+					ps.setNull(9, Types.BIGINT);
+				}
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 일괄 저장 오류", e);
+		}
+	}
+
+	// 검색 (사용자 소유/멤버십 계좌 범위 안에서) - 전체 결과를 한 번에 반환
+	public List<TransactionListDto> search(Long userId, Long accountIdFilter, LocalDate from, LocalDate to,
+			Long minAmount, Long maxAmount) {
+		TransactionSearchCondition cond = new TransactionSearchCondition(userId, accountIdFilter, from, to,
+				minAmount, maxAmount);
+		List<Object> params = new ArrayList<>();
+		String sql = buildSearchSql(cond, null, params) + "ORDER BY t.occurred_at DESC, t.id DESC";
+
+		List<TransactionListDto> rows = new ArrayList<>();
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			bind(ps, params);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					rows.add(mapRowToListDto(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 검색 오류", e);
+		}
+		return rows;
+	}
+
+	/**
+	 * 키셋 페이지 검색 - (occurred_at, id) 커서 이후 pageSize건만 읽음
+	 * - OFFSET 없이 인덱스(account_id, occurred_at, id) 순서로 이어 읽기
+	 * - 1건 더 읽어서 다음 페이지 존재 여부 판단
+	 */
+	public TransactionPage searchPage(TransactionSearchCondition cond, TransactionCursor after, int pageSize) {
+		if (pageSize <= 0) throw new IllegalArgumentException("페이지 크기는 0보다 커야 합니다.");
+
+		List<Object> params = new ArrayList<>();
+		String sql = buildSearchSql(cond, after, params) + "ORDER BY t.occurred_at DESC, t.id DESC LIMIT ?";
+		params.add((long) pageSize + 1);
+
+		List<TransactionListDto> rows = new ArrayList<>(pageSize);
+		boolean hasMore = false;
+		try (Connection conn = DbUtil.getConnection();
+				PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY)) {
+			ps.setFetchSize(pageSize + 1);
+			bind(ps, params);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					if (rows.size() == pageSize) {
+						hasMore = true;
+						break;
+					}
+					rows.add(mapRowToListDto(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 검색 오류", e);
+		}
+
+		TransactionCursor next = null;
+		if (hasMore) {
+			TransactionListDto last = rows.get(rows.size() - 1);
+			next = new TransactionCursor(last.occurredAt, last.id);
+		}
+		return new TransactionPage(rows, next);
+	}
+
+	/**
+	 * 스트리밍 검색 - fetchSize Integer.MIN_VALUE(전방 전용·읽기 전용)로 서버가 보내는 행을 한 건씩 읽음
+	 * - 드라이버가 결과를 메모리에 모으지 않으므로 수천만 건도 일정한 메모리로 처리
+	 * - 읽는 동안 커넥션 1개를 점유하고, 다 읽기 전에는 같은 커넥션으로 다른 문장을 실행할 수 없음
+	 * - consumer가 실패하면 남은 행을 끝까지 받아 버리지 않도록 쿼리를 취소(KILL QUERY)한 뒤 닫음
+	 */
+	public long stream(TransactionSearchCondition cond, RowConsumer consumer) throws IOException {
+		List<Object> params = new ArrayList<>();
+		String sql = buildSearchSql(cond, null, params) + "ORDER BY t.occurred_at, t.id";
+
+		long count = 0;
+		try (Connection conn = DbUtil.getConnection();
+				PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY)) {
+			ps.setFetchSize(Integer.MIN_VALUE);
+			bind(ps, params);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					try {
+						consumer.accept(mapRowToListDto(rs));
+					} catch (IOException | RuntimeException e) {
+						try { ps.cancel(); } catch (SQLException ignore) {}
+						throw e;
+					}
+					count++;
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 내보내기 오류", e);
+		}
+		return count;
+	}
+
+	/**
+	 * 검색 SELECT ~ WHERE 절 (ORDER BY 제외) - params에 바인딩 값이 순서대로 추가됨
+	 * - 사용자 접근 가능 계좌 id 집합(파생 테이블)에서 출발해 idx_transaction_account_time으로 조인
+	 * - 날짜는 컬럼에 함수를 씌우지 않는 반열린 구간 [from 00:00, to+1일 00:00)
+	 */
+	String buildSearchSql(TransactionSearchCondition cond, TransactionCursor after, List<Object> params) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT t.id, a.name AS account_name, a.account_number AS account_number, "
+				+ "       c.masked_no AS card_masked_no, " + "       t.kind, t.method, t.amount, t.memo, t.occurred_at "
+				+ "FROM (SELECT a0.id FROM account a0 WHERE a0.owner_user_id = ? "
+				+ "      UNION SELECT gm.account_id FROM group_member gm WHERE gm.user_id = ?) my "
+				+ "JOIN `transaction` t ON t.account_id = my.id " + "JOIN account a ON a.id = t.account_id "
+				+ "LEFT JOIN card c ON c.id = t.card_id " + "WHERE 1=1 ");
+
+		// 사용자 범위 제한(파생 테이블)
+		params.add(cond.userId);
+		params.add(cond.userId);
+
+		if (cond.accountId != null) {
+			sb.append("AND t.account_id = ? ");
+			params.add(cond.accountId);
+		}
+		if (cond.from != null) {
+			sb.append("AND t.occurred_at >= ? ");
+			params.add(Timestamp.valueOf(cond.from.atStartOfDay()));
+		}
+		if (cond.to != null) {
+			sb.append("AND t.occurred_at < ? ");
+			params.add(Timestamp.valueOf(cond.to.plusDays(1).atStartOfDay()));
+		}
+		if (cond.minAmount != null) {
+			sb.append("AND t.amount >= ? ");
+			params.add(cond.minAmount);
+		}
+		if (cond.maxAmount != null) {
+			sb.append("AND t.amount <= ? ");
+			params.add(cond.maxAmount);
+		}
+		if (after != null) {
+			// (occurred_at, id) < (커서) - DESC 정렬 기준 다음 행부터
+			sb.append("AND (t.occurred_at < ? OR (t.occurred_at = ? AND t.id < ?)) ");
+			Timestamp ts = Timestamp.valueOf(after.occurredAt);
+			params.add(ts);
+			params.add(ts);
+			params.add(after.id);
+		}
+		return sb.toString();
+	}
+
+	void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+		for (int i = 0; i < params.size(); i++) {
+			Object p = params.get(i);
+			if (p instanceof java.sql.Date d) {
+				ps.setDate(i + 1, d);
+			} else if (p instanceof Timestamp ts) {
+				ps.setTimestamp(i + 1, ts);
+			} else if (p instanceof Long l) {
+				ps.setLong(i + 1, l);
+			} else {
+				ps.setObject(i + 1, p);
+			}
+		}
+	}
+
+	private TransactionListDto mapRowToListDto(ResultSet rs) throws SQLException {
+		return new TransactionListDto(rs.getLong("id"), rs.getString("account_name"), rs.getString("account_number"),
+				rs.getString("card_masked_no"), TransactionKind.valueOf(rs.getString("kind")),
+				TransactionMethod.valueOf(rs.getString("method")), rs.getLong("amount"), rs.getString("memo"),
+				rs.getTimestamp("occurred_at").toLocalDateTime());
+	}
+
+	// 기록 존재 여부 확인
+	public boolean existsByAccountId(long accountId) {
+		String sql = "SELECT 1 FROM `transaction` WHERE account_id = ? LIMIT 1";
+
+		try (Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+			pstmt.setLong(1, accountId);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next();
+			}
+		} catch (SQLException e) {
+			System.err.println("계좌의 거래 내역 확인 중 오류 발생: " + e.getMessage());
+			e.printStackTrace();
+			throw new RuntimeException("거래 내역 확인 중 오류", e);
+		}
+	}
+
+	public boolean existsByAccountId(long accountId, Connection conn) {
+		String sql = "SELECT 1 FROM `transaction` WHERE account_id = ? LIMIT 1";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			ps.setLong(1, accountId);
+			try (ResultSet rs = ps.executeQuery()) {
+				return rs.next();
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 내역 확인(트랜잭션) 중 오류", e);
+		}
+	}
+
+	/** idx_transaction_account_time 범위 스캔 */
+	public long sumNetAmount(long accountId, LocalDateTime from, LocalDateTime to, Connection conn) {
+		StringBuilder sql = new StringBuilder("SELECT COALESCE(SUM(")
+				.append(JdbcDailyBalanceRepository.SIGNED_AMOUNT).append("), 0) FROM `transaction` WHERE account_id = ?");
+		if (from != null) sql.append(" AND occurred_at >= ?");
+		if (to != null) sql.append(" AND occurred_at < ?");
+		try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+			int i = 1;
+			ps.setLong(i++, accountId);
+			if (from != null) ps.setTimestamp(i++, Timestamp.valueOf(from));
+			if (to != null) ps.setTimestamp(i, Timestamp.valueOf(to));
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getLong(1);
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("거래 합계 조회 중 오류", e);
+		}
+	}
+}
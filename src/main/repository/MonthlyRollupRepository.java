@@ -0,0 +1,27 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+
+import main.domain.MonthlyRollup;
+import main.dto.MonthlySummaryDto;
+import main.enums.ReportDimension;
+
+/**
+ * 월별 거래 집계 저장소(monthly_rollup)
+ * - 누적은 계좌 행 잠금을 잡은 호출부 트랜잭션 안에서, 원장 INSERT 뒤에 실행
+ * 구현: JdbcMonthlyRollupRepository(MySQL), InMemoryMonthlyRollupRepository(메모리)
+ */
+public interface MonthlyRollupRepository {
+
+	/** 증분 누적 - 같은 키의 행이 있으면 합계/건수에 더하고 없으면 새로 만듦 (deltas는 KEY_ORDER로 정렬된 상태) */
+	void add(List<MonthlyRollup> deltas, Connection conn) throws SQLException;
+
+	/** 계좌 하나의 집계를 원장으로 다시 계산(백필) - 저장한 행 수 */
+	int rebuild(long accountId, Connection conn) throws SQLException;
+
+	/** from ~ to(양끝 포함) 월별 합계 - 월, 기준 값 순 */
+	List<MonthlySummaryDto> summarize(long accountId, ReportDimension by, YearMonth from, YearMonth to);
+}
@@ -0,0 +1,29 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import main.dto.BalanceCheck;
+
+/**
+ * 잔액 대사용 조회 - account.balance와 원장(transaction) 합계 비교
+ * 구현: JdbcReconciliationRepository(MySQL), InMemoryReconciliationRepository(메모리)
+ */
+public interface ReconciliationRepository {
+
+	/** 계좌들의 잔액·개설 입금액·원장 합계 (id 오름차순, 없는 계좌는 빠짐) - 한 트랜잭션에서 읽으면 같은 시점 값 */
+	List<BalanceCheck> findBalanceChecks(List<Long> accountIds, Connection conn) throws SQLException;
+
+	/** 개설 입금액이 아직 NULL(백필 전)인 계좌 수 */
+	long countMissingOpeningBalance();
+
+	/** 개설 입금액이 NULL일 때만 설정 - 설정했으면 true (호출부가 계좌 행 잠금 보유) */
+	boolean initOpeningBalance(long accountId, long openingBalance, Connection conn) throws SQLException;
+
+	/** 지금까지 발급된 가장 큰 거래 id (거래가 없으면 0) - 증분 대사 워터마크 */
+	long findMaxTransactionId();
+
+	/** afterId < id <= upToId 거래가 있는 계좌 id (오름차순) */
+	List<Long> findAccountIdsTouched(long afterId, long upToId);
+}
@@ -0,0 +1,149 @@
+package main.repository;
+
+import main.db.DbUtil;
+import main.repository.memory.InMemoryAccountRepository;
+import main.repository.memory.InMemoryCardRepository;
+import main.repository.memory.InMemoryDailyBalanceRepository;
+import main.repository.memory.InMemoryGroupRepository;
+import main.repository.memory.InMemoryIdempotencyRepository;
+import main.repository.memory.InMemoryImportJobRepository;
+import main.repository.memory.InMemoryMonthlyRollupRepository;
+import main.repository.memory.InMemoryReconciliationRepository;
+import main.repository.memory.InMemorySequenceRepository;
+import main.repository.memory.InMemoryTransactionRepository;
+import main.repository.memory.InMemoryUserRepository;
+import main.repository.memory.MemoryDatabase;
+
+/**
+ * 저장소 구현 선택 - 서비스/도구는 new JdbcXRepository() 대신 여기서 받음
+ * - 기본: MySQL(JDBC)
+ * - 메모리: 환경변수 REPOSITORY_MODE=memory 또는 서비스 생성 전에 useInMemory() 호출
+ *   → 모든 저장소가 같은 MemoryDatabase를 쓰고, DbUtil.getConnection()도 메모리 커넥션을 돌려줌
+ */
+public final class Repositories {
+
+	private static volatile Holder holder;
+
+	private Repositories() {
+	}
+
+	/** 메모리 저장소로 전환(새 빈 DB) - 이후 생성되는 서비스부터 적용 */
+	public static synchronized MemoryDatabase useInMemory() {
+		MemoryDatabase db = new MemoryDatabase();
+		DbUtil.useConnectionSource(db::connect);
+		holder = new Holder(db);
+		return db;
+	}
+
+	public static boolean isInMemory() {
+		return holder().memory != null;
+	}
+
+	public static AccountRepository accounts() {
+		return holder().accounts;
+	}
+
+	public static CardRepository cards() {
+		return holder().cards;
+	}
+
+	public static DailyBalanceRepository dailyBalances() {
+		return holder().dailyBalances;
+	}
+
+	public static GroupRepository groups() {
+		return holder().groups;
+	}
+
+	public static IdempotencyRepository idempotencyKeys() {
+		return holder().idempotencyKeys;
+	}
+
+	public static ImportJobRepository importJobs() {
+		return holder().importJobs;
+	}
+
+	public static MonthlyRollupRepository monthlyRollups() {
+		return holder().monthlyRollups;
+	}
+
+	public static ReconciliationRepository reconciliation() {
+		return holder().reconciliation;
+	}
+
+	public static SequenceRepository sequences() {
+		return holder().sequences;
+	}
+
+	public static TransactionRepository transactions() {
+		return holder().transactions;
+	}
+
+	public static UserRepository users() {
+		return holder().users;
+	}
+
+	private static Holder holder() {
+		Holder h = holder;
+		if (h == null) {
+			synchronized (Repositories.class) {
+				h = holder;
+				if (h == null) {
+					if ("memory".equalsIgnoreCase(System.getenv("REPOSITORY_MODE"))) {
+						useInMemory();
+						h = holder;
+					} else {
+						h = new Holder(null);
+						holder = h;
+					}
+				}
+			}
+		}
+		return h;
+	}
+
+	/** 한 모드의 저장소 묶음 (저장소는 상태가 없으므로 공유) */
+	private static final class Holder {
+		final MemoryDatabase memory;
+		final AccountRepository accounts;
+		final CardRepository cards;
+		final DailyBalanceRepository dailyBalances;
+		final GroupRepository groups;
+		final IdempotencyRepository idempotencyKeys;
+		final ImportJobRepository importJobs;
+		final MonthlyRollupRepository monthlyRollups;
+		final ReconciliationRepository reconciliation;
+		final SequenceRepository sequences;
+		final TransactionRepository transactions;
+		final UserRepository users;
+
+		Holder(MemoryDatabase db) {
+			this.memory = db;
+			if (db == null) {
+				accounts = new JdbcAccountRepository();
+				cards = new JdbcCardRepository();
+				dailyBalances = new JdbcDailyBalanceRepository();
+				groups = new JdbcGroupRepository();
+				idempotencyKeys = new JdbcIdempotencyRepository();
+				importJobs = new JdbcImportJobRepository();
+				monthlyRollups = new JdbcMonthlyRollupRepository();
+				reconciliation = new JdbcReconciliationRepository();
+				sequences = new JdbcSequenceRepository();
+				transactions = new JdbcTransactionRepository();
+				users = new JdbcUserRepository();
+			} else {
+				accounts = new InMemoryAccountRepository(db);
+				cards = new InMemoryCardRepository(db);
+				dailyBalances = new InMemoryDailyBalanceRepository(db);
+				groups = new InMemoryGroupRepository(db);
+				idempotencyKeys = new InMemoryIdempotencyRepository(db);
+				importJobs = new InMemoryImportJobRepository(db);
+				monthlyRollups = new InMemoryMonthlyRollupRepository(db);
+				reconciliation = new InMemoryReconciliationRepository(db);
+				sequences = new InMemorySequenceRepository(db);
+				transactions = new InMemoryTransactionRepository(db);
+				users = new InMemoryUserRepository(db);
+			}
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package main.repository;
+
+/**
+ * 번호 시퀀스 저장소(number_sequence)
+ * 구현: JdbcSequenceRepository(MySQL), InMemorySequenceRepository(메모리)
+ */
+public interface SequenceRepository {
+
+	/** blockSize개를 예약하고 [반환값, 반환값 + blockSize) 범위를 돌려줌 */
+	long reserveBlock(String name, int blockSize);
+}
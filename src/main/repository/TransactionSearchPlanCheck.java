@@ -0,0 +1,97 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.db.DbUtil;
+import main.dto.TransactionCursor;
+import main.dto.TransactionSearchCondition;
+
+/**
+ * 거래 검색 실행계획 회귀 점검 (EXPLAIN)
+ * - 검색 조건 조합별로 EXPLAIN을 실행해 `transaction`(별칭 t) 전체 스캔(type=ALL)이 나오면 실패
+ * - 실행: java -cp "out:lib/*" main.repository.TransactionSearchPlanCheck <userId> <accountId>
+ *   (점검할 DB에 실제로 있는 사용자와, 그 사용자가 접근 가능한 계좌 - 데이터 분포에 따라 실행계획이 달라지므로 직접 지정)
+ * - 종료 코드 0 = 통과, 1 = 전체 스캔 발견, 2 = 실행 오류 또는 인자 오류
+ */
+public class TransactionSearchPlanCheck {
+
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			usage();
+			return;
+		}
+		long userId;
+		long accountId;
+		try {
+			userId = Long.parseLong(args[0]);
+			accountId = Long.parseLong(args[1]);
+		} catch (NumberFormatException e) {
+			usage();
+			return;
+		}
+		LocalDate today = LocalDate.now();
+
+		List<TransactionSearchCondition> cases = new ArrayList<>();
+		cases.add(new TransactionSearchCondition(userId, null, null, null, null, null));
+		cases.add(new TransactionSearchCondition(userId, null, today.minusMonths(1), today, null, null));
+		cases.add(new TransactionSearchCondition(userId, accountId, today.minusDays(7), null, null, null));
+		cases.add(new TransactionSearchCondition(userId, accountId, null, today, 100L, 100_000L));
+
+		JdbcTransactionRepository repository = new JdbcTransactionRepository();
+		int failures = 0;
+		try (Connection conn = DbUtil.getConnection()) {
+			for (TransactionSearchCondition cond : cases) {
+				for (TransactionCursor after : new TransactionCursor[] { null,
+						new TransactionCursor(LocalDateTime.now(), Long.MAX_VALUE) }) {
+					List<Object> params = new ArrayList<>();
+					String sql = repository.buildSearchSql(cond, after, params)
+							+ "ORDER BY t.occurred_at DESC, t.id DESC";
+					failures += explain(conn, repository, sql, params) ? 0 : 1;
+				}
+			}
+		} catch (SQLException | RuntimeException e) {
+			System.err.println("❌ 실행계획 점검 실패: " + e.getMessage());
+			System.exit(2);
+		}
+
+		if (failures > 0) {
+			System.err.println("❌ `transaction` 전체 스캔이 " + failures + "건 발견되었습니다.");
+			System.exit(1);
+		}
+		System.out.println("✅ 모든 검색 조건에서 인덱스를 사용합니다.");
+	}
+
+	private static void usage() {
+		System.err.println("사용법: TransactionSearchPlanCheck <userId> <accountId>");
+		System.exit(2);
+	}
+
+	/** 통과하면 true */
+	private static boolean explain(Connection conn, JdbcTransactionRepository repository, String sql, List<Object> params)
+			throws SQLException {
+		boolean ok = true;
+		try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+			repository.bind(ps, params);
+			try (ResultSet rs = ps.executeQuery()) {
+				System.out.println("\n" + sql);
+				while (rs.next()) {
+					String table = rs.getString("table");
+					String type = rs.getString("type");
+					String key = rs.getString("key");
+					System.out.printf("  table=%-12s type=%-8s key=%s%n", table, type, key);
+					if ("t".equals(table) && "ALL".equalsIgnoreCase(type)) {
+						ok = false;
+					}
+				}
+			}
+		}
+		return ok;
+	}
+}
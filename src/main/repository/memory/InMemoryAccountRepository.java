@@ -0,0 +1,203 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import main.domain.Account;
+import main.domain.GroupMember;
+import main.enums.AccountType;
+import main.repository.AccountRepository;
+
+/** 계좌 저장소(메모리) - 잔액/이름 변경·삭제·FOR UPDATE 조회는 계좌 행 잠금을 트랜잭션 끝까지 보유 */
+public class InMemoryAccountRepository implements AccountRepository {
+
+	/** GROUP 먼저, 이름순 (JDBC: ORDER BY FIELD(a.type, 'GROUP', 'PERSONAL'), a.name) */
+	private static final Comparator<Account> MY_ACCOUNTS_ORDER = Comparator
+			.comparing((Account a) -> a.getType() == AccountType.GROUP ? 0 : 1).thenComparing(Account::getName);
+
+	private final MemoryDatabase db;
+
+	public InMemoryAccountRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public Account save(Account account) {
+		return save(account, null);
+	}
+
+	public Account save(Account account, Connection conn) {
+		return db.executeUnchecked(conn, "계좌 저장(트랜잭션) 중 오류 발생", tx -> copy(db.insertAccount(tx, account)));
+	}
+
+	public Optional<Account> findByAccountNumber(String accountNumber) {
+		Long id = db.accountIdByNumber(accountNumber);
+		return (id == null) ? Optional.empty() : findById(id);
+	}
+
+	public List<Account> findAllByUserId(long userId) {
+		List<Account> result = new ArrayList<>();
+		for (long id : accessibleAccountIds(db, userId)) {
+			Account a = db.accounts.get(id);
+			if (a != null) result.add(copy(a));
+		}
+		result.sort(MY_ACCOUNTS_ORDER);
+		return result;
+	}
+
+	public boolean hasAnyAccount(long userId) {
+		return !accessibleAccountIds(db, userId).isEmpty();
+	}
+
+	public Optional<Account> findById(long accountId) {
+		Account a = db.accounts.get(accountId);
+		return (a == null) ? Optional.empty() : Optional.of(copy(a));
+	}
+
+	public void updateBalance(long accountId, long newBalance) {
+		updateBalance(accountId, newBalance, null);
+	}
+
+	public void deleteById(long accountId) {
+		deleteById(accountId, null);
+	}
+
+	public Optional<Account> findByNameAndOwnerUserId(String name, long ownerUserId) {
+		Long id = db.accountIdByOwnerName(ownerUserId, name);
+		if (id == null) return Optional.empty();
+		return findById(id).filter(a -> a.getType() == AccountType.PERSONAL);
+	}
+
+	public void updateName(long accountId, String newName) {
+		db.executeUnchecked(null, "계좌 이름 변경 중 오류 발생", tx -> {
+			Account before = lockAndGet(tx, accountId);
+			if (before != null) {
+				db.updateAccount(tx, before, Account.fromDB(before.getId(), before.getAccountNumber(),
+						before.getType(), newName, before.getOwnerUserId(), before.getBalance(), before.getCreatedAt()));
+			}
+			return null;
+		});
+	}
+
+	public Optional<Account> findByIdForUpdate(long accountId, Connection conn) {
+		return db.executeUnchecked(conn, "계좌 조회(LOCK) 중 오류",
+				tx -> Optional.ofNullable(lockAndGet(tx, accountId)).map(InMemoryAccountRepository::copy));
+	}
+
+	public List<Account> findByIdsForUpdate(long firstId, long secondId, Connection conn) {
+		return db.executeUnchecked(conn, "계좌 조회(LOCK) 중 오류", tx -> {
+			List<Account> locked = new ArrayList<>(2);
+			for (long id : new long[] { Math.min(firstId, secondId), Math.max(firstId, secondId) }) {
+				Account a = lockAndGet(tx, id);
+				if (a != null && (locked.isEmpty() || locked.get(0).getId() != id)) locked.add(copy(a));
+			}
+			return locked;
+		});
+	}
+
+	public void updateBalance(long accountId, long newBalance, Connection conn) {
+		db.executeUnchecked(conn, "계좌 잔액 업데이트(트랜잭션) 중 오류", tx -> applyBalance(tx, accountId, newBalance));
+	}
+
+	public void increaseBalance(long accountId, long amount, Connection conn) throws SQLException {
+		db.execute(conn, tx -> addBalance(tx, accountId, amount));
+	}
+
+	public void decreaseBalance(long accountId, long amount, Connection conn) throws SQLException {
+		db.execute(conn, tx -> addBalance(tx, accountId, -amount));
+	}
+
+	public boolean decreaseBalanceIfSufficient(long accountId, long amount, Connection conn) throws SQLException {
+		return db.execute(conn, tx -> {
+			Account a = lockAndGet(tx, accountId);
+			if (a == null || a.getBalance() < amount) return false;
+			applyBalance(tx, accountId, a.getBalance() - amount);
+			return true;
+		});
+	}
+
+	public boolean existsById(long accountId, Connection conn) {
+		return db.accounts.containsKey(accountId);
+	}
+
+	public void transferBalance(long fromAccountId, long toAccountId, long amount, Connection conn)
+			throws SQLException {
+		db.execute(conn, tx -> {
+			// UPDATE ... WHERE id IN (?, ?)와 같이 PK 순서로 잠금
+			Account first = lockAndGet(tx, Math.min(fromAccountId, toAccountId));
+			Account second = lockAndGet(tx, Math.max(fromAccountId, toAccountId));
+			if (fromAccountId == toAccountId || first == null || second == null) {
+				throw new SQLException("이체 잔액 반영 실패: 대상 계좌가 2개가 아닙니다.");
+			}
+			Account from = db.accounts.get(fromAccountId);
+			if (from.getBalance() < amount) {
+				throw new SQLException("Check constraint 'ck_account_balance_nonneg' is violated.", "HY000", 3819);
+			}
+			addBalance(tx, fromAccountId, -amount);
+			addBalance(tx, toAccountId, amount);
+			return null;
+		});
+	}
+
+	public Optional<Account> findByAccountNumberForUpdate(String accountNumber, Connection conn) {
+		Long id = db.accountIdByNumber(accountNumber);
+		return (id == null) ? Optional.empty() : findByIdForUpdate(id, conn);
+	}
+
+	public void deleteById(long accountId, Connection conn) {
+		db.executeUnchecked(conn, "계좌 삭제(트랜잭션) 중 오류", tx -> {
+			db.deleteAccount(tx, accountId);
+			return null;
+		});
+	}
+
+	public List<Long> findIdsAfter(long afterId, int limit) {
+		List<Long> ids = new ArrayList<>();
+		for (Long id : db.accounts.keySet()) {
+			if (id > afterId) ids.add(id);
+		}
+		ids.sort(null);
+		return (ids.size() > limit) ? new ArrayList<>(ids.subList(0, limit)) : ids;
+	}
+
+	/** 본인 소유 계좌 + 멤버로 속한 계좌 id (거래 검색 범위와 같음) */
+	static Set<Long> accessibleAccountIds(MemoryDatabase db, long userId) {
+		Set<Long> ids = new LinkedHashSet<>(MemoryDatabase.snapshot(db.accountsByOwner.get(userId)));
+		for (Long memberId : MemoryDatabase.snapshot(db.membersByUser.get(userId))) {
+			GroupMember m = db.members.get(memberId);
+			if (m != null) ids.add(m.getAccountId());
+		}
+		return ids;
+	}
+
+	private Account lockAndGet(MemoryDatabase.Tx tx, long accountId) throws SQLException {
+		db.lockRow(tx, "account", accountId);
+		return db.accounts.get(accountId);
+	}
+
+	private Void addBalance(MemoryDatabase.Tx tx, long accountId, long delta) throws SQLException {
+		Account a = lockAndGet(tx, accountId);
+		if (a != null) applyBalance(tx, accountId, Math.addExact(a.getBalance(), delta));
+		return null;
+	}
+
+	private Void applyBalance(MemoryDatabase.Tx tx, long accountId, long newBalance) throws SQLException {
+		Account before = lockAndGet(tx, accountId);
+		if (before != null) {
+			db.updateAccount(tx, before, Account.fromDB(before.getId(), before.getAccountNumber(), before.getType(),
+					before.getName(), before.getOwnerUserId(), newBalance, before.getCreatedAt()));
+		}
+		return null;
+	}
+
+	/** 저장된 행은 공유하지 않음 - Account는 가변 객체 */
+	private static Account copy(Account a) {
+		return Account.fromDB(a.getId(), a.getAccountNumber(), a.getType(), a.getName(), a.getOwnerUserId(),
+				a.getBalance(), a.getCreatedAt());
+	}
+}
@@ -0,0 +1,106 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+
+import main.domain.Card;
+import main.domain.Transaction;
+import main.enums.CardStatus;
+import main.repository.CardRepository;
+
+/** 카드 저장소(메모리) - 계좌 삭제 시 CASCADE, 카드 삭제 시 거래 card_id는 NULL */
+public class InMemoryCardRepository implements CardRepository {
+
+    private final MemoryDatabase db;
+
+    public InMemoryCardRepository(MemoryDatabase db) {
+        this.db = db;
+    }
+
+    public Card save(Card card) {
+        return db.executeUnchecked(null, "카드 저장 중 오류", tx -> copy(db.insertCard(tx, card)));
+    }
+
+    public List<Card> saveAll(List<Card> cards, Connection conn) {
+        return db.executeUnchecked(conn, "카드 일괄 저장(트랜잭션) 오류", tx -> {
+            List<Card> saved = new ArrayList<>(cards.size());
+            for (Card c : cards) saved.add(copy(db.insertCard(tx, c)));
+            return saved;
+        });
+    }
+
+    public Optional<Card> findById(long id) {
+        Card c = db.cards.get(id);
+        return (c == null) ? Optional.empty() : Optional.of(copy(c));
+    }
+
+    public Optional<Card> findByMaskedNo(String maskedNo) {
+        Long id = db.cardIdByMaskedNo(maskedNo);
+        return (id == null) ? Optional.empty() : findById(id);
+    }
+
+    public List<Card> findByAccountId(long accountId) {
+        return findByAccountIds(List.of(accountId));
+    }
+
+    public List<Card> findByAccountIds(List<Long> accountIds) {
+        List<Card> list = new ArrayList<>();
+        if (accountIds == null) return list;
+        for (Long accountId : accountIds) {
+            for (Long cardId : MemoryDatabase.snapshot(db.cardsByAccount.get(accountId))) {
+                Card c = db.cards.get(cardId);
+                if (c != null) list.add(copy(c));
+            }
+        }
+        list.sort(Comparator.comparingLong(Card::getId));
+        return list;
+    }
+
+    public void updateStatus(long cardId, CardStatus status) {
+        db.executeUnchecked(null, "카드 상태 변경 오류", tx -> {
+            db.lockRow(tx, "card", cardId);
+            Card before = db.cards.get(cardId);
+            if (before != null) {
+                db.updateCard(tx, before, Card.fromDB(before.getId(), before.getAccountId(), before.getMaskedNo(),
+                        before.getBrand(), status, before.getCreatedAt()));
+            }
+            return null;
+        });
+    }
+
+    public boolean existsTransactionByCardId(long cardId) {
+        Card card = db.cards.get(cardId);
+        if (card == null) return false;
+        NavigableSet<Transaction> rows = db.ledger.get(card.getAccountId());
+        if (rows == null) return false;
+        for (Transaction t : rows) {
+            if (t.getCardId() != null && t.getCardId() == cardId) return true;
+        }
+        return false;
+    }
+
+    public boolean existsTransactionByCardId(long cardId, Connection conn) {
+        return existsTransactionByCardId(cardId);
+    }
+
+    public void deleteById(long cardId) {
+        deleteById(cardId, null);
+    }
+
+    public void deleteById(long cardId, Connection conn) {
+        db.executeUnchecked(conn, "카드 삭제(트랜잭션) 오류", tx -> {
+            db.deleteCard(tx, cardId);
+            return null;
+        });
+    }
+
+    /** Card는 상태(block/unblock)가 바뀌는 가변 객체 - 저장된 행 대신 복사본 반환 */
+    private static Card copy(Card c) {
+        return Card.fromDB(c.getId(), c.getAccountId(), c.getMaskedNo(), c.getBrand(), c.getStatus(),
+                c.getCreatedAt());
+    }
+}
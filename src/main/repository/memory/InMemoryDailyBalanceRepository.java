@@ -0,0 +1,42 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+
+import main.domain.DailyBalance;
+import main.repository.DailyBalanceRepository;
+
+/** 일별 잔액 스냅샷(메모리) - 계좌별 날짜 정렬 맵, 갱신은 계좌 행 잠금 아래에서 */
+public class InMemoryDailyBalanceRepository implements DailyBalanceRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryDailyBalanceRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public void applyDelta(long accountId, LocalDate day, long delta, Connection conn) throws SQLException {
+		db.execute(conn, tx -> {
+			db.lockRow(tx, "account", accountId);
+			db.applyDailyDelta(tx, accountId, day, delta);
+			return null;
+		});
+	}
+
+	public int rebuild(long accountId, Connection conn) throws SQLException {
+		return db.execute(conn, tx -> {
+			db.lockRow(tx, "account", accountId);
+			return db.rebuildDaily(tx, accountId);
+		});
+	}
+
+	public Optional<DailyBalance> findLatestBefore(long accountId, LocalDate day, Connection conn) {
+		NavigableMap<LocalDate, Long> days = db.dailyBalances.get(accountId);
+		Map.Entry<LocalDate, Long> e = (days == null) ? null : days.lowerEntry(day);
+		return (e == null) ? Optional.empty() : Optional.of(DailyBalance.fromDB(accountId, e.getKey(), e.getValue()));
+	}
+}
@@ -0,0 +1,119 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import main.domain.GroupMember;
+import main.domain.User;
+import main.dto.GroupMemberDto;
+import main.enums.MemberRole;
+import main.repository.GroupRepository;
+
+/** 모임 멤버 저장소(메모리) - (account_id, user_id) 유일, 계좌 삭제 시 CASCADE */
+public class InMemoryGroupRepository implements GroupRepository {
+
+	/** OWNER 먼저, 가입순 (JDBC: ORDER BY FIELD(role, 'OWNER', 'MEMBER'), joined_at) */
+	private static final Comparator<GroupMember> MEMBER_ORDER = Comparator
+			.comparing((GroupMember m) -> m.getRole() == MemberRole.OWNER ? 0 : 1)
+			.thenComparing(GroupMember::getJoinedAt).thenComparingLong(GroupMember::getId);
+
+	private final MemoryDatabase db;
+
+	public InMemoryGroupRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public void save(GroupMember member) {
+		save(member, null);
+	}
+
+	public void save(GroupMember member, Connection conn) {
+		db.executeUnchecked(conn, "멤버 저장(트랜잭션) 중 오류 발생", tx -> db.insertMember(tx, member));
+	}
+
+	public Optional<GroupMember> findByAccountIdAndUserId(long accountId, long userId) {
+		Long id = db.memberId(accountId, userId);
+		GroupMember m = (id == null) ? null : db.members.get(id);
+		return (m == null) ? Optional.empty() : Optional.of(copy(m));
+	}
+
+	public Optional<GroupMember> findByAccountIdAndUserId(long accountId, long userId, Connection conn) {
+		return findByAccountIdAndUserId(accountId, userId);
+	}
+
+	public List<GroupMember> findByAccountId(long accountId) {
+		List<GroupMember> list = new ArrayList<>();
+		for (Long id : MemoryDatabase.snapshot(db.membersByAccount.get(accountId))) {
+			GroupMember m = db.members.get(id);
+			if (m != null) list.add(copy(m));
+		}
+		list.sort(MEMBER_ORDER);
+		return list;
+	}
+
+	public List<GroupMemberDto> findMemberInfoByAccountId(long accountId) {
+		List<GroupMemberDto> list = new ArrayList<>();
+		for (GroupMember m : findByAccountId(accountId)) {
+			User u = db.users.get(m.getUserId());
+			list.add(new GroupMemberDto(m.getUserId(), u == null ? "(알 수 없는 사용자)" : u.getName(),
+					u == null ? "N/A" : u.getEmail(), m.getRole()));
+		}
+		return list;
+	}
+
+	public void updateRole(long memberId, MemberRole newRole) {
+		updateRole(memberId, newRole, null);
+	}
+
+	public void updateRole(long memberId, MemberRole newRole, Connection conn) {
+		db.executeUnchecked(conn, "멤버 역할 변경(트랜잭션) 중 오류", tx -> {
+			db.lockRow(tx, "group_member", memberId);
+			GroupMember before = db.members.get(memberId);
+			if (before != null) {
+				db.updateMember(tx, before, GroupMember.fromDB(before.getId(), before.getAccountId(),
+						before.getUserId(), newRole, before.getJoinedAt()));
+			}
+			return null;
+		});
+	}
+
+	public boolean isOwner(long accountId, long userId) {
+		return findByAccountIdAndUserId(accountId, userId).map(GroupMember::isOwner).orElse(false);
+	}
+
+	public boolean isOwner(long accountId, long userId, Connection conn) {
+		return isOwner(accountId, userId);
+	}
+
+	public void delete(long memberId) {
+		delete(memberId, null);
+	}
+
+	public void delete(long memberId, Connection conn) {
+		db.executeUnchecked(conn, "멤버 삭제(트랜잭션) 중 오류", tx -> {
+			db.deleteMember(tx, memberId);
+			return null;
+		});
+	}
+
+	public long countOwnersByAccountId(long accountId) {
+		long owners = 0;
+		for (Long id : MemoryDatabase.snapshot(db.membersByAccount.get(accountId))) {
+			GroupMember m = db.members.get(id);
+			if (m != null && m.isOwner()) owners++;
+		}
+		return owners;
+	}
+
+	public long countOwnersByAccountId(long accountId, Connection conn) {
+		return countOwnersByAccountId(accountId);
+	}
+
+	/** GroupMember는 역할이 바뀌는 가변 객체 - 저장된 행 대신 복사본 반환 */
+	private static GroupMember copy(GroupMember m) {
+		return GroupMember.fromDB(m.getId(), m.getAccountId(), m.getUserId(), m.getRole(), m.getJoinedAt());
+	}
+}
@@ -0,0 +1,51 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import main.domain.IdempotencyRecord;
+import main.repository.IdempotencyRepository;
+
+/** 멱등키 저장소(메모리) - 같은 키가 진행 중이면 기다리지 않고 바로 1062 (JDBC 구현은 먼저 들어온 트랜잭션 종료까지 대기) */
+public class InMemoryIdempotencyRepository implements IdempotencyRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryIdempotencyRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public Optional<IdempotencyRecord> find(long userId, String key) {
+		return Optional.ofNullable(db.idempotencyKeys.get(MemoryDatabase.idempotencyKey(userId, key)));
+	}
+
+	public void insert(IdempotencyRecord record, Connection conn) throws SQLException {
+		db.execute(conn, tx -> {
+			db.insertIdempotencyKey(tx, record);
+			return null;
+		});
+	}
+
+	public void insertBatch(List<IdempotencyRecord> records, Connection conn) throws SQLException {
+		if (records.isEmpty()) return;
+		db.execute(conn, tx -> {
+			for (IdempotencyRecord r : records) db.insertIdempotencyKey(tx, r);
+			return null;
+		});
+	}
+
+	public int deleteCreatedBefore(LocalDateTime cutoff, int limit) {
+		int deleted = 0;
+		for (Map.Entry<String, IdempotencyRecord> e : db.idempotencyKeys.entrySet()) {
+			if (deleted == limit) break;
+			if (e.getValue().getCreatedAt().isBefore(cutoff) && db.idempotencyKeys.remove(e.getKey(), e.getValue())) {
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+}
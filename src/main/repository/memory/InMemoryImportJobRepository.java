@@ -0,0 +1,29 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import main.domain.ImportJob;
+import main.repository.ImportJobRepository;
+
+/** 가져오기 진행 기록(메모리) - 저장은 호출부 트랜잭션의 undo 로그에 묶임 */
+public class InMemoryImportJobRepository implements ImportJobRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryImportJobRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public Optional<ImportJob> findById(String jobId) {
+		return Optional.ofNullable(db.importJobs.get(jobId));
+	}
+
+	public void save(ImportJob job, Connection conn) throws SQLException {
+		db.execute(conn, tx -> {
+			db.saveImportJob(tx, job);
+			return null;
+		});
+	}
+}
@@ -0,0 +1,98 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import main.domain.Card;
+import main.domain.MonthlyRollup;
+import main.domain.User;
+import main.dto.MonthlySummaryDto;
+import main.enums.ReportDimension;
+import main.enums.TransactionKind;
+import main.enums.TransactionMethod;
+import main.repository.MonthlyRollupRepository;
+
+/** 월별 거래 집계(메모리) - 계좌별 PK 정렬 맵, 갱신은 계좌 행 잠금 아래에서 */
+public class InMemoryMonthlyRollupRepository implements MonthlyRollupRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryMonthlyRollupRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public void add(List<MonthlyRollup> deltas, Connection conn) throws SQLException {
+		if (deltas.isEmpty()) return;
+		db.execute(conn, tx -> {
+			long locked = -1;
+			for (MonthlyRollup d : deltas) {
+				if (d.getAccountId() != locked) db.lockRow(tx, "account", locked = d.getAccountId());
+			}
+			db.addRollups(tx, deltas);
+			return null;
+		});
+	}
+
+	public int rebuild(long accountId, Connection conn) throws SQLException {
+		return db.execute(conn, tx -> {
+			db.lockRow(tx, "account", accountId);
+			return db.rebuildRollups(tx, accountId);
+		});
+	}
+
+	/** JdbcMonthlyRollupRepository.summarize와 같은 순서 - 월, 기준 값(수단은 enum 순서, 카드/사용자는 id) */
+	public List<MonthlySummaryDto> summarize(long accountId, ReportDimension by, YearMonth from, YearMonth to) {
+		NavigableMap<MonthlyRollup, MonthlyRollup> rows = db.monthlyRollups.get(accountId);
+		if (rows == null) return new ArrayList<>();
+
+		// 월 → 기준 값 → {입금, 출금, 건수}
+		Map<YearMonth, Map<Long, long[]>> groups = new TreeMap<>();
+		for (MonthlyRollup r : rows.values()) {
+			if (r.getMonth().isBefore(from) || r.getMonth().isAfter(to)) continue;
+			long key = switch (by) {
+			case METHOD -> r.getMethod().ordinal();
+			case CARD -> r.getCardId();
+			case MEMBER -> r.getUserId();
+			};
+			if (by == ReportDimension.CARD && key == 0) continue;
+			long[] sums = groups.computeIfAbsent(r.getMonth(), k -> new TreeMap<>()).computeIfAbsent(key,
+					k -> new long[3]);
+			sums[(r.getKind() == TransactionKind.IN) ? 0 : 1] += r.getTotalAmount();
+			sums[2] += r.getTxCount();
+		}
+
+		List<MonthlySummaryDto> list = new ArrayList<>();
+		for (Map.Entry<YearMonth, Map<Long, long[]>> month : groups.entrySet()) {
+			for (Map.Entry<Long, long[]> g : month.getValue().entrySet()) {
+				long key = g.getKey();
+				String k;
+				String label;
+				switch (by) {
+				case METHOD -> {
+					k = TransactionMethod.values()[(int) key].name();
+					label = k;
+				}
+				case CARD -> {
+					Card card = db.cards.get(key);
+					k = String.valueOf(key);
+					label = (card == null) ? null : card.getMaskedNo();
+				}
+				default -> {
+					User user = db.users.get(key);
+					k = String.valueOf(key);
+					label = (user == null) ? null : user.getName();
+				}
+				}
+				long[] sums = g.getValue();
+				list.add(new MonthlySummaryDto(month.getKey(), k, label, sums[0], sums[1], sums[2]));
+			}
+		}
+		return list;
+	}
+}
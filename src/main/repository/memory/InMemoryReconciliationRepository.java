@@ -0,0 +1,59 @@
+package main.repository.memory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import main.domain.Account;
+import main.domain.Transaction;
+import main.dto.BalanceCheck;
+import main.repository.ReconciliationRepository;
+
+/** 잔액 대사 조회(메모리) - 잠금 없이 읽으므로 동시 거래가 있으면 호출부가 계좌를 잠그고 다시 확인해야 함 */
+public class InMemoryReconciliationRepository implements ReconciliationRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryReconciliationRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public List<BalanceCheck> findBalanceChecks(List<Long> accountIds, Connection conn) {
+		List<BalanceCheck> checks = new ArrayList<>(accountIds.size());
+		for (long id : new TreeSet<>(accountIds)) {
+			Account account = db.accounts.get(id);
+			if (account == null) continue;
+			checks.add(new BalanceCheck(id, account.getBalance(), db.openingBalances.get(id),
+					db.netAmount(id, null, null)));
+		}
+		return checks;
+	}
+
+	public long countMissingOpeningBalance() {
+		return db.accounts.keySet().stream().filter(id -> !db.openingBalances.containsKey(id)).count();
+	}
+
+	public boolean initOpeningBalance(long accountId, long openingBalance, Connection conn) throws SQLException {
+		return db.execute(conn, tx -> {
+			if (!db.accounts.containsKey(accountId) || db.openingBalances.putIfAbsent(accountId, openingBalance) != null) {
+				return false;
+			}
+			tx.onRollback(() -> db.openingBalances.remove(accountId));
+			return true;
+		});
+	}
+
+	public long findMaxTransactionId() {
+		return db.lastTransactionId();
+	}
+
+	public List<Long> findAccountIdsTouched(long afterId, long upToId) {
+		TreeSet<Long> ids = new TreeSet<>();
+		for (Transaction t : db.transactions.values()) {
+			if (t.getId() > afterId && t.getId() <= upToId) ids.add(t.getAccountId());
+		}
+		return new ArrayList<>(ids);
+	}
+}
@@ -0,0 +1,23 @@
+package main.repository.memory;
+
+import main.repository.SequenceRepository;
+
+/** 번호 시퀀스(메모리) - 예약은 트랜잭션과 무관하게 즉시 반영(JDBC 구현의 자동 커밋과 같음) */
+public class InMemorySequenceRepository implements SequenceRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemorySequenceRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public long reserveBlock(String name, int blockSize) {
+		long[] start = new long[1];
+		Long next = db.sequences.computeIfPresent(name, (k, v) -> {
+			start[0] = v;
+			return v + blockSize;
+		});
+		if (next == null) throw new IllegalStateException("시퀀스가 존재하지 않습니다: " + name);
+		return start[0];
+	}
+}
@@ -0,0 +1,200 @@
+package main.repository.memory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import main.domain.Account;
+import main.domain.Card;
+import main.domain.Transaction;
+import main.dto.TransactionCursor;
+import main.dto.TransactionListDto;
+import main.dto.TransactionPage;
+import main.dto.TransactionSearchCondition;
+import main.enums.TransactionKind;
+import main.enums.TransactionMethod;
+import main.repository.TransactionRepository;
+
+/**
+ * 거래 저장소(메모리) - 계좌별 원장을 (occurred_at DESC, id DESC)로 정렬해 보관
+ * - 검색: 접근 가능한 계좌별 원장을 커서 위치부터 병합해 읽음 (JDBC 구현의 인덱스 역순 스캔과 같은 결과 순서)
+ */
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryTransactionRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public void insertIncomeOther(long accountId, long amount, String memo, Timestamp occurredAt,
+			long createdByUserId, Connection conn) {
+		insert(Transaction.income(0, accountId, amount, memo, occurredAt.toLocalDateTime(), createdByUserId), conn,
+				"수입(OTHER) 저장 오류");
+	}
+
+	public void insertExpenseOther(long accountId, long amount, String memo, Timestamp occurredAt,
+			long createdByUserId, Connection conn) {
+		insert(Transaction.expenseOther(0, accountId, amount, memo, occurredAt.toLocalDateTime(), createdByUserId),
+				conn, "지출(OTHER) 저장 오류");
+	}
+
+	public void insertExpenseCard(long accountId, long amount, String memo, Timestamp occurredAt, long cardId,
+			Long createdByUserId, Connection conn) {
+		insert(Transaction.expenseCard(0, accountId, amount, memo, occurredAt.toLocalDateTime(), cardId,
+				createdByUserId), conn, "거래 저장 오류");
+	}
+
+	public void insertTransferPair(long fromAccountId, long toAccountId, long amount, String memo,
+			Timestamp occurredAt, String transferKey, Long createdByUserId, Connection conn) {
+		LocalDateTime at = occurredAt.toLocalDateTime();
+		insertBatch(List.of(Transaction.transferOut(0, fromAccountId, amount, memo, at, transferKey, createdByUserId),
+				Transaction.transferIn(0, toAccountId, amount, memo, at, transferKey, createdByUserId)), conn);
+	}
+
+	public void insertBatch(List<Transaction> rows, Connection conn) {
+		if (rows.isEmpty()) return;
+		db.executeUnchecked(conn, "거래 일괄 저장 오류", tx -> {
+			for (Transaction t : rows) db.insertTransaction(tx, t);
+			return null;
+		});
+	}
+
+	public List<TransactionListDto> search(Long userId, Long accountIdFilter, LocalDate from, LocalDate to,
+			Long minAmount, Long maxAmount) {
+		TransactionSearchCondition cond = new TransactionSearchCondition(userId, accountIdFilter, from, to,
+				minAmount, maxAmount);
+		return scan(cond, null, Integer.MAX_VALUE);
+	}
+
+	public TransactionPage searchPage(TransactionSearchCondition cond, TransactionCursor after, int pageSize) {
+		if (pageSize <= 0) throw new IllegalArgumentException("페이지 크기는 0보다 커야 합니다.");
+
+		List<TransactionListDto> rows = scan(cond, after, pageSize + 1);
+		TransactionCursor next = null;
+		if (rows.size() > pageSize) {
+			rows = new ArrayList<>(rows.subList(0, pageSize));
+			TransactionListDto last = rows.get(rows.size() - 1);
+			next = new TransactionCursor(last.occurredAt, last.id);
+		}
+		return new TransactionPage(rows, next);
+	}
+
+	/** 계좌별 원장을 오래된 쪽부터 병합 - JDBC 구현의 ORDER BY occurred_at, id와 같은 순서 */
+	public long stream(TransactionSearchCondition cond, RowConsumer consumer) throws IOException {
+		Set<Long> scope = InMemoryAccountRepository.accessibleAccountIds(db, cond.userId);
+		if (cond.accountId != null) scope.retainAll(Set.of(cond.accountId));
+		LocalDateTime toAt = (cond.to == null) ? null : cond.to.plusDays(1).atStartOfDay();
+
+		Comparator<Transaction> ascending = MemoryDatabase.LEDGER_ORDER.reversed();
+		PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> ascending.compare(a.row, b.row));
+		for (Long accountId : scope) {
+			NavigableSet<Transaction> rows = db.ledger.get(accountId);
+			if (rows == null) continue;
+			// 시각 역순 정렬이므로 from 이후 행은 probe(from)보다 앞쪽
+			if (cond.from != null) rows = rows.headSet(MemoryDatabase.probe(cond.from.atStartOfDay()), false);
+			Head head = new Head(rows.descendingIterator());
+			if (head.advance()) heads.add(head);
+		}
+
+		long count = 0;
+		while (!heads.isEmpty()) {
+			Head head = heads.poll();
+			Transaction t = head.row;
+			if (toAt != null && !t.getOccurredAt().isBefore(toAt)) continue; // 이 계좌는 더 볼 행이 없음
+			if (matches(t, cond, toAt)) {
+				consumer.accept(toListDto(t));
+				count++;
+			}
+			if (head.advance()) heads.add(head);
+		}
+		return count;
+	}
+
+	public boolean existsByAccountId(long accountId) {
+		NavigableSet<Transaction> rows = db.ledger.get(accountId);
+		return rows != null && !rows.isEmpty();
+	}
+
+	public boolean existsByAccountId(long accountId, Connection conn) {
+		return existsByAccountId(accountId);
+	}
+
+	public long sumNetAmount(long accountId, LocalDateTime from, LocalDateTime to, Connection conn) {
+		return db.netAmount(accountId, from, to);
+	}
+
+	private void insert(Transaction t, Connection conn, String message) {
+		db.executeUnchecked(conn, message, tx -> db.insertTransaction(tx, t));
+	}
+
+	/** 계좌별 원장(이미 정렬됨)을 우선순위 큐로 병합 - 조건에 맞는 행을 limit건까지 */
+	private List<TransactionListDto> scan(TransactionSearchCondition cond, TransactionCursor after, int limit) {
+		Set<Long> scope = InMemoryAccountRepository.accessibleAccountIds(db, cond.userId);
+		if (cond.accountId != null) scope.retainAll(Set.of(cond.accountId));
+
+		LocalDateTime fromAt = (cond.from == null) ? null : cond.from.atStartOfDay();
+		LocalDateTime toAt = (cond.to == null) ? null : cond.to.plusDays(1).atStartOfDay();
+		Transaction start = (after == null) ? null
+				: Transaction.fromDB(after.id, 0, TransactionKind.IN, TransactionMethod.OTHER, 0, null,
+						after.occurredAt, null, null, null, null);
+
+		PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> MemoryDatabase.LEDGER_ORDER.compare(a.row, b.row));
+		for (Long accountId : scope) {
+			NavigableSet<Transaction> rows = db.ledger.get(accountId);
+			if (rows == null) continue;
+			Head head = new Head((start == null) ? rows.iterator() : rows.tailSet(start, false).iterator());
+			if (head.advance()) heads.add(head);
+		}
+
+		List<TransactionListDto> result = new ArrayList<>();
+		while (!heads.isEmpty() && result.size() < limit) {
+			Head head = heads.poll();
+			Transaction t = head.row;
+			if (fromAt != null && t.getOccurredAt().isBefore(fromAt)) continue; // 이 계좌는 더 볼 행이 없음
+			if (matches(t, cond, toAt)) result.add(toListDto(t));
+			if (head.advance()) heads.add(head);
+		}
+		return result;
+	}
+
+	private static boolean matches(Transaction t, TransactionSearchCondition cond, LocalDateTime toAt) {
+		if (toAt != null && !t.getOccurredAt().isBefore(toAt)) return false;
+		if (cond.minAmount != null && t.getAmount() < cond.minAmount) return false;
+		if (cond.maxAmount != null && t.getAmount() > cond.maxAmount) return false;
+		return true;
+	}
+
+	private TransactionListDto toListDto(Transaction t) {
+		Account a = db.accounts.get(t.getAccountId());
+		Card c = (t.getCardId() == null) ? null : db.cards.get(t.getCardId());
+		return new TransactionListDto(t.getId(), a == null ? null : a.getName(),
+				a == null ? null : a.getAccountNumber(), c == null ? null : c.getMaskedNo(), t.getKind(),
+				t.getMethod(), t.getAmount(), t.getMemo(), t.getOccurredAt());
+	}
+
+	/** 계좌 하나의 원장 읽기 위치 */
+	private static final class Head {
+		private final Iterator<Transaction> it;
+		private Transaction row;
+
+		Head(Iterator<Transaction> it) {
+			this.it = it;
+		}
+
+		boolean advance() {
+			if (!it.hasNext()) return false;
+			row = it.next();
+			return true;
+		}
+	}
+}
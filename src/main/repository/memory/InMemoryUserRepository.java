@@ -0,0 +1,48 @@
+package main.repository.memory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import main.domain.User;
+import main.repository.UserRepository;
+
+/** 사용자 저장소(메모리) - 이메일 유일, 계좌/멤버십이 남아 있으면 삭제 거부(RESTRICT) */
+public class InMemoryUserRepository implements UserRepository {
+
+	private final MemoryDatabase db;
+
+	public InMemoryUserRepository(MemoryDatabase db) {
+		this.db = db;
+	}
+
+	public User save(User user) {
+		return db.executeUnchecked(null, "사용자 저장 중 오류 발생", tx -> db.insertUser(tx, user));
+	}
+
+	public Optional<User> findByEmail(String email) {
+		Long id = db.userIdByEmail(email);
+		return (id == null) ? Optional.empty() : findById(id);
+	}
+
+	public Optional<User> findById(long id) {
+		return Optional.ofNullable(db.users.get(id));
+	}
+
+	public Map<Long, User> findByIds(Collection<Long> ids) {
+		Map<Long, User> found = new HashMap<>();
+		for (Long id : ids) {
+			User u = db.users.get(id);
+			if (u != null) found.put(id, u);
+		}
+		return found;
+	}
+
+	public void deleteById(long userId) {
+		db.executeUnchecked(null, "사용자 삭제 중 오류 발생", tx -> {
+			db.deleteUser(tx, userId);
+			return null;
+		});
+	}
+}
@@ -0,0 +1,757 @@
+package main.repository.memory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import main.domain.Account;
+import main.domain.Card;
+import main.domain.GroupMember;
+import main.domain.IdempotencyRecord;
+import main.domain.ImportJob;
+import main.domain.MonthlyRollup;
+import main.domain.Transaction;
+import main.domain.User;
+import main.enums.TransactionKind;
+import main.enums.TransactionMethod;
+
+/**
+ * 메모리 DB - init.sql 스키마의 테이블 / 유일 키 / 외래 키 동작을 메모리에서 흉내 냄 (테스트·벤치마크용)
+ * - connect(): setAutoCommit / commit / rollback / close만 지원하는 Connection → DbUtil 커넥션 공급원으로 사용
+ * - 쓰기: 행 잠금을 커밋/롤백까지 보유(InnoDB 행 잠금처럼 직렬화), 대기 초과 시 SQLException(1205)
+ *         롤백은 문장별 undo 로그를 역순으로 적용
+ * - 읽기: 잠금 없이 최신 값을 봄(커밋 전 값 포함) - READ UNCOMMITTED 수준
+ * - 유일 키 위반: SQLIntegrityConstraintViolationException(1062, "Duplicate entry ... for key 'table.key'")
+ */
+public final class MemoryDatabase {
+
+	private static final long LOCK_WAIT_MS = Long
+			.parseLong(System.getenv().getOrDefault("MEMORY_LOCK_WAIT_MS", "50000"));
+
+	/** 원장 정렬: occurred_at DESC, id DESC (idx_transaction_account_time 역순 스캔과 같은 순서) */
+	static final Comparator<Transaction> LEDGER_ORDER = Comparator
+			.comparing(Transaction::getOccurredAt, Comparator.reverseOrder())
+			.thenComparing(Transaction::getId, Comparator.reverseOrder());
+
+	// 테이블
+	final Map<Long, User> users = new ConcurrentHashMap<>();
+	final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+	final Map<Long, Card> cards = new ConcurrentHashMap<>();
+	final Map<Long, GroupMember> members = new ConcurrentHashMap<>();
+	final Map<Long, Transaction> transactions = new ConcurrentHashMap<>();
+	final Map<String, Long> sequences = new ConcurrentHashMap<>();
+	final Map<String, IdempotencyRecord> idempotencyKeys = new ConcurrentHashMap<>(); // PK (user_id, idem_key)
+	final Map<String, ImportJob> importJobs = new ConcurrentHashMap<>(); // PK job_id
+	final Map<Long, Long> openingBalances = new ConcurrentHashMap<>(); // account.opening_balance (Account에 없는 열)
+
+	// 유일 키
+	private final Map<String, Long> userByEmail = new ConcurrentHashMap<>();
+	private final Map<String, Long> accountByNumber = new ConcurrentHashMap<>();
+	private final Map<String, Long> accountByOwnerName = new ConcurrentHashMap<>();
+	private final Map<String, Long> cardByMaskedNo = new ConcurrentHashMap<>();
+	private final Map<String, Long> memberByAccountUser = new ConcurrentHashMap<>();
+
+	// 보조 인덱스 (외래 키 → 행 id)
+	final Map<Long, Set<Long>> accountsByOwner = new ConcurrentHashMap<>();
+	final Map<Long, Set<Long>> cardsByAccount = new ConcurrentHashMap<>();
+	final Map<Long, Set<Long>> membersByAccount = new ConcurrentHashMap<>();
+	final Map<Long, Set<Long>> membersByUser = new ConcurrentHashMap<>();
+	final Map<Long, NavigableSet<Transaction>> ledger = new ConcurrentHashMap<>();
+	final Map<Long, NavigableMap<LocalDate, Long>> dailyBalances = new ConcurrentHashMap<>(); // 계좌 → 날짜 → 마감 잔액
+	final Map<Long, NavigableMap<MonthlyRollup, MonthlyRollup>> monthlyRollups = new ConcurrentHashMap<>(); // 계좌 → PK 순 집계
+
+	// AUTO_INCREMENT
+	private final AtomicLong userIds = new AtomicLong();
+	private final AtomicLong accountIds = new AtomicLong();
+	private final AtomicLong cardIds = new AtomicLong();
+	private final AtomicLong memberIds = new AtomicLong();
+	private final AtomicLong transactionIds = new AtomicLong();
+
+	private final Map<String, ReentrantLock> rowLocks = new ConcurrentHashMap<>();
+
+	public MemoryDatabase() {
+		sequences.put("account_number", 1L);
+		sequences.put("card_number", 1L);
+	}
+
+	/** 새 커넥션(세션) - close 시 커밋되지 않은 작업은 롤백 */
+	public Connection connect() {
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new Session());
+	}
+
+	// ────────────── 트랜잭션 ──────────────
+
+	/** 트랜잭션 하나의 undo 로그와 보유 중인 행 잠금 */
+	static final class Tx {
+		private final ArrayDeque<Runnable> undo = new ArrayDeque<>();
+		private final Set<String> lockedRows = new HashSet<>();
+		private final List<ReentrantLock> locks = new ArrayList<>();
+
+		void onRollback(Runnable action) {
+			undo.addLast(action);
+		}
+	}
+
+	@FunctionalInterface
+	interface Work<T> {
+		T run(Tx tx) throws SQLException;
+	}
+
+	/**
+	 * conn이 이 DB의 수동 커밋 세션이면 그 트랜잭션에서, 아니면(null / 자동 커밋) 문장 하나를 자체 트랜잭션으로 실행
+	 * 문장 실패 시 그 문장의 변경만 되돌리는 대신, 각 문장은 검증을 모두 마친 뒤에 변경하도록 작성함
+	 */
+	<T> T execute(Connection conn, Work<T> work) throws SQLException {
+		Session session = session(conn);
+		if (session != null && !session.autoCommit) {
+			return work.run(session.tx());
+		}
+		Tx tx = new Tx();
+		boolean ok = false;
+		try {
+			T result = work.run(tx);
+			ok = true;
+			return result;
+		} finally {
+			finish(tx, ok);
+		}
+	}
+
+	/** execute와 같음 - SQLException을 message로 감싸 RuntimeException으로 던짐 */
+	<T> T executeUnchecked(Connection conn, String message, Work<T> work) {
+		try {
+			return execute(conn, work);
+		} catch (SQLException e) {
+			throw new RuntimeException(message, e);
+		}
+	}
+
+	/** 행 잠금(SELECT ... FOR UPDATE / UPDATE / DELETE) - 트랜잭션 종료까지 보유, synchronized(this) 밖에서만 호출 */
+	void lockRow(Tx tx, String table, long id) throws SQLException {
+		String key = table + ":" + id;
+		if (!tx.lockedRows.add(key)) return;
+		ReentrantLock lock = rowLocks.computeIfAbsent(key, k -> new ReentrantLock());
+		try {
+			if (!lock.tryLock(LOCK_WAIT_MS, TimeUnit.MILLISECONDS)) {
+				tx.lockedRows.remove(key);
+				throw new SQLTransactionRollbackException("Lock wait timeout exceeded; try restarting transaction",
+						"40001", 1205);
+			}
+		} catch (InterruptedException e) {
+			tx.lockedRows.remove(key);
+			Thread.currentThread().interrupt();
+			throw new SQLException("행 잠금 대기 중 인터럽트: " + key, e);
+		}
+		tx.locks.add(lock);
+	}
+
+	private void finish(Tx tx, boolean commit) {
+		if (!commit && !tx.undo.isEmpty()) {
+			synchronized (this) {
+				while (!tx.undo.isEmpty()) tx.undo.pollLast().run();
+			}
+		}
+		tx.undo.clear();
+		tx.lockedRows.clear();
+		for (ReentrantLock lock : tx.locks) lock.unlock();
+		tx.locks.clear();
+	}
+
+	private static Session session(Connection conn) {
+		if (conn == null || !Proxy.isProxyClass(conn.getClass())) return null;
+		InvocationHandler h = Proxy.getInvocationHandler(conn);
+		return (h instanceof Session s) ? s : null;
+	}
+
+	/** connect()가 돌려주는 커넥션의 동작 - 트랜잭션 제어 메서드만 지원 */
+	private final class Session implements InvocationHandler {
+		private boolean autoCommit = true;
+		private boolean closed;
+		private Tx tx;
+
+		Tx tx() {
+			if (tx == null) tx = new Tx();
+			return tx;
+		}
+
+		private void end(boolean commit) {
+			if (tx != null) {
+				finish(tx, commit);
+				tx = null;
+			}
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (name) {
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					default -> "MemoryConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+				};
+			}
+			if (closed && !name.equals("close") && !name.equals("isClosed")) {
+				throw new SQLException("이미 닫힌 커넥션입니다.");
+			}
+			switch (name) {
+				case "setAutoCommit" -> {
+					boolean on = (Boolean) args[0];
+					if (on && !autoCommit) end(true); // JDBC 규약: 자동 커밋으로 바꾸면 진행 중인 트랜잭션 커밋
+					autoCommit = on;
+					return null;
+				}
+				case "getAutoCommit" -> {
+					return autoCommit;
+				}
+				case "commit" -> {
+					end(true);
+					return null;
+				}
+				case "rollback" -> {
+					if (args != null) break; // rollback(Savepoint) 미지원
+					end(false);
+					return null;
+				}
+				case "close" -> {
+					if (!closed) {
+						end(false);
+						closed = true;
+					}
+					return null;
+				}
+				case "isClosed" -> {
+					return closed;
+				}
+				case "isValid" -> {
+					return !closed;
+				}
+				case "getWarnings" -> {
+					return null;
+				}
+				case "clearWarnings" -> {
+					return null;
+				}
+				default -> {
+				}
+			}
+			throw new SQLFeatureNotSupportedException("메모리 DB 커넥션에서 지원하지 않는 메서드입니다: " + name);
+		}
+	}
+
+	// ────────────── users ──────────────
+
+	User insertUser(Tx tx, User user) throws SQLException {
+		synchronized (this) {
+			unique(userByEmail, user.getEmail(), "users.uq_users_email");
+			User saved = User.fromDB(userIds.incrementAndGet(), user.getName(), user.getEmail(), user.getPhone(),
+					user.getCreatedAt());
+			users.put(saved.getId(), saved);
+			userByEmail.put(saved.getEmail(), saved.getId());
+			tx.onRollback(() -> {
+				users.remove(saved.getId());
+				userByEmail.remove(saved.getEmail());
+			});
+			return saved;
+		}
+	}
+
+	Long userIdByEmail(String email) {
+		return userByEmail.get(email);
+	}
+
+	/** 소유 계좌·멤버십이 있으면 거부(ON DELETE RESTRICT), 입력자 표시는 NULL로(ON DELETE SET NULL) */
+	void deleteUser(Tx tx, long userId) throws SQLException {
+		lockRow(tx, "users", userId);
+		synchronized (this) {
+			User user = users.get(userId);
+			if (user == null) return;
+			if (!isEmpty(accountsByOwner.get(userId)) || !isEmpty(membersByUser.get(userId))) {
+				throw new SQLIntegrityConstraintViolationException(
+						"Cannot delete or update a parent row: a foreign key constraint fails (users)", "23000", 1451);
+			}
+			users.remove(userId);
+			userByEmail.remove(user.getEmail());
+			tx.onRollback(() -> {
+				users.put(userId, user);
+				userByEmail.put(user.getEmail(), userId);
+			});
+			for (Transaction t : transactions.values()) {
+				if (t.getCreatedByUserId() != null && t.getCreatedByUserId() == userId) {
+					replaceTransaction(tx, t, Transaction.fromDB(t.getId(), t.getAccountId(), t.getKind(),
+							t.getMethod(), t.getAmount(), t.getMemo(), t.getOccurredAt(), t.getTransferKey(),
+							t.getCardId(), null, t.getCreatedAt()));
+				}
+			}
+		}
+	}
+
+	// ────────────── account ──────────────
+
+	Account insertAccount(Tx tx, Account account) throws SQLException {
+		synchronized (this) {
+			Long owner = account.getOwnerUserId();
+			if (owner != null && !users.containsKey(owner)) throw foreignKey("account.fk_account_owner");
+			unique(accountByNumber, account.getAccountNumber(), "account.uq_account_number");
+			if (owner != null) unique(accountByOwnerName, ownerNameKey(owner, account.getName()),
+					"account.uq_personal_owner_name");
+
+			Account saved = Account.fromDB(accountIds.incrementAndGet(), account.getAccountNumber(),
+					account.getType(), account.getName(), owner, account.getBalance(), account.getCreatedAt());
+			putAccount(saved);
+			openingBalances.put(saved.getId(), saved.getBalance());
+			tx.onRollback(() -> {
+				removeAccount(saved);
+				openingBalances.remove(saved.getId());
+			});
+			return saved;
+		}
+	}
+
+	/** 행 잠금을 잡은 뒤 호출 - 이름이 바뀌면 유일 키도 갱신 */
+	void updateAccount(Tx tx, Account before, Account after) throws SQLException {
+		if (after.getBalance() < 0) {
+			throw new SQLException("Check constraint 'ck_account_balance_nonneg' is violated.", "HY000", 3819);
+		}
+		synchronized (this) {
+			if (before.getOwnerUserId() != null && !before.getName().equals(after.getName())) {
+				unique(accountByOwnerName, ownerNameKey(before.getOwnerUserId(), after.getName()),
+						"account.uq_personal_owner_name");
+			}
+			removeAccount(before);
+			putAccount(after);
+			tx.onRollback(() -> {
+				removeAccount(after);
+				putAccount(before);
+			});
+		}
+	}
+
+	/** 카드·멤버·거래·일별 잔액·월별 집계는 ON DELETE CASCADE */
+	void deleteAccount(Tx tx, long accountId) throws SQLException {
+		lockRow(tx, "account", accountId);
+		List<Long> cardIds = snapshot(cardsByAccount.get(accountId));
+		List<Long> memberIds = snapshot(membersByAccount.get(accountId));
+		for (Long cardId : cardIds) lockRow(tx, "card", cardId);
+		for (Long memberId : memberIds) lockRow(tx, "group_member", memberId);
+		synchronized (this) {
+			Account account = accounts.get(accountId);
+			if (account == null) return;
+			for (Long cardId : cardIds) dropCard(tx, cardId);
+			for (Long memberId : memberIds) dropMember(tx, memberId);
+			NavigableSet<Transaction> rows = ledger.get(accountId);
+			if (rows != null) {
+				for (Transaction t : new ArrayList<>(rows)) removeTransaction(tx, t);
+			}
+			NavigableMap<LocalDate, Long> days = dailyBalances.remove(accountId);
+			if (days != null) tx.onRollback(() -> dailyBalances.put(accountId, days));
+			NavigableMap<MonthlyRollup, MonthlyRollup> rollups = monthlyRollups.remove(accountId);
+			if (rollups != null) tx.onRollback(() -> monthlyRollups.put(accountId, rollups));
+			removeAccount(account);
+			Long opening = openingBalances.remove(accountId);
+			tx.onRollback(() -> {
+				putAccount(account);
+				if (opening != null) openingBalances.put(accountId, opening);
+			});
+		}
+	}
+
+	Long accountIdByNumber(String accountNumber) {
+		return accountByNumber.get(accountNumber);
+	}
+
+	Long accountIdByOwnerName(long ownerUserId, String name) {
+		return accountByOwnerName.get(ownerNameKey(ownerUserId, name));
+	}
+
+	private void putAccount(Account a) {
+		accounts.put(a.getId(), a);
+		accountByNumber.put(a.getAccountNumber(), a.getId());
+		if (a.getOwnerUserId() != null) {
+			accountByOwnerName.put(ownerNameKey(a.getOwnerUserId(), a.getName()), a.getId());
+			index(accountsByOwner, a.getOwnerUserId(), a.getId());
+		}
+	}
+
+	private void removeAccount(Account a) {
+		accounts.remove(a.getId());
+		accountByNumber.remove(a.getAccountNumber());
+		if (a.getOwnerUserId() != null) {
+			accountByOwnerName.remove(ownerNameKey(a.getOwnerUserId(), a.getName()));
+			unindex(accountsByOwner, a.getOwnerUserId(), a.getId());
+		}
+	}
+
+	private static String ownerNameKey(long ownerUserId, String name) {
+		return ownerUserId + "\u0000" + name;
+	}
+
+	// ────────────── card ──────────────
+
+	Card insertCard(Tx tx, Card card) throws SQLException {
+		synchronized (this) {
+			if (!accounts.containsKey(card.getAccountId())) throw foreignKey("card.fk_card_account");
+			unique(cardByMaskedNo, card.getMaskedNo(), "card.uq_card_masked_no");
+			Card saved = Card.fromDB(cardIds.incrementAndGet(), card.getAccountId(), card.getMaskedNo(),
+					card.getBrand(), card.getStatus(), card.getCreatedAt());
+			putCard(saved);
+			tx.onRollback(() -> removeCard(saved));
+			return saved;
+		}
+	}
+
+	void updateCard(Tx tx, Card before, Card after) {
+		synchronized (this) {
+			cards.put(after.getId(), after);
+			tx.onRollback(() -> cards.put(before.getId(), before));
+		}
+	}
+
+	/** 거래의 card_id는 NULL로 (ON DELETE SET NULL) */
+	void deleteCard(Tx tx, long cardId) throws SQLException {
+		lockRow(tx, "card", cardId);
+		synchronized (this) {
+			dropCard(tx, cardId);
+		}
+	}
+
+	private void dropCard(Tx tx, long cardId) {
+		Card card = cards.get(cardId);
+		if (card == null) return;
+		NavigableSet<Transaction> rows = ledger.get(card.getAccountId());
+		if (rows != null) {
+			for (Transaction t : new ArrayList<>(rows)) {
+				if (t.getCardId() != null && t.getCardId() == cardId) {
+					replaceTransaction(tx, t, Transaction.fromDB(t.getId(), t.getAccountId(), t.getKind(),
+							t.getMethod(), t.getAmount(), t.getMemo(), t.getOccurredAt(), t.getTransferKey(), null,
+							t.getCreatedByUserId(), t.getCreatedAt()));
+				}
+			}
+		}
+		removeCard(card);
+		tx.onRollback(() -> putCard(card));
+	}
+
+	private void putCard(Card c) {
+		cards.put(c.getId(), c);
+		cardByMaskedNo.put(c.getMaskedNo(), c.getId());
+		index(cardsByAccount, c.getAccountId(), c.getId());
+	}
+
+	private void removeCard(Card c) {
+		cards.remove(c.getId());
+		cardByMaskedNo.remove(c.getMaskedNo());
+		unindex(cardsByAccount, c.getAccountId(), c.getId());
+	}
+
+	Long cardIdByMaskedNo(String maskedNo) {
+		return cardByMaskedNo.get(maskedNo);
+	}
+
+	// ────────────── group_member ──────────────
+
+	GroupMember insertMember(Tx tx, GroupMember member) throws SQLException {
+		synchronized (this) {
+			if (!accounts.containsKey(member.getAccountId())) throw foreignKey("group_member.fk_gm_account");
+			if (!users.containsKey(member.getUserId())) throw foreignKey("group_member.fk_gm_user");
+			unique(memberByAccountUser, memberKey(member.getAccountId(), member.getUserId()),
+					"group_member.uq_group_member");
+			GroupMember saved = GroupMember.fromDB(memberIds.incrementAndGet(), member.getAccountId(),
+					member.getUserId(), member.getRole(), member.getJoinedAt());
+			putMember(saved);
+			tx.onRollback(() -> removeMember(saved));
+			return saved;
+		}
+	}
+
+	void updateMember(Tx tx, GroupMember before, GroupMember after) {
+		synchronized (this) {
+			members.put(after.getId(), after);
+			tx.onRollback(() -> members.put(before.getId(), before));
+		}
+	}
+
+	void deleteMember(Tx tx, long memberId) throws SQLException {
+		lockRow(tx, "group_member", memberId);
+		synchronized (this) {
+			dropMember(tx, memberId);
+		}
+	}
+
+	private void dropMember(Tx tx, long memberId) {
+		GroupMember member = members.get(memberId);
+		if (member == null) return;
+		removeMember(member);
+		tx.onRollback(() -> putMember(member));
+	}
+
+	Long memberId(long accountId, long userId) {
+		return memberByAccountUser.get(memberKey(accountId, userId));
+	}
+
+	private void putMember(GroupMember m) {
+		members.put(m.getId(), m);
+		memberByAccountUser.put(memberKey(m.getAccountId(), m.getUserId()), m.getId());
+		index(membersByAccount, m.getAccountId(), m.getId());
+		index(membersByUser, m.getUserId(), m.getId());
+	}
+
+	private void removeMember(GroupMember m) {
+		members.remove(m.getId());
+		memberByAccountUser.remove(memberKey(m.getAccountId(), m.getUserId()));
+		unindex(membersByAccount, m.getAccountId(), m.getId());
+		unindex(membersByUser, m.getUserId(), m.getId());
+	}
+
+	private static String memberKey(long accountId, long userId) {
+		return accountId + ":" + userId;
+	}
+
+	// ────────────── transaction ──────────────
+
+	Transaction insertTransaction(Tx tx, Transaction t) throws SQLException {
+		if (t.getAmount() <= 0) {
+			throw new SQLException("Check constraint 'ck_transaction_amount_pos' is violated.", "HY000", 3819);
+		}
+		synchronized (this) {
+			if (!accounts.containsKey(t.getAccountId())) throw foreignKey("transaction.fk_transaction_account");
+			if (t.getCardId() != null && !cards.containsKey(t.getCardId())) {
+				throw foreignKey("transaction.fk_transaction_card");
+			}
+			Transaction saved = Transaction.fromDB(transactionIds.incrementAndGet(), t.getAccountId(), t.getKind(),
+					t.getMethod(), t.getAmount(), t.getMemo(), t.getOccurredAt(), t.getTransferKey(), t.getCardId(),
+					t.getCreatedByUserId(), t.getCreatedAt());
+			putTransaction(saved);
+			tx.onRollback(() -> dropTransaction(saved));
+			return saved;
+		}
+	}
+
+	private void replaceTransaction(Tx tx, Transaction before, Transaction after) {
+		dropTransaction(before);
+		putTransaction(after);
+		tx.onRollback(() -> {
+			dropTransaction(after);
+			putTransaction(before);
+		});
+	}
+
+	private void removeTransaction(Tx tx, Transaction t) {
+		dropTransaction(t);
+		tx.onRollback(() -> putTransaction(t));
+	}
+
+	private void putTransaction(Transaction t) {
+		transactions.put(t.getId(), t);
+		ledger.computeIfAbsent(t.getAccountId(), k -> new ConcurrentSkipListSet<>(LEDGER_ORDER)).add(t);
+	}
+
+	private void dropTransaction(Transaction t) {
+		transactions.remove(t.getId());
+		NavigableSet<Transaction> rows = ledger.get(t.getAccountId());
+		if (rows != null) rows.remove(t);
+	}
+
+	/** 계좌의 from <= occurred_at < to 거래 합계(IN +, OUT -) - 원장 정렬을 이용해 범위만 읽음 */
+	long netAmount(long accountId, LocalDateTime from, LocalDateTime to) {
+		NavigableSet<Transaction> rows = ledger.get(accountId);
+		if (rows == null) return 0;
+		// 정렬이 시각 역순이므로 to 쪽이 앞 - 같은 시각의 실제 행(id >= 1)은 모두 probe(id 0)보다 앞에 옴
+		if (to != null) rows = rows.tailSet(probe(to), false);
+		if (from != null) rows = rows.headSet(probe(from), false);
+		long sum = 0;
+		for (Transaction t : rows) sum += (t.getKind() == TransactionKind.IN) ? t.getAmount() : -t.getAmount();
+		return sum;
+	}
+
+	/** AUTO_INCREMENT로 마지막에 발급한 거래 id */
+	long lastTransactionId() {
+		return transactionIds.get();
+	}
+
+	/** 원장 범위 탐색용 경계 행 - 같은 시각의 실제 행(id >= 1)보다 LEDGER_ORDER상 뒤 */
+	static Transaction probe(LocalDateTime occurredAt) {
+		return Transaction.fromDB(0, 0, TransactionKind.IN, TransactionMethod.OTHER, 0, null, occurredAt, null, null,
+				null, null);
+	}
+
+	// ────────────── daily_balance ──────────────
+
+	/** JdbcDailyBalanceRepository.applyDelta와 같음 - 호출부가 계좌 행 잠금 보유 */
+	void applyDailyDelta(Tx tx, long accountId, LocalDate day, long delta) {
+		synchronized (this) {
+			Account account = accounts.get(accountId);
+			NavigableMap<LocalDate, Long> days = dailyBalances.get(accountId);
+			if (days != null) {
+				for (Map.Entry<LocalDate, Long> e : new ArrayList<>(days.tailMap(day, true).entrySet())) {
+					putDaily(tx, accountId, e.getKey(), e.getValue() + delta);
+				}
+			}
+			if (account != null && (days == null || !days.containsKey(day))) {
+				long later = netAmount(accountId, day.plusDays(1).atStartOfDay(), null);
+				putDaily(tx, accountId, day, account.getBalance() - later);
+			}
+		}
+	}
+
+	/** 계좌 하나의 스냅샷을 원장으로 다시 계산 - 저장한 행 수 */
+	int rebuildDaily(Tx tx, long accountId) {
+		synchronized (this) {
+			NavigableMap<LocalDate, Long> old = dailyBalances.remove(accountId);
+			if (old != null) tx.onRollback(() -> dailyBalances.put(accountId, old));
+			Account account = accounts.get(accountId);
+			NavigableSet<Transaction> rows = ledger.get(accountId);
+			if (account == null || rows == null) return 0;
+
+			// 날짜별 합계 → 최근 날짜부터 거꾸로: 그날 마감 = 다음 거래일 마감 - 다음 거래일 합계
+			NavigableMap<LocalDate, Long> net = new ConcurrentSkipListMap<>();
+			for (Transaction t : rows) {
+				net.merge(t.getOccurredAt().toLocalDate(),
+						(t.getKind() == TransactionKind.IN) ? t.getAmount() : -t.getAmount(), Long::sum);
+			}
+			long running = account.getBalance();
+			for (Map.Entry<LocalDate, Long> e : net.descendingMap().entrySet()) {
+				putDaily(tx, accountId, e.getKey(), running);
+				running -= e.getValue();
+			}
+			return net.size();
+		}
+	}
+
+	private void putDaily(Tx tx, long accountId, LocalDate day, long closing) {
+		NavigableMap<LocalDate, Long> days = dailyBalances.computeIfAbsent(accountId, k -> new ConcurrentSkipListMap<>());
+		Long before = days.put(day, closing);
+		tx.onRollback(() -> {
+			if (before == null) days.remove(day);
+			else days.put(day, before);
+		});
+	}
+
+	// ────────────── monthly_rollup ──────────────
+
+	/** JdbcMonthlyRollupRepository.add와 같음 - 호출부가 계좌 행 잠금 보유 */
+	void addRollups(Tx tx, List<MonthlyRollup> deltas) throws SQLException {
+		synchronized (this) {
+			for (MonthlyRollup d : deltas) {
+				if (!accounts.containsKey(d.getAccountId())) throw foreignKey("fk_monthly_rollup_account");
+			}
+			for (MonthlyRollup d : deltas) {
+				NavigableMap<MonthlyRollup, MonthlyRollup> rows = monthlyRollups.computeIfAbsent(d.getAccountId(),
+						k -> new ConcurrentSkipListMap<>(MonthlyRollup.KEY_ORDER));
+				MonthlyRollup before = rows.get(d);
+				rows.put(d, (before == null) ? d : before.plus(d));
+				tx.onRollback(() -> {
+					if (before == null) rows.remove(d);
+					else rows.put(before, before);
+				});
+			}
+		}
+	}
+
+	/** 계좌 하나의 집계를 원장으로 다시 계산 - 저장한 행 수 */
+	int rebuildRollups(Tx tx, long accountId) {
+		synchronized (this) {
+			NavigableMap<MonthlyRollup, MonthlyRollup> old = monthlyRollups.remove(accountId);
+			if (old != null) tx.onRollback(() -> monthlyRollups.put(accountId, old));
+			NavigableSet<Transaction> rows = ledger.get(accountId);
+			if (!accounts.containsKey(accountId) || rows == null || rows.isEmpty()) return 0;
+
+			NavigableMap<MonthlyRollup, MonthlyRollup> rebuilt = new ConcurrentSkipListMap<>(MonthlyRollup.KEY_ORDER);
+			for (Transaction t : rows) {
+				MonthlyRollup d = MonthlyRollup.of(t);
+				rebuilt.merge(d, d, MonthlyRollup::plus);
+			}
+			monthlyRollups.put(accountId, rebuilt);
+			tx.onRollback(() -> monthlyRollups.remove(accountId, rebuilt));
+			return rebuilt.size();
+		}
+	}
+
+	// ────────────── idempotency_key ──────────────
+
+	void insertIdempotencyKey(Tx tx, IdempotencyRecord r) throws SQLException {
+		String pk = idempotencyKey(r.getUserId(), r.getKey());
+		synchronized (this) {
+			if (idempotencyKeys.containsKey(pk)) {
+				throw new SQLIntegrityConstraintViolationException(
+						"Duplicate entry '" + r.getUserId() + "-" + r.getKey() + "' for key 'idempotency_key.PRIMARY'",
+						"23000", 1062);
+			}
+			idempotencyKeys.put(pk, r);
+			tx.onRollback(() -> idempotencyKeys.remove(pk));
+		}
+	}
+
+	static String idempotencyKey(long userId, String key) {
+		return userId + "\u0000" + key;
+	}
+
+	// ────────────── import_job ──────────────
+
+	void saveImportJob(Tx tx, ImportJob job) {
+		synchronized (this) {
+			ImportJob old = importJobs.put(job.getJobId(), job);
+			tx.onRollback(() -> {
+				if (old == null) importJobs.remove(job.getJobId());
+				else importJobs.put(job.getJobId(), old);
+			});
+		}
+	}
+
+	// ────────────── 공통 ──────────────
+
+	private static void unique(Map<String, Long> index, String value, String key)
+			throws SQLIntegrityConstraintViolationException {
+		if (index.containsKey(value)) {
+			throw new SQLIntegrityConstraintViolationException(
+					"Duplicate entry '" + value + "' for key '" + key + "'", "23000", 1062);
+		}
+	}
+
+	private static SQLIntegrityConstraintViolationException foreignKey(String constraint) {
+		return new SQLIntegrityConstraintViolationException(
+				"Cannot add or update a child row: a foreign key constraint fails (" + constraint + ")", "23000",
+				1452);
+	}
+
+	private static void index(Map<Long, Set<Long>> index, long key, long id) {
+		index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+	}
+
+	private static void unindex(Map<Long, Set<Long>> index, long key, long id) {
+		Set<Long> ids = index.get(key);
+		if (ids != null) ids.remove(id);
+	}
+
+	static List<Long> snapshot(Set<Long> ids) {
+		return (ids == null) ? Collections.emptyList() : new ArrayList<>(ids);
+	}
+
+	private static boolean isEmpty(Set<Long> ids) {
+		return ids == null || ids.isEmpty();
+	}
+}
@@ -0,0 +1,427 @@
+package main.server;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import main.db.DbUtil;
+import main.exception.InsufficientBalanceException;
+import main.exception.TransactionConflictException;
+import main.service.BalanceEngine;
+import main.service.LedgerWriter;
+
+/**
+ * HTTP/JSON API 서버 (JDK 내장 HttpServer)
+ * - 실행: java -cp "out:lib/*" main.server.ApiServer  (또는 main.MainApp server)
+ * - 환경변수: API_HOST(기본 127.0.0.1 - 외부에 열려면 0.0.0.0 등을 명시), API_PORT(기본 8080), API_BACKLOG(기본 1024),
+ *   API_MAX_THREADS(기본 200, 가상 스레드 미지원 시), API_SESSION_TTL_MIN(기본 60)
+ * - 요청 실행기: 가상 스레드를 지원하는 JVM(21+)이면 요청당 가상 스레드, 아니면 고정 크기 스레드 풀
+ * - 인증: 로그인(POST /login)으로 받은 세션 토큰을 Authorization: Bearer 헤더로 전달 - 사용자 id는 서버 세션에서만 얻음
+ */
+public class ApiServer {
+
+	/** 라우트 처리기 - 반환값은 JSON으로 직렬화(204면 null), Download면 본문을 그대로 전송 */
+	@FunctionalInterface
+	public interface Handler {
+		Object handle(Request req) throws Exception;
+	}
+
+	/** 상태 코드를 지정하는 API 오류 */
+	public static class ApiException extends RuntimeException {
+		final int status;
+
+		public ApiException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+	/**
+	 * 내려받기 응답 - 핸들러가 반환하면 JSON 대신 body를 길이 미정(chunked)으로 바로 씀 (상태 200)
+	 * - 헤더를 보낸 뒤 실패하면 상태를 바꿀 수 없으므로, 검증은 반환 전에 끝낼 것
+	 */
+	public static final class Download {
+		@FunctionalInterface
+		public interface Body {
+			void writeTo(OutputStream out) throws IOException;
+		}
+
+		final String contentType;
+		final String fileName;
+		final Body body;
+
+		public Download(String contentType, String fileName, Body body) {
+			this.contentType = contentType;
+			this.fileName = fileName;
+			this.body = body;
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final List<Route> routes = new ArrayList<>();
+	private final SessionStore sessions = SessionStore.fromEnv();
+
+	/** API_HOST(기본 루프백)에 바인딩 */
+	public ApiServer(int port, int backlog) throws IOException {
+		this(System.getenv().getOrDefault("API_HOST", "127.0.0.1"), port, backlog);
+	}
+
+	public ApiServer(String host, int port, int backlog) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(host, port), backlog);
+		this.executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.createContext("/", this::dispatch);
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = Integer.parseInt(System.getenv().getOrDefault("API_PORT", "8080"));
+		int backlog = Integer.parseInt(System.getenv().getOrDefault("API_BACKLOG", "1024"));
+
+		ApiServer api = new ApiServer(port, backlog);
+		WalletRoutes.register(api);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> api.stop(2), "api-shutdown"));
+		api.start();
+		System.out.println("✅ API 서버 시작: http://" + api.server.getAddress().getHostString() + ":" + port + " ("
+				+ api.executorKind() + ")");
+	}
+
+	/** 로그인 세션 - 라우트가 토큰 발급/폐기에 사용 */
+	SessionStore sessions() {
+		return sessions;
+	}
+
+	/** pattern 예: "/groups/{accountId}/members" */
+	public void route(String method, String pattern, Handler handler) {
+		routes.add(new Route(method, pattern, handler));
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop(int delaySec) {
+		server.stop(delaySec);
+		executor.shutdown();
+		if (BalanceEngine.isEnabled()) BalanceEngine.getInstance().shutdown();
+		if (LedgerWriter.isEnabled()) LedgerWriter.getInstance().shutdown();
+		DbUtil.shutdown();
+	}
+
+	String executorKind() {
+		return VIRTUAL_THREADS ? "virtual-thread-per-request" : "thread-pool";
+	}
+
+	// ────────────── 실행기 ──────────────
+
+	private static final boolean VIRTUAL_THREADS = virtualThreadFactory() != null;
+
+	/** JDK 21+의 Executors.newVirtualThreadPerTaskExecutor()를 리플렉션으로 찾음(17에서도 컴파일되도록) */
+	private static Method virtualThreadFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static ExecutorService newRequestExecutor() {
+		if (VIRTUAL_THREADS) {
+			try {
+				return (ExecutorService) virtualThreadFactory().invoke(null);
+			} catch (ReflectiveOperationException e) {
+				// 아래 스레드 풀로 대체
+			}
+		}
+		int threads = Integer.parseInt(System.getenv().getOrDefault("API_MAX_THREADS", "200"));
+		AtomicInteger seq = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "api-" + seq.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// ────────────── 요청 처리 ──────────────
+
+	private void dispatch(HttpExchange ex) throws IOException {
+		int status;
+		Object body;
+		Long userId = null; // 핸들러가 확인한 사용자 - 내려받기 실패 기록용
+		try {
+			String path = ex.getRequestURI().getPath();
+			String method = ex.getRequestMethod();
+			Route matched = null;
+			Map<String, String> params = null;
+			boolean pathExists = false;
+			for (Route r : routes) {
+				Map<String, String> p = r.match(path);
+				if (p == null) continue;
+				pathExists = true;
+				if (r.method.equalsIgnoreCase(method)) {
+					matched = r;
+					params = p;
+					break;
+				}
+			}
+			if (matched == null) {
+				throw new ApiException(pathExists ? 405 : 404, pathExists ? "허용되지 않은 메서드입니다." : "경로를 찾을 수 없습니다.");
+			}
+
+			Request request = new Request(ex, params, sessions);
+			try {
+				body = matched.handler.handle(request);
+			} catch (CompletionException e) {
+				throw unwrap(e); // future.join() 실패 - 원래 예외로 상태 코드를 정함
+			}
+			userId = request.resolvedUserId;
+			status = (body == null) ? 204 : ("POST".equalsIgnoreCase(method) ? 201 : 200);
+		} catch (ApiException e) {
+			status = e.status;
+			body = error(e.getMessage());
+		} catch (InsufficientBalanceException e) {
+			status = 409;
+			body = error(e.getMessage());
+		} catch (TransactionConflictException e) {
+			status = 503;
+			body = error(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			status = 400;
+			body = error(e.getMessage());
+		} catch (SecurityException e) {
+			status = 403;
+			body = error(e.getMessage());
+		} catch (IllegalStateException e) {
+			status = 409;
+			body = error(e.getMessage());
+		} catch (Exception e) {
+			e.printStackTrace();
+			status = 500;
+			body = error("서버 오류가 발생했습니다.");
+		}
+		respond(ex, status, body, userId);
+	}
+
+	private static Exception unwrap(CompletionException e) {
+		return (e.getCause() instanceof Exception cause) ? cause : e;
+	}
+
+	private static Map<String, Object> error(String message) {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("error", message);
+		return m;
+	}
+
+	private static void respond(HttpExchange ex, int status, Object body, Long userId) throws IOException {
+		try (ex) {
+			if (body instanceof Download d) {
+				ex.getResponseHeaders().set("Content-Type", d.contentType);
+				ex.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"" + d.fileName + "\"");
+				ex.sendResponseHeaders(status, 0);
+				CountingOutputStream out = new CountingOutputStream(ex.getResponseBody());
+				try (out) {
+					d.body.writeTo(out);
+				} catch (IOException | RuntimeException e) {
+					// 이미 200을 보냄 - 받는 쪽은 잘린 본문(gzip 끝부분 없음)으로 판단, 서버에는 한 줄만 남김
+					System.err.printf("⚠️ 내려받기 중단 %s user=%s (%,d바이트 전송 후): %s%n", ex.getRequestURI().getPath(),
+							userId == null ? "-" : userId, out.count, e);
+				}
+				return;
+			}
+			if (status == 204) {
+				ex.sendResponseHeaders(204, -1);
+				return;
+			}
+			byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+			ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			ex.sendResponseHeaders(status, bytes.length);
+			try (OutputStream os = ex.getResponseBody()) {
+				os.write(bytes);
+			}
+		}
+	}
+
+	/** 내려받기 전송 바이트 수 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+		long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	private static final class Route {
+		private static final Pattern PARAM = Pattern.compile("\\{(\\w+)}");
+
+		final String method;
+		final Pattern regex;
+		final List<String> names = new ArrayList<>();
+		final Handler handler;
+
+		Route(String method, String pattern, Handler handler) {
+			this.method = method;
+			this.handler = handler;
+			Matcher m = PARAM.matcher(pattern);
+			StringBuilder sb = new StringBuilder("^");
+			int last = 0;
+			while (m.find()) {
+				sb.append(Pattern.quote(pattern.substring(last, m.start()))).append("([^/]+)");
+				names.add(m.group(1));
+				last = m.end();
+			}
+			sb.append(Pattern.quote(pattern.substring(last))).append("/?$");
+			this.regex = Pattern.compile(sb.toString());
+		}
+
+		Map<String, String> match(String path) {
+			Matcher m = regex.matcher(path);
+			if (!m.matches()) return null;
+			Map<String, String> params = new HashMap<>();
+			for (int i = 0; i < names.size(); i++) params.put(names.get(i), m.group(i + 1));
+			return params;
+		}
+	}
+
+	/** 요청 한 건 - 경로 변수 / 쿼리 / JSON 본문 / 사용자 id */
+	public static final class Request {
+		private static final String BEARER = "Bearer ";
+
+		private final HttpExchange ex;
+		private final Map<String, String> pathParams;
+		private final SessionStore sessions;
+		private Map<String, String> query;
+		private Map<String, Object> body;
+		private Long resolvedUserId; // userId()로 확인한 사용자 - 내려받기 실패 기록용
+
+		Request(HttpExchange ex, Map<String, String> pathParams, SessionStore sessions) {
+			this.ex = ex;
+			this.pathParams = pathParams;
+			this.sessions = sessions;
+		}
+
+		/** 세션 토큰의 사용자 id (토큰이 없거나 만료되었으면 401) */
+		public long userId() {
+			Long userId = sessions.resolve(sessionToken());
+			if (userId == null) throw new ApiException(401, "세션이 없거나 만료되었습니다. 다시 로그인하세요.");
+			resolvedUserId = userId;
+			return userId;
+		}
+
+		/** Authorization: Bearer 토큰 (없으면 401) */
+		String sessionToken() {
+			String v = header("Authorization");
+			if (v == null || !v.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+				throw new ApiException(401, "Authorization: Bearer 헤더가 필요합니다.");
+			}
+			return v.substring(BEARER.length()).trim();
+		}
+
+		/** 요청 헤더 (없거나 비어 있으면 null) */
+		public String header(String name) {
+			String v = ex.getRequestHeaders().getFirst(name);
+			return (v == null || v.isBlank()) ? null : v.trim();
+		}
+
+		public long pathLong(String name) {
+			try {
+				return Long.parseLong(pathParams.get(name));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(name + "는 숫자여야 합니다.");
+			}
+		}
+
+		public String query(String name) {
+			if (query == null) query = parseQuery(ex.getRequestURI().getRawQuery());
+			String v = query.get(name);
+			return (v == null || v.isBlank()) ? null : v;
+		}
+
+		public Long queryLong(String name) {
+			String v = query(name);
+			if (v == null) return null;
+			try {
+				return Long.parseLong(v);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(name + "는 숫자여야 합니다.");
+			}
+		}
+
+		public Map<String, Object> body() throws IOException {
+			if (body == null) {
+				try (InputStream in = ex.getRequestBody()) {
+					body = Json.parseObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+			return body;
+		}
+
+		public String string(String name, boolean required) throws IOException {
+			Object v = body().get(name);
+			if (v == null) {
+				if (required) throw new IllegalArgumentException(name + "는 필수입니다.");
+				return null;
+			}
+			return v.toString();
+		}
+
+		public long longValue(String name) throws IOException {
+			Object v = body().get(name);
+			if (v instanceof Long l) return l;
+			if (v instanceof String s) {
+				try {
+					return Long.parseLong(s.trim());
+				} catch (NumberFormatException e) {
+					// 아래 오류로
+				}
+			}
+			throw new IllegalArgumentException(name + "는 정수여야 합니다.");
+		}
+
+		public long longValue(String name, long def) throws IOException {
+			return body().get(name) == null ? def : longValue(name);
+		}
+
+		private static Map<String, String> parseQuery(String raw) {
+			Map<String, String> q = new HashMap<>();
+			if (raw == null || raw.isEmpty()) return q;
+			for (String pair : raw.split("&")) {
+				int eq = pair.indexOf('=');
+				String k = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+				String v = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+				q.put(k, v);
+			}
+			return q;
+		}
+	}
+}
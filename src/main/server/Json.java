@@ -0,0 +1,232 @@
+package main.server;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최소 JSON 변환기 (외부 라이브러리 없이 API 서버용)
+ * - parse: 객체 → LinkedHashMap, 배열 → ArrayList, 정수 → Long, 실수 → Double, true/false, null
+ * - write: Map / Collection / String / Number / Boolean / null / enum·날짜(toString)
+ */
+public final class Json {
+
+	private Json() {
+	}
+
+	// ────────────── 쓰기 ──────────────
+
+	public static String write(Object value) {
+		StringBuilder sb = new StringBuilder(128);
+		write(sb, value);
+		return sb.toString();
+	}
+
+	private static void write(StringBuilder sb, Object v) {
+		if (v == null) {
+			sb.append("null");
+		} else if (v instanceof String || v instanceof Enum || v instanceof TemporalAccessor) {
+			writeString(sb, v.toString());
+		} else if (v instanceof Number || v instanceof Boolean) {
+			sb.append(v);
+		} else if (v instanceof Map<?, ?> map) {
+			sb.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> e : map.entrySet()) {
+				if (!first) sb.append(',');
+				first = false;
+				writeString(sb, String.valueOf(e.getKey()));
+				sb.append(':');
+				write(sb, e.getValue());
+			}
+			sb.append('}');
+		} else if (v instanceof Collection<?> list) {
+			sb.append('[');
+			boolean first = true;
+			for (Object o : list) {
+				if (!first) sb.append(',');
+				first = false;
+				write(sb, o);
+			}
+			sb.append(']');
+		} else {
+			writeString(sb, v.toString());
+		}
+	}
+
+	private static void writeString(StringBuilder sb, String s) {
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '"' -> sb.append("\\\"");
+				case '\\' -> sb.append("\\\\");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				case '\t' -> sb.append("\\t");
+				default -> {
+					if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+					else sb.append(c);
+				}
+			}
+		}
+		sb.append('"');
+	}
+
+	// ────────────── 읽기 ──────────────
+
+	public static Object parse(String text) {
+		Parser p = new Parser(text);
+		p.skipWs();
+		Object v = p.value();
+		p.skipWs();
+		if (p.pos != text.length()) throw p.error("JSON 끝에 불필요한 문자가 있습니다.");
+		return v;
+	}
+
+	/** 본문이 객체여야 하는 요청용 (빈 본문은 빈 객체) */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> parseObject(String text) {
+		if (text == null || text.isBlank()) return new LinkedHashMap<>();
+		Object v = parse(text);
+		if (!(v instanceof Map)) throw new IllegalArgumentException("JSON 객체가 필요합니다.");
+		return (Map<String, Object>) v;
+	}
+
+	private static final class Parser {
+		private final String s;
+		private int pos;
+
+		Parser(String s) {
+			this.s = s;
+		}
+
+		Object value() {
+			if (pos >= s.length()) throw error("값이 필요합니다.");
+			char c = s.charAt(pos);
+			return switch (c) {
+				case '{' -> object();
+				case '[' -> array();
+				case '"' -> string();
+				case 't' -> literal("true", Boolean.TRUE);
+				case 'f' -> literal("false", Boolean.FALSE);
+				case 'n' -> literal("null", null);
+				default -> number();
+			};
+		}
+
+		Map<String, Object> object() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			pos++; // {
+			skipWs();
+			if (peek() == '}') {
+				pos++;
+				return map;
+			}
+			while (true) {
+				skipWs();
+				if (peek() != '"') throw error("키는 문자열이어야 합니다.");
+				String key = string();
+				skipWs();
+				expect(':');
+				skipWs();
+				map.put(key, value());
+				skipWs();
+				char c = next();
+				if (c == '}') return map;
+				if (c != ',') throw error("',' 또는 '}'가 필요합니다.");
+			}
+		}
+
+		List<Object> array() {
+			List<Object> list = new ArrayList<>();
+			pos++; // [
+			skipWs();
+			if (peek() == ']') {
+				pos++;
+				return list;
+			}
+			while (true) {
+				skipWs();
+				list.add(value());
+				skipWs();
+				char c = next();
+				if (c == ']') return list;
+				if (c != ',') throw error("',' 또는 ']'가 필요합니다.");
+			}
+		}
+
+		String string() {
+			pos++; // "
+			StringBuilder sb = new StringBuilder();
+			while (true) {
+				char c = next();
+				if (c == '"') return sb.toString();
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				char e = next();
+				switch (e) {
+					case '"', '\\', '/' -> sb.append(e);
+					case 'b' -> sb.append('\b');
+					case 'f' -> sb.append('\f');
+					case 'n' -> sb.append('\n');
+					case 'r' -> sb.append('\r');
+					case 't' -> sb.append('\t');
+					case 'u' -> {
+						if (pos + 4 > s.length()) throw error("잘못된 유니코드 이스케이프입니다.");
+						sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+						pos += 4;
+					}
+					default -> throw error("잘못된 이스케이프입니다.");
+				}
+			}
+		}
+
+		Object number() {
+			int start = pos;
+			while (pos < s.length() && "+-0123456789.eE".indexOf(s.charAt(pos)) >= 0) pos++;
+			String num = s.substring(start, pos);
+			if (num.isEmpty()) throw error("알 수 없는 값입니다.");
+			try {
+				if (num.contains(".") || num.contains("e") || num.contains("E")) return Double.parseDouble(num);
+				return Long.parseLong(num);
+			} catch (NumberFormatException e) {
+				throw error("잘못된 숫자입니다: " + num);
+			}
+		}
+
+		Object literal(String word, Object value) {
+			if (!s.startsWith(word, pos)) throw error("알 수 없는 값입니다.");
+			pos += word.length();
+			return value;
+		}
+
+		void skipWs() {
+			while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+		}
+
+		char peek() {
+			if (pos >= s.length()) throw error("JSON이 중간에 끝났습니다.");
+			return s.charAt(pos);
+		}
+
+		char next() {
+			char c = peek();
+			pos++;
+			return c;
+		}
+
+		void expect(char c) {
+			if (next() != c) throw error("'" + c + "'가 필요합니다.");
+		}
+
+		IllegalArgumentException error(String msg) {
+			return new IllegalArgumentException("JSON 형식 오류(" + pos + "): " + msg);
+		}
+	}
+}
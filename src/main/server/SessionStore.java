@@ -0,0 +1,76 @@
+package main.server;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API 로그인 세션 - 로그인 때 임의 토큰(256비트)을 발급하고 서버 메모리에만 사용자 id를 보관
+ * - 클라이언트는 Authorization: Bearer <토큰>으로 전달, 토큰 자체에는 아무 정보도 없음
+ * - 만료: 발급 후 API_SESSION_TTL_MIN분(기본 60) - 만료된 세션은 조회 시와 발급 시 주기적으로 정리
+ * - 서버를 재시작하면 모든 세션이 사라짐(다시 로그인)
+ */
+final class SessionStore {
+
+	private static final int TOKEN_BYTES = 32;
+	private static final int SWEEP_EVERY = 256;
+
+	private final SecureRandom random = new SecureRandom();
+	private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+	private final AtomicInteger issued = new AtomicInteger();
+
+	SessionStore(long ttlMinutes) {
+		if (ttlMinutes <= 0) throw new IllegalArgumentException("세션 유효 시간은 0보다 커야 합니다.");
+		this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+	}
+
+	static SessionStore fromEnv() {
+		return new SessionStore(Long.parseLong(System.getenv().getOrDefault("API_SESSION_TTL_MIN", "60")));
+	}
+
+	/** 새 세션 토큰 */
+	String issue(long userId) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		sessions.put(token, new Session(userId, System.nanoTime() + ttlNanos));
+		if (issued.incrementAndGet() % SWEEP_EVERY == 0) {
+			long now = System.nanoTime();
+			sessions.values().removeIf(s -> s.expired(now));
+		}
+		return token;
+	}
+
+	/** 토큰의 사용자 id - 없거나 만료되었으면 null */
+	Long resolve(String token) {
+		Session s = sessions.get(token);
+		if (s == null) return null;
+		if (s.expired(System.nanoTime())) {
+			sessions.remove(token, s);
+			return null;
+		}
+		return s.userId;
+	}
+
+	void revoke(String token) {
+		sessions.remove(token);
+	}
+
+	private static final class Session {
+		final long userId;
+		final long expiresAt;
+
+		Session(long userId, long expiresAt) {
+			this.userId = userId;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean expired(long now) {
+			return now - expiresAt >= 0;
+		}
+	}
+}
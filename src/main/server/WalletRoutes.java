@@ -0,0 +1,487 @@
+package main.server;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import main.db.DbUtil;
+import main.db.PoolStats;
+import main.db.SqlMetrics;
+import main.db.SqlStats;
+import main.db.TxRetryStats;
+import main.db.TxTemplate;
+import main.domain.Account;
+import main.domain.Card;
+import main.domain.User;
+import main.dto.GroupMemberDto;
+import main.dto.MonthlySummaryDto;
+import main.dto.TransactionCursor;
+import main.dto.TransactionListDto;
+import main.dto.TransactionPage;
+import main.dto.TransactionSearchCondition;
+import main.enums.CardBrand;
+import main.enums.CardStatus;
+import main.enums.ExpenseOutcome;
+import main.enums.ExportFormat;
+import main.enums.ReportDimension;
+import main.exception.InsufficientBalanceException;
+import main.server.ApiServer.ApiException;
+import main.server.ApiServer.Download;
+import main.server.ApiServer.Request;
+import main.service.AccountService;
+import main.service.CardService;
+import main.service.GroupService;
+import main.service.ReportService;
+import main.service.TransactionExportService;
+import main.service.TransactionService;
+import main.service.UserService;
+
+/**
+ * 지갑 API 라우트 - 콘솔 컨트롤러와 같은 서비스/권한 규칙을 HTTP로 노출
+ * - 사용자는 로그인 세션(Authorization: Bearer)으로만 식별, 계좌 관련 요청은 AccountService.canAccess(본인 소유 또는 모임 멤버)로 확인
+ * - /metrics/sql은 운영 진단용 - API_METRICS_ENABLED=true일 때만 등록되고 로그인 세션이 있어야 함
+ * - 거래 생성 요청은 Idempotency-Key 헤더를 받음 → 같은 키로 재시도하면 다시 반영하지 않고 같은 응답
+ */
+public class WalletRoutes {
+
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+	private final UserService userService = new UserService();
+	private final AccountService accountService = new AccountService();
+	private final GroupService groupService = new GroupService();
+	private final CardService cardService = new CardService();
+	private final TransactionService transactionService = new TransactionService();
+	private final ReportService reportService = new ReportService();
+	private final TransactionExportService exportService = new TransactionExportService();
+	private final SessionStore sessions;
+
+	private WalletRoutes(SessionStore sessions) {
+		this.sessions = sessions;
+	}
+
+	public static void register(ApiServer api) {
+		WalletRoutes r = new WalletRoutes(api.sessions());
+
+		api.route("GET", "/health", req -> r.health());
+		if ("true".equalsIgnoreCase(System.getenv("API_METRICS_ENABLED"))) {
+			api.route("GET", "/metrics/sql", r::sqlMetrics);
+		}
+
+		api.route("POST", "/users", r::createUser);
+		api.route("POST", "/login", r::login);
+		api.route("POST", "/logout", r::logout);
+
+		api.route("GET", "/accounts", r::listAccounts);
+		api.route("POST", "/accounts", r::createAccount);
+		api.route("GET", "/accounts/{accountId}/balance", r::balanceAt);
+		api.route("GET", "/accounts/{accountId}/reports/monthly", r::monthlyReport);
+
+		api.route("GET", "/groups/{accountId}/members", r::listMembers);
+		api.route("POST", "/groups/{accountId}/members", r::addMember);
+		api.route("DELETE", "/groups/{accountId}/members", r::removeMember);
+
+		api.route("GET", "/cards", r::listCards);
+		api.route("POST", "/cards", r::issueCard);
+		api.route("POST", "/cards/{cardId}/status", r::changeCardStatus);
+
+		api.route("POST", "/transactions/income", r::income);
+		api.route("POST", "/transactions/expense", r::expense);
+		api.route("POST", "/transactions/card", r::cardExpense);
+		api.route("POST", "/transactions/transfer", r::transfer);
+		api.route("GET", "/transactions", r::search);
+		api.route("GET", "/transactions/export", r::export);
+	}
+
+	// ────────────── 사용자 ──────────────
+
+	private Object health() {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("status", "UP");
+		PoolStats pool = DbUtil.poolStats();
+		m.put("pool", pool == null ? "memory" : pool.toString());
+		return m;
+	}
+
+	/** 호출 위치(저장소 메서드)별 SQL 지연/행 수/오류 - 누적 시간 긴 순, 시간 단위 us + 서비스 메서드별 트랜잭션 재시도 */
+	private Object sqlMetrics(Request req) {
+		req.userId();
+		List<Object> rows = new ArrayList<>();
+		for (SqlStats s : SqlMetrics.snapshot()) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("tag", s.getTag());
+			row.put("executions", s.getExecutions());
+			row.put("rows", s.getRows());
+			row.put("errors", s.getErrors());
+			row.put("lockWaitErrors", s.getLockWaitErrors());
+			row.put("slow", s.getSlowCount());
+			row.put("totalMicros", s.getTotalMicros());
+			row.put("meanMicros", s.getMeanMicros());
+			row.put("p50Micros", s.getP50Micros());
+			row.put("p95Micros", s.getP95Micros());
+			row.put("p99Micros", s.getP99Micros());
+			row.put("maxMicros", s.getMaxMicros());
+			rows.add(row);
+		}
+		List<Object> retries = new ArrayList<>();
+		for (TxRetryStats s : TxTemplate.retryStats()) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("tag", s.getTag());
+			row.put("retriedTransactions", s.getRetriedTransactions());
+			row.put("retries", s.getRetries());
+			row.put("deadlocks", s.getDeadlocks());
+			row.put("lockTimeouts", s.getLockTimeouts());
+			row.put("recovered", s.getRecovered());
+			row.put("exhausted", s.getExhausted());
+			row.put("backoffMillis", s.getBackoffMillis());
+			retries.add(row);
+		}
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("enabled", SqlMetrics.isEnabled());
+		m.put("statements", rows);
+		m.put("transactionRetries", retries);
+		return m;
+	}
+
+	private Object createUser(Request req) throws Exception {
+		User user = userService.createUser(req.string("name", true), req.string("email", true),
+				req.string("phone", false));
+		return user(user);
+	}
+
+	/** 세션 토큰 발급 - 이후 요청은 Authorization: Bearer <token> */
+	private Object login(Request req) throws Exception {
+		User user = userService.login(req.string("email", true))
+				.orElseThrow(() -> new ApiException(404, "해당 이메일의 사용자를 찾을 수 없습니다."));
+		Map<String, Object> m = user(user);
+		m.put("token", sessions.issue(user.getId()));
+		return m;
+	}
+
+	private Object logout(Request req) {
+		sessions.revoke(req.sessionToken());
+		return null;
+	}
+
+	// ────────────── 계좌 / 모임 ──────────────
+
+	private Object listAccounts(Request req) {
+		List<Object> list = new ArrayList<>();
+		for (Account a : accountService.findMyAccounts(req.userId())) list.add(account(a));
+		return list;
+	}
+
+	/** {"name": "...", "type": "PERSONAL"|"GROUP", "initialBalance": 0} */
+	private Object createAccount(Request req) throws Exception {
+		long userId = req.userId();
+		String name = req.string("name", true);
+		long initialBalance = req.longValue("initialBalance", 0);
+		String type = req.string("type", false);
+		if (type == null || type.equalsIgnoreCase("PERSONAL")) {
+			return account(accountService.createPersonalAccount(name, userId, initialBalance));
+		}
+		if (type.equalsIgnoreCase("GROUP")) {
+			return account(accountService.createGroupAccount(name, userId, initialBalance));
+		}
+		throw new IllegalArgumentException("type은 PERSONAL 또는 GROUP이어야 합니다.");
+	}
+
+	/** GET /accounts/{accountId}/balance?at=2025-09-11T10:00 - at 시각 직전까지의 잔액 (생략하면 현재) */
+	private Object balanceAt(Request req) {
+		long accountId = req.pathLong("accountId");
+		requireAccess(req.userId(), accountId);
+		String v = req.query("at");
+		LocalDateTime at;
+		try {
+			at = (v == null) ? LocalDateTime.now() : LocalDateTime.parse(v);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("at 형식이 올바르지 않습니다. 예) 2025-09-09T13:20");
+		}
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("accountId", accountId);
+		m.put("at", at);
+		m.put("balance", accountService.balanceAt(accountId, at));
+		return m;
+	}
+
+	/** GET /accounts/{accountId}/reports/monthly?by=method|card|member&from=2025-01&to=2025-12 (기간 생략 시 최근 12개월) */
+	private Object monthlyReport(Request req) {
+		long accountId = req.pathLong("accountId");
+		requireAccess(req.userId(), accountId);
+		String by = req.query("by");
+		ReportDimension dimension;
+		try {
+			dimension = (by == null) ? ReportDimension.METHOD : ReportDimension.valueOf(by.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("by는 method, card, member 중 하나여야 합니다.");
+		}
+		YearMonth to = yearMonth(req.query("to"), YearMonth.now());
+		YearMonth from = yearMonth(req.query("from"), to.minusMonths(11));
+
+		List<Object> rows = new ArrayList<>();
+		for (MonthlySummaryDto s : reportService.monthly(accountId, dimension, from, to)) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("month", s.month.toString());
+			row.put("key", s.key);
+			row.put("label", s.label);
+			row.put("inAmount", s.inAmount);
+			row.put("outAmount", s.outAmount);
+			row.put("count", s.count);
+			rows.add(row);
+		}
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("accountId", accountId);
+		m.put("by", dimension);
+		m.put("from", from.toString());
+		m.put("to", to.toString());
+		m.put("rows", rows);
+		return m;
+	}
+
+	private Object listMembers(Request req) {
+		long accountId = req.pathLong("accountId");
+		requireAccess(req.userId(), accountId);
+		List<Object> list = new ArrayList<>();
+		for (GroupMemberDto m : groupService.findMemberInfoByAccountId(accountId)) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("userId", m.getUserId());
+			row.put("name", m.getUserName());
+			row.put("email", m.getUserEmail());
+			row.put("role", m.getRole());
+			list.add(row);
+		}
+		return list;
+	}
+
+	private Object addMember(Request req) throws Exception {
+		groupService.addMember(req.pathLong("accountId"), req.userId(), req.string("email", true));
+		return listMembers(req);
+	}
+
+	/** DELETE /groups/{accountId}/members?email=... */
+	private Object removeMember(Request req) {
+		String email = req.query("email");
+		if (email == null) throw new IllegalArgumentException("email은 필수입니다.");
+		groupService.removeMember(req.pathLong("accountId"), req.userId(), email);
+		return null;
+	}
+
+	// ────────────── 카드 ──────────────
+
+	private Object listCards(Request req) {
+		List<Long> accountIds = new ArrayList<>();
+		for (Account a : accountService.findMyAccounts(req.userId())) accountIds.add(a.getId());
+		List<Object> list = new ArrayList<>();
+		for (Card c : cardService.findCardsByAccountIds(accountIds)) list.add(card(c));
+		return list;
+	}
+
+	/** {"accountId": 1, "brand": "BC", "count": 1} - count가 2 이상이면 일괄 발급 */
+	private Object issueCard(Request req) throws Exception {
+		long accountId = req.longValue("accountId");
+		requireAccess(req.userId(), accountId);
+		String brand = req.string("brand", false);
+		brand = (brand == null) ? CardBrand.BC.name() : CardBrand.valueOf(brand.toUpperCase()).name();
+		long count = req.longValue("count", 1);
+		if (count < 1 || count > CardService.MAX_BULK_ISSUE) {
+			throw new IllegalArgumentException("발급 수량은 1~" + CardService.MAX_BULK_ISSUE + "장이어야 합니다.");
+		}
+		if (count == 1) return card(cardService.issue(accountId, brand));
+
+		List<Object> list = new ArrayList<>();
+		for (Card c : cardService.issueBulk(accountId, brand, (int) count)) list.add(card(c));
+		return list;
+	}
+
+	/** {"status": "ACTIVE"|"BLOCKED"} */
+	private Object changeCardStatus(Request req) throws Exception {
+		Card card = requireCard(req.userId(), req.pathLong("cardId"));
+		CardStatus status = CardStatus.valueOf(req.string("status", true).toUpperCase());
+		cardService.changeStatus(card.getId(), status);
+		return null;
+	}
+
+	// ────────────── 거래 ──────────────
+
+	/** {"accountId": 1, "amount": 1000, "memo": "...", "occurredAt": "2025-09-09T13:20"} */
+	private Object income(Request req) throws Exception {
+		long userId = req.userId();
+		long accountId = req.longValue("accountId");
+		requireAccess(userId, accountId);
+		transactionService.addIncomeOther(accountId, req.longValue("amount"), req.string("memo", false),
+				occurredAt(req), userId, req.header(IDEMPOTENCY_KEY));
+		return ok();
+	}
+
+	private Object expense(Request req) throws Exception {
+		long userId = req.userId();
+		long accountId = req.longValue("accountId");
+		requireAccess(userId, accountId);
+		transactionService.addExpenseOther(accountId, req.longValue("amount"), req.string("memo", false),
+				occurredAt(req), userId, req.header(IDEMPOTENCY_KEY));
+		return ok();
+	}
+
+	/** {"cardId": 1, "amount": 1000, "memo": "..."} - LEDGER_GROUP_COMMIT이면 동시 요청이 한 커밋으로 묶임 */
+	private Object cardExpense(Request req) throws Exception {
+		long userId = req.userId();
+		Card card = requireCard(userId, req.longValue("cardId"));
+		ExpenseOutcome outcome = transactionService.addExpenseCardAsync(card.getId(), req.longValue("amount"),
+				req.string("memo", false), occurredAt(req), userId, req.header(IDEMPOTENCY_KEY)).join();
+		if (outcome == ExpenseOutcome.INSUFFICIENT_FUNDS) {
+			throw new InsufficientBalanceException("잔액이 부족합니다.");
+		}
+		return ok();
+	}
+
+	/** {"fromAccountId": 1, "toAccountId": 2, "amount": 1000, "memo": "..."} - 두 계좌 모두 본인 접근 가능해야 함 */
+	private Object transfer(Request req) throws Exception {
+		long userId = req.userId();
+		long from = req.longValue("fromAccountId");
+		long to = req.longValue("toAccountId");
+		requireAccess(userId, from);
+		requireAccess(userId, to);
+		transactionService.transfer(from, to, req.longValue("amount"), req.string("memo", false), userId,
+				req.header(IDEMPOTENCY_KEY));
+		return ok();
+	}
+
+	/** GET /transactions?accountId=&from=yyyy-MM-dd&to=&minAmount=&maxAmount=&cursor=&size= */
+	private Object search(Request req) {
+		long userId = req.userId();
+		Long accountId = req.queryLong("accountId");
+		if (accountId != null) requireAccess(userId, accountId);
+		LocalDate from = date(req.query("from"));
+		LocalDate to = date(req.query("to"));
+		Long size = req.queryLong("size");
+		int pageSize = (size == null) ? 20 : (int) Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+		String cursor = req.query("cursor");
+
+		TransactionPage page = transactionService.searchPage(
+				new TransactionSearchCondition(userId, accountId, from, to, req.queryLong("minAmount"),
+						req.queryLong("maxAmount")),
+				cursor == null ? null : TransactionCursor.fromToken(cursor), pageSize);
+
+		List<Object> rows = new ArrayList<>();
+		for (TransactionListDto t : page.rows) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("id", t.id);
+			row.put("accountName", t.accountName);
+			row.put("accountNumber", t.accountNumber);
+			row.put("cardMaskedNo", t.cardMaskedNo);
+			row.put("kind", t.kind);
+			row.put("method", t.method);
+			row.put("amount", t.amount);
+			row.put("memo", t.memo);
+			row.put("occurredAt", t.occurredAt);
+			rows.add(row);
+		}
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("rows", rows);
+		m.put("next", page.hasNext() ? page.next.toToken() : null);
+		return m;
+	}
+
+	/** GET /transactions/export?format=csv|ndjson&accountId=&from=&to=&minAmount=&maxAmount= - gzip 파일 내려받기 */
+	private Object export(Request req) {
+		long userId = req.userId();
+		Long accountId = req.queryLong("accountId");
+		if (accountId != null) requireAccess(userId, accountId);
+		String f = req.query("format");
+		ExportFormat format;
+		try {
+			format = (f == null) ? ExportFormat.CSV : ExportFormat.valueOf(f.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("format은 csv 또는 ndjson이어야 합니다.");
+		}
+		TransactionSearchCondition cond = new TransactionSearchCondition(userId, accountId, date(req.query("from")),
+				date(req.query("to")), req.queryLong("minAmount"), req.queryLong("maxAmount"));
+		TransactionExportService.validate(cond, format);
+		return new Download("application/gzip", TransactionExportService.fileName(cond, format),
+				out -> exportService.export(cond, format, out));
+	}
+
+	// ────────────── 내부 ──────────────
+
+	private void requireAccess(long userId, long accountId) {
+		if (!accountService.canAccess(userId, accountId)) {
+			throw new SecurityException("해당 계좌에 접근할 권한이 없습니다.");
+		}
+	}
+
+	private Card requireCard(long userId, long cardId) {
+		Card card = cardService.findById(cardId)
+				.orElseThrow(() -> new ApiException(404, "카드를 찾을 수 없습니다."));
+		requireAccess(userId, card.getAccountId());
+		return card;
+	}
+
+	private static LocalDateTime occurredAt(Request req) throws Exception {
+		String v = req.string("occurredAt", false);
+		if (v == null) return null;
+		try {
+			return LocalDateTime.parse(v);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("occurredAt 형식이 올바르지 않습니다. 예) 2025-09-09T13:20");
+		}
+	}
+
+	private static LocalDate date(String v) {
+		if (v == null) return null;
+		try {
+			return LocalDate.parse(v);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다. 예) 2025-09-09");
+		}
+	}
+
+	private static YearMonth yearMonth(String v, YearMonth def) {
+		if (v == null) return def;
+		try {
+			return YearMonth.parse(v);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("월 형식이 올바르지 않습니다. 예) 2025-09");
+		}
+	}
+
+	private static Map<String, Object> ok() {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("result", "OK");
+		return m;
+	}
+
+	private static Map<String, Object> user(User u) {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("id", u.getId());
+		m.put("name", u.getName());
+		m.put("email", u.getEmail());
+		m.put("phone", u.getPhone());
+		return m;
+	}
+
+	private static Map<String, Object> account(Account a) {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("id", a.getId());
+		m.put("accountNumber", a.getAccountNumber());
+		m.put("type", a.getType());
+		m.put("name", a.getName());
+		m.put("ownerUserId", a.getOwnerUserId());
+		m.put("balance", a.getBalance());
+		m.put("createdAt", a.getCreatedAt());
+		return m;
+	}
+
+	private static Map<String, Object> card(Card c) {
+		Map<String, Object> m = new LinkedHashMap<>();
+		m.put("id", c.getId());
+		m.put("accountId", c.getAccountId());
+		m.put("maskedNo", c.getMaskedNo());
+		m.put("brand", c.getBrand());
+		m.put("status", c.getStatus());
+		return m;
+	}
+}
@@ -0,0 +1,205 @@
+package main.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import main.domain.Account;
+
+/**
+ * 사용자별 접근 가능 계좌 캐시 (계좌 id 집합 + Account 스냅샷, 본인 소유 + 모임 멤버십)
+ * - TTL(ACCOUNT_CACHE_TTL_MS) 만료 / 최대 사용자 수(ACCOUNT_CACHE_MAX_USERS) 초과 시 만료된 항목부터, 그래도 넘치면 임의로 제거
+ * - 계좌 → 사용자 역색인을 두어 잔액/이름 변경·삭제 시 해당 계좌를 가진 사용자만 무효화
+ * - 멤버십/계좌 변경, 잔액/이름 변경 시 서비스가 invalidateUser / invalidateAccount 호출 (커밋 후)
+ * - 잠금 없음(ConcurrentHashMap) - 무효화 세대 스탬프로 조회 도중 무효화된 결과는 남기지 않음
+ */
+public class AccountAccessCache {
+
+	private static final AccountAccessCache INSTANCE = new AccountAccessCache(
+			envLong("ACCOUNT_CACHE_TTL_MS", 30_000), (int) envLong("ACCOUNT_CACHE_MAX_USERS", 10_000));
+
+	private final long ttlMs;
+	private final int maxUsers;
+
+	private final Map<Long, Entry> byUser = new ConcurrentHashMap<>();
+	private final Map<Long, Set<Long>> usersByAccount = new ConcurrentHashMap<>();
+	// 무효화 세대 - 조회 시작 세대보다 뒤에 무효화된 사용자/계좌가 있으면 그 결과는 캐시에 남기지 않음
+	private final AtomicLong generation = new AtomicLong();
+	private volatile long floorGeneration; // 이 세대 이전에 시작한 조회는 저장하지 않음(스탬프 정리 시 사용)
+	private final Map<Long, Long> userInvalidatedAt = new ConcurrentHashMap<>();
+	private final Map<Long, Long> accountInvalidatedAt = new ConcurrentHashMap<>();
+
+	public AccountAccessCache(long ttlMs, int maxUsers) {
+		this.ttlMs = ttlMs;
+		this.maxUsers = maxUsers;
+	}
+
+	public static AccountAccessCache getInstance() {
+		return INSTANCE;
+	}
+
+	/** 캐시 조회 - 없거나 만료면 loader로 읽어 채움 (읽기 전용 리스트) */
+	public List<Account> getAccounts(long userId, LongFunction<List<Account>> loader) {
+		Entry e = lookup(userId);
+		if (e != null) return e.accounts;
+
+		long gen = generation.get();
+		List<Account> loaded = Collections.unmodifiableList(loader.apply(userId));
+		store(userId, loaded, gen);
+		return loaded;
+	}
+
+	/** 권한 확인용 - 사용자가 해당 계좌에 접근 가능한지 (캐시에 없거나 만료면 loader로 읽어 채움) */
+	public boolean isAccessible(long userId, long accountId, LongFunction<List<Account>> loader) {
+		Entry e = lookup(userId);
+		if (e != null) return e.accountIds.contains(accountId);
+		for (Account a : getAccounts(userId, loader)) {
+			if (a.getId() == accountId) return true;
+		}
+		return false;
+	}
+
+	public void invalidateUser(long userId) {
+		stamp(userInvalidatedAt, userId);
+		remove(userId);
+	}
+
+	/** 계좌 정보(잔액/이름/삭제)가 바뀌면 그 계좌가 들어 있는 사용자 캐시를 모두 제거 */
+	public void invalidateAccount(long accountId) {
+		stamp(accountInvalidatedAt, accountId);
+		Set<Long> users = usersByAccount.get(accountId);
+		if (users == null) return;
+		for (Long userId : users.toArray(new Long[0])) remove(userId);
+	}
+
+	public void clear() {
+		floorGeneration = generation.incrementAndGet();
+		userInvalidatedAt.clear();
+		accountInvalidatedAt.clear();
+		for (Long userId : byUser.keySet().toArray(new Long[0])) remove(userId);
+	}
+
+	public int size() {
+		return byUser.size();
+	}
+
+	// ────────────── 내부 ──────────────
+
+	private Entry lookup(long userId) {
+		Entry e = byUser.get(userId);
+		if (e == null) return null;
+		if (e.expired(System.currentTimeMillis())) {
+			remove(userId, e);
+			return null;
+		}
+		return e;
+	}
+
+	/**
+	 * 넣은 뒤 다시 확인 - 무효화는 스탬프를 먼저 찍고 항목을 지우므로
+	 * 그 사이에 넣은 항목은 무효화가 지우거나, 여기서 스탬프를 보고 스스로 지움
+	 */
+	private void store(long userId, List<Account> accounts, long loadedAtGeneration) {
+		Set<Long> ids = new HashSet<>();
+		for (Account a : accounts) ids.add(a.getId());
+		if (isStale(userId, ids, loadedAtGeneration)) return;
+
+		Entry e = new Entry(accounts, ids, System.currentTimeMillis() + ttlMs);
+		Entry old = byUser.put(userId, e);
+		if (old != null) unindex(userId, old);
+		for (Long accountId : ids) {
+			usersByAccount.compute(accountId, (k, users) -> {
+				if (users == null) users = ConcurrentHashMap.newKeySet();
+				users.add(userId);
+				return users;
+			});
+		}
+		if (isStale(userId, ids, loadedAtGeneration)) {
+			remove(userId, e);
+			return;
+		}
+		if (byUser.size() > maxUsers) evict();
+	}
+
+	/** 만료된 항목부터 지우고, 그래도 넘치면 임의 항목 제거 */
+	private void evict() {
+		long now = System.currentTimeMillis();
+		byUser.forEach((userId, e) -> {
+			if (e.expired(now)) remove(userId, e);
+		});
+		for (Map.Entry<Long, Entry> e : byUser.entrySet()) {
+			if (byUser.size() <= maxUsers) break;
+			remove(e.getKey(), e.getValue());
+		}
+	}
+
+	private boolean isStale(long userId, Set<Long> accountIds, long loadedAtGeneration) {
+		if (loadedAtGeneration < floorGeneration) return true;
+		if (userInvalidatedAt.getOrDefault(userId, 0L) > loadedAtGeneration) return true;
+		for (Long accountId : accountIds) {
+			if (accountInvalidatedAt.getOrDefault(accountId, 0L) > loadedAtGeneration) return true;
+		}
+		return false;
+	}
+
+	/** 무효화 시점 기록 - 스탬프가 너무 많아지면 비우고 그 이전 조회는 모두 버림 */
+	private void stamp(Map<Long, Long> stamps, long key) {
+		long gen = generation.incrementAndGet();
+		if (stamps.size() >= maxUsers * 4) {
+			floorGeneration = gen;
+			userInvalidatedAt.clear();
+			accountInvalidatedAt.clear();
+		}
+		stamps.merge(key, gen, Math::max);
+	}
+
+	private void remove(long userId) {
+		Entry old = byUser.remove(userId);
+		if (old != null) unindex(userId, old);
+	}
+
+	/** 그 항목이 아직 들어 있을 때만 제거 (그 사이 새로 넣은 항목은 유지) */
+	private void remove(long userId, Entry e) {
+		if (byUser.remove(userId, e)) unindex(userId, e);
+	}
+
+	private void unindex(long userId, Entry e) {
+		for (Long accountId : e.accountIds) {
+			usersByAccount.computeIfPresent(accountId, (k, users) -> {
+				users.remove(userId);
+				return users.isEmpty() ? null : users;
+			});
+		}
+	}
+
+	private static long envLong(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+
+	private static class Entry {
+		final List<Account> accounts;
+		final Set<Long> accountIds;
+		final long expiresAt;
+
+		Entry(List<Account> accounts, Set<Long> accountIds, long expiresAt) {
+			this.accounts = accounts;
+			this.accountIds = accountIds;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean expired(long now) {
+			return expiresAt < now;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package main.service;
+
+import main.repository.Repositories;
+import main.util.CheckDigit;
+
+/**
+ * 계좌번호 발급기 - "110-XXX-XXXXXX"
+ * - 뒤 9자리 = 일련번호 8자리 + Luhn 체크 디지트 1자리 (체크 디지트는 "110" 접두사까지 포함해 계산)
+ * - 일련번호는 number_sequence('account_number')에서 ACCOUNT_NO_BLOCK_SIZE개씩 예약해 메모리에서 발급
+ */
+public class AccountNumberAllocator {
+
+	static final String PREFIX = "110";
+	private static final long MAX_SERIAL = 99_999_999L;
+
+	private static final AccountNumberAllocator INSTANCE = new AccountNumberAllocator(
+			new SequenceBlock(Repositories.sequences(), "account_number", SequenceBlock.envInt("ACCOUNT_NO_BLOCK_SIZE", 50)));
+
+	private final SequenceBlock sequence;
+
+	AccountNumberAllocator(SequenceBlock sequence) {
+		this.sequence = sequence;
+	}
+
+	public static AccountNumberAllocator getInstance() {
+		return INSTANCE;
+	}
+
+	public String next() {
+		long serial = sequence.next();
+		if (serial > MAX_SERIAL) {
+			throw new IllegalStateException("발급 가능한 계좌번호가 소진되었습니다.");
+		}
+		return format(serial);
+	}
+
+	static String format(long serial) {
+		String digits = String.format("%08d", serial);
+		digits += CheckDigit.luhn(PREFIX + digits);
+		return PREFIX + "-" + digits.substring(0, 3) + "-" + digits.substring(3);
+	}
+}
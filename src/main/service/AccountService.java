@@ -1,24 +1,35 @@
 package main.service;
 
 import java.sql.Connection;
-import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import main.db.DbUtil;
+import main.db.TxTemplate;
 import main.domain.Account;
+import main.domain.DailyBalance;
 import main.domain.GroupMember;
 import main.enums.AccountType;
 import main.enums.MemberRole;
 import main.repository.AccountRepository;
+import main.repository.DailyBalanceRepository;
 import main.repository.GroupRepository;
+import main.repository.Repositories;
 import main.repository.TransactionRepository;
 
 public class AccountService {
-	private final AccountRepository accountRepository = new AccountRepository();
-	private final GroupRepository groupRepository = new GroupRepository();
-	private final TransactionRepository transactionRepository = new TransactionRepository();
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final GroupRepository groupRepository = Repositories.groups();
+	private final TransactionRepository transactionRepository = Repositories.transactions();
+	private final DailyBalanceRepository dailyBalanceRepository = Repositories.dailyBalances();
+	private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
+	private final AccountNumberAllocator numberAllocator = AccountNumberAllocator.getInstance();
+
+	// 기존 무작위 번호와 겹칠 때만 다음 번호로 재시도
+	private static final int MAX_NUMBER_ATTEMPTS = 5;
 
 	public Account createPersonalAccount(String name, long ownerUserId, long initialBalance) {
 		if (initialBalance < 0) {
@@ -28,86 +39,72 @@ public class AccountService {
 			throw new IllegalArgumentException("❌ 동일한 이름의 개인계좌가 이미 존재합니다.");
 		});
 
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
-			String accountNumber = generateUniqueAccountNumber();
-			Account newAccount = Account.createPersonal(0, accountNumber, name.trim(), ownerUserId, initialBalance);
-			Account savedAccount = accountRepository.save(newAccount, conn);
-
-			conn.commit();
-			return savedAccount;
-		} catch (Exception e) {
-			if (conn != null) {
-				try {
-					conn.rollback();
-				} catch (SQLException ex) {
-				}
-			}
-			throw new RuntimeException("개인 계좌 생성 중 오류 발생", e);
-		} finally {
-			if (conn != null) {
-				try {
-					conn.setAutoCommit(true);
-					conn.close();
-				} catch (SQLException e) {
-				}
-			}
-		}
+		Account savedAccount = TxTemplate.execute("개인 계좌 생성 중 오류 발생", conn -> saveWithNewNumber(
+				number -> Account.createPersonal(0, number, name.trim(), ownerUserId, initialBalance), conn));
+		accessCache.invalidateUser(ownerUserId);
+		return savedAccount;
 	}
 
+	/** 접근 가능 계좌 목록 (AccountAccessCache 경유, 읽기 전용 리스트) */
 	public List<Account> findMyAccounts(long userId) {
-		return accountRepository.findAllByUserId(userId);
+		return accessCache.getAccounts(userId, accountRepository::findAllByUserId);
 	}
 
 	public List<Account> findMyGroupAccounts(long userId) {
-		List<Account> allMyAccounts = accountRepository.findAllByUserId(userId);
+		List<Account> allMyAccounts = findMyAccounts(userId);
 
 		return allMyAccounts.stream().filter(account -> account.getType() == AccountType.GROUP)
 				.collect(Collectors.toList());
 	}
 
-	public void createGroupAccount(String name, long creatorUserId, long initialBalance) {
+	/** 사용자가 해당 계좌(개인 소유 또는 모임 멤버)에 접근 가능한지 */
+	public boolean canAccess(long userId, long accountId) {
+		return accessCache.isAccessible(userId, accountId, accountRepository::findAllByUserId);
+	}
+
+	/**
+	 * at 시각 직전(occurred_at < at)까지 반영된 잔액
+	 * - at 전날까지의 가장 가까운 일별 스냅샷 + 그 다음 날 0시부터 at 전까지의 거래 합 → 원장 크기와 무관하게 짧은 범위만 읽음
+	 * - 스냅샷이 없으면(백필 전이거나 그 전에 거래가 없음) 현재 잔액 - at 이후 거래 합
+	 * - 개설 입금액은 원장에 없으므로 개설 전 시각도 개설 입금액 기준으로 계산됨
+	 */
+	public long balanceAt(long accountId, LocalDateTime at) {
+		if (at == null) throw new IllegalArgumentException("조회 시각은 필수입니다.");
+
+		// 스냅샷과 거래 합을 같은 읽기 시점에서
+		return TxTemplate.execute("과거 잔액 조회 오류", conn -> {
+			Optional<DailyBalance> snapshot = dailyBalanceRepository.findLatestBefore(accountId, at.toLocalDate(), conn);
+			if (snapshot.isPresent()) {
+				LocalDateTime from = snapshot.get().getBalanceDate().plusDays(1).atStartOfDay();
+				return snapshot.get().getClosingBalance()
+						+ transactionRepository.sumNetAmount(accountId, from, at, conn);
+			}
+			// 계좌 잠금 후 합산 - 그 사이 이 계좌 거래가 커밋되어 현재 잔액과 어긋나는 일이 없게
+			Account account = accountRepository.findByIdForUpdate(accountId, conn)
+					.orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+			return account.getBalance() - transactionRepository.sumNetAmount(accountId, at, null, conn);
+		});
+	}
+
+	public Account createGroupAccount(String name, long creatorUserId, long initialBalance) {
 		if (initialBalance < 0) {
 			throw new IllegalArgumentException("초기 입금액은 0보다 작을 수 없습니다.");
 		}
 
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
+		// 3가지 작업(계좌생성, OWNER등록, 초기입금)을 모두 성공하면 커밋
+		Account savedAccount = TxTemplate.execute("모임통장 생성 중 오류가 발생했습니다.", conn -> {
 			// 1단계: 계좌 생성 (잔액 0)
-			String accountNumber = generateUniqueAccountNumber();
-			Account groupAccount = Account.createGroup(0, accountNumber, name, initialBalance);
-			Account savedAccount = accountRepository.save(groupAccount, conn);
+			Account account = saveWithNewNumber(
+					number -> Account.createGroup(0, number, name, initialBalance), conn);
 
 			// 2단계: 생성자를 OWNER로 등록
-			GroupMember owner = GroupMember.join(0, savedAccount.getId(), creatorUserId, MemberRole.OWNER);
+			GroupMember owner = GroupMember.join(0, account.getId(), creatorUserId, MemberRole.OWNER);
 			groupRepository.save(owner, conn);
-
-			conn.commit(); // 3가지 작업(계좌생성, OWNER등록, 초기입금)을 모두 성공하면 커밋
-			System.out.println("✅ 모임통장 생성 및 OWNER 등록이 완료되었습니다.");
-
-		} catch (Exception e) {
-			if (conn != null) {
-				try {
-					conn.rollback();
-				} catch (SQLException ex) {
-				}
-			}
-			throw new RuntimeException("모임통장 생성 중 오류가 발생했습니다.", e);
-		} finally {
-			if (conn != null) {
-				try {
-					conn.setAutoCommit(true);
-					conn.close();
-				} catch (SQLException e) {
-				}
-			}
-		}
+			return account;
+		});
+		accessCache.invalidateUser(creatorUserId);
+		System.out.println("✅ 모임통장 생성 및 OWNER 등록이 완료되었습니다.");
+		return savedAccount;
 	}
 
 	public void changeAccountName(String accountNumber, String newName, long currentUserId) {
@@ -129,14 +126,11 @@ public class AccountService {
 			throw new IllegalStateException("계좌 이름을 변경할 권한이 없습니다.");
 		}
 		accountRepository.updateName(account.getId(), newName);
+		accessCache.invalidateAccount(account.getId());
 	}
 
 	public void deleteAccount(String accountNumber, long currentUserId) {
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
+		long deletedId = TxTemplate.execute(null, conn -> {
 			// 1) 계좌 잠금
 			Account account = accountRepository.findByAccountNumberForUpdate(accountNumber, conn)
 					.orElseThrow(() -> new IllegalArgumentException("❌ 해당 계좌를 찾을 수 없습니다. (account number: " + accountNumber + ")"));
@@ -157,29 +151,28 @@ public class AccountService {
 
 			// 4) 삭제
 			accountRepository.deleteById(account.getId(), conn);
+			return account.getId();
+		});
+		accessCache.invalidateAccount(deletedId);
+	}
 
-			conn.commit();
-		} catch (Exception e) {
-			if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
-			throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
-		} finally {
-			if (conn != null) {
-				try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-				try { conn.close(); } catch (SQLException ignore) {}
+	/**
+	 * 발급기에서 번호를 받아 저장 - 사전 조회 없이 uq_account_number로 중복을 판정
+	 * (시퀀스 발급분끼리는 겹치지 않으므로 재시도는 예전 무작위 번호와 충돌할 때만 발생)
+	 */
+	private Account saveWithNewNumber(Function<String, Account> factory, Connection conn) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				return accountRepository.save(factory.apply(numberAllocator.next()), conn);
+			} catch (RuntimeException e) {
+				if (attempt >= MAX_NUMBER_ATTEMPTS || !isDuplicateAccountNumber(e)) throw e;
 			}
 		}
 	}
 
-	private String generateUniqueAccountNumber() {
-		Random random = new Random();
-		while (true) {
-			String part1 = String.format("%03d", random.nextInt(1000));
-			String part2 = String.format("%06d", random.nextInt(1000000));
-			String accountNumber = "110-" + part1 + "-" + part2;
-
-			if (accountRepository.findByAccountNumber(accountNumber).isEmpty()) {
-				return accountNumber;
-			}
-		}
+	private static boolean isDuplicateAccountNumber(RuntimeException e) {
+		Throwable cause = e.getCause();
+		return cause instanceof SQLIntegrityConstraintViolationException && cause.getMessage() != null
+				&& cause.getMessage().contains("uq_account_number");
 	}
 }
\ No newline at end of file
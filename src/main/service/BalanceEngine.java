@@ -0,0 +1,586 @@
+package main.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import main.db.TxTemplate;
+import main.domain.Account;
+import main.domain.IdempotencyRecord;
+import main.domain.Transaction;
+import main.enums.ExpenseOutcome;
+import main.repository.AccountRepository;
+import main.repository.IdempotencyRepository;
+import main.repository.Repositories;
+import main.repository.TransactionRepository;
+
+/**
+ * 계좌별 단일 기록자(single-writer) 잔액 엔진 (opt-in: BALANCE_ENGINE=true)
+ * - 계좌 id를 해시로 레인(전용 스레드 1개)에 고정 배정 → 한 계좌의 잔액 변경은 항상 같은 레인에서 순서대로 실행
+ * - 레인은 담당 계좌의 잔액을 메모리에 보관(최초 사용 시 DB에서 읽음)하고 그 값으로 잔액 부족을 판정
+ * - 큐에 쌓인 요청을 한 번에 꺼내(최대 BALANCE_ENGINE_MAX_BATCH건) 트랜잭션 1회로 저장:
+ *   계좌별 합산 증감 UPDATE(id 순) + 원장 배치 INSERT + 일별 잔액 스냅샷 + 멱등키 INSERT → 커밋 후 Future 완료
+ * - 저장 실패 시 메모리 잔액을 되돌리고 요청을 한 건씩 다시 저장 → 실패한 요청만 예외로 완료
+ * - 다른 레인 계좌로의 이체: 출금 레인에서 잔액 차감 후(그 배치 커밋 뒤) 입금 레인으로 넘기고, 입금 레인이 OUT/IN과
+ *   두 계좌 증감을 한 트랜잭션으로 저장(실패하면 출금 레인에 차감분 환원)
+ * - 메모리 잔액은 캐시일 뿐 - 엔진 밖의 기록자(가져오기, 대사 복구, 다른 인스턴스)가 DB 잔액을 바꿔도 스스로 맞춤:
+ *   저장이 실패한 배치의 계좌는 캐시를 버리고 다시 읽음, 잔액 부족 판정 전에는 (이 배치에서 아직 안 건드린 계좌면) DB에서 다시 읽음
+ *   / 같은 프로세스에서 잔액을 직접 고쳤으면 reloadIfRunning()으로 전체 캐시를 버림
+ * - 다른 레인으로 넘어간 이체 차감분(입금 레인 커밋 전)은 출금 레인이 따로 기억 → 다시 읽은 DB 잔액에서 빼서 판정
+ * - shutdown 후 요청은 바로 예외로 완료, 종료 중 다른 레인으로 넘어간 이체는 모든 레인이 멈춘 뒤 호출 스레드가 마저 처리
+ */
+public class BalanceEngine {
+
+	private static volatile BalanceEngine instance;
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final TransactionRepository txRepository = Repositories.transactions();
+	private final IdempotencyRepository idempotencyRepository = Repositories.idempotencyKeys();
+	private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
+	private final IdempotencyStore idempotency = IdempotencyStore.getInstance();
+	private final LedgerSummaries summaries = new LedgerSummaries();
+
+	private final Lane[] lanes;
+	private final int maxBatch;
+	private volatile boolean stopped;
+	/** 종료 후 남은 요청까지 처리 완료 - 이후 큐에 들어간 요청은 submit이 직접 실패 처리 */
+	private volatile boolean terminated;
+
+	public BalanceEngine(int laneCount, int maxBatch) {
+		if (laneCount <= 0 || maxBatch <= 0) throw new IllegalArgumentException("레인 수와 배치 크기는 0보다 커야 합니다.");
+		this.maxBatch = maxBatch;
+		this.lanes = new Lane[laneCount];
+		for (int i = 0; i < laneCount; i++) {
+			lanes[i] = new Lane(i);
+			lanes[i].thread.start();
+		}
+	}
+
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getenv().getOrDefault("BALANCE_ENGINE", "false"));
+	}
+
+	public static BalanceEngine getInstance() {
+		BalanceEngine e = instance;
+		if (e == null) {
+			synchronized (BalanceEngine.class) {
+				e = instance;
+				if (e == null) {
+					e = new BalanceEngine(
+							SequenceBlock.envInt("BALANCE_ENGINE_LANES", Runtime.getRuntime().availableProcessors()),
+							SequenceBlock.envInt("BALANCE_ENGINE_MAX_BATCH", 256));
+					instance = e;
+				}
+			}
+		}
+		return e;
+	}
+
+	// ────────────── 요청 ──────────────
+
+	/** idem: 반영될 때 같은 트랜잭션으로 저장할 멱등키(nullable) - 중복이면 그 요청만 1062 예외로 완료 */
+	public CompletableFuture<ExpenseOutcome> income(long accountId, long amount, String memo, LocalDateTime occurredAt,
+			long createdByUserId, IdempotencyRecord idem) {
+		return submit(new Credit(accountId,
+				Transaction.income(0, accountId, amount, memo, orNow(occurredAt), createdByUserId)), idem);
+	}
+
+	public CompletableFuture<ExpenseOutcome> expense(long accountId, long amount, String memo, LocalDateTime occurredAt,
+			long createdByUserId, IdempotencyRecord idem) {
+		return submit(new Debit(accountId,
+				Transaction.expenseOther(0, accountId, amount, memo, orNow(occurredAt), createdByUserId)), idem);
+	}
+
+	/** 카드 검증은 호출부(TransactionService)에서 끝난 상태 */
+	public CompletableFuture<ExpenseOutcome> cardExpense(long accountId, long cardId, long amount, String memo,
+			LocalDateTime occurredAt, long createdByUserId, IdempotencyRecord idem) {
+		return submit(new Debit(accountId,
+				Transaction.expenseCard(0, accountId, amount, memo, orNow(occurredAt), cardId, createdByUserId)),
+				idem);
+	}
+
+	public CompletableFuture<ExpenseOutcome> transfer(long fromAccountId, long toAccountId, long amount, String memo,
+			long createdByUserId, IdempotencyRecord idem) {
+		String key = UUID.randomUUID().toString();
+		LocalDateTime now = LocalDateTime.now();
+		return submit(new TransferOut(
+				Transaction.transferOut(0, fromAccountId, amount, memo, now, key, createdByUserId),
+				Transaction.transferIn(0, toAccountId, amount, memo, now, key, createdByUserId)), idem);
+	}
+
+	/** 엔진이 떠 있으면 모든 레인의 메모리 잔액을 버림(다음 요청 때 DB에서 다시 읽음) - 잔액을 직접 고친 도구가 커밋 후 호출 */
+	public static void reloadIfRunning() {
+		BalanceEngine e = instance;
+		if (e == null || e.stopped) return;
+		for (Lane lane : e.lanes) lane.queue.add(new Reload());
+	}
+
+	/**
+	 * 새 요청을 막고, 큐에 남은 요청을 모두 처리한 뒤 레인 종료
+	 * - 레인마다 마지막으로 꺼낸 요청이 다른 레인(이미 멈췄을 수 있음)으로 이체 입금을 넘길 수 있으므로,
+	 *   모든 레인 스레드가 끝난 뒤 남은 큐를 빌 때까지 이 스레드에서 처리
+	 */
+	public void shutdown() {
+		stopped = true;
+		for (Lane lane : lanes) lane.queue.add(Stop.INSTANCE);
+		for (Lane lane : lanes) {
+			try {
+				lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (lane.thread.isAlive()) {
+				System.err.println("⚠️ 잔액 엔진 레인이 10초 안에 끝나지 않았습니다: " + lane.thread.getName());
+				return;
+			}
+		}
+		drainStopped();
+		terminated = true;
+		drainStopped(); // terminated를 보기 전에 들어온 요청
+	}
+
+	/** 레인 스레드가 모두 끝난 뒤 - 남은 요청(이체 입금/정산/환원 포함)을 큐가 빌 때까지 처리 */
+	private void drainStopped() {
+		List<Command> drained = new ArrayList<>();
+		boolean any = true;
+		while (any) {
+			any = false;
+			for (Lane lane : lanes) {
+				lane.queue.drainTo(drained);
+				drained.removeIf(cmd -> cmd instanceof Stop);
+				if (drained.isEmpty()) continue;
+				any = true;
+				lane.process(drained);
+				drained.clear();
+			}
+		}
+	}
+
+	private CompletableFuture<ExpenseOutcome> submit(Command cmd, IdempotencyRecord idem) {
+		if (stopped) return CompletableFuture.failedFuture(new IllegalStateException("잔액 엔진이 종료되었습니다."));
+		cmd.idem = idem;
+		Lane lane = laneOf(cmd.accountId());
+		lane.queue.add(cmd);
+		// shutdown과 경합: 마지막 정리가 끝난 뒤 들어갔으면 아무도 꺼내지 않으므로 직접 실패 처리
+		if (terminated && lane.queue.remove(cmd)) cmd.fail(new IllegalStateException("잔액 엔진이 종료되었습니다."));
+		return cmd.future;
+	}
+
+	private Lane laneOf(long accountId) {
+		return lanes[Math.floorMod(Long.hashCode(accountId) * 0x9E3779B9, lanes.length)]; // 연속 id도 고르게 분산
+	}
+
+	private static LocalDateTime orNow(LocalDateTime t) {
+		return (t == null) ? LocalDateTime.now() : t;
+	}
+
+	// ────────────── 레인 ──────────────
+
+	private final class Lane implements Runnable {
+		final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+		final Thread thread;
+		/** 이 레인이 담당하는 계좌의 잔액 캐시 (DB 잔액 - 진행 중인 이체 차감분) - 레인 스레드에서만 접근 */
+		final Map<Long, Long> balances = new HashMap<>();
+		/** 다른 레인으로 넘긴 이체 차감분 - 입금 레인이 커밋(Settled)하거나 실패(Refund)하면 뺌 */
+		final Map<Long, Long> inFlight = new HashMap<>();
+		/** 지금 적용 중인 배치 */
+		Batch current;
+
+		Lane(int index) {
+			this.thread = new Thread(this, "balance-lane-" + index);
+			thread.setDaemon(true);
+		}
+
+		public void run() {
+			List<Command> drained = new ArrayList<>(maxBatch);
+			while (true) {
+				try {
+					drained.add(queue.take());
+				} catch (InterruptedException e) {
+					return;
+				}
+				queue.drainTo(drained, maxBatch - 1);
+				boolean stop = drained.remove(Stop.INSTANCE);
+				process(drained);
+				drained.clear();
+				if (stop) {
+					queue.drainTo(drained);
+					drained.remove(Stop.INSTANCE);
+					process(drained);
+					return;
+				}
+			}
+		}
+
+		/** 요청들을 메모리 잔액에 적용하고 한 트랜잭션으로 저장 - 실패하면 한 건씩 다시 */
+		private void process(List<Command> commands) {
+			if (commands.isEmpty()) return;
+			Batch batch = new Batch();
+			current = batch;
+			for (Command cmd : commands) {
+				try {
+					cmd.apply(this, batch);
+				} catch (RuntimeException e) {
+					cmd.fail(e);
+				}
+			}
+			if (batch.pending.isEmpty()) return;
+
+			try {
+				if (!batch.rows.isEmpty()) persist(batch);
+			} catch (Exception e) {
+				batch.revert();
+				// 실패 원인이 캐시와 DB의 차이일 수 있음(다른 기록자) - 이 배치의 계좌는 DB에서 다시 읽음
+				balances.keySet().removeAll(batch.accounts);
+				if (batch.reload) balances.clear();
+				if (batch.pending.size() == 1) {
+					batch.pending.get(0).fail(e);
+				} else {
+					for (Command cmd : batch.pending) process(List.of(cmd));
+				}
+				return;
+			}
+			for (Long accountId : batch.deltas.keySet()) accessCache.invalidateAccount(accountId);
+			for (IdempotencyRecord idem : batch.keys) idempotency.remember(idem);
+			if (batch.reload) balances.clear(); // 이 배치까지 DB에 반영됨 - 이제 버려도 다시 읽은 값이 맞음
+			for (Command cmd : batch.pending) cmd.committed();
+		}
+
+		/** 담당 계좌 잔액 (캐시에 없으면 DB에서 읽고 진행 중인 이체 차감분을 뺌) */
+		long balance(long accountId) {
+			Long b = balances.get(accountId);
+			if (b == null) {
+				Account acc = accountRepository.findById(accountId)
+						.orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+				b = acc.getBalance() - inFlight.getOrDefault(accountId, 0L);
+				balances.put(accountId, b);
+			}
+			return b;
+		}
+
+		/**
+		 * 잔액이 amount 이상인지 - 캐시로 부족하면, 이 배치에서 아직 안 건드린 계좌는 DB에서 다시 읽어 한 번 더 판정
+		 * (엔진 밖에서 입금된 잔액을 캐시 때문에 거절하지 않도록)
+		 */
+		boolean covers(long accountId, long amount) {
+			if (balance(accountId) >= amount) return true;
+			if (current.accounts.contains(accountId)) return false;
+			balances.remove(accountId);
+			return balance(accountId) >= amount;
+		}
+
+		void add(long accountId, long delta) {
+			balances.put(accountId, balance(accountId) + delta);
+			if (current != null) current.accounts.add(accountId);
+		}
+
+		void inFlight(long accountId, long delta) {
+			inFlight.merge(accountId, delta, Long::sum);
+			inFlight.remove(accountId, 0L);
+		}
+	}
+
+	private void persist(Batch batch) {
+		TxTemplate.run(null, conn -> {
+			// 잔액 UPDATE를 id 순서로 먼저(합계 0이어도 잠금) → 레인끼리 같은 계좌를 갱신해도(다른 레인 이체) 잠금 순서가 같고,
+			// 원장 INSERT의 FK 검사는 이미 잡은 행 잠금 위에서 실행됨
+			for (Map.Entry<Long, Long> d : batch.deltas.entrySet()) {
+				if (d.getValue() >= 0) accountRepository.increaseBalance(d.getKey(), d.getValue(), conn);
+				else accountRepository.decreaseBalance(d.getKey(), -d.getValue(), conn);
+			}
+			txRepository.insertBatch(batch.rows, conn);
+			summaries.record(batch.rows, conn);
+			idempotencyRepository.insertBatch(batch.keys, conn); // 마지막에 - 같은 키 대기는 계좌 잠금을 모두 잡은 뒤에만
+		});
+	}
+
+	/** 한 번에 저장할 원장 행 + 계좌별 증감 + 멱등키 + 저장 실패 시 메모리 잔액 되돌리기 */
+	private static final class Batch {
+		final List<Transaction> rows = new ArrayList<>();
+		final List<IdempotencyRecord> keys = new ArrayList<>();
+		final Map<Long, Long> deltas = new TreeMap<>();
+		final List<Runnable> undo = new ArrayList<>();
+		final List<Command> pending = new ArrayList<>();
+		/** 메모리 잔액을 바꾼 계좌 - 저장 실패 시 캐시를 버릴 대상 */
+		final Set<Long> accounts = new HashSet<>();
+		/** 배치를 마친 뒤 캐시 전체를 버림(Reload) */
+		boolean reload;
+
+		void delta(long accountId, long amount) {
+			deltas.merge(accountId, amount, Long::sum);
+		}
+
+		void key(IdempotencyRecord idem) {
+			if (idem != null) keys.add(idem);
+		}
+
+		void revert() {
+			for (int i = undo.size() - 1; i >= 0; i--) undo.get(i).run();
+		}
+	}
+
+	// ────────────── 명령 ──────────────
+
+	private abstract static class Command {
+		final CompletableFuture<ExpenseOutcome> future;
+		IdempotencyRecord idem;
+
+		Command() {
+			this(new CompletableFuture<>());
+		}
+
+		Command(CompletableFuture<ExpenseOutcome> future) {
+			this.future = future;
+		}
+
+		/** 배정 기준 계좌 */
+		abstract long accountId();
+
+		/** 레인 스레드에서 실행 - 저장이 필요하면 batch.pending에 추가, 아니면 여기서 Future 완료 */
+		abstract void apply(Lane lane, Batch batch);
+
+		/** 이 명령이 포함된 배치가 커밋된 뒤 (레인 스레드) */
+		void committed() {
+			future.complete(ExpenseOutcome.APPLIED);
+		}
+
+		void fail(Throwable e) {
+			future.completeExceptionally(e);
+		}
+	}
+
+	private static final class Credit extends Command {
+		final long accountId;
+		final Transaction row;
+
+		Credit(long accountId, Transaction row) {
+			this.accountId = accountId;
+			this.row = row;
+		}
+
+		long accountId() {
+			return accountId;
+		}
+
+		void apply(Lane lane, Batch batch) {
+			long amount = row.getAmount();
+			lane.add(accountId, amount);
+			batch.undo.add(() -> lane.add(accountId, -amount));
+			batch.rows.add(row);
+			batch.delta(accountId, amount);
+			batch.key(idem);
+			batch.pending.add(this);
+		}
+	}
+
+	private static final class Debit extends Command {
+		final long accountId;
+		final Transaction row;
+
+		Debit(long accountId, Transaction row) {
+			this.accountId = accountId;
+			this.row = row;
+		}
+
+		long accountId() {
+			return accountId;
+		}
+
+		void apply(Lane lane, Batch batch) {
+			long amount = row.getAmount();
+			if (!lane.covers(accountId, amount)) {
+				future.complete(ExpenseOutcome.INSUFFICIENT_FUNDS);
+				return;
+			}
+			lane.add(accountId, -amount);
+			batch.undo.add(() -> lane.add(accountId, amount));
+			batch.rows.add(row);
+			batch.delta(accountId, -amount);
+			batch.key(idem);
+			batch.pending.add(this);
+		}
+	}
+
+	/**
+	 * 이체 1단계(출금 레인) - 같은 레인이면 여기서 끝, 아니면 차감 후 입금 레인으로
+	 * 넘기는 시점은 이 배치가 커밋된 뒤 - 차감 판정에 쓴 잔액(앞서 받은 입금 포함)이 DB에 반영된 다음이어야
+	 * 입금 레인이 저장하는 출금 UPDATE가 DB 잔액을 음수로 만들지 않음
+	 */
+	private final class TransferOut extends Command {
+		final Transaction out;
+		final Transaction in;
+		Lane source;
+		Lane target;
+
+		TransferOut(Transaction out, Transaction in) {
+			this.out = out;
+			this.in = in;
+		}
+
+		long accountId() {
+			return out.getAccountId();
+		}
+
+		void apply(Lane lane, Batch batch) {
+			long from = out.getAccountId();
+			long to = in.getAccountId();
+			long amount = out.getAmount();
+			if (!lane.covers(from, amount)) {
+				future.complete(ExpenseOutcome.INSUFFICIENT_FUNDS);
+				return;
+			}
+			source = lane;
+			target = laneOf(to);
+			if (target != lane) {
+				lane.add(from, -amount);
+				batch.undo.add(() -> lane.add(from, amount));
+				batch.pending.add(this);
+				return;
+			}
+			lane.balance(to); // 입금 계좌 존재 확인(없으면 예외 → 차감 전)
+			lane.add(from, -amount);
+			lane.add(to, amount);
+			batch.undo.add(() -> {
+				lane.add(from, amount);
+				lane.add(to, -amount);
+			});
+			addRows(batch);
+			batch.pending.add(this);
+		}
+
+		@Override
+		void committed() {
+			if (target == source) {
+				super.committed();
+				return;
+			}
+			// DB에는 아직 차감 전 - 입금 레인이 커밋할 때까지 다시 읽은 잔액에서도 빼도록
+			source.inFlight(out.getAccountId(), out.getAmount());
+			target.queue.add(new TransferIn(this, source));
+		}
+
+		void addRows(Batch batch) {
+			batch.rows.add(out);
+			batch.rows.add(in);
+			batch.delta(out.getAccountId(), -out.getAmount());
+			batch.delta(in.getAccountId(), in.getAmount());
+			batch.key(idem);
+		}
+	}
+
+	/** 이체 2단계(입금 레인) - 출금 레인에서 이미 차감됨, 두 계좌 증감과 원장 2행을 이 레인 배치로 저장 */
+	private final class TransferIn extends Command {
+		final TransferOut origin;
+		final Lane source;
+
+		TransferIn(TransferOut origin, Lane source) {
+			super(origin.future);
+			this.origin = origin;
+			this.source = source;
+		}
+
+		long accountId() {
+			return origin.in.getAccountId();
+		}
+
+		void apply(Lane lane, Batch batch) {
+			long to = origin.in.getAccountId();
+			long amount = origin.in.getAmount();
+			lane.add(to, amount);
+			batch.undo.add(() -> lane.add(to, -amount));
+			origin.addRows(batch);
+			batch.pending.add(this);
+		}
+
+		@Override
+		void committed() {
+			source.queue.add(new Settled(origin.out.getAccountId(), origin.out.getAmount()));
+			super.committed();
+		}
+
+		@Override
+		void fail(Throwable e) {
+			source.queue.add(new Refund(origin.out.getAccountId(), origin.out.getAmount()));
+			super.fail(e);
+		}
+	}
+
+	/** 다른 레인 이체의 입금 레인 커밋 - 차감분이 DB에 반영됨(출금 레인 캐시는 그대로 맞음) */
+	private static final class Settled extends Command {
+		final long accountId;
+		final long amount;
+
+		Settled(long accountId, long amount) {
+			this.accountId = accountId;
+			this.amount = amount;
+		}
+
+		long accountId() {
+			return accountId;
+		}
+
+		void apply(Lane lane, Batch batch) {
+			lane.inFlight(accountId, -amount);
+			// 입금 레인 커밋 뒤, 이 정산 전에 DB에서 다시 읽었다면 차감분이 두 번 빠져 있음 - 이 배치에서 안 건드렸으면 버림
+			if (!batch.accounts.contains(accountId)) lane.balances.remove(accountId);
+			future.complete(ExpenseOutcome.APPLIED);
+		}
+	}
+
+	/** 실패한 다른 레인 이체의 차감분 환원(메모리만 - DB에는 반영된 적 없음) */
+	private static final class Refund extends Command {
+		final long accountId;
+		final long amount;
+
+		Refund(long accountId, long amount) {
+			this.accountId = accountId;
+			this.amount = amount;
+		}
+
+		long accountId() {
+			return accountId;
+		}
+
+		void apply(Lane lane, Batch batch) {
+			boolean cached = lane.balances.containsKey(accountId);
+			lane.inFlight(accountId, -amount);
+			if (cached) lane.add(accountId, amount); // 캐시에 없으면 다음에 읽을 때 줄어든 차감분으로 계산됨
+			future.complete(ExpenseOutcome.APPLIED);
+		}
+	}
+
+	/** 캐시 전체 버리기 - 앞선 요청이 저장된 뒤에 (reloadIfRunning) */
+	private static final class Reload extends Command {
+		long accountId() {
+			return 0;
+		}
+
+		void apply(Lane lane, Batch batch) {
+			batch.reload = true;
+			batch.pending.add(this);
+		}
+	}
+
+	/** 레인 종료 신호 */
+	private static final class Stop extends Command {
+		static final Stop INSTANCE = new Stop();
+
+		long accountId() {
+			return 0;
+		}
+
+		void apply(Lane lane, Batch batch) {
+		}
+	}
+}
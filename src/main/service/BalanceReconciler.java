@@ -0,0 +1,276 @@
+package main.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import main.db.TxTemplate;
+import main.dto.BalanceCheck;
+import main.repository.AccountRepository;
+import main.repository.DailyBalanceRepository;
+import main.repository.ReconciliationRepository;
+import main.repository.Repositories;
+
+/**
+ * 잔액 대사 - account.balance(누적 잔액)가 개설 입금액 + 원장 합계(IN - OUT)와 같은지 계좌별로 검사
+ * - 계좌 id 목록을 ForkJoinPool에서 반씩 나눠 LEAF_SIZE개 단위로 검사: 단위마다 읽기 트랜잭션 1개에서 잔액과 원장 합계를
+ *   같은 시점으로 읽음(원장 합계는 idx_transaction_account_kind_amount만 읽음, 잠금 없음)
+ * - 어긋난 계좌만 계좌 행을 잠그고 다시 확인 → 그 사이 커밋된 거래 때문에 생긴 차이는 걸러짐
+ * - 복구(--repair): 잠근 상태에서 잔액을 기대 잔액으로 고치고 일별 스냅샷도 다시 계산(원장이 기준, 월별 집계는 원장만 쓰므로 그대로)
+ *   / 기대 잔액이 음수인 계좌는 고칠 수 없어 보고만 함
+ * - 증분(--since=거래 id): 그 id 이후 거래가 있는 계좌만 검사하고, 다음 실행에 넘길 워터마크(시작 시점 최대 거래 id)를 출력
+ *   (시작 시점에 커밋 전이던 거래는 워터마크보다 작은 id로 나중에 커밋될 수 있으므로 주기적으로 전체 대사도 함께)
+ * - 병렬도는 커넥션 풀 크기(DB_POOL_MAX_SIZE) 이하로 / 복구로 바뀐 잔액은 BalanceEngine이 다음 판정 때 DB에서 다시 읽음
+ * - 개설 입금액 백필(--init-opening): opening_balance 열 추가 전에 만든 계좌(NULL)를 현재 잔액 - 원장 합계로 채움
+ *   → 지금 잔액을 기준으로 삼으므로 열을 추가한 직후 한 번만 / NULL인 계좌는 대사에서 건너뛰고, 하나라도 있으면 --repair는 거부
+ * - 실행: java -cp "out:lib/*" main.service.BalanceReconciler [--init-opening | --repair] [--since=거래 id] [--parallelism=N] [accountId ...]
+ */
+public class BalanceReconciler {
+
+	/** 한 번에 검사하는 계좌 수(쿼리 1개의 IN 목록) */
+	private static final int LEAF_SIZE = 500;
+	private static final int PAGE_SIZE = 20_000;
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final DailyBalanceRepository dailyBalanceRepository = Repositories.dailyBalances();
+	private final ReconciliationRepository reconciliation = Repositories.reconciliation();
+	private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
+
+	private final int parallelism;
+	private final boolean repair;
+
+	public BalanceReconciler(int parallelism, boolean repair) {
+		if (parallelism <= 0) throw new IllegalArgumentException("병렬도는 1 이상이어야 합니다.");
+		this.parallelism = parallelism;
+		this.repair = repair;
+	}
+
+	public static void main(String[] args) {
+		boolean repair = false;
+		boolean initOpening = false;
+		Long since = null;
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		List<Long> accountIds = new ArrayList<>();
+		try {
+			for (String arg : args) {
+				if (arg.equals("--repair")) repair = true;
+				else if (arg.equals("--init-opening")) initOpening = true;
+				else if (arg.startsWith("--since=")) since = Long.valueOf(arg.substring(8));
+				else if (arg.startsWith("--parallelism=")) parallelism = Integer.parseInt(arg.substring(14));
+				else accountIds.add(Long.valueOf(arg));
+			}
+		} catch (NumberFormatException e) {
+			System.err.println("사용법: BalanceReconciler [--init-opening | --repair] [--since=거래 id] [--parallelism=N] [accountId ...]");
+			System.exit(2);
+		}
+		if (initOpening) {
+			initOpeningMain();
+			return;
+		}
+
+		long started = System.nanoTime();
+		Report report;
+		try {
+			BalanceReconciler reconciler = new BalanceReconciler(parallelism, repair);
+			if (!accountIds.isEmpty()) report = reconciler.reconcile(accountIds);
+			else if (since != null) report = reconciler.reconcileSince(since);
+			else report = reconciler.reconcileAll();
+		} catch (RuntimeException e) {
+			System.err.println("❌ 잔액 대사 실패: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		for (BalanceCheck c : report.drifts) {
+			System.out.printf("⚠️ 계좌 %d: 잔액 %,d / 기대 %,d (개설 %,d + 원장 %,d) → 차이 %+,d%n", c.accountId, c.balance,
+					c.expectedBalance(), c.openingBalance, c.ledgerNet, c.drift());
+		}
+		System.out.printf("✅ 계좌 %d개 검사, 불일치 %d개%s (%.1f초)%n", report.checked, report.drifts.size(),
+				repair ? ", 복구 " + report.repaired + "개" + (report.unrepairable > 0
+						? ", 복구 불가(기대 잔액 음수) " + report.unrepairable + "개" : "") : "",
+				(System.nanoTime() - started) / 1e9);
+		if (report.unbackfilled > 0) {
+			System.out.println("   개설 입금액 백필 전이라 건너뛴 계좌 " + report.unbackfilled + "개 - --init-opening을 먼저 실행하세요.");
+		}
+		if (report.watermark >= 0) System.out.println("   다음 증분 대사: --since=" + report.watermark);
+		if (!report.drifts.isEmpty() && report.repaired < report.drifts.size()) System.exit(3);
+	}
+
+	private static void initOpeningMain() {
+		long started = System.nanoTime();
+		long[] result;
+		try {
+			result = new BalanceReconciler(1, false).initOpeningBalances();
+		} catch (RuntimeException e) {
+			System.err.println("❌ 개설 입금액 백필 실패: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		System.out.printf("✅ 개설 입금액 %d개 계좌 채움%s (%.1f초)%n", result[0],
+				result[1] > 0 ? ", 잔액 < 원장 합계라 0으로 둔 계좌 " + result[1] + "개(대사에서 불일치로 보고됨)" : "",
+				(System.nanoTime() - started) / 1e9);
+	}
+
+	/**
+	 * 개설 입금액이 NULL인 계좌를 현재 잔액 - 원장 합계로 채움 (계좌마다 행을 잠그고 다시 읽은 값으로)
+	 * - 그 값이 음수면 0으로 둠 → 대사에서 불일치로 보고됨
+	 * @return {채운 계좌 수, 그중 0으로 둔 계좌 수}
+	 */
+	public long[] initOpeningBalances() {
+		long[] result = new long[2];
+		long lastId = 0;
+		List<Long> ids;
+		while (!(ids = accountRepository.findIdsAfter(lastId, LEAF_SIZE)).isEmpty()) {
+			List<Long> page = ids;
+			List<BalanceCheck> checks = TxTemplate.execute("개설 입금액 조회 오류",
+					conn -> reconciliation.findBalanceChecks(page, conn));
+			for (BalanceCheck c : checks) {
+				if (!c.hasOpeningBalance()) initOpeningBalance(c.accountId, result);
+			}
+			lastId = ids.get(ids.size() - 1);
+		}
+		return result;
+	}
+
+	private void initOpeningBalance(long accountId, long[] result) {
+		TxTemplate.run("개설 입금액 백필 오류", conn -> {
+			if (accountRepository.findByIdForUpdate(accountId, conn).isEmpty()) return;
+			BalanceCheck c = reconciliation.findBalanceChecks(List.of(accountId), conn).get(0);
+			if (c.hasOpeningBalance()) return;
+			long opening = c.balance - c.ledgerNet;
+			if (reconciliation.initOpeningBalance(accountId, Math.max(opening, 0), conn)) {
+				result[0]++;
+				if (opening < 0) result[1]++;
+			}
+		});
+	}
+
+	/** 복구는 모든 계좌의 개설 입금액이 있어야 함 - 없는 계좌를 0 기준으로 고치면 개설 입금액만큼 잔액이 사라짐 */
+	private void requireOpeningBalances() {
+		if (!repair) return;
+		long missing = reconciliation.countMissingOpeningBalance();
+		if (missing > 0) {
+			throw new IllegalStateException("개설 입금액 백필 전 계좌가 " + missing
+					+ "개 있어 복구할 수 없습니다. --init-opening을 먼저 실행하세요.");
+		}
+	}
+
+	/** 전체 계좌 - id 순으로 PAGE_SIZE개씩 나눠 페이지마다 병렬 검사 */
+	public Report reconcileAll() {
+		requireOpeningBalances();
+		Report total = new Report();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			long lastId = 0;
+			List<Long> ids;
+			while (!(ids = accountRepository.findIdsAfter(lastId, PAGE_SIZE)).isEmpty()) {
+				total.merge(pool.invoke(new Verify(ids)));
+				lastId = ids.get(ids.size() - 1);
+				System.out.println("... 계좌 " + total.checked + "개 검사 (마지막 id " + lastId + ")");
+			}
+		} finally {
+			pool.shutdown();
+		}
+		total.watermark = -1;
+		return total;
+	}
+
+	/** afterTransactionId 이후 거래가 있는 계좌만 - 결과의 watermark를 다음 실행의 afterTransactionId로 */
+	public Report reconcileSince(long afterTransactionId) {
+		long upTo = reconciliation.findMaxTransactionId();
+		Report report = reconcile(reconciliation.findAccountIdsTouched(afterTransactionId, upTo));
+		report.watermark = Math.max(upTo, afterTransactionId);
+		return report;
+	}
+
+	/** 지정한 계좌들 (없는 계좌는 건너뜀) */
+	public Report reconcile(List<Long> accountIds) {
+		requireOpeningBalances();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new Verify(new ArrayList<>(accountIds)));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/** 계좌 id 목록을 반씩 나눠 LEAF_SIZE개 이하가 되면 검사 */
+	private final class Verify extends RecursiveTask<Report> {
+		private final List<Long> ids;
+
+		Verify(List<Long> ids) {
+			this.ids = ids;
+		}
+
+		@Override
+		protected Report compute() {
+			if (ids.size() <= LEAF_SIZE) return verify(ids);
+			int mid = ids.size() / 2;
+			Verify right = new Verify(ids.subList(mid, ids.size()));
+			right.fork();
+			Report left = new Verify(ids.subList(0, mid)).compute();
+			return left.merge(right.join());
+		}
+	}
+
+	private Report verify(List<Long> ids) {
+		Report report = new Report();
+		List<BalanceCheck> checks = TxTemplate.execute("잔액 대사 조회 오류",
+				conn -> reconciliation.findBalanceChecks(ids, conn));
+		for (BalanceCheck c : checks) {
+			if (!c.hasOpeningBalance()) {
+				report.unbackfilled++;
+				continue;
+			}
+			report.checked++;
+			if (c.drift() != 0) confirm(c.accountId, report);
+		}
+		return report;
+	}
+
+	/** 계좌를 잠그고 다시 확인 - 여전히 어긋나면 보고(복구 모드면 고침) */
+	private void confirm(long accountId, Report report) {
+		BalanceCheck drift = TxTemplate.execute("잔액 대사 확인 오류", conn -> {
+			if (accountRepository.findByIdForUpdate(accountId, conn).isEmpty()) return null;
+			BalanceCheck c = reconciliation.findBalanceChecks(List.of(accountId), conn).get(0);
+			if (c.drift() == 0) return null;
+			if (repair && c.expectedBalance() >= 0) {
+				accountRepository.updateBalance(accountId, c.expectedBalance(), conn);
+				dailyBalanceRepository.rebuild(accountId, conn);
+			}
+			return c;
+		});
+		if (drift == null) return;
+		report.drifts.add(drift);
+		if (!repair) return;
+		if (drift.expectedBalance() < 0) {
+			report.unrepairable++;
+		} else {
+			report.repaired++;
+			accessCache.invalidateAccount(accountId);
+			BalanceEngine.reloadIfRunning();
+		}
+	}
+
+	/** 대사 결과 - drifts는 잠그고 다시 확인한 불일치만 */
+	public static final class Report {
+		public long checked;
+		public final List<BalanceCheck> drifts = new ArrayList<>();
+		public long repaired;
+		public long unrepairable;
+		/** 개설 입금액 백필 전이라 건너뛴 계좌 */
+		public long unbackfilled;
+		/** 증분 대사의 다음 워터마크(거래 id), 전체/지정 대사는 -1 */
+		public long watermark = -1;
+
+		Report merge(Report other) {
+			checked += other.checked;
+			drifts.addAll(other.drifts);
+			repaired += other.repaired;
+			unrepairable += other.unrepairable;
+			unbackfilled += other.unbackfilled;
+			return this;
+		}
+	}
+}
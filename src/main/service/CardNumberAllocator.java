@@ -0,0 +1,57 @@
+package main.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import main.repository.Repositories;
+import main.util.CheckDigit;
+
+/**
+ * 카드번호 발급기 - "XXXX-XXXX-XXXX-XXXX" (16자리)
+ * - 발급사 식별번호 6자리(CARD_NO_IIN) + 일련번호 9자리 + Luhn 체크 디지트 1자리
+ * - 일련번호는 number_sequence('card_number')에서 CARD_NO_BLOCK_SIZE개씩 예약 → 발급분끼리 중복 없음
+ */
+public class CardNumberAllocator {
+
+	private static final long MAX_SERIAL = 999_999_999L;
+
+	private static final CardNumberAllocator INSTANCE = new CardNumberAllocator(
+			System.getenv().getOrDefault("CARD_NO_IIN", "940915"),
+			new SequenceBlock(Repositories.sequences(), "card_number", SequenceBlock.envInt("CARD_NO_BLOCK_SIZE", 100)));
+
+	private final String iin;
+	private final SequenceBlock sequence;
+
+	CardNumberAllocator(String iin, SequenceBlock sequence) {
+		if (iin == null || !iin.matches("\\d{6}")) {
+			throw new IllegalArgumentException("CARD_NO_IIN은 숫자 6자리여야 합니다.");
+		}
+		this.iin = iin;
+		this.sequence = sequence;
+	}
+
+	public static CardNumberAllocator getInstance() {
+		return INSTANCE;
+	}
+
+	public String next() {
+		return format(sequence.next());
+	}
+
+	/** 일괄 발급용 - count개를 한 번에 (필요한 만큼만 블록 추가 예약) */
+	public List<String> next(int count) {
+		List<String> numbers = new ArrayList<>(count);
+		for (long serial : sequence.next(count)) numbers.add(format(serial));
+		return numbers;
+	}
+
+	String format(long serial) {
+		if (serial > MAX_SERIAL) {
+			throw new IllegalStateException("발급 가능한 카드번호가 소진되었습니다.");
+		}
+		String digits = iin + String.format("%09d", serial);
+		digits += CheckDigit.luhn(digits);
+		return digits.substring(0, 4) + "-" + digits.substring(4, 8) + "-" + digits.substring(8, 12) + "-"
+				+ digits.substring(12);
+	}
+}
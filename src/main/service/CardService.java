@@ -1,20 +1,44 @@
 package main.service;
 
-import main.db.DbUtil;
+import main.db.TxTemplate;
 import main.domain.Card;
 import main.enums.CardStatus;
 import main.repository.CardRepository;
+import main.repository.Repositories;
 
-import java.sql.Connection;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 public class CardService {
 
-    private final CardRepository cardRepository = new CardRepository();
+    private final CardRepository cardRepository = Repositories.cards();
+    private final CardNumberAllocator numberAllocator = CardNumberAllocator.getInstance();
 
-    /** 카드 등록 (maskedNo 중복 체크) */
+    /** 일괄 발급 최대 수량(한 트랜잭션) */
+    public static final int MAX_BULK_ISSUE = 1000;
+
+    /** 카드 발급 - 발급기 번호는 중복이 없으므로 사전 조회/재시도 없이 바로 저장 */
+    public Card issue(long accountId, String brand) {
+        Card toSave = Card.issue(0L, accountId, numberAllocator.next(), brand);
+        return cardRepository.save(toSave);
+    }
+
+    /** 카드 일괄 발급 (모임 통장 등) - 번호는 메모리에서 할당, INSERT는 배치 1회 + 커밋 1회 */
+    public List<Card> issueBulk(long accountId, String brand, int count) {
+        if (count <= 0 || count > MAX_BULK_ISSUE) {
+            throw new IllegalArgumentException("발급 수량은 1~" + MAX_BULK_ISSUE + "장이어야 합니다.");
+        }
+        List<Card> toSave = new ArrayList<>(count);
+        for (String maskedNo : numberAllocator.next(count)) {
+            toSave.add(Card.issue(0L, accountId, maskedNo, brand));
+        }
+
+        return TxTemplate.execute(null, conn -> cardRepository.saveAll(toSave, conn));
+    }
+
+    /** 카드 등록 - 외부에서 받은 번호 (maskedNo 중복 체크, uq_card_masked_no 인덱스 조회) */
     public Card register(long accountId, String maskedNo, String brand) {
         cardRepository.findByMaskedNo(maskedNo).ifPresent(c -> {
             throw new IllegalArgumentException("동일 마스킹번호의 카드가 이미 등록되었습니다.");
@@ -24,6 +48,10 @@ public class CardService {
         return cardRepository.save(toSave);
     }
 
+    public Optional<Card> findById(long cardId) {
+        return cardRepository.findById(cardId);
+    }
+
     /** 계좌별 카드 목록 */
     public List<Card> listByAccount(long accountId) {
         return cardRepository.findByAccountId(accountId);
@@ -47,27 +75,12 @@ public class CardService {
     // CardService.java (교체: delete)
 
     public void delete(long cardId) {
-        Connection conn = null;
-        try {
-            conn = DbUtil.getConnection();
-            conn.setAutoCommit(false);
-
+        TxTemplate.run(null, conn -> {
             if (cardRepository.existsTransactionByCardId(cardId, conn)) {
                 throw new IllegalStateException("연결된 거래가 있어 카드를 삭제할 수 없습니다.");
             }
             cardRepository.deleteById(cardId, conn);
-
-            conn.commit();
-        } catch (Exception e) {
-            if (conn != null) try { conn.rollback(); } catch (
-                    SQLException ignore) {}
-            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
-        } finally {
-            if (conn != null) {
-                try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-                try { conn.close(); } catch (SQLException ignore) {}
-            }
-        }
+        });
     }
 
 
@@ -1,26 +1,26 @@
 package main.service;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
-import main.db.DbUtil;
+import main.db.TxTemplate;
 import main.domain.GroupMember;
 import main.domain.User;
 import main.dto.GroupMemberDto;
 import main.enums.MemberRole;
 import main.repository.GroupRepository;
+import main.repository.Repositories;
 import main.repository.UserRepository;
 
 public class GroupService {
 
-	private final GroupRepository groupRepository = new GroupRepository();
-	private final UserRepository userRepository = new UserRepository(); // 이메일로 사용자 찾기 위해 필요
+	private final GroupRepository groupRepository = Repositories.groups();
+	private final UserRepository userRepository = Repositories.users(); // 이메일로 사용자 찾기 위해 필요
+	private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
 
 	public void addInitialOwner(long accountId, long userId) {
 		GroupMember owner = GroupMember.join(0, accountId, userId, MemberRole.OWNER);
 		groupRepository.save(owner);
+		accessCache.invalidateUser(userId);
 	}
 
 	public List<GroupMember> findMembersByAccountId(long accountId) {
@@ -28,11 +28,7 @@ public class GroupService {
 	}
 
 	public void addMember(long accountId, long actionUserId, String memberEmail) {
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
+		long addedUserId = TxTemplate.execute(null, conn -> {
 			var requester = groupRepository.findByAccountIdAndUserId(accountId, actionUserId, conn)
 					.orElseThrow(() -> new SecurityException("작업을 요청한 사용자가 멤버가 아닙니다."));
 			if (!requester.isOwner()) throw new SecurityException("OWNER만 수행할 수 있는 작업입니다.");
@@ -46,26 +42,13 @@ public class GroupService {
 
 			GroupMember newMember = GroupMember.join(0, accountId, userToAdd.getId(), MemberRole.MEMBER);
 			groupRepository.save(newMember, conn);
-
-			conn.commit();
-		} catch (Exception e) {
-			if (conn != null) try { conn.rollback(); } catch (
-					SQLException ignore) {}
-			throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
-		} finally {
-			if (conn != null) {
-				try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-				try { conn.close(); } catch (SQLException ignore) {}
-			}
-		}
+			return userToAdd.getId();
+		});
+		accessCache.invalidateUser(addedUserId);
 	}
 
 	public void changeMemberRole(long accountId, long actionUserId, String targetUserEmail, String newRoleStr) {
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
+		TxTemplate.run(null, conn -> {
 			var requester = groupRepository.findByAccountIdAndUserId(accountId, actionUserId, conn)
 					.orElseThrow(() -> new SecurityException("작업을 요청한 사용자가 멤버가 아닙니다."));
 			if (!requester.isOwner()) throw new SecurityException("OWNER만 수행할 수 있는 작업입니다.");
@@ -91,26 +74,12 @@ public class GroupService {
 			}
 
 			groupRepository.updateRole(memberToChange.getId(), newRole, conn);
-
-			conn.commit();
-		} catch (Exception e) {
-			if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
-			throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
-		} finally {
-			if (conn != null) {
-				try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-				try { conn.close(); } catch (SQLException ignore) {}
-			}
-		}
+		});
 	}
 
 
 	public void removeMember(long accountId, long actionUserId, String targetUserEmail) {
-		Connection conn = null;
-		try {
-			conn = DbUtil.getConnection();
-			conn.setAutoCommit(false);
-
+		long removedUserId = TxTemplate.execute(null, conn -> {
 			var requester = groupRepository.findByAccountIdAndUserId(accountId, actionUserId, conn)
 					.orElseThrow(() -> new SecurityException("작업을 요청한 사용자가 멤버가 아닙니다."));
 			if (!requester.isOwner()) throw new SecurityException("OWNER만 수행할 수 있는 작업입니다.");
@@ -126,17 +95,9 @@ public class GroupService {
 			}
 
 			groupRepository.delete(memberToRemove.getId(), conn);
-
-			conn.commit();
-		} catch (Exception e) {
-			if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
-			throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
-		} finally {
-			if (conn != null) {
-				try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-				try { conn.close(); } catch (SQLException ignore) {}
-			}
-		}
+			return targetUser.getId();
+		});
+		accessCache.invalidateUser(removedUserId);
 	}
 
 	public List<GroupMember> getGroupMembers(long accountId) {
@@ -144,17 +105,7 @@ public class GroupService {
 	}
 
 	public List<GroupMemberDto> findMemberInfoByAccountId(long accountId) {
-		List<GroupMember> members = groupRepository.findByAccountId(accountId);
-		List<GroupMemberDto> memberInfos = new ArrayList<>();
-
-		for (GroupMember member : members) {
-			User user = userRepository.findById(member.getUserId())
-					.orElse(User.register(member.getUserId(), "(알 수 없는 사용자)", "N/A", null)); // 사용자를 못찾을 경우를 대비한 기본값
-
-			GroupMemberDto dto = new GroupMemberDto(user.getId(), user.getName(), user.getEmail(), member.getRole());
-			memberInfos.add(dto);
-		}
-		return memberInfos;
+		return groupRepository.findMemberInfoByAccountId(accountId);
 	}
 
 	private void checkOwnerPermission(long accountId, long userId) {
@@ -0,0 +1,56 @@
+package main.service;
+
+import java.time.LocalDateTime;
+
+import main.repository.IdempotencyRepository;
+import main.repository.Repositories;
+
+/**
+ * 만료된 멱등키 삭제 - created_at이 보관 기간(IDEMPOTENCY_RETENTION_HOURS, 기본 72시간)보다 오래된 idempotency_key 행
+ * - BATCH_SIZE건씩 짧은 DELETE를 반복(idx_idempotency_created 범위) → 운영 중 실행해도 거래의 키 INSERT를 오래 막지 않음
+ * - 보관 기간이 지난 키로 다시 보낸 요청은 새 요청으로 반영되므로, 클라이언트 재시도 기간보다 넉넉하게
+ * - 실행: java -cp "out:lib/*" main.service.IdempotencyKeyPurge [보관 시간] (cron 등으로 주기 실행)
+ */
+public class IdempotencyKeyPurge {
+
+	private static final int BATCH_SIZE = 1_000;
+
+	private final IdempotencyRepository idempotencyRepository = Repositories.idempotencyKeys();
+
+	public static void main(String[] args) {
+		long hours;
+		try {
+			hours = Long.parseLong(args.length > 0 ? args[0]
+					: System.getenv().getOrDefault("IDEMPOTENCY_RETENTION_HOURS", "72"));
+		} catch (NumberFormatException e) {
+			hours = 0;
+		}
+		if (hours <= 0) {
+			System.err.println("사용법: IdempotencyKeyPurge [보관 시간(1 이상)]");
+			System.exit(2);
+			return;
+		}
+
+		long started = System.nanoTime();
+		long deleted;
+		try {
+			deleted = new IdempotencyKeyPurge().purgeOlderThan(LocalDateTime.now().minusHours(hours));
+		} catch (RuntimeException e) {
+			System.err.println("❌ 멱등키 삭제 실패: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		System.out.printf("✅ %d시간 지난 멱등키 %d건 삭제 (%.1f초)%n", hours, deleted, (System.nanoTime() - started) / 1e9);
+	}
+
+	/** cutoff 이전에 만든 키를 모두 삭제 - 삭제한 건수 */
+	public long purgeOlderThan(LocalDateTime cutoff) {
+		long total = 0;
+		int deleted;
+		do {
+			deleted = idempotencyRepository.deleteCreatedBefore(cutoff, BATCH_SIZE);
+			total += deleted;
+		} while (deleted == BATCH_SIZE);
+		return total;
+	}
+}
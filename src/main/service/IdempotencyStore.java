@@ -0,0 +1,162 @@
+package main.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import main.domain.IdempotencyRecord;
+import main.enums.ExpenseOutcome;
+import main.repository.Repositories;
+
+/**
+ * 멱등키 처리 - 클라이언트가 재시도해도 같은 요청이 두 번 반영되지 않게 함
+ * - 키는 (사용자, 키) 단위로 거래와 같은 트랜잭션에서 idempotency_key에 저장(claim) → 커밋 후 캐시에 등록(remember)
+ * - 재요청 판정: 캐시(최대 IDEMPOTENCY_CACHE_MAX건, LRU) → 없으면 PK 조회 1회 - 계좌 잠금/쓰기 없음
+ * - 같은 키로 내용(request)이 다른 요청이 오면 IllegalStateException - 내용은 종류/계좌/금액 + 메모·발생 시각 해시
+ * - 보관 기간이 지난 키는 IdempotencyKeyPurge가 삭제 → 그 뒤의 같은 키 재요청은 새 요청으로 반영됨
+ */
+public class IdempotencyStore {
+
+	private static final IdempotencyStore INSTANCE = new IdempotencyStore(
+			(int) envLong("IDEMPOTENCY_CACHE_MAX", 10_000));
+
+	private final int maxEntries;
+	// 접근 순서 유지(LRU) - 모든 접근은 this 동기화
+	private final LinkedHashMap<String, IdempotencyRecord> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+	public IdempotencyStore(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public static IdempotencyStore getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 반영 시 저장할 기록 - key가 null이면 멱등 처리하지 않음(null 반환)
+	 * request: 종류/계좌/금액 요약, memo·occurredAt(nullable)은 길이 제한(request 255자) 때문에 해시로 덧붙임
+	 */
+	public static IdempotencyRecord newRecord(long userId, String key, String request, String memo,
+			LocalDateTime occurredAt) {
+		if (key == null) return null;
+		String k = key.trim();
+		if (k.isEmpty() || k.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("멱등키는 1~" + IdempotencyRecord.MAX_KEY_LENGTH + "자여야 합니다.");
+		}
+		return IdempotencyRecord.applied(userId, k, request + " #" + digest(memo, occurredAt));
+	}
+
+	/** 이미 반영된 요청이면 true (idem이 null이면 false) */
+	public boolean isReplay(IdempotencyRecord idem) {
+		return idem != null && findDone(idem) != null;
+	}
+
+	/** 호출부 트랜잭션 안에서 키 저장 - 같은 키가 이미 있으면 false(호출부는 롤백 후 replay) */
+	public boolean claim(IdempotencyRecord idem, Connection conn) throws SQLException {
+		if (idem == null) return true;
+		try {
+			Repositories.idempotencyKeys().insert(idem, conn);
+			return true;
+		} catch (SQLException e) {
+			if (isDuplicate(e)) return false;
+			throw e;
+		}
+	}
+
+	/** 커밋 후 호출 - 이후 재요청은 캐시에서 응답 */
+	public synchronized void remember(IdempotencyRecord idem) {
+		if (idem == null) return;
+		cache.put(cacheKey(idem), idem);
+		Iterator<String> it = cache.keySet().iterator();
+		while (cache.size() > maxEntries && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	/** 키 중복으로 저장에 실패한 요청 - 먼저 반영된 요청의 결과를 돌려줌(아직 진행 중이면 예외) */
+	public ExpenseOutcome replay(IdempotencyRecord idem) {
+		IdempotencyRecord done = findDone(idem);
+		if (done == null) throw new IllegalStateException("같은 멱등키의 요청이 처리 중입니다. 잠시 후 다시 시도하세요.");
+		return done.getOutcome();
+	}
+
+	/** 비동기 처리 결과 - 실패 원인이 키 중복이면 먼저 반영된 결과로 완료 */
+	public CompletableFuture<ExpenseOutcome> replayOnDuplicate(CompletableFuture<ExpenseOutcome> future,
+			IdempotencyRecord idem) {
+		if (idem == null) return future;
+		return future.handle((outcome, e) -> {
+			if (e == null) return outcome;
+			Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+			if (!isDuplicate(cause)) throw (e instanceof CompletionException ce) ? ce : new CompletionException(e);
+			return replay(idem);
+		});
+	}
+
+	/** 예외(원인 포함)가 idempotency_key의 중복 키 오류인지 */
+	public static boolean isDuplicate(Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof SQLException s && s.getErrorCode() == 1062 && String.valueOf(s.getMessage())
+					.contains("idempotency_key")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	// ────────────── 내부 ──────────────
+
+	/** 캐시 → DB 순으로 같은 키의 반영 기록 조회 - 요청 내용이 다르면 예외 */
+	private IdempotencyRecord findDone(IdempotencyRecord idem) {
+		IdempotencyRecord done;
+		synchronized (this) {
+			done = cache.get(cacheKey(idem));
+		}
+		if (done == null) {
+			done = Repositories.idempotencyKeys().find(idem.getUserId(), idem.getKey()).orElse(null);
+			if (done == null) return null;
+			remember(done);
+		}
+		if (!done.getRequest().equals(idem.getRequest())) {
+			throw new IllegalStateException("같은 멱등키로 다른 요청이 이미 처리되었습니다.");
+		}
+		return done;
+	}
+
+	/** 메모·발생 시각의 SHA-256 앞 8바이트(hex) - null은 빈 값과 구분 */
+	private static String digest(String memo, LocalDateTime occurredAt) {
+		String text = (memo == null ? "\0" : memo) + "\n" + (occurredAt == null ? "\0" : occurredAt.toString());
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash, 0, 8);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String cacheKey(IdempotencyRecord r) {
+		return r.getUserId() + ":" + r.getKey();
+	}
+
+	private static long envLong(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+}
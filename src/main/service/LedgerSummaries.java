@@ -0,0 +1,57 @@
+package main.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import main.domain.MonthlyRollup;
+import main.domain.Transaction;
+import main.enums.TransactionKind;
+import main.repository.DailyBalanceRepository;
+import main.repository.MonthlyRollupRepository;
+import main.repository.Repositories;
+
+/**
+ * 거래 커밋 직전에 원장 요약 테이블 갱신 - 일별 잔액 스냅샷(daily_balance), 월별 집계(monthly_rollup)
+ * - 계좌 잔액 UPDATE와 원장 INSERT를 마친 뒤, 같은 트랜잭션(계좌 행 잠금 보유 중)에서 호출
+ * - 여러 행은 (계좌, 발생일) / 집계 키별로 합쳐 한 번씩 반영
+ * - 비용: 잠금 보유 구간에 계좌·날짜마다 문장 2개(이후 날짜 스냅샷 UPDATE, 그날 행 INSERT ... SELECT)와 월별 집계 upsert 1개가 더해짐
+ *   → 단건 입금은 잠금 중 문장이 3개(잠금 SELECT, 원장 INSERT, 잔액 UPDATE)에서 6개로, 같은 계좌 거래의 처리량 상한은 DB 왕복 수에 비례해 낮아짐
+ *   / ServiceBenchmark --memory(계좌 100, 1스레드, 8초, 요약 켬/끔 번갈아 두 번씩)에서는 addIncomeOther 13.0만·16.2만 vs 13.4만·14.0만 ops/s,
+ *   transfer 3.6만·1.7만 vs 3.2만·2.2만 ops/s로 실행 간 편차 안 → 자바 쪽 계산 비용은 무시할 수준이고 비용은 위 DB 왕복에서 나옴
+ * - 커밋 뒤로 미루지 않는 이유: 스냅샷 생성 값(현재 잔액 - 이후 거래)이 같은 잠금 안에서 읽어야 맞음(balanceAt이 이 값을 그대로 씀)
+ */
+final class LedgerSummaries {
+
+	private final DailyBalanceRepository dailyBalances = Repositories.dailyBalances();
+	private final MonthlyRollupRepository monthlyRollups = Repositories.monthlyRollups();
+
+	void record(Transaction row, Connection conn) throws SQLException {
+		long signed = (row.getKind() == TransactionKind.IN) ? row.getAmount() : -row.getAmount();
+		dailyBalances.applyDelta(row.getAccountId(), row.getOccurredAt().toLocalDate(), signed, conn);
+		monthlyRollups.add(List.of(MonthlyRollup.of(row)), conn);
+	}
+
+	void record(List<Transaction> rows, Connection conn) throws SQLException {
+		if (rows.isEmpty()) return;
+		Map<Long, Map<LocalDate, Long>> deltas = new TreeMap<>();
+		Map<MonthlyRollup, MonthlyRollup> rollups = new TreeMap<>(MonthlyRollup.KEY_ORDER);
+		for (Transaction t : rows) {
+			long signed = (t.getKind() == TransactionKind.IN) ? t.getAmount() : -t.getAmount();
+			deltas.computeIfAbsent(t.getAccountId(), k -> new TreeMap<>())
+					.merge(t.getOccurredAt().toLocalDate(), signed, Long::sum);
+			MonthlyRollup r = MonthlyRollup.of(t);
+			rollups.merge(r, r, MonthlyRollup::plus);
+		}
+		for (Map.Entry<Long, Map<LocalDate, Long>> account : deltas.entrySet()) {
+			for (Map.Entry<LocalDate, Long> day : account.getValue().entrySet()) {
+				if (day.getValue() != 0) dailyBalances.applyDelta(account.getKey(), day.getKey(), day.getValue(), conn);
+			}
+		}
+		monthlyRollups.add(new ArrayList<>(rollups.values()), conn);
+	}
+}
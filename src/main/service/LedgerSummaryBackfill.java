@@ -0,0 +1,64 @@
+package main.service;
+
+import java.util.List;
+
+import main.db.TxTemplate;
+import main.repository.AccountRepository;
+import main.repository.DailyBalanceRepository;
+import main.repository.MonthlyRollupRepository;
+import main.repository.Repositories;
+
+/**
+ * 원장 요약 백필 - 기존 원장으로 일별 잔액 스냅샷(daily_balance)과 월별 집계(monthly_rollup)를 다시 계산
+ * - 계좌마다 짧은 트랜잭션 1개: 계좌 행 잠금 → 요약 삭제 후 재계산 → 커밋 (운영 중 실행해도 그 계좌 거래만 잠깐 대기)
+ * - 요약 테이블 도입 전 원장, 서비스를 거치지 않고 넣은 거래(벤치마크 시드 등)를 반영할 때 사용
+ * - 실행: java -cp "out:lib/*" main.service.LedgerSummaryBackfill [accountId ...] (생략하면 전체 계좌)
+ */
+public class LedgerSummaryBackfill {
+
+	private static final int PAGE_SIZE = 500;
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final DailyBalanceRepository dailyBalanceRepository = Repositories.dailyBalances();
+	private final MonthlyRollupRepository monthlyRollupRepository = Repositories.monthlyRollups();
+
+	public static void main(String[] args) {
+		LedgerSummaryBackfill backfill = new LedgerSummaryBackfill();
+		long started = System.nanoTime();
+		long accounts = 0;
+		long rows = 0;
+		try {
+			if (args.length == 0) {
+				long lastId = 0;
+				List<Long> ids;
+				while (!(ids = backfill.accountRepository.findIdsAfter(lastId, PAGE_SIZE)).isEmpty()) {
+					for (long id : ids) rows += backfill.rebuild(id);
+					accounts += ids.size();
+					lastId = ids.get(ids.size() - 1);
+					System.out.println("... 계좌 " + accounts + "개 처리 (마지막 id " + lastId + ")");
+				}
+			} else {
+				for (String arg : args) {
+					rows += backfill.rebuild(Long.parseLong(arg));
+					accounts++;
+				}
+			}
+		} catch (RuntimeException e) {
+			System.err.println("❌ 백필 실패: " + e.getMessage());
+			System.exit(1);
+		}
+		System.out.printf("✅ 계좌 %d개, 요약 %d건 재계산 (%.1f초)%n", accounts, rows,
+				(System.nanoTime() - started) / 1e9);
+	}
+
+	/** 계좌 하나의 스냅샷·월별 집계 재계산 - 저장한 행 수 합계 (계좌가 없으면 0) */
+	public int rebuild(long accountId) {
+		return TxTemplate.execute("원장 요약 백필 오류", conn -> {
+			// 재계산 중 거래가 끼어들지 않게 계좌 잠금(거래 반영 경로도 모두 계좌 행을 먼저 잠금)
+			if (accountRepository.findByIdForUpdate(accountId, conn).isEmpty()) return 0;
+			int rows = dailyBalanceRepository.rebuild(accountId, conn);
+			rows += monthlyRollupRepository.rebuild(accountId, conn);
+			return rows;
+		});
+	}
+}
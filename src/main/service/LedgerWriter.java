@@ -0,0 +1,255 @@
+package main.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import main.db.TxTemplate;
+import main.domain.Account;
+import main.domain.IdempotencyRecord;
+import main.domain.Transaction;
+import main.enums.ExpenseOutcome;
+import main.repository.AccountRepository;
+import main.repository.IdempotencyRepository;
+import main.repository.Repositories;
+import main.repository.TransactionRepository;
+
+/**
+ * 카드 지출 그룹 커밋 기록기 (opt-in: LEDGER_GROUP_COMMIT=true)
+ * - 요청을 계좌별 큐에 모았다가 N ms마다 또는 M건이 차면 한 트랜잭션으로 반영
+ * - 계좌 잠금 1회 → 건별 잔액 판정(도착 순서) → 원장 배치 INSERT → 합계 차감 1회 → 일별 잔액 스냅샷 → 멱등키 INSERT
+ *   → 커밋 1회
+ * - 각 요청의 Future는 건별 결과(APPLIED / INSUFFICIENT_FUNDS)로 완료
+ * - DB 오류 시 여러 건이면 한 건씩 다시 반영(멱등키 중복 등 한 건의 오류가 배치 전체를 실패시키지 않게), 그래도 실패하면 예외로 완료
+ * - 비워진 계좌 큐는 flush 뒤 제거(적재와 제거 모두 queues.compute 안에서 → 제거된 큐에 요청이 남지 않음)
+ * - shutdown 이후 적재는 IllegalStateException으로 완료
+ */
+public class LedgerWriter {
+
+	private static final long DRAIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static volatile LedgerWriter instance;
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final TransactionRepository txRepository = Repositories.transactions();
+	private final IdempotencyRepository idempotencyRepository = Repositories.idempotencyKeys();
+	private final LedgerSummaries summaries = new LedgerSummaries();
+
+	private final long flushIntervalMs;
+	private final int maxBatch;
+	private final Map<Long, AccountQueue> queues = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher;
+	private volatile boolean closed;
+	private volatile boolean terminated; // 마지막 반영까지 끝남 - 그 뒤에 들어온 요청은 스스로 꺼내 실패 처리
+
+	public LedgerWriter(long flushIntervalMs, int maxBatch, int threads) {
+		this.flushIntervalMs = flushIntervalMs;
+		this.maxBatch = maxBatch;
+		AtomicInteger seq = new AtomicInteger();
+		this.flusher = Executors.newScheduledThreadPool(threads, r -> {
+			Thread t = new Thread(r, "ledger-writer-" + seq.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	/** 환경변수로 켜진 경우에만 공용 인스턴스 생성 */
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getenv().getOrDefault("LEDGER_GROUP_COMMIT", "false"));
+	}
+
+	public static LedgerWriter getInstance() {
+		LedgerWriter w = instance;
+		if (w == null) {
+			synchronized (LedgerWriter.class) {
+				w = instance;
+				if (w == null) {
+					w = new LedgerWriter(envLong("LEDGER_FLUSH_INTERVAL_MS", 5), (int) envLong("LEDGER_MAX_BATCH", 100),
+							(int) envLong("LEDGER_FLUSH_THREADS", 2));
+					instance = w;
+				}
+			}
+		}
+		return w;
+	}
+
+	/**
+	 * 카드 지출 요청 적재 - 카드 검증은 호출부(TransactionService)에서 끝난 상태
+	 * idem: 반영될 때 같은 트랜잭션으로 저장할 멱등키(nullable)
+	 */
+	public CompletableFuture<ExpenseOutcome> submit(long accountId, long cardId, long amount, String memo,
+			LocalDateTime occurredAt, long createdByUserId, IdempotencyRecord idem) {
+		Request req = new Request(Transaction.expenseCard(0, accountId, amount, memo,
+				occurredAt == null ? LocalDateTime.now() : occurredAt, cardId, createdByUserId), idem);
+		if (closed) return rejected(req);
+		AccountQueue q = queues.compute(accountId, (id, cur) -> {
+			if (cur == null) cur = new AccountQueue();
+			cur.items.add(req);
+			cur.size.incrementAndGet();
+			return cur;
+		});
+		// 마지막 반영이 끝난 뒤에 들어왔으면 아무도 꺼내지 않음
+		if (terminated && q.items.remove(req)) {
+			q.size.decrementAndGet();
+			return rejected(req);
+		}
+		if (q.size.get() >= maxBatch) schedule(accountId, q);
+		return req.future;
+	}
+
+	/** 남은 요청을 모두 반영하고 종료 */
+	public void shutdown() {
+		closed = true;
+		flusher.shutdown();
+		boolean interrupted = false;
+		try {
+			flusher.awaitTermination(flushIntervalMs * 10 + 1000, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			interrupted = true; // drain의 대기가 바로 깨지지 않도록 끝난 뒤 복원
+		}
+		drain();
+		terminated = true;
+		drain(); // closed를 보기 전에 적재된 요청
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	/** 대기 시간 안에 끝나지 않은 flush가 큐를 잡고 있으면 그 flush가 끝날 때까지 잠깐씩 쉬며 기다림 */
+	private void drain() {
+		queues.forEach((accountId, q) -> {
+			while (q.size.get() > 0) {
+				if (!flush(accountId, q)) LockSupport.parkNanos(DRAIN_BACKOFF_NANOS);
+			}
+		});
+	}
+
+	private CompletableFuture<ExpenseOutcome> rejected(Request req) {
+		req.future.completeExceptionally(new IllegalStateException("카드 지출 기록기가 종료되었습니다."));
+		return req.future;
+	}
+
+	/** 이미 종료 중이면 남은 요청은 shutdown이 반영 */
+	private void schedule(long accountId, AccountQueue q) {
+		try {
+			flusher.execute(() -> flush(accountId, q));
+		} catch (RejectedExecutionException e) {
+			// shutdown의 drain이 처리
+		}
+	}
+
+	private void flushAll() {
+		queues.forEach((accountId, q) -> {
+			if (q.size.get() > 0) flush(accountId, q);
+		});
+	}
+
+	/** 계좌 1개 큐에서 최대 maxBatch건을 꺼내 한 트랜잭션으로 반영 (계좌별 동시 flush 1개) - 다른 flush가 진행 중이면 false */
+	private boolean flush(long accountId, AccountQueue q) {
+		if (!q.flushing.compareAndSet(false, true)) return false;
+		try {
+			List<Request> batch = new ArrayList<>(Math.min(q.size.get(), maxBatch));
+			Request r;
+			while (batch.size() < maxBatch && (r = q.items.poll()) != null) {
+				batch.add(r);
+			}
+			q.size.addAndGet(-batch.size());
+			if (!batch.isEmpty()) commitBatch(accountId, batch);
+		} finally {
+			q.flushing.set(false);
+		}
+		if (q.size.get() >= maxBatch) {
+			if (!closed) schedule(accountId, q);
+		} else if (q.size.get() == 0) {
+			queues.computeIfPresent(accountId, (id, cur) -> cur == q && cur.size.get() == 0 ? null : cur);
+		}
+		return true;
+	}
+
+	private void commitBatch(long accountId, List<Request> batch) {
+		Exception failure = null;
+		try {
+			TxTemplate.run(null, conn -> {
+				// 배치당 잠금 1회
+				Account acc = accountRepository.findByIdForUpdate(accountId, conn)
+						.orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+
+				// 도착 순서대로 잔액 판정 (교착으로 다시 실행되면 잠근 잔액으로 처음부터 다시 판정)
+				long available = acc.getBalance();
+				long sum = 0;
+				List<Transaction> accepted = new ArrayList<>(batch.size());
+				List<IdempotencyRecord> keys = new ArrayList<>();
+				for (Request req : batch) {
+					long amount = req.row.getAmount();
+					if (amount <= available) {
+						available -= amount;
+						sum += amount;
+						req.outcome = ExpenseOutcome.APPLIED;
+						accepted.add(req.row);
+						if (req.idem != null) keys.add(req.idem);
+					} else {
+						req.outcome = ExpenseOutcome.INSUFFICIENT_FUNDS;
+					}
+				}
+
+				txRepository.insertBatch(accepted, conn);
+				if (sum > 0) accountRepository.decreaseBalance(accountId, sum, conn);
+				summaries.record(accepted, conn);
+				idempotencyRepository.insertBatch(keys, conn);
+			});
+			AccountAccessCache.getInstance().invalidateAccount(accountId);
+			for (Request req : batch) {
+				if (req.outcome == ExpenseOutcome.APPLIED && req.idem != null) {
+					IdempotencyStore.getInstance().remember(req.idem);
+				}
+			}
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+		if (failure == null) {
+			for (Request req : batch) req.future.complete(req.outcome);
+		} else if (batch.size() > 1) {
+			for (Request req : batch) commitBatch(accountId, List.of(req)); // 커넥션을 반납한 뒤 한 건씩
+		} else {
+			batch.get(0).future.completeExceptionally(failure);
+		}
+	}
+
+	private static long envLong(String key, long def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Long.parseLong(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+
+	private static class AccountQueue {
+		final ConcurrentLinkedQueue<Request> items = new ConcurrentLinkedQueue<>();
+		final AtomicInteger size = new AtomicInteger();
+		final AtomicBoolean flushing = new AtomicBoolean();
+	}
+
+	private static class Request {
+		final Transaction row;
+		final IdempotencyRecord idem;
+		final CompletableFuture<ExpenseOutcome> future = new CompletableFuture<>();
+		ExpenseOutcome outcome;
+
+		Request(Transaction row, IdempotencyRecord idem) {
+			this.row = row;
+			this.idem = idem;
+		}
+	}
+}
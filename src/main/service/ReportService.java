@@ -0,0 +1,53 @@
+package main.service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import main.dto.MonthlySummaryDto;
+import main.enums.ReportDimension;
+import main.repository.MonthlyRollupRepository;
+import main.repository.Repositories;
+
+/**
+ * 월별 입출금 리포트(모임 총무용) - 수단별 / 카드별 / 입력자별 합계
+ * - 원장을 읽지 않고 거래 커밋 때 누적한 월별 집계(monthly_rollup)만 GROUP BY → 이력이 몇 년이어도 계좌·월 수에만 비례
+ * - 집계 도입 전 원장은 LedgerSummaryBackfill로 채움
+ * - 권한 확인(계좌 접근)은 호출부 책임
+ */
+public class ReportService {
+
+	/** 한 번에 조회할 수 있는 최대 개월 수 */
+	public static final int MAX_MONTHS = 120;
+
+	private final MonthlyRollupRepository rollupRepository = Repositories.monthlyRollups();
+
+	/** 월별 수단(CARD / TRANSFER / OTHER)별 입금/출금 합계 */
+	public List<MonthlySummaryDto> byMethod(long accountId, YearMonth from, YearMonth to) {
+		return monthly(accountId, ReportDimension.METHOD, from, to);
+	}
+
+	/** 월별 카드별 결제 합계(카드 결제만) */
+	public List<MonthlySummaryDto> byCard(long accountId, YearMonth from, YearMonth to) {
+		return monthly(accountId, ReportDimension.CARD, from, to);
+	}
+
+	/** 월별 입력자(created_by_user_id)별 입금/출금 합계 */
+	public List<MonthlySummaryDto> byMember(long accountId, YearMonth from, YearMonth to) {
+		return monthly(accountId, ReportDimension.MEMBER, from, to);
+	}
+
+	/** from ~ to(양끝 포함) 월별 합계 - 거래가 없는 월/값은 행이 없음 */
+	public List<MonthlySummaryDto> monthly(long accountId, ReportDimension by, YearMonth from, YearMonth to) {
+		if (by == null || from == null || to == null) {
+			throw new IllegalArgumentException("리포트 기준과 기간은 필수입니다.");
+		}
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("시작 월이 종료 월보다 늦을 수 없습니다.");
+		}
+		if (ChronoUnit.MONTHS.between(from, to) >= MAX_MONTHS) {
+			throw new IllegalArgumentException("리포트 기간은 최대 " + MAX_MONTHS + "개월입니다.");
+		}
+		return rollupRepository.summarize(accountId, by, from, to);
+	}
+}
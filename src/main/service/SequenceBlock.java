@@ -0,0 +1,50 @@
+package main.service;
+
+import main.repository.SequenceRepository;
+
+/**
+ * number_sequence 한 행에서 blockSize개씩 예약해 메모리에서 순번을 내주는 구간
+ * - DB 왕복은 블록이 바닥날 때 1회, 나머지는 메모리 증가만
+ * - 재시작 시 쓰지 않은 잔여분은 버려짐(순번 공백 허용)
+ */
+class SequenceBlock {
+
+	private final SequenceRepository sequenceRepository;
+	private final String name;
+	private final int blockSize;
+
+	// 현재 블록 [next, limit)
+	private long next;
+	private long limit;
+
+	SequenceBlock(SequenceRepository sequenceRepository, String name, int blockSize) {
+		this.sequenceRepository = sequenceRepository;
+		this.name = name;
+		this.blockSize = Math.max(1, blockSize);
+	}
+
+	synchronized long next() {
+		if (next >= limit) {
+			next = sequenceRepository.reserveBlock(name, blockSize);
+			limit = next + blockSize;
+		}
+		return next++;
+	}
+
+	/** count개를 연속으로 (블록 경계에서만 추가 예약) */
+	synchronized long[] next(int count) {
+		long[] values = new long[count];
+		for (int i = 0; i < count; i++) values[i] = next();
+		return values;
+	}
+
+	static int envInt(String key, int def) {
+		String v = System.getenv(key);
+		if (v == null || v.isBlank()) return def;
+		try {
+			return Integer.parseInt(v.trim());
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+}
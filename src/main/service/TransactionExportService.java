@@ -0,0 +1,154 @@
+package main.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import main.domain.Account;
+import main.dto.TransactionListDto;
+import main.dto.TransactionSearchCondition;
+import main.enums.ExportFormat;
+import main.repository.AccountRepository;
+import main.repository.Repositories;
+import main.repository.TransactionRepository;
+import main.repository.TransactionRepository.RowConsumer;
+
+/**
+ * 거래내역 내보내기(회계 제출용) - 검색과 같은 조건(계좌/기간/금액)의 거래를 gzip 압축 CSV 또는 NDJSON으로 씀
+ * - 저장소 스트리밍 조회 → 버퍼 Writer → gzip → out 으로 한 행씩 흘려보내므로 행 수와 무관하게 메모리 일정
+ * - 계좌를 지정하지 않으면 접근 가능한 계좌를 id 순으로 하나씩 내보냄 (계좌별로 인덱스 순서 그대로 읽어 정렬 없음)
+ * - 행 순서: 계좌 → 발생 시각 → id (오래된 것부터)
+ * - 중간에 실패하면 gzip 끝부분이 쓰이지 않으므로 받은 쪽에서 잘린 파일임을 알 수 있음
+ */
+public class TransactionExportService {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+	private static final String CSV_HEADER = "id,occurred_at,account_number,account_name,kind,method,amount,card_masked_no,memo";
+
+	private final TransactionRepository txRepository = Repositories.transactions();
+	private final AccountRepository accountRepository = Repositories.accounts();
+
+	/** 조건에 맞는 거래를 out에 씀 - 처리 건수 (out은 닫지 않음) */
+	public long export(TransactionSearchCondition cond, ExportFormat format, OutputStream out) throws IOException {
+		validate(cond, format);
+
+		GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+		StringBuilder line = new StringBuilder(256);
+		RowConsumer rows;
+		if (format == ExportFormat.CSV) {
+			writer.write('\uFEFF'); // Excel이 UTF-8로 인식하도록
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+			rows = row -> writeCsv(writer, line, row);
+		} else {
+			rows = row -> writeJson(writer, line, row);
+		}
+
+		long count = 0;
+		if (cond.accountId != null) {
+			count = txRepository.stream(cond, rows);
+		} else {
+			List<Account> accounts = new ArrayList<>(accountRepository.findAllByUserId(cond.userId));
+			accounts.sort(Comparator.comparingLong(Account::getId));
+			for (Account a : accounts) {
+				count += txRepository.stream(new TransactionSearchCondition(cond.userId, a.getId(), cond.from,
+						cond.to, cond.minAmount, cond.maxAmount), rows);
+			}
+		}
+		writer.flush();
+		gzip.finish();
+		return count;
+	}
+
+	/** 내려받을 파일 이름 - transactions-{계좌 id|all}-{오늘}.{확장자}.gz */
+	public static String fileName(TransactionSearchCondition cond, ExportFormat format) {
+		return "transactions-" + (cond.accountId == null ? "all" : cond.accountId) + "-"
+				+ LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + format.extension() + ".gz";
+	}
+
+	/** 스트림을 열기 전에 확인 - 응답 헤더를 보낸 뒤에는 오류 응답을 줄 수 없으므로 */
+	public static void validate(TransactionSearchCondition cond, ExportFormat format) {
+		if (cond == null || format == null) throw new IllegalArgumentException("내보내기 조건과 형식은 필수입니다.");
+		if (cond.from != null && cond.to != null && cond.from.isAfter(cond.to)) {
+			throw new IllegalArgumentException("시작일이 종료일보다 늦을 수 없습니다.");
+		}
+		if (cond.minAmount != null && cond.maxAmount != null && cond.minAmount > cond.maxAmount) {
+			throw new IllegalArgumentException("최소 금액이 최대 금액보다 클 수 없습니다.");
+		}
+	}
+
+	// ────────────── 행 쓰기 ──────────────
+
+	private static void writeCsv(Writer w, StringBuilder sb, TransactionListDto t) throws IOException {
+		sb.setLength(0);
+		sb.append(t.id).append(',').append(CSV_TIME.format(t.occurredAt)).append(',');
+		csvText(sb, t.accountNumber).append(',');
+		csvText(sb, t.accountName).append(',');
+		sb.append(t.kind).append(',').append(t.method).append(',').append(t.amount).append(',');
+		csvText(sb, t.cardMaskedNo).append(',');
+		csvText(sb, t.memo).append('\n');
+		w.append(sb);
+	}
+
+	/** RFC 4180 인용 + 수식으로 해석될 수 있는 값(=,+,-,@ 시작)은 ' 를 붙여 텍스트로 */
+	private static StringBuilder csvText(StringBuilder sb, String v) {
+		if (v == null || v.isEmpty()) return sb;
+		char first = v.charAt(0);
+		boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t'
+				|| first == '\r';
+		boolean quote = formula || v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0
+				|| v.indexOf('\r') >= 0;
+		if (!quote) return sb.append(v);
+		sb.append('"');
+		if (formula) sb.append('\'');
+		for (int i = 0; i < v.length(); i++) {
+			char c = v.charAt(i);
+			if (c == '"') sb.append('"');
+			sb.append(c);
+		}
+		return sb.append('"');
+	}
+
+	private static void writeJson(Writer w, StringBuilder sb, TransactionListDto t) throws IOException {
+		sb.setLength(0);
+		sb.append("{\"id\":").append(t.id).append(",\"occurredAt\":");
+		jsonText(sb, t.occurredAt.toString()).append(",\"accountNumber\":");
+		jsonText(sb, t.accountNumber).append(",\"accountName\":");
+		jsonText(sb, t.accountName).append(",\"kind\":\"").append(t.kind).append("\",\"method\":\"").append(t.method)
+				.append("\",\"amount\":").append(t.amount).append(",\"cardMaskedNo\":");
+		jsonText(sb, t.cardMaskedNo).append(",\"memo\":");
+		jsonText(sb, t.memo).append("}\n");
+		w.append(sb);
+	}
+
+	private static StringBuilder jsonText(StringBuilder sb, String v) {
+		if (v == null) return sb.append("null");
+		sb.append('"');
+		for (int i = 0; i < v.length(); i++) {
+			char c = v.charAt(i);
+			switch (c) {
+				case '"' -> sb.append("\\\"");
+				case '\\' -> sb.append("\\\\");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				case '\t' -> sb.append("\\t");
+				default -> {
+					if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+					else sb.append(c);
+				}
+			}
+		}
+		return sb.append('"');
+	}
+}
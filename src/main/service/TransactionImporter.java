@@ -0,0 +1,480 @@
+package main.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import main.db.TxTemplate;
+import main.domain.Account;
+import main.domain.ImportJob;
+import main.domain.Transaction;
+import main.enums.TransactionKind;
+import main.repository.AccountRepository;
+import main.repository.ImportJobRepository;
+import main.repository.Repositories;
+import main.repository.TransactionRepository;
+
+/**
+ * 거래 일괄 가져오기(이전 장부 이관) - CSV(.csv / .csv.gz)를 스트리밍으로 읽어 청크 단위로 저장
+ * - 헤더 필수, 열은 이름으로 찾음: account_number, kind(IN/OUT), amount, occurred_at 필수 / memo 선택
+ *   (그 밖의 열은 무시 → TransactionExportService의 CSV도 그대로 가져올 수 있음), 저장되는 거래는 모두 수단 OTHER
+ * - 파이프라인: 읽기 스레드(청크로 묶기) → 검증 워커 N개(청크별 병렬) → 현재 스레드가 청크 순서대로 저장
+ * - 청크당 트랜잭션 1개: 계좌별 순증감을 id 순으로 UPDATE(잠금 순서 고정) → 원장 배치 INSERT(rewriteBatchedStatements로 다중행)
+ *   → 일별/월별 요약 → 진행 기록(import_job) / 순감소로 잔액이 음수가 되는 계좌가 있으면 그 청크에서 중단
+ * - 이어 받기: 같은 작업 id로 다시 실행하면 import_job.chunks_committed만큼 청크를 건너뜀
+ *   (진행 기록이 청크와 같은 트랜잭션으로 커밋되므로 중복·누락 없음, 청크 크기는 처음 실행 값을 따름)
+ * - 검증 실패 행은 <파일>.rejects.csv에 (행 번호, 사유, 원본) 추가하고 건너뜀 - 청크 커밋 전에 쓰므로 중단 후 이어 받으면 중복될 수 있음
+ * - 요약 테이블은 소급 행마다 그날 이후 스냅샷을 갱신하므로 발생 시각 순으로 정렬된 파일이 가장 빠름
+ * - 실행: java -cp "out:lib/*" main.service.TransactionImporter <파일> [--job=id] [--chunk=5000] [--workers=N] [--user=입력자 id]
+ */
+public class TransactionImporter {
+
+	public static final int DEFAULT_CHUNK_SIZE = 5000;
+	private static final int MAX_CHUNK_SIZE = 50_000;
+	private static final int MEMO_MAX = 255;
+	private static final long PROGRESS_INTERVAL_NANOS = 2_000_000_000L;
+	private static final long MISSING = -1L;
+	private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss][.SSS][.SS][.S]");
+
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final TransactionRepository txRepository = Repositories.transactions();
+	private final ImportJobRepository importJobs = Repositories.importJobs();
+	private final LedgerSummaries summaries = new LedgerSummaries();
+	private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
+
+	private final int chunkSize;
+	private final int workers;
+	private final Long createdByUserId;
+	private final Map<String, Long> accountIds = new ConcurrentHashMap<>(); // 계좌번호 → id (없으면 MISSING)
+
+	public TransactionImporter(int chunkSize, int workers, Long createdByUserId) {
+		if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+			throw new IllegalArgumentException("청크 크기는 1~" + MAX_CHUNK_SIZE + "이어야 합니다.");
+		}
+		if (workers <= 0) throw new IllegalArgumentException("검증 워커 수는 1 이상이어야 합니다.");
+		if (createdByUserId != null && Repositories.users().findById(createdByUserId).isEmpty()) {
+			throw new IllegalArgumentException("입력자 사용자를 찾을 수 없습니다: " + createdByUserId);
+		}
+		this.chunkSize = chunkSize;
+		this.workers = workers;
+		this.createdByUserId = createdByUserId;
+	}
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.err.println("사용법: TransactionImporter <파일.csv[.gz]> [--job=id] [--chunk=" + DEFAULT_CHUNK_SIZE
+					+ "] [--workers=N] [--user=입력자 id]");
+			System.exit(2);
+		}
+		Path file = Paths.get(args[0]);
+		Map<String, String> opts = new HashMap<>();
+		for (int i = 1; i < args.length; i++) {
+			String a = args[i];
+			int eq = a.indexOf('=');
+			if (!a.startsWith("--") || eq < 0) {
+				System.err.println("옵션은 --key=value 형식이어야 합니다: " + a);
+				System.exit(2);
+			}
+			opts.put(a.substring(2, eq), a.substring(eq + 1));
+		}
+
+		long started = System.nanoTime();
+		ImportJob job;
+		try {
+			TransactionImporter importer = new TransactionImporter(
+					Integer.parseInt(opts.getOrDefault("chunk", String.valueOf(DEFAULT_CHUNK_SIZE))),
+					Integer.parseInt(opts.getOrDefault("workers",
+							String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)))),
+					opts.containsKey("user") ? Long.valueOf(opts.get("user")) : null);
+			job = importer.run(opts.getOrDefault("job", file.getFileName().toString()), file);
+		} catch (IOException | RuntimeException e) {
+			System.err.println("❌ 가져오기 실패: " + e.getMessage());
+			System.err.println("   같은 --job으로 다시 실행하면 마지막으로 커밋한 청크 다음부터 이어서 가져옵니다.");
+			System.exit(1);
+			return;
+		}
+		System.out.printf("✅ 작업 %s 완료 - 거래 %d건 저장, %d건 거절, 청크 %d개 (%.1f초)%n", job.getJobId(),
+				job.getRowsImported(), job.getRowsRejected(), job.getChunksCommitted(),
+				(System.nanoTime() - started) / 1e9);
+	}
+
+	/** 파일 전체를 가져옴(이미 진행한 작업이면 이어서) - 마지막 진행 기록 */
+	public ImportJob run(String jobId, Path file) throws IOException {
+		long size = Files.size(file);
+		ImportJob job = importJobs.findById(jobId).orElse(null);
+		if (job == null) {
+			job = ImportJob.start(jobId, file.toAbsolutePath().toString(), size, chunkSize);
+		} else if (job.isCompleted()) {
+			System.out.println("ℹ️ 작업 " + jobId + "은 이미 완료되었습니다. 다시 가져오려면 다른 --job을 지정하세요.");
+			return job;
+		} else if (job.getSourceSize() != size) {
+			throw new IllegalStateException("작업 " + jobId + "의 원본 파일 크기(" + job.getSourceSize() + ")와 "
+					+ file + "의 크기(" + size + ")가 다릅니다.");
+		} else {
+			System.out.printf("↩️ 작업 %s 이어 받기 - 청크 %d개(거래 %d건) 건너뜀, 청크 크기 %d%n", jobId,
+					job.getChunksCommitted(), job.getRowsImported(), job.getChunkSize());
+		}
+
+		Path rejects = Paths.get(file + ".rejects.csv");
+		boolean newRejects = !Files.exists(rejects);
+		ExecutorService validators = Executors.newFixedThreadPool(workers, r -> {
+			Thread t = new Thread(r, "import-validate");
+			t.setDaemon(true);
+			return t;
+		});
+		BlockingQueue<Future<Chunk>> pending = new ArrayBlockingQueue<>(workers * 2);
+		ImportJob resume = job;
+		Thread reader = new Thread(() -> read(file, resume, validators, pending), "import-read");
+		reader.setDaemon(true);
+
+		long startedAt = System.nanoTime();
+		long lastReport = startedAt;
+		long importedNow = 0;
+		try (Reader in = open(file); // 헤더 검사만 - 잘못된 파일이면 스레드를 띄우기 전에 실패
+				Writer rejectOut = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+						StandardOpenOption.APPEND)) {
+			new CsvReader(in).header();
+			if (newRejects) rejectOut.write("line,reason,record\n");
+			reader.start();
+			while (true) {
+				Chunk chunk = take(pending);
+				if (chunk == null) break;
+				for (String line : chunk.rejects) rejectOut.write(line);
+				rejectOut.flush();
+				job = commit(job, chunk);
+				importedNow += chunk.rows.size();
+				long now = System.nanoTime();
+				if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+					lastReport = now;
+					System.out.printf("... 청크 %d개 커밋 (마지막 %d행) - 거래 %d건, 거절 %d건, %.0f행/초%n",
+							job.getChunksCommitted(), chunk.lastLine, job.getRowsImported(), job.getRowsRejected(),
+							importedNow / ((now - startedAt) / 1e9));
+				}
+			}
+		} finally {
+			reader.interrupt();
+			validators.shutdownNow();
+		}
+
+		ImportJob done = job.complete();
+		TxTemplate.run("가져오기 완료 기록 오류", conn -> importJobs.save(done, conn));
+		return done;
+	}
+
+	// ────────────── 읽기 (import-read 스레드) ──────────────
+
+	/** 레코드를 청크로 묶어 검증 워커에 넘기고, 그 Future를 순서대로 pending에 넣음 - 끝나면 null 결과 Future */
+	private void read(Path file, ImportJob job, ExecutorService validators, BlockingQueue<Future<Chunk>> pending) {
+		int size = job.getChunkSize();
+		long skip = job.getChunksCommitted();
+		try (Reader in = open(file)) {
+			CsvReader csv = new CsvReader(in);
+			Map<String, Integer> columns = csv.header();
+			long index = 0;
+			List<String[]> records = new ArrayList<>(size);
+			List<Long> lines = new ArrayList<>(size);
+			String[] record;
+			while (true) {
+				long line = csv.line();
+				record = csv.next();
+				if (record != null) {
+					if (record.length == 1 && record[0].isEmpty()) continue; // 빈 줄
+					records.add(record);
+					lines.add(line);
+				}
+				if (records.size() == size || (record == null && !records.isEmpty())) {
+					index++;
+					if (index > skip) {
+						List<String[]> batch = records;
+						List<Long> batchLines = lines;
+						pending.put(validators.submit(() -> validate(columns, batch, batchLines)));
+					}
+					records = new ArrayList<>(size);
+					lines = new ArrayList<>(size);
+				}
+				if (record == null) break;
+			}
+			pending.put(CompletableFuture.completedFuture(null));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException | RuntimeException e) {
+			try {
+				pending.put(CompletableFuture.failedFuture(e));
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static Chunk take(BlockingQueue<Future<Chunk>> pending) throws IOException {
+		try {
+			return pending.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("가져오기가 중단되었습니다.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException io) throw io;
+			throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+		}
+	}
+
+	private static Reader open(Path file) throws IOException {
+		InputStream in = Files.newInputStream(file);
+		if (file.getFileName().toString().endsWith(".gz")) in = new GZIPInputStream(in, 64 * 1024);
+		return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+	}
+
+	// ────────────── 검증 (워커) ──────────────
+
+	private Chunk validate(Map<String, Integer> columns, List<String[]> records, List<Long> lines) {
+		int accountCol = columns.get("account_number");
+		int kindCol = columns.get("kind");
+		int amountCol = columns.get("amount");
+		int timeCol = columns.get("occurred_at");
+		Integer memoCol = columns.get("memo");
+
+		Chunk chunk = new Chunk(records.size(), lines.get(lines.size() - 1));
+		for (int i = 0; i < records.size(); i++) {
+			String[] r = records.get(i);
+			String reason;
+			String number = field(r, accountCol);
+			String memo = (memoCol == null) ? null : field(r, memoCol);
+			long accountId = number.isEmpty() ? MISSING : accountId(number);
+			TransactionKind kind = kind(field(r, kindCol));
+			long amount = amount(field(r, amountCol));
+			LocalDateTime occurredAt = time(field(r, timeCol));
+			if (accountId == MISSING) reason = number.isEmpty() ? "계좌번호 없음" : "계좌 없음";
+			else if (kind == null) reason = "kind는 IN 또는 OUT";
+			else if (amount <= 0) reason = "금액은 0보다 큰 정수";
+			else if (occurredAt == null) reason = "occurred_at 형식 오류(yyyy-MM-dd HH:mm:ss)";
+			else if (memo != null && memo.length() > MEMO_MAX) reason = "메모는 " + MEMO_MAX + "자 이하";
+			else reason = null;
+
+			if (reason != null) {
+				chunk.reject(lines.get(i), reason, r);
+				continue;
+			}
+			if (memo != null && memo.isEmpty()) memo = null;
+			chunk.rows.add(kind == TransactionKind.IN
+					? Transaction.income(0, accountId, amount, memo, occurredAt, createdByUserId)
+					: Transaction.expenseOther(0, accountId, amount, memo, occurredAt, createdByUserId));
+		}
+		return chunk;
+	}
+
+	private long accountId(String number) {
+		Long id = accountIds.get(number);
+		if (id == null) {
+			id = accountRepository.findByAccountNumber(number).map(Account::getId).orElse(MISSING);
+			accountIds.putIfAbsent(number, id);
+		}
+		return id;
+	}
+
+	private static String field(String[] r, int col) {
+		return (col < r.length) ? r[col].trim() : "";
+	}
+
+	private static TransactionKind kind(String v) {
+		try {
+			return TransactionKind.valueOf(v.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static long amount(String v) {
+		try {
+			return Long.parseLong(v);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/** yyyy-MM-dd HH:mm[:ss][.SSS] / ISO(T 구분) / 날짜만(0시) */
+	private static LocalDateTime time(String v) {
+		try {
+			if (v.length() == 10) return LocalDate.parse(v).atStartOfDay();
+			return LocalDateTime.parse(v.replace('T', ' '), TIME);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	// ────────────── 저장 (호출 스레드, 청크 순서대로) ──────────────
+
+	/** 청크 하나를 한 트랜잭션으로 저장 - 커밋된 진행 기록 */
+	private ImportJob commit(ImportJob job, Chunk chunk) {
+		Map<Long, Long> deltas = new TreeMap<>(); // id 순 - 다른 거래와 잠금 순서 같게
+		for (Transaction t : chunk.rows) {
+			deltas.merge(t.getAccountId(), t.getKind() == TransactionKind.IN ? t.getAmount() : -t.getAmount(),
+					Long::sum);
+		}
+		ImportJob next = job.afterChunk(chunk.rows.size(), chunk.rejects.size());
+		TxTemplate.run("거래 가져오기 저장 오류", conn -> {
+			for (Map.Entry<Long, Long> d : deltas.entrySet()) {
+				long delta = d.getValue();
+				if (delta > 0) {
+					accountRepository.increaseBalance(d.getKey(), delta, conn);
+				} else if (delta < 0 && !accountRepository.decreaseBalanceIfSufficient(d.getKey(), -delta, conn)) {
+					throw new IllegalStateException("계좌 id " + d.getKey() + "의 잔액이 음수가 됩니다 (청크 "
+							+ next.getChunksCommitted() + ", " + chunk.lastLine + "행까지) - 원본 데이터를 확인하세요.");
+				}
+			}
+			txRepository.insertBatch(chunk.rows, conn);
+			summaries.record(chunk.rows, conn);
+			importJobs.save(next, conn);
+		});
+		for (Long accountId : deltas.keySet()) accessCache.invalidateAccount(accountId);
+		BalanceEngine.reloadIfRunning(); // 엔진을 거치지 않고 잔액을 바꿈
+		return next;
+	}
+
+	/** 검증을 마친 청크 - 저장할 거래 + 거절 행(rejects.csv 한 줄씩) */
+	private static final class Chunk {
+		final List<Transaction> rows;
+		final List<String> rejects = new ArrayList<>();
+		final long lastLine;
+
+		Chunk(int size, long lastLine) {
+			this.rows = new ArrayList<>(size);
+			this.lastLine = lastLine;
+		}
+
+		void reject(long line, String reason, String[] record) {
+			StringBuilder sb = new StringBuilder().append(line).append(',');
+			quote(sb, reason).append(',');
+			quote(sb, String.join(",", record)).append('\n');
+			rejects.add(sb.toString());
+		}
+
+		private static StringBuilder quote(StringBuilder sb, String v) {
+			sb.append('"');
+			for (int i = 0; i < v.length(); i++) {
+				char c = v.charAt(i);
+				if (c == '"') sb.append('"');
+				sb.append(c);
+			}
+			return sb.append('"');
+		}
+	}
+
+	/** RFC 4180 CSV 스트리밍 읽기 - 따옴표 안의 쉼표/줄바꿈/"" 처리, 행 번호는 레코드가 시작한 물리 줄 */
+	static final class CsvReader {
+		private final Reader in;
+		private long line = 1;
+		private int peeked = -2;
+
+		CsvReader(Reader in) {
+			this.in = in;
+		}
+
+		/** 첫 레코드를 헤더로 - 소문자 열 이름 → 위치, 필수 열이 없으면 예외 */
+		Map<String, Integer> header() throws IOException {
+			String[] names = next();
+			if (names == null) throw new IllegalArgumentException("빈 파일입니다.");
+			Map<String, Integer> columns = new HashMap<>();
+			for (int i = 0; i < names.length; i++) {
+				String name = names[i].trim().toLowerCase(Locale.ROOT);
+				if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+				columns.putIfAbsent(name, i);
+			}
+			for (String required : new String[] { "account_number", "kind", "amount", "occurred_at" }) {
+				if (!columns.containsKey(required)) {
+					throw new IllegalArgumentException("헤더에 " + required + " 열이 없습니다.");
+				}
+			}
+			return columns;
+		}
+
+		/** 다음 레코드를 읽기 시작할 줄 번호 */
+		long line() {
+			return line;
+		}
+
+		/** 다음 레코드, 파일 끝이면 null */
+		String[] next() throws IOException {
+			int c = read();
+			if (c == -1) return null;
+			List<String> fields = new ArrayList<>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			while (true) {
+				if (quoted) {
+					if (c == -1) throw new IllegalArgumentException(line + "행: 따옴표가 닫히지 않았습니다.");
+					if (c == '"') {
+						int n = read();
+						if (n == '"') {
+							field.append('"');
+						} else {
+							quoted = false;
+							c = n;
+							continue;
+						}
+					} else {
+						if (c == '\n') line++;
+						field.append((char) c);
+					}
+				} else if (c == '"' && field.length() == 0) {
+					quoted = true;
+				} else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+				} else if (c == '\n' || c == '\r' || c == -1) {
+					if (c == '\r') {
+						int n = read();
+						if (n != '\n') unread(n);
+					}
+					if (c != -1) line++;
+					fields.add(field.toString());
+					return fields.toArray(new String[0]);
+				} else {
+					field.append((char) c);
+				}
+				c = read();
+			}
+		}
+
+		private int read() throws IOException {
+			if (peeked != -2) {
+				int c = peeked;
+				peeked = -2;
+				return c;
+			}
+			return in.read();
+		}
+
+		private void unread(int c) {
+			peeked = c;
+		}
+	}
+}
@@ -1,12 +1,20 @@
 package main.service;
 
-import main.db.DbUtil;
+import main.db.TxTemplate;
 import main.domain.Account;
 import main.domain.Card;
+import main.domain.IdempotencyRecord;
+import main.domain.Transaction;
+import main.dto.TransactionCursor;
 import main.dto.TransactionListDto;
+import main.dto.TransactionPage;
+import main.dto.TransactionSearchCondition;
 import main.enums.CardStatus;
+import main.enums.ExpenseOutcome;
+import main.exception.InsufficientBalanceException;
 import main.repository.AccountRepository;
 import main.repository.CardRepository;
+import main.repository.Repositories;
 import main.repository.TransactionRepository;
 
 import java.sql.Connection;
@@ -16,25 +24,65 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class TransactionService {
-    private final AccountRepository accountRepository = new AccountRepository();
-    private final CardRepository cardRepository = new CardRepository();
-    private final TransactionRepository txRepository = new TransactionRepository();
+    private final AccountRepository accountRepository = Repositories.accounts();
+    private final CardRepository cardRepository = Repositories.cards();
+    private final TransactionRepository txRepository = Repositories.transactions();
+    private final AccountAccessCache accessCache = AccountAccessCache.getInstance();
+    private final IdempotencyStore idempotency = IdempotencyStore.getInstance();
+    private final LedgerSummaries summaries = new LedgerSummaries();
 
     /* ===================== OTHER: 수입 ===================== */
     public void addIncomeOther(long accountId, long amount, String memo,
                                LocalDateTime occurredAt, long createdByUserId) {
-        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        addIncomeOther(accountId, amount, memo, occurredAt, createdByUserId, null);
+    }
 
-        Connection conn = null;
+    /** idempotencyKey: 클라이언트 재시도 중복 방지 키(nullable) - 이미 반영된 키면 저장 없이 종료 */
+    public void addIncomeOther(long accountId, long amount, String memo,
+                               LocalDateTime occurredAt, long createdByUserId, String idempotencyKey) {
+        WalletOperationEvent event = WalletOperationEvent.start("incomeOther", accountId, 0, amount);
         try {
-            conn = DbUtil.getConnection();
-            conn.setAutoCommit(false);
+            incomeOther(accountId, amount, memo, occurredAt, createdByUserId, idempotencyKey, event);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private void incomeOther(long accountId, long amount, String memo, LocalDateTime occurredAt,
+                             long createdByUserId, String idempotencyKey, WalletOperationEvent event) {
+        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        IdempotencyRecord idem = IdempotencyStore.newRecord(createdByUserId, idempotencyKey,
+                "INCOME " + accountId + " " + amount, memo, occurredAt);
+        if (idempotency.isReplay(idem)) {
+            event.replayed();
+            return;
+        }
+        if (BalanceEngine.isEnabled()) {
+            event.path(WalletOperationEvent.BALANCE_ENGINE);
+            awaitEngine(BalanceEngine.getInstance().income(accountId, amount, memo, occurredAt, createdByUserId, idem),
+                    "잔액이 부족합니다.", idem);
+            return;
+        }
+
+        event.dbBegin();
+        boolean applied = TxTemplate.execute("거래 저장 오류", conn -> {
+            if (!claimOrReplay(idem, conn, event)) return false;
 
             // 같은 커넥션에서 계좌 잠금(일관성 보장)
-            Account acc = accountRepository.findByIdForUpdate(accountId, conn)
-                    .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+            event.lockBegin();
+            try {
+                accountRepository.findByIdForUpdate(accountId, conn)
+                        .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+            } finally {
+                event.lockEnd();
+            }
 
             Timestamp ts = Timestamp.valueOf(occurredAt == null ? LocalDateTime.now() : occurredAt);
 
@@ -43,153 +91,350 @@ public class TransactionService {
 
             // 잔액 증가 (같은 커넥션)
             accountRepository.increaseBalance(accountId, amount, conn);
-
-            conn.commit();
-        } catch (Exception e) {
-            rollbackQuietly(conn);
-            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("거래 저장 오류", e);
-        } finally {
-            restoreAndClose(conn);
-        }
+            summaries.record(Transaction.income(0, accountId, amount, memo, ts.toLocalDateTime(), createdByUserId), conn);
+
+            return true;
+        });
+        event.dbEnd();
+        if (!applied) return;
+        accessCache.invalidateAccount(accountId); // 잔액 스냅샷 갱신
+        idempotency.remember(idem);
     }
 
     /* ===================== OTHER: 지출 ===================== */
     public void addExpenseOther(long accountId, long amount, String memo,
                                 LocalDateTime occurredAt, long createdByUserId) {
-        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        addExpenseOther(accountId, amount, memo, occurredAt, createdByUserId, null);
+    }
 
-        Connection conn = null;
+    /** idempotencyKey: 클라이언트 재시도 중복 방지 키(nullable) - 이미 반영된 키면 저장 없이 종료 */
+    public void addExpenseOther(long accountId, long amount, String memo,
+                                LocalDateTime occurredAt, long createdByUserId, String idempotencyKey) {
+        WalletOperationEvent event = WalletOperationEvent.start("expenseOther", accountId, 0, amount);
         try {
-            conn = DbUtil.getConnection();
-            conn.setAutoCommit(false);
-
-            // 잠금 + 현재 잔액 확인
-            Account acc = accountRepository.findByIdForUpdate(accountId, conn)
-                    .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
-            if (acc.getBalance() < amount) {
-                throw new IllegalStateException("잔액이 부족합니다.");
-            }
+            expenseOther(accountId, amount, memo, occurredAt, createdByUserId, idempotencyKey, event);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private void expenseOther(long accountId, long amount, String memo, LocalDateTime occurredAt,
+                              long createdByUserId, String idempotencyKey, WalletOperationEvent event) {
+        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        IdempotencyRecord idem = IdempotencyStore.newRecord(createdByUserId, idempotencyKey,
+                "EXPENSE " + accountId + " " + amount, memo, occurredAt);
+        if (idempotency.isReplay(idem)) {
+            event.replayed();
+            return;
+        }
+        if (BalanceEngine.isEnabled()) {
+            event.path(WalletOperationEvent.BALANCE_ENGINE);
+            awaitEngine(BalanceEngine.getInstance().expense(accountId, amount, memo, occurredAt, createdByUserId, idem),
+                    "잔액이 부족합니다.", idem);
+            return;
+        }
+
+        event.dbBegin();
+        boolean applied = TxTemplate.execute("거래 저장 오류", conn -> {
+            if (!claimOrReplay(idem, conn, event)) return false;
+
+            // 잔액 확인 + 감소를 조건부 UPDATE 한 문장으로(잠금 구간 최소화)
+            decreaseOrThrow(accountId, amount, conn, event);
 
             Timestamp ts = Timestamp.valueOf(occurredAt == null ? LocalDateTime.now() : occurredAt);
 
             // 거래 저장(OUT / OTHER)
             txRepository.insertExpenseOther(accountId, amount, memo, ts, createdByUserId, conn);
+            summaries.record(Transaction.expenseOther(0, accountId, amount, memo, ts.toLocalDateTime(), createdByUserId), conn);
+
+            return true;
+        });
+        event.dbEnd();
+        if (!applied) return;
+        accessCache.invalidateAccount(accountId);
+        idempotency.remember(idem);
+    }
 
-            // 잔액 감소
-            accountRepository.decreaseBalance(accountId, amount, conn);
+    /* ===================== CARD: 지출 ===================== */
+    public void addExpenseCard(long cardId, long amount, String memo,
+                               LocalDateTime occurredAt, long createdByUserId) {
+        addExpenseCard(cardId, amount, memo, occurredAt, createdByUserId, null);
+    }
 
-            conn.commit();
-        } catch (Exception e) {
-            rollbackQuietly(conn);
-            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("거래 저장 오류", e);
+    /** idempotencyKey: 클라이언트 재시도 중복 방지 키(nullable) - 이미 반영된 키면 저장 없이 종료 */
+    public void addExpenseCard(long cardId, long amount, String memo,
+                               LocalDateTime occurredAt, long createdByUserId, String idempotencyKey) {
+        WalletOperationEvent event = WalletOperationEvent.start("expenseCard", 0, 0, amount);
+        try {
+            expenseCard(cardId, amount, memo, occurredAt, createdByUserId, idempotencyKey, event);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
         } finally {
-            restoreAndClose(conn);
+            event.finish();
         }
     }
 
-    /* ===================== CARD: 지출 ===================== */
-    public void addExpenseCard(long cardId, long amount, String memo,
-                               LocalDateTime occurredAt, long createdByUserId) {
+    private void expenseCard(long cardId, long amount, String memo, LocalDateTime occurredAt,
+                             long createdByUserId, String idempotencyKey, WalletOperationEvent event) {
         if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        IdempotencyRecord idem = IdempotencyStore.newRecord(createdByUserId, idempotencyKey,
+                "CARD " + cardId + " " + amount, memo, occurredAt);
+        if (idempotency.isReplay(idem)) {
+            event.replayed();
+            return;
+        }
 
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalArgumentException("카드를 찾을 수 없습니다."));
-        if (card.getStatus() == CardStatus.BLOCKED) {
-            throw new IllegalStateException("BLOCKED 카드로는 기록할 수 없습니다.");
+        long accountId = findUsableCard(cardId).getAccountId();
+        event.accountId = accountId;
+        if (BalanceEngine.isEnabled()) {
+            event.path(WalletOperationEvent.BALANCE_ENGINE);
+            awaitEngine(BalanceEngine.getInstance().cardExpense(accountId, cardId, amount, memo, occurredAt,
+                    createdByUserId, idem), "잔액이 부족합니다.", idem);
+            return;
         }
-        long accountId = card.getAccountId();
 
-        Connection conn = null;
-        try {
-            conn = DbUtil.getConnection();
-            conn.setAutoCommit(false);
-
-            // 같은 커넥션에서 계좌 잠금 + 잔액확인
-            Account acc = accountRepository.findByIdForUpdate(accountId, conn)
-                    .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
-            if (acc.getBalance() < amount) {
-                throw new IllegalStateException("잔액이 부족합니다.");
-            }
+        event.dbBegin();
+        boolean applied = TxTemplate.execute("거래 저장 오류", conn -> {
+            if (!claimOrReplay(idem, conn, event)) return false;
+
+            // 잔액 확인 + 감소를 조건부 UPDATE 한 문장으로(잠금 구간 최소화)
+            decreaseOrThrow(accountId, amount, conn, event);
 
             Timestamp ts = Timestamp.valueOf(occurredAt == null ? LocalDateTime.now() : occurredAt);
 
             // 거래 저장(OUT / CARD)
             txRepository.insertExpenseCard(accountId, amount, memo, ts, cardId, createdByUserId, conn);
+            summaries.record(Transaction.expenseCard(0, accountId, amount, memo, ts.toLocalDateTime(), cardId,
+                    createdByUserId), conn);
+
+            return true;
+        });
+        event.dbEnd();
+        if (!applied) return;
+        accessCache.invalidateAccount(accountId);
+        idempotency.remember(idem);
+    }
 
-            // 잔액 감소 (같은 커넥션)
-            accountRepository.decreaseBalance(accountId, amount, conn);
+    /* ===================== CARD: 지출 (그룹 커밋) ===================== */
+    /**
+     * BALANCE_ENGINE=true면 BalanceEngine 레인에, LEDGER_GROUP_COMMIT=true면 LedgerWriter 큐에 적재하고 결과 Future 반환
+     * 둘 다 꺼져 있으면 addExpenseCard를 동기 실행한 결과로 완료된 Future 반환
+     */
+    public CompletableFuture<ExpenseOutcome> addExpenseCardAsync(long cardId, long amount, String memo,
+                                                                 LocalDateTime occurredAt, long createdByUserId) {
+        return addExpenseCardAsync(cardId, amount, memo, occurredAt, createdByUserId, null);
+    }
 
-            conn.commit();
-        } catch (Exception e) {
-            rollbackQuietly(conn);
-            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("거래 저장 오류", e);
-        } finally {
-            restoreAndClose(conn);
+    /** idempotencyKey: 이미 반영된 키면 저장된 결과로 완료된 Future 반환 */
+    public CompletableFuture<ExpenseOutcome> addExpenseCardAsync(long cardId, long amount, String memo,
+                                                                 LocalDateTime occurredAt, long createdByUserId,
+                                                                 String idempotencyKey) {
+        if (!BalanceEngine.isEnabled() && !LedgerWriter.isEnabled()) {
+            try {
+                addExpenseCard(cardId, amount, memo, occurredAt, createdByUserId, idempotencyKey);
+                return CompletableFuture.completedFuture(ExpenseOutcome.APPLIED);
+            } catch (InsufficientBalanceException e) {
+                return CompletableFuture.completedFuture(ExpenseOutcome.INSUFFICIENT_FUNDS);
+            }
         }
+        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        IdempotencyRecord idem = IdempotencyStore.newRecord(createdByUserId, idempotencyKey,
+                "CARD " + cardId + " " + amount, memo, occurredAt);
+        if (idempotency.isReplay(idem)) return CompletableFuture.completedFuture(idempotency.replay(idem));
+
+        long accountId = findUsableCard(cardId).getAccountId();
+        WalletOperationEvent event = WalletOperationEvent.start("expenseCard", accountId, 0, amount);
+        event.path(BalanceEngine.isEnabled() ? WalletOperationEvent.BALANCE_ENGINE : WalletOperationEvent.GROUP_COMMIT);
+        CompletableFuture<ExpenseOutcome> future;
+        try {
+            future = BalanceEngine.isEnabled()
+                    ? BalanceEngine.getInstance().cardExpense(accountId, cardId, amount, memo, occurredAt, createdByUserId, idem)
+                    : LedgerWriter.getInstance().submit(accountId, cardId, amount, memo, occurredAt, createdByUserId, idem);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            event.finish();
+            throw e;
+        }
+        // 이벤트 길이 = 적재 ~ 배치 커밋 완료(다른 스레드에서 끝남)
+        return idempotency.replayOnDuplicate(future, idem).whenComplete(event::completed);
     }
 
     /* ===================== TRANSFER: 이체 ===================== */
     public void transfer(long fromAccountId, long toAccountId, long amount,
                          String memo, long createdByUserId) {
-        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
-        if (fromAccountId == toAccountId) throw new IllegalArgumentException("동일 계좌 간 이체는 불가합니다.");
+        transfer(fromAccountId, toAccountId, amount, memo, createdByUserId, null);
+    }
 
-        Connection conn = null;
+    /** idempotencyKey: 클라이언트 재시도 중복 방지 키(nullable) - 이미 반영된 키면 저장 없이 종료 */
+    public void transfer(long fromAccountId, long toAccountId, long amount,
+                         String memo, long createdByUserId, String idempotencyKey) {
+        WalletOperationEvent event = WalletOperationEvent.start("transfer", fromAccountId, toAccountId, amount);
         try {
-            conn = DbUtil.getConnection();
-            conn.setAutoCommit(false);
-
-            // Deadlock 회피: id 순으로 잠금
-            long firstId = Math.min(fromAccountId, toAccountId);
-            long secondId = Math.max(fromAccountId, toAccountId);
+            transfer(fromAccountId, toAccountId, amount, memo, createdByUserId, idempotencyKey, event);
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
 
-            Account first = accountRepository.findByIdForUpdate(firstId, conn)
-                    .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
-            Account second = accountRepository.findByIdForUpdate(secondId, conn)
-                    .orElseThrow(() -> new IllegalArgumentException("계좌를 찾을 수 없습니다."));
+    private void transfer(long fromAccountId, long toAccountId, long amount, String memo,
+                          long createdByUserId, String idempotencyKey, WalletOperationEvent event) {
+        if (amount <= 0) throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+        if (fromAccountId == toAccountId) throw new IllegalArgumentException("동일 계좌 간 이체는 불가합니다.");
+        IdempotencyRecord idem = IdempotencyStore.newRecord(createdByUserId, idempotencyKey,
+                "TRANSFER " + fromAccountId + ">" + toAccountId + " " + amount, memo, null);
+        if (idempotency.isReplay(idem)) {
+            event.replayed();
+            return;
+        }
+        if (BalanceEngine.isEnabled()) {
+            event.path(WalletOperationEvent.BALANCE_ENGINE);
+            awaitEngine(BalanceEngine.getInstance().transfer(fromAccountId, toAccountId, amount, memo, createdByUserId,
+                    idem), "출금계좌 잔액이 부족합니다.", idem);
+            return;
+        }
 
-            Account from = (first.getId() == fromAccountId) ? first : second;
-            Account to   = (first.getId() == toAccountId)   ? first : second;
+        event.dbBegin();
+        boolean applied = TxTemplate.execute("거래 저장 오류", conn -> {
+            if (!claimOrReplay(idem, conn, event)) return false;
+
+            // Deadlock 회피: 두 계좌를 한 문장으로 id 순 잠금
+            List<Account> locked;
+            event.lockBegin();
+            try {
+                locked = accountRepository.findByIdsForUpdate(fromAccountId, toAccountId, conn);
+            } finally {
+                event.lockEnd();
+            }
+            if (locked.size() != 2) {
+                throw new IllegalArgumentException("계좌를 찾을 수 없습니다.");
+            }
+            Account from = (locked.get(0).getId() == fromAccountId) ? locked.get(0) : locked.get(1);
 
             if (from.getBalance() < amount) {
-                throw new IllegalStateException("출금계좌 잔액이 부족합니다.");
+                throw new InsufficientBalanceException("출금계좌 잔액이 부족합니다.");
             }
 
             String transferKey = UUID.randomUUID().toString();
             Timestamp now = Timestamp.valueOf(LocalDateTime.now());
 
-            // 거래 두 건(OUT/IN)
-            txRepository.insertTransferOut(from.getId(), amount, memo, now, transferKey, createdByUserId, conn);
-            txRepository.insertTransferIn(to.getId(),   amount, memo, now, transferKey, createdByUserId, conn);
-
-            // 잔액 반영(같은 커넥션)
-            accountRepository.decreaseBalance(from.getId(), amount, conn);
-            accountRepository.increaseBalance(to.getId(),   amount, conn);
-
-            conn.commit();
-        } catch (Exception e) {
-            rollbackQuietly(conn);
-            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("거래 저장 오류", e);
-        } finally {
-            restoreAndClose(conn);
-        }
+            // 거래 두 건(OUT/IN) - 다중행 INSERT 1회
+            txRepository.insertTransferPair(fromAccountId, toAccountId, amount, memo, now, transferKey, createdByUserId, conn);
+
+            // 잔액 반영 - UPDATE 1회(같은 커넥션)
+            accountRepository.transferBalance(fromAccountId, toAccountId, amount, conn);
+            summaries.record(List.of(
+                    Transaction.transferOut(0, fromAccountId, amount, memo, now.toLocalDateTime(), transferKey, createdByUserId),
+                    Transaction.transferIn(0, toAccountId, amount, memo, now.toLocalDateTime(), transferKey, createdByUserId)),
+                    conn);
+
+            return true;
+        });
+        event.dbEnd();
+        if (!applied) return;
+        accessCache.invalidateAccount(fromAccountId);
+        accessCache.invalidateAccount(toAccountId);
+        idempotency.remember(idem);
     }
 
     /* ===================== 검색 ===================== */
     public List<TransactionListDto> search(long userId, Long accountIdFilter,
                                            LocalDate from, LocalDate to,
                                            Long minAmount, Long maxAmount) {
-        return txRepository.search(userId, accountIdFilter, from, to, minAmount, maxAmount);
+        WalletOperationEvent event = WalletOperationEvent.start("search",
+                accountIdFilter == null ? 0 : accountIdFilter, 0, 0);
+        try {
+            event.dbBegin();
+            List<TransactionListDto> list = txRepository.search(userId, accountIdFilter, from, to, minAmount, maxAmount);
+            event.dbEnd();
+            event.rows(list.size());
+            return list;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /** 페이지 단위 검색 - after가 null이면 첫 페이지 */
+    public TransactionPage searchPage(TransactionSearchCondition condition, TransactionCursor after, int pageSize) {
+        WalletOperationEvent event = WalletOperationEvent.start("search",
+                condition.accountId == null ? 0 : condition.accountId, 0, 0);
+        try {
+            event.dbBegin();
+            TransactionPage page = txRepository.searchPage(condition, after, pageSize);
+            event.dbEnd();
+            event.rows(page.rows.size());
+            return page;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
     }
 
     /* ===================== 유틸 ===================== */
-    private void rollbackQuietly(Connection conn) {
-        if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
+    private Card findUsableCard(long cardId) {
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new IllegalArgumentException("카드를 찾을 수 없습니다."));
+        if (card.getStatus() == CardStatus.BLOCKED) {
+            throw new IllegalStateException("BLOCKED 카드로는 기록할 수 없습니다.");
+        }
+        return card;
     }
-    private void restoreAndClose(Connection conn) {
-        if (conn != null) {
-            try { conn.setAutoCommit(true); } catch (SQLException ignore) {}
-            try { conn.close(); } catch (SQLException ignore) {}
+
+    /** 조건부 감소 실패 시에만 계좌 존재 여부를 확인해 오류를 구분 */
+    private void decreaseOrThrow(long accountId, long amount, Connection conn, WalletOperationEvent event)
+            throws SQLException {
+        boolean decreased;
+        event.lockBegin();
+        try {
+            decreased = accountRepository.decreaseBalanceIfSufficient(accountId, amount, conn);
+        } finally {
+            event.lockEnd();
+        }
+        if (decreased) return;
+        if (!accountRepository.existsById(accountId, conn)) {
+            throw new IllegalArgumentException("계좌를 찾을 수 없습니다.");
+        }
+        throw new InsufficientBalanceException("잔액이 부족합니다.");
+    }
+
+    /**
+     * 멱등키를 거래보다 먼저 저장 - 같은 키의 동시 재요청은 여기서(계좌 잠금 전) 먼저 온 트랜잭션 종료를 기다림
+     * 이미 반영된 키면 롤백하고 false (같은 키에 다른 요청이면 예외)
+     */
+    private boolean claimOrReplay(IdempotencyRecord idem, Connection conn, WalletOperationEvent event)
+            throws SQLException {
+        if (idempotency.claim(idem, conn)) return true;
+        rollbackQuietly(conn);
+        idempotency.replay(idem);
+        event.replayed();
+        return false;
+    }
+
+    /** 엔진 처리 결과 대기 - 잔액 부족은 InsufficientBalanceException, 저장 오류는 원래 예외로 */
+    private void awaitEngine(CompletableFuture<ExpenseOutcome> future, String insufficientMessage,
+                             IdempotencyRecord idem) {
+        ExpenseOutcome outcome;
+        try {
+            outcome = idempotency.replayOnDuplicate(future, idem).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException("거래 저장 오류", cause);
         }
+        if (outcome == ExpenseOutcome.INSUFFICIENT_FUNDS) throw new InsufficientBalanceException(insufficientMessage);
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        if (conn != null) try { conn.rollback(); } catch (SQLException ignore) {}
     }
 }
@@ -6,13 +6,14 @@ import java.util.regex.Pattern;
 import main.domain.User;
 import main.repository.AccountRepository;
 import main.repository.GroupRepository;
+import main.repository.Repositories;
 import main.repository.UserRepository;
 
 public class UserService {
 
-	private final UserRepository userRepository = new UserRepository();
-	private final AccountRepository accountRepository = new AccountRepository();
-	private final GroupRepository groupRepository = new GroupRepository();
+	private final UserRepository userRepository = Repositories.users();
+	private final AccountRepository accountRepository = Repositories.accounts();
+	private final GroupRepository groupRepository = Repositories.groups();
 
 	private static final Pattern EMAIL_PATTERN = Pattern.compile("^[\\w._%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$");
 	private static final Pattern NAME_PATTERN = Pattern.compile("^[가-힣a-zA-Z]{2,20}$");
@@ -38,6 +39,7 @@ public class UserService {
 		}
 
 		userRepository.deleteById(userId);
+		AccountAccessCache.getInstance().invalidateUser(userId);
 	}
 
 	private void validateUserInfo(String name, String email) {
@@ -0,0 +1,130 @@
+package main.service;
+
+import java.util.concurrent.CompletionException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import main.enums.ExpenseOutcome;
+import main.exception.InsufficientBalanceException;
+
+/**
+ * JFR 이벤트 - TransactionService 호출 1건(수입/지출/카드/이체/검색)
+ * - 이벤트 길이 = 호출 전체, 그중 계좌 잠금 대기(lockTime)와 DB 트랜잭션 구간(dbTime)을 따로 기록
+ * - 커넥션 대여 대기는 main.db.ConnectionAcquireEvent로 따로 남음
+ * - 녹화: java -XX:StartFlightRecording=filename=wallet.jfr,settings=profile ... → JMC에서 "Wallet" 분류
+ * - 녹화 중이 아니면 begin/commit은 거의 비용 없음(isEnabled false)
+ */
+@Name("main.WalletOperation")
+@Label("Wallet Operation")
+@Category("Wallet")
+@Description("TransactionService 호출 1건 - 잠금 대기 / DB 시간 / 결과")
+@StackTrace(false)
+public final class WalletOperationEvent extends Event {
+
+	static final String SYNC = "SYNC";
+	static final String BALANCE_ENGINE = "BALANCE_ENGINE";
+	static final String GROUP_COMMIT = "GROUP_COMMIT";
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Account Id")
+	long accountId;
+
+	@Label("Target Account Id")
+	@Description("이체 입금 계좌 (이체가 아니면 0)")
+	long targetAccountId;
+
+	@Label("Amount")
+	long amount;
+
+	@Label("Path")
+	@Description("SYNC(서비스 트랜잭션) / BALANCE_ENGINE / GROUP_COMMIT")
+	String path = SYNC;
+
+	@Label("Lock Acquire Time")
+	@Description("계좌 행 잠금(SELECT ... FOR UPDATE / 조건부 UPDATE)까지 걸린 시간 - 재시도한 시도 합계")
+	@Timespan(Timespan.NANOSECONDS)
+	long lockTime;
+
+	@Label("DB Time")
+	@Description("커넥션 대여부터 커밋(또는 조회)이 끝날 때까지 - 교착·잠금 대기 초과 재시도 포함")
+	@Timespan(Timespan.NANOSECONDS)
+	long dbTime;
+
+	@Label("Rows")
+	@Description("검색 결과 행 수")
+	long rows;
+
+	@Label("Outcome")
+	@Description("APPLIED / INSUFFICIENT_FUNDS / REPLAYED / ERROR")
+	String outcome;
+
+	private transient long lockStartedAt;
+	private transient long dbStartedAt;
+
+	static WalletOperationEvent start(String operation, long accountId, long targetAccountId, long amount) {
+		WalletOperationEvent e = new WalletOperationEvent();
+		e.operation = operation;
+		e.accountId = accountId;
+		e.targetAccountId = targetAccountId;
+		e.amount = amount;
+		e.begin();
+		return e;
+	}
+
+	void path(String path) {
+		this.path = path;
+	}
+
+	void lockBegin() {
+		lockStartedAt = System.nanoTime();
+	}
+
+	void lockEnd() {
+		lockTime += System.nanoTime() - lockStartedAt;
+		lockStartedAt = 0;
+	}
+
+	void dbBegin() {
+		dbStartedAt = System.nanoTime();
+	}
+
+	void dbEnd() {
+		dbTime = System.nanoTime() - dbStartedAt;
+		dbStartedAt = 0;
+	}
+
+	void rows(long rows) {
+		this.rows = rows;
+	}
+
+	void replayed() {
+		outcome = "REPLAYED";
+	}
+
+	void failed(Throwable e) {
+		outcome = (e instanceof InsufficientBalanceException) ? "INSUFFICIENT_FUNDS" : "ERROR";
+	}
+
+	/** 엔진/그룹 커밋 Future 완료 시 - whenComplete(event::completed) */
+	void completed(ExpenseOutcome result, Throwable error) {
+		if (error != null) failed(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+		else if (result != null) outcome = result.name();
+		finish();
+	}
+
+	/** 결과를 정하지 않았으면 APPLIED로 기록 - 예외로 끊긴 잠금/DB 구간은 지금까지로 마감 */
+	void finish() {
+		if (lockStartedAt != 0) lockEnd();
+		if (dbStartedAt != 0) dbEnd();
+		if (outcome == null) outcome = "APPLIED";
+		commit();
+	}
+}
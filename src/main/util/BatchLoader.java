@@ -0,0 +1,49 @@
+package main.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * id → 엔티티 일괄 조회 도우미 (N+1 제거용)
+ * - 중복/null 키 제거 후 chunkSize 단위로 나눠 fetcher를 호출하고 결과를 하나의 Map으로 합침
+ * - fetcher는 "WHERE id IN (...)" 한 번에 해당하는 조회를 수행하고, 찾은 키만 Map에 담아 반환
+ */
+public final class BatchLoader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private BatchLoader() {
+    }
+
+    public static <K, V> Map<K, V> loadAll(Collection<K> keys, Function<List<K>, Map<K, V>> fetcher) {
+        return loadAll(keys, DEFAULT_CHUNK_SIZE, fetcher);
+    }
+
+    public static <K, V> Map<K, V> loadAll(Collection<K> keys, int chunkSize, Function<List<K>, Map<K, V>> fetcher) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+        if (keys == null || keys.isEmpty()) return Collections.emptyMap();
+
+        List<K> unique = new ArrayList<>(new LinkedHashSet<>(keys));
+        unique.remove(null);
+
+        Map<K, V> result = new HashMap<>(unique.size() * 2);
+        for (int from = 0; from < unique.size(); from += chunkSize) {
+            List<K> chunk = unique.subList(from, Math.min(from + chunkSize, unique.size()));
+            Map<K, V> loaded = fetcher.apply(chunk);
+            if (loaded != null) result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /** IN 절용 자리표시자 - placeholders(3) → "?, ?, ?" */
+    public static String placeholders(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count는 1 이상이어야 합니다.");
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
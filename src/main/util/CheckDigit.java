@@ -0,0 +1,44 @@
+package main.util;
+
+/**
+ * 숫자열 검증용 체크 디지트 (Luhn, mod 10)
+ * - 계좌번호/카드번호 끝자리에 붙여 한 자리 오타나 인접 자리 바뀜을 걸러냄
+ * - 입력의 '-' 등 숫자가 아닌 문자는 무시
+ */
+public final class CheckDigit {
+
+    private CheckDigit() {
+    }
+
+    /** payload 뒤에 붙일 Luhn 체크 디지트(0~9) */
+    public static int luhn(CharSequence payload) {
+        int sum = 0;
+        boolean doubleIt = true; // 체크 디지트가 붙을 자리 바로 앞부터 두 배
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            char ch = payload.charAt(i);
+            if (ch < '0' || ch > '9') continue;
+            int d = ch - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /** 마지막 숫자가 앞 숫자들의 Luhn 체크 디지트인지 */
+    public static boolean isValidLuhn(CharSequence number) {
+        int last = -1;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            char ch = number.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                last = i;
+                break;
+            }
+        }
+        if (last < 1) return false;
+        return luhn(number.subSequence(0, last)) == number.charAt(last) - '0';
+    }
+}
@@ -0,0 +1,93 @@
+package main.util;
+
+/**
+ * 지연시간 히스토그램 (나노초, 로그-선형 버킷, 상대오차 약 6%)
+ * - 2의 거듭제곱 구간마다 16개 하위 버킷 → 메모리 고정(1024칸), 기록은 배열 증가 1회
+ * - 스레드 안전하지 않음: 작업 스레드마다 하나씩 두고 끝나면 merge로 합침
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        totalCount++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.max > max) max = other.max;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /** 백분위(0~100) 값 - 해당 버킷의 상한(최댓값을 넘지 않음) */
+    public long percentile(double p) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(max, lowerBound(i + 1) - 1);
+            }
+        }
+        return max;
+    }
+
+    /** 버킷별 (하한, 건수) - 건수가 0인 버킷은 생략 */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) consumer.accept(lowerBound(i), counts[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(long lowerBoundNanos, long count);
+    }
+
+    static int index(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) ((v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) return index;
+        int exp = index / SUB_COUNT + SUB_BITS - 1;
+        if (exp >= 63) return Long.MAX_VALUE;
+        int sub = index % SUB_COUNT;
+        return (1L << exp) | ((long) sub << (exp - SUB_BITS));
+    }
+}